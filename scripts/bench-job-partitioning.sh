@@ -0,0 +1,147 @@
+#!/usr/bin/env bash
+# bench-job-partitioning.sh — p50/p95/p99 of the tenant-scoped job queries, before/after V23
+#
+# Seeds N job listings (default 10,000,000) spread over T benchmark tenants (default 200), then
+# runs the SQL behind JobListingRepository.findByTenantIdAndStatus and .fullTextSearch (page and
+# count query each) through pgbench with a random tenant per transaction. Results are appended
+# to a TSV under a label, so a run on the unpartitioned table (schema at V22) and one after V23
+# print side by side.
+#
+# Usage:
+#   LABEL=before ./scripts/bench-job-partitioning.sh   # database migrated to V22
+#   LABEL=after  ./scripts/bench-job-partitioning.sh   # after V23 (seeded rows are carried over)
+#   ROWS=1000000 TENANTS=50 ./scripts/bench-job-partitioning.sh
+#   ./scripts/bench-job-partitioning.sh --explain      # also print EXPLAIN (ANALYZE, BUFFERS)
+#   ./scripts/bench-job-partitioning.sh --check-pruning # EXPLAIN the joins onto job_listings, no benchmark
+#   ./scripts/bench-job-partitioning.sh --cleanup      # delete the benchmark tenants' rows
+#
+# Connection defaults match docker-compose.yml; override with the usual PG* variables.
+set -euo pipefail
+
+export PGHOST="${PGHOST:-localhost}" PGPORT="${PGPORT:-5432}"
+export PGDATABASE="${PGDATABASE:-jobagent}" PGUSER="${PGUSER:-jobagent}" PGPASSWORD="${PGPASSWORD:-secret}"
+
+ROWS="${ROWS:-10000000}"
+TENANTS="${TENANTS:-200}"
+CLIENTS="${CLIENTS:-8}"
+DURATION="${DURATION:-30}"
+LABEL="${LABEL:-$(psql -tAq -c "SELECT CASE WHEN relkind = 'p' THEN 'partitioned' ELSE 'plain' END
+                                 FROM pg_class WHERE oid = 'job_listings'::regclass")}"
+RESULTS="${RESULTS:-bench-job-partitioning.tsv}"
+EXPLAIN=false
+CHECK_PRUNING=false
+
+# Benchmark tenants are 00000000-0000-0000-0000-00000000b000 + n, n in [1, TENANTS]
+TENANT_SQL="('00000000-0000-0000-0000-' || lpad(to_hex(45056 + %s), 12, '0'))::uuid"
+tenant() { printf "$TENANT_SQL" "$1"; }
+
+for arg in "$@"; do
+  case "$arg" in
+    --explain) EXPLAIN=true ;;
+    --check-pruning) CHECK_PRUNING=true ;;
+    --cleanup)
+      psql -q -c "DELETE FROM job_listings WHERE tenant_id IN
+                  (SELECT $(tenant g) FROM generate_series(1, $TENANTS) AS g)"
+      echo "Removed benchmark rows for $TENANTS tenants"
+      exit 0 ;;
+    *) echo "Unknown option: $arg" >&2; exit 1 ;;
+  esac
+done
+
+# The joins from other tables onto job_listings (semantic search, hybrid search, near-duplicate
+# buckets, duplicate promotion) must carry the tenant so the planner keeps to one partition
+if $CHECK_PRUNING; then
+  checks=(
+    "semantic join|SELECT je.job_listing_id FROM job_embeddings je
+      JOIN job_listings j ON j.id = je.job_listing_id AND j.tenant_id = je.tenant_id
+      WHERE je.tenant_id = $(tenant 1) AND j.status = 'ACTIVE' AND j.duplicate_of IS NULL LIMIT 50"
+    "lsh bucket join|SELECT b.job_id, j.duplicate_of FROM job_lsh_buckets b
+      JOIN job_listings j ON j.id = b.job_id AND j.tenant_id = b.tenant_id
+      WHERE b.tenant_id = $(tenant 1) AND b.band = 0 AND b.bucket = 0 AND j.status = 'ACTIVE'"
+    "duplicate links|UPDATE job_listings SET duplicate_of = NULL
+      WHERE tenant_id = $(tenant 1) AND duplicate_of = '00000000-0000-0000-0000-000000000000'"
+  )
+  failed=0
+  for check in "${checks[@]}"; do
+    plan=$(psql -tAq -c "EXPLAIN (COSTS OFF) ${check#*|}")
+    partitions=$(grep -Eo 'job_listings_p[0-9]+' <<< "$plan" | sort -u | wc -l)
+    if [ "$partitions" -le 1 ]; then
+      echo "ok    ${check%%|*}: $partitions partition"
+    else
+      echo "FAIL  ${check%%|*}: $partitions partitions"; echo "$plan"; failed=1
+    fi
+  done
+  exit $failed
+fi
+
+command -v pgbench >/dev/null || { echo "pgbench not found (postgresql-client)" >&2; exit 1; }
+
+existing=$(psql -tAq -c "SELECT count(*) FROM job_listings WHERE source = 'bench-partitioning'")
+if [ "$existing" -lt "$ROWS" ]; then
+  echo "Seeding $((ROWS - existing)) job listings over $TENANTS tenants ..."
+  psql -q -v ON_ERROR_STOP=1 <<SQL
+INSERT INTO job_listings (tenant_id, external_id, title, company, location, description,
+                          source, source_url, status, employment_type, remote_type, created_at)
+SELECT $(tenant "1 + g % $TENANTS"),
+       'bench-' || g,
+       (ARRAY['Senior','Junior','Lead','Staff','Principal'])[1 + g % 5] || ' ' ||
+       (ARRAY['Java','Python','Go','Frontend','Data','Platform','Mobile','DevOps'])[1 + (g / 5) % 8] || ' ' ||
+       (ARRAY['Engineer','Developer','Architect','Consultant'])[1 + (g / 40) % 4],
+       'Company ' || (g % 5000),
+       (ARRAY['Berlin','Amsterdam','London','Paris','Madrid','Lisbon','Warsaw','Vienna','Zurich','Remote'])[1 + (g / 7) % 10],
+       'Benchmark listing ' || g || ' working with ' ||
+       (ARRAY['kubernetes','spring','kafka','postgres','react','terraform','spark','kotlin'])[1 + (g / 11) % 8] ||
+       ' and ' || (ARRAY['aws','gcp','azure','docker','graphql','redis'])[1 + (g / 13) % 6],
+       'bench-partitioning',
+       'https://example.com/jobs/' || g,
+       CASE WHEN g % 10 < 3 THEN 'EXPIRED' ELSE 'ACTIVE' END,
+       (ARRAY['FULL_TIME','PART_TIME','CONTRACT'])[1 + g % 3],
+       (ARRAY['ONSITE','HYBRID','REMOTE'])[1 + (g / 3) % 3],
+       now() - (g % 525600) * interval '1 minute'
+FROM generate_series($existing + 1, $ROWS) AS g;
+ANALYZE job_listings;
+SQL
+fi
+
+workdir=$(mktemp -d)
+trap 'rm -rf "$workdir"' EXIT
+
+# Each scenario: name|SQL run per transaction (:t is the tenant number, :w the search word)
+scenarios=(
+  "findByTenantIdAndStatus|SELECT j.* FROM job_listings j
+    WHERE j.tenant_id = $(tenant :t) AND j.status = 'ACTIVE'
+    ORDER BY j.created_at DESC OFFSET 0 ROWS FETCH FIRST 20 ROWS ONLY;
+  SELECT count(j.id) FROM job_listings j WHERE j.tenant_id = $(tenant :t) AND j.status = 'ACTIVE';"
+  "fullTextSearch|SELECT j.id FROM job_listings j
+    WHERE j.tenant_id = $(tenant :t) AND j.status = 'ACTIVE' AND j.duplicate_of IS NULL
+      AND j.search_vector @@ plainto_tsquery('english', (ARRAY['kafka','terraform','kotlin','graphql'])[1 + :w % 4])
+    ORDER BY j.created_at DESC, j.id OFFSET 0 LIMIT 20;
+  SELECT count(*) FROM job_listings j
+    WHERE j.tenant_id = $(tenant :t) AND j.status = 'ACTIVE' AND j.duplicate_of IS NULL
+      AND j.search_vector @@ plainto_tsquery('english', (ARRAY['kafka','terraform','kotlin','graphql'])[1 + :w % 4]);"
+)
+
+echo "Table: $(psql -tAq -c "SELECT count(*) FROM pg_inherits WHERE inhparent = 'job_listings'::regclass") partitions, label '$LABEL'"
+for scenario in "${scenarios[@]}"; do
+  name="${scenario%%|*}"
+  script="$workdir/$name.sql"
+  { echo "\\set t random(1, $TENANTS)"; echo "\\set w random(0, 3)"; echo "${scenario#*|}"; } > "$script"
+
+  if $EXPLAIN; then
+    echo "--- $name"
+    sed -e '/^\\set/d' -e 's/:t/1/g' -e 's/:w/0/g' "$script" \
+      | awk 'BEGIN { RS = ";" } NF { print "EXPLAIN (ANALYZE, BUFFERS) " $0 ";" }' | psql -q
+  fi
+
+  (cd "$workdir" && pgbench -n -M prepared -c "$CLIENTS" -j "$CLIENTS" -T "$DURATION" \
+      -f "$script" --log --log-prefix="log-$name" > "$workdir/$name.out" 2>&1)
+  tps=$(grep -Eo 'tps = [0-9.]+' "$workdir/$name.out" | head -1 | cut -d' ' -f3)
+  # Per-transaction log: column 3 is latency in microseconds
+  cat "$workdir/log-$name".* 2>/dev/null | awk '{print $3}' | sort -n > "$workdir/$name.lat"
+  count=$(wc -l < "$workdir/$name.lat")
+  pct() { sed -n "$(( ($1 * count + 99) / 100 ))p" "$workdir/$name.lat" | awk '{printf "%.2f", $1 / 1000}'; }
+  printf '%s\t%s\t%s\t%s\t%s\t%s\t%s\n' "$LABEL" "$name" "$ROWS" "${tps:-?}" "$(pct 50)" "$(pct 95)" "$(pct 99)" >> "$RESULTS"
+done
+
+printf '\n%-12s %-24s %10s %10s %10s %10s %10s\n' "label" "query" "rows" "tps" "p50 ms" "p95 ms" "p99 ms"
+sort -t$'\t' -k2,2 -s "$RESULTS" | awk -F'\t' '{ printf "%-12s %-24s %10s %10s %10s %10s %10s\n", $1, $2, $3, $4, $5, $6, $7 }'
@@ -0,0 +1,103 @@
+#!/usr/bin/env bash
+# bench-job-search.sh — p50/p95/p99 latency of the filtered job search at scale
+#
+# Seeds N job listings (default 1,000,000) for a benchmark tenant into a migrated database,
+# then runs the SQL that JobListingSpecifications generates for several filter combinations
+# through pgbench and reports latency percentiles per combination.
+#
+# Usage:
+#   ./scripts/bench-job-search.sh                 # seed (if needed) + run
+#   ROWS=200000 ./scripts/bench-job-search.sh     # smaller data set
+#   ./scripts/bench-job-search.sh --explain       # also print EXPLAIN (ANALYZE, BUFFERS)
+#   ./scripts/bench-job-search.sh --cleanup       # delete the benchmark tenant's rows
+#
+# Connection defaults match docker-compose.yml; override with the usual PG* variables.
+set -euo pipefail
+
+export PGHOST="${PGHOST:-localhost}" PGPORT="${PGPORT:-5432}"
+export PGDATABASE="${PGDATABASE:-jobagent}" PGUSER="${PGUSER:-jobagent}" PGPASSWORD="${PGPASSWORD:-secret}"
+
+ROWS="${ROWS:-1000000}"
+CLIENTS="${CLIENTS:-8}"
+DURATION="${DURATION:-30}"
+TENANT="${TENANT:-00000000-0000-0000-0000-0000000be9c4}"
+EXPLAIN=false
+
+for arg in "$@"; do
+  case "$arg" in
+    --explain) EXPLAIN=true ;;
+    --cleanup)
+      psql -q -c "DELETE FROM job_listings WHERE tenant_id = '$TENANT'"
+      echo "Removed benchmark rows for tenant $TENANT"
+      exit 0 ;;
+    *) echo "Unknown option: $arg" >&2; exit 1 ;;
+  esac
+done
+
+command -v pgbench >/dev/null || { echo "pgbench not found (postgresql-client)" >&2; exit 1; }
+
+existing=$(psql -tAq -c "SELECT count(*) FROM job_listings WHERE tenant_id = '$TENANT'")
+if [ "$existing" -lt "$ROWS" ]; then
+  echo "Seeding $((ROWS - existing)) job listings for tenant $TENANT ..."
+  psql -q -v ON_ERROR_STOP=1 <<SQL
+INSERT INTO job_listings (tenant_id, external_id, title, company, location, description,
+                          source, source_url, status, employment_type, remote_type, created_at)
+SELECT '$TENANT',
+       'bench-' || g,
+       (ARRAY['Senior','Junior','Lead','Staff','Principal'])[1 + g % 5] || ' ' ||
+       (ARRAY['Java','Python','Go','Frontend','Data','Platform','Mobile','DevOps'])[1 + (g / 5) % 8] || ' ' ||
+       (ARRAY['Engineer','Developer','Architect','Consultant'])[1 + (g / 40) % 4],
+       'Company ' || (g % 5000),
+       (ARRAY['Berlin','Amsterdam','London','Paris','Madrid','Lisbon','Warsaw','Vienna','Zurich','Remote'])[1 + (g / 7) % 10],
+       'Benchmark listing ' || g,
+       'bench',
+       'https://example.com/jobs/' || g,
+       CASE WHEN g % 10 = 0 THEN 'EXPIRED' ELSE 'ACTIVE' END,
+       (ARRAY['FULL_TIME','PART_TIME','CONTRACT'])[1 + g % 3],
+       (ARRAY['ONSITE','HYBRID','REMOTE'])[1 + (g / 3) % 3],
+       now() - (g % 525600) * interval '1 minute'
+FROM generate_series($existing + 1, $ROWS) AS g;
+ANALYZE job_listings;
+SQL
+fi
+
+workdir=$(mktemp -d)
+trap 'rm -rf "$workdir"' EXIT
+
+# Each scenario: name|WHERE clause beyond tenant + status (pgbench variables allowed)
+scenarios=(
+  "company|AND lower(j.company) LIKE '%company ' || :n || '%'"
+  "location|AND lower(j.location) LIKE '%' || (ARRAY['berl','amst','lond','pari','zur'])[1 + :n % 5] || '%'"
+  "title|AND lower(j.title) LIKE '%' || (ARRAY['java','python','platform','devops'])[1 + :n % 4] || '%'"
+  "title+location|AND lower(j.title) LIKE '%java%' AND lower(j.location) LIKE '%' || (ARRAY['berl','amst','lond'])[1 + :n % 3] || '%'"
+  "company+remote|AND lower(j.company) LIKE '%company ' || :n || '%' AND j.remote_type = 'REMOTE'"
+)
+
+printf '\n%-16s %10s %10s %10s %10s\n' "scenario" "tps" "p50 ms" "p95 ms" "p99 ms"
+for scenario in "${scenarios[@]}"; do
+  name="${scenario%%|*}"
+  filter="${scenario#*|}"
+  script="$workdir/$name.sql"
+  cat > "$script" <<SQL
+\set n random(1, 4999)
+SELECT j.id, j.title, j.company, j.location, j.created_at
+FROM job_listings j
+WHERE j.tenant_id = '$TENANT' AND j.status = 'ACTIVE' $filter
+ORDER BY j.created_at DESC
+LIMIT 20;
+SQL
+
+  if $EXPLAIN; then
+    echo "--- $name"
+    sed -e 's/^\\set.*//' -e 's/:n/42/g' "$script" | sed '1s/^/EXPLAIN (ANALYZE, BUFFERS) /' | psql -q
+  fi
+
+  (cd "$workdir" && pgbench -n -M prepared -c "$CLIENTS" -j "$CLIENTS" -T "$DURATION" \
+      -f "$script" --log --log-prefix="log-$name" > "$workdir/$name.out" 2>&1)
+  tps=$(grep -Eo 'tps = [0-9.]+' "$workdir/$name.out" | head -1 | cut -d' ' -f3)
+  # Per-transaction log: column 3 is latency in microseconds
+  cat "$workdir/log-$name".* 2>/dev/null | awk '{print $3}' | sort -n > "$workdir/$name.lat"
+  count=$(wc -l < "$workdir/$name.lat")
+  pct() { sed -n "$(( ($1 * count + 99) / 100 ))p" "$workdir/$name.lat" | awk '{printf "%.2f", $1 / 1000}'; }
+  printf '%-16s %10s %10s %10s %10s\n' "$name" "${tps:-?}" "$(pct 50)" "$(pct 95)" "$(pct 99)"
+done
@@ -5,6 +5,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * Binds all custom `app.*` properties from application.properties / YAML.
  */
@@ -18,10 +20,27 @@ public class AppProperties {
     private Storage storage = new Storage();
     private Encryption encryption = new Encryption();
     private Cors cors = new Cors();
+    private Matching matching = new Matching();
+    private Search search = new Search();
+    private Ingest ingest = new Ingest();
+    private Crawler crawler = new Crawler();
+    private Dedup dedup = new Dedup();
+    private Expiry expiry = new Expiry();
+    private CvProcessing cvProcessing = new CvProcessing();
+    private CvParseCache cvParseCache = new CvParseCache();
+    private Rag rag = new Rag();
 
     @Getter @Setter
     public static class Embedding {
         private int dimensions = 768;
+        /** Texts per embedding model call / multi-row insert. */
+        private int batchSize = 64;
+        /** Maximum time a text waits for its batch to fill. */
+        private Duration flushInterval = Duration.ofMillis(500);
+        /** Pending texts before producers are blocked. */
+        private int queueCapacity = 10_000;
+        /** How long a producer waits for queue space before the text is dropped. */
+        private Duration offerTimeout = Duration.ofSeconds(2);
     }
 
     @Getter @Setter
@@ -48,4 +67,162 @@ public class AppProperties {
     public static class Cors {
         private String allowedOrigins = "http://localhost:5173";
     }
+
+    @Getter @Setter
+    public static class Matching {
+        private Cache cache = new Cache();
+        private Parallel parallel = new Parallel();
+        private Semantic semantic = new Semantic();
+
+        @Getter @Setter
+        public static class Cache {
+            private boolean enabled = true;
+            private Duration ttl = Duration.ofMinutes(30);
+            private long nearCacheSize = 10_000;
+            private Duration nearCacheTtl = Duration.ofMinutes(5);
+            private int maxRankedJobs = 1_000;
+        }
+
+        @Getter @Setter
+        public static class Parallel {
+            private boolean enabled = true;
+            /** Minimum number of candidate jobs before scoring is split into chunks. */
+            private int threshold = 20_000;
+            /** Approximate number of candidates per chunk. */
+            private int chunkSize = 8_192;
+            /** Scoring threads; 0 means half the available processors. */
+            private int parallelism = 0;
+        }
+
+        @Getter @Setter
+        public static class Semantic {
+            /** Weight of vector similarity in the blended score (0 = skills only, 1 = vectors only). */
+            private double weight = 0.5;
+            /** Number of nearest jobs fetched from the HNSW index before blending. */
+            private int candidates = 100;
+            /** {@code hnsw.ef_search} for the ANN query; raised to {@code candidates} if lower. */
+            private int efSearch = 100;
+            /** Use pgvector 0.8+ iterative index scans so tenant filtering cannot starve results. */
+            private boolean iterativeScan = true;
+        }
+    }
+
+    @Getter @Setter
+    public static class Search {
+        private Hybrid hybrid = new Hybrid();
+        /** Upper bound on how long a cached per-tenant active job count is reused. */
+        private Duration countCacheTtl = Duration.ofMinutes(10);
+
+        @Getter @Setter
+        public static class Hybrid {
+            /** Top results taken from each of the keyword and vector rankings before fusion. */
+            private int candidates = 200;
+            /** Reciprocal rank fusion constant: score = sum of 1 / (rrfK + rank). */
+            private int rrfK = 60;
+            /** {@code hnsw.ef_search} for the ANN query; raised to {@code candidates} if lower. */
+            private int efSearch = 200;
+            /** Use pgvector 0.8+ iterative index scans so tenant filtering cannot starve results. */
+            private boolean iterativeScan = true;
+        }
+    }
+
+    @Getter @Setter
+    public static class Ingest {
+        /** Feed records staged, merged and committed per COPY batch. */
+        private int batchSize = 1_000;
+    }
+
+    @Getter @Setter
+    public static class Crawler {
+        /** Run the scheduled crawl of all enabled job sources. */
+        private boolean enabled = false;
+        /** Delay between the end of one crawl of all sources and the start of the next. */
+        private Duration interval = Duration.ofHours(1);
+        /** Maximum concurrent requests to one host. */
+        private int perHostConcurrency = 2;
+        /** Minimum time between the starts of two requests to one host. */
+        private Duration perHostDelay = Duration.ofSeconds(1);
+        /** Listing pages followed per source and crawl. */
+        private int maxPages = 20;
+        private Duration requestTimeout = Duration.ofSeconds(20);
+        private String userAgent = "JobAgentBot/1.0 (+https://jobagent.com/bot)";
+    }
+
+    @Getter @Setter
+    public static class Dedup {
+        /** Link near-duplicate listings to a canonical one at ingestion. */
+        private boolean enabled = true;
+        /** LSH bands; bands × rows is the MinHash signature length. */
+        private int bands = 16;
+        /** Signature rows per band. With 16 × 8, pairs above ~0.7 Jaccard share a bucket. */
+        private int rows = 8;
+        /** Estimated Jaccard similarity at which a candidate counts as a duplicate. */
+        private double threshold = 0.8;
+        /** Words per shingle. */
+        private int shingleSize = 3;
+    }
+
+    @Getter @Setter
+    public static class Expiry {
+        /** Delay between the end of one expiry sweep and the start of the next. */
+        private Duration interval = Duration.ofMinutes(10);
+        /** Listings expired per UPDATE and transaction. */
+        private int batchSize = 1_000;
+    }
+
+    @Getter @Setter
+    public static class CvProcessing {
+        /** Poll the durable CV processing queue on this instance. */
+        private boolean enabled = true;
+        /** CVs in the processing pipeline at once on this instance; only as many jobs are claimed as slots are free. */
+        private int concurrency = 16;
+        /** Delay between queue polls. */
+        private Duration pollInterval = Duration.ofSeconds(1);
+        /** How long a claimed job stays hidden from other workers; jobs of a crashed worker reappear after it. */
+        private Duration lease = Duration.ofMinutes(5);
+        /** How often the leases of jobs still in this instance's pipeline are extended; keep well below {@code lease}. */
+        private Duration leaseRenewal = Duration.ofMinutes(1);
+        /** Claims of one CV before it is given up and marked FAILED. */
+        private int maxAttempts = 3;
+        /** Concurrent downloads from storage (virtual threads). */
+        private int downloadConcurrency = 8;
+        /** Tika extraction threads (CPU-bound); defaults to the number of cores. */
+        private int extractConcurrency = Runtime.getRuntime().availableProcessors();
+        /** LLM parse threads; match the model server's capacity. */
+        private int parseConcurrency = 2;
+        /** Tasks waiting for the extraction or parse stage before the stage in front of it blocks. */
+        private int stageQueueCapacity = 32;
+        /** Concurrent CV chunk indexing runs (embedding calls, virtual threads). */
+        private int indexConcurrency = 4;
+    }
+
+    @Getter @Setter
+    public static class CvParseCache {
+        /** Serve LLM parse results of previously seen CV text from {@code cv_parse_cache}. */
+        private boolean enabled = true;
+        /** How long a parse result is served before the model is asked again. */
+        private Duration ttl = Duration.ofDays(30);
+        /** Id of the chat model in use; part of the cache key, so switching models starts afresh. */
+        private String model = "default";
+    }
+
+    @Getter @Setter
+    public static class Rag {
+        /** Write section chunks of processed CVs to {@code vector_store}. */
+        private boolean indexCvChunks = true;
+        /** Maximum tokens per CV chunk. */
+        private int chunkTokens = 256;
+        /** Tokens repeated from the end of one chunk at the start of the next within a section. */
+        private int chunkOverlapTokens = 32;
+        /** Chunks embedded and written per vector store call. */
+        private int batchSize = 32;
+        /** Token budget for a rendered motivation letter prompt. */
+        private int letterPromptTokens = 2000;
+        /** CV chunks retrieved per letter. */
+        private int letterTopK = 5;
+        /** Tokens of the job description kept in a letter prompt. */
+        private int letterJobSummaryTokens = 300;
+        /** Tokens of the job requirements kept in a letter prompt. */
+        private int letterRequirementsTokens = 200;
+    }
 }
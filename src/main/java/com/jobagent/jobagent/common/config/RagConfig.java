@@ -0,0 +1,22 @@
+package com.jobagent.jobagent.common.config;
+
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Token counting for RAG chunking and prompt budgets (app.rag.*).
+ */
+@Configuration
+public class RagConfig {
+
+    /**
+     * BPE token counts (cl100k_base) via JTokkit. Exact for the OpenAI models used in prod and a
+     * close estimate for the local Ollama models.
+     */
+    @Bean
+    public TokenCountEstimator tokenCountEstimator() {
+        return new JTokkitTokenCountEstimator();
+    }
+}
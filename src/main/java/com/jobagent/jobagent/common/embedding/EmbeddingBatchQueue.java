@@ -0,0 +1,222 @@
+package com.jobagent.jobagent.common.embedding;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded queue that batches texts to embed across producers (job creation, bulk imports, CV
+ * processing) and writes the results with one multi-row upsert per store.
+ *
+ * <p>A single flusher thread drains the queue whenever {@code app.embedding.batch-size} texts
+ * are pending or the oldest one has waited {@code app.embedding.flush-interval}. Per batch:
+ * <ol>
+ *   <li>entries for the same owner are coalesced (latest text wins);</li>
+ *   <li>texts whose SHA-256 already has a stored vector reuse it instead of calling the model;</li>
+ *   <li>the remaining distinct texts are embedded in one {@code EmbeddingModel} call.</li>
+ * </ol>
+ * A full queue blocks producers for up to {@code app.embedding.offer-timeout} (backpressure), after
+ * which the text is dropped and counted.
+ */
+@Component
+@Slf4j
+public class EmbeddingBatchQueue implements SmartLifecycle {
+
+    private final TextEmbedder textEmbedder;
+    private final AppProperties.Embedding properties;
+    private final BlockingQueue<PendingEmbedding> queue;
+
+    private final DistributionSummary batchSize;
+    private final Timer flushLatency;
+    private final Counter dedupHits;
+    private final Counter dedupMisses;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public EmbeddingBatchQueue(TextEmbedder textEmbedder, AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.textEmbedder = textEmbedder;
+        this.properties = appProperties.getEmbedding();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        this.batchSize = DistributionSummary.builder("jobagent.embedding.batch.size")
+                .description("Texts per embedding flush (after coalescing)")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("jobagent.embedding.flush")
+                .description("Time to embed and store one batch")
+                .register(meterRegistry);
+        this.dedupHits = Counter.builder("jobagent.embedding.dedup")
+                .tag("result", "hit")
+                .description("Texts whose content hash already had a stored vector")
+                .register(meterRegistry);
+        this.dedupMisses = Counter.builder("jobagent.embedding.dedup")
+                .tag("result", "miss")
+                .description("Texts that had to be sent to the embedding model")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("jobagent.embedding.rejected")
+                .description("Texts dropped because the queue stayed full")
+                .register(meterRegistry);
+        meterRegistry.gauge("jobagent.embedding.queue.size", queue, BlockingQueue::size);
+    }
+
+    /**
+     * Queue a text to be embedded into {@code store} for the given owner.
+     *
+     * @return false if no embedding model is configured or the queue stayed full
+     */
+    public boolean submit(EmbeddingStore store, UUID ownerId, UUID tenantId, String text) {
+        if (text == null || text.isBlank() || !textEmbedder.isAvailable()) {
+            return false;
+        }
+        try {
+            if (queue.offer(new PendingEmbedding(store, ownerId, tenantId, text),
+                    properties.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        log.warn("Embedding queue full, dropped {} embedding for {}", store.name(), ownerId);
+        return false;
+    }
+
+    /**
+     * Embed and store one batch. Package-private for tests; normally called by the flusher thread.
+     */
+    void flush(List<PendingEmbedding> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+
+        // Coalesce: one entry per (store, owner), the latest text wins
+        Map<OwnerKey, PendingEmbedding> latest = new LinkedHashMap<>();
+        for (PendingEmbedding entry : pending) {
+            latest.put(new OwnerKey(entry.store(), entry.ownerId()), entry);
+        }
+        batchSize.record(latest.size());
+
+        Map<PendingEmbedding, String> hashes = new LinkedHashMap<>();
+        Map<EmbeddingStore, Set<String>> hashesByStore = new LinkedHashMap<>();
+        for (PendingEmbedding entry : latest.values()) {
+            String hash = TextEmbedder.contentHash(entry.text());
+            hashes.put(entry, hash);
+            hashesByStore.computeIfAbsent(entry.store(), s -> new LinkedHashSet<>()).add(hash);
+        }
+
+        // Dedup against vectors already stored for the same content
+        Map<String, float[]> vectors = new HashMap<>();
+        hashesByStore.forEach((store, storeHashes) -> vectors.putAll(store.findByContentHashes(storeHashes)));
+
+        Map<String, String> textsToEmbed = new LinkedHashMap<>();
+        for (Map.Entry<PendingEmbedding, String> entry : hashes.entrySet()) {
+            if (vectors.containsKey(entry.getValue())) {
+                dedupHits.increment();
+            } else {
+                dedupMisses.increment();
+                textsToEmbed.putIfAbsent(entry.getValue(), entry.getKey().text());
+            }
+        }
+
+        if (!textsToEmbed.isEmpty()) {
+            List<String> batchHashes = new ArrayList<>(textsToEmbed.keySet());
+            List<float[]> embedded = textEmbedder.embedAll(new ArrayList<>(textsToEmbed.values()));
+            for (int i = 0; i < embedded.size(); i++) {
+                if (embedded.get(i) != null) {
+                    vectors.put(batchHashes.get(i), embedded.get(i));
+                }
+            }
+        }
+
+        Map<EmbeddingStore, List<EmbeddingStore.EmbeddingRow>> rowsByStore = new LinkedHashMap<>();
+        for (Map.Entry<PendingEmbedding, String> entry : hashes.entrySet()) {
+            float[] vector = vectors.get(entry.getValue());
+            if (vector != null) {
+                PendingEmbedding pendingEmbedding = entry.getKey();
+                rowsByStore.computeIfAbsent(pendingEmbedding.store(), s -> new ArrayList<>())
+                        .add(new EmbeddingStore.EmbeddingRow(pendingEmbedding.ownerId(), pendingEmbedding.tenantId(),
+                                entry.getValue(), vector));
+            }
+        }
+        rowsByStore.forEach(EmbeddingStore::upsertAll);
+
+        long nanos = sample.stop(flushLatency);
+        log.debug("Flushed {} embeddings ({} sent to the model) in {} ms",
+                latest.size(), textsToEmbed.size(), TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    private void runFlusher() {
+        int maxBatch = Math.max(1, properties.getBatchSize());
+        long intervalNanos = properties.getFlushInterval().toNanos();
+        List<PendingEmbedding> batch = new ArrayList<>(maxBatch);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingEmbedding first = queue.poll(intervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + intervalNanos;
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingEmbedding next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // stop() interrupts a waiting poll; drain what is left before exiting
+                queue.drainTo(batch, maxBatch - batch.size());
+            }
+
+            try {
+                flush(batch);
+            } catch (Exception e) {
+                log.error("Embedding flush of {} texts failed: {}", batch.size(), e.getMessage(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = Thread.ofPlatform().name("embedding-flusher").daemon().start(this::runFlusher);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            try {
+                flusher.join(properties.getFlushInterval().toMillis() + 30_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    record PendingEmbedding(EmbeddingStore store, UUID ownerId, UUID tenantId, String text) {}
+
+    private record OwnerKey(EmbeddingStore store, UUID ownerId) {}
+}
@@ -0,0 +1,64 @@
+package com.jobagent.jobagent.common.embedding;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * A pgvector table the {@link EmbeddingBatchQueue} writes to (e.g. {@code job_embeddings},
+ * {@code cv_embeddings}). Rows are owned by one entity each and carry the SHA-256 of the text
+ * they were computed from.
+ */
+public interface EmbeddingStore {
+
+    /**
+     * Short name for logs and metrics.
+     */
+    String name();
+
+    /**
+     * Already stored vectors for any of the given content hashes.
+     */
+    Map<String, float[]> findByContentHashes(Collection<String> contentHashes);
+
+    /**
+     * Insert or replace the given rows in one multi-row statement.
+     */
+    void upsertAll(List<EmbeddingRow> rows);
+
+    record EmbeddingRow(UUID ownerId, UUID tenantId, String contentHash, float[] embedding) {}
+
+    /**
+     * {@code INSERT ... VALUES (...), (...) ON CONFLICT} for {@code rows} rows of
+     * (owner, tenant_id, embedding, content_hash). Rows whose content hash is unchanged are left
+     * untouched so re-submitting the same text does not rewrite the HNSW index entry.
+     */
+    static String multiRowUpsertSql(String table, String ownerColumn, int rows) {
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < rows; i++) {
+            values.add("(?, ?, CAST(? AS vector), ?)");
+        }
+        return "INSERT INTO " + table + " (" + ownerColumn + ", tenant_id, embedding, content_hash) VALUES "
+                + values
+                + " ON CONFLICT (" + ownerColumn + ") DO UPDATE"
+                + " SET embedding = EXCLUDED.embedding, content_hash = EXCLUDED.content_hash, created_at = now()"
+                + " WHERE " + table + ".content_hash IS DISTINCT FROM EXCLUDED.content_hash";
+    }
+
+    /**
+     * Bind parameters for {@link #multiRowUpsertSql}.
+     */
+    static Object[] multiRowUpsertArgs(List<EmbeddingRow> rows) {
+        Object[] args = new Object[rows.size() * 4];
+        int i = 0;
+        for (EmbeddingRow row : rows) {
+            args[i++] = row.ownerId();
+            args[i++] = row.tenantId();
+            args[i++] = TextEmbedder.toVectorLiteral(row.embedding());
+            args[i++] = row.contentHash();
+        }
+        return args;
+    }
+}
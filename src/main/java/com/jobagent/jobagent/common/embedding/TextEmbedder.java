@@ -0,0 +1,125 @@
+package com.jobagent.jobagent.common.embedding;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Embeds text with the configured Spring AI {@link EmbeddingModel} (Ollama locally, OpenAI in
+ * prod) for storage in the pgvector {@code *_embeddings} tables.
+ *
+ * <p>The model is optional: when no embedding model is configured, or it returns a vector of the
+ * wrong dimension for {@code app.embedding.dimensions}, nothing is embedded and semantic
+ * features fall back to lexical matching.
+ */
+@Component
+@Slf4j
+public class TextEmbedder {
+
+    /** Keep requests well inside the context window of common embedding models. */
+    static final int MAX_TEXT_LENGTH = 8_000;
+
+    private final ObjectProvider<EmbeddingModel> embeddingModel;
+    private final int dimensions;
+
+    public TextEmbedder(ObjectProvider<EmbeddingModel> embeddingModel, AppProperties appProperties) {
+        this.embeddingModel = embeddingModel;
+        this.dimensions = appProperties.getEmbedding().getDimensions();
+    }
+
+    public boolean isAvailable() {
+        return embeddingModel.getIfAvailable() != null;
+    }
+
+    /**
+     * Embed a text, or return empty if no model is configured or the text is blank.
+     */
+    public Optional<float[]> embed(String text) {
+        EmbeddingModel model = embeddingModel.getIfAvailable();
+        if (model == null || text == null || text.isBlank()) {
+            return Optional.empty();
+        }
+        float[] vector = model.embed(truncate(text));
+        if (vector.length != dimensions) {
+            log.warn("Embedding model returned {} dimensions, expected {}; skipping", vector.length, dimensions);
+            return Optional.empty();
+        }
+        return Optional.of(vector);
+    }
+
+    /**
+     * Embed several texts in one model call. Returns one entry per input, {@code null} where the
+     * model returned a vector of the wrong dimension; empty if no model is configured.
+     */
+    public List<float[]> embedAll(List<String> texts) {
+        EmbeddingModel model = embeddingModel.getIfAvailable();
+        if (model == null || texts.isEmpty()) {
+            return List.of();
+        }
+        List<float[]> vectors = new ArrayList<>(model.embed(texts.stream().map(TextEmbedder::truncate).toList()));
+        for (int i = 0; i < vectors.size(); i++) {
+            if (vectors.get(i).length != dimensions) {
+                log.warn("Embedding model returned {} dimensions, expected {}; skipping", vectors.get(i).length, dimensions);
+                vectors.set(i, null);
+            }
+        }
+        return vectors;
+    }
+
+    /**
+     * SHA-256 (hex) of the text exactly as it would be sent to the model.
+     */
+    public static String contentHash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(truncate(text).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Format a vector as a pgvector literal ({@code [0.1,0.2,...]}) for use with {@code CAST(? AS vector)}.
+     */
+    public static String toVectorLiteral(float[] vector) {
+        StringBuilder sb = new StringBuilder(vector.length * 10).append('[');
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(vector[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Parse a pgvector text representation ({@code [0.1,0.2,...]}).
+     */
+    public static float[] parseVectorLiteral(String literal) {
+        String body = literal.trim();
+        body = body.substring(1, body.length() - 1);
+        if (body.isEmpty()) {
+            return new float[0];
+        }
+        String[] parts = body.split(",");
+        float[] vector = new float[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            vector[i] = Float.parseFloat(parts[i]);
+        }
+        return vector;
+    }
+
+    static String truncate(String text) {
+        return text.length() <= MAX_TEXT_LENGTH ? text : text.substring(0, MAX_TEXT_LENGTH);
+    }
+}
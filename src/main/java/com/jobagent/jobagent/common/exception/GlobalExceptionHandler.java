@@ -3,6 +3,8 @@ package com.jobagent.jobagent.common.exception;
 import com.jobagent.jobagent.cv.service.CvTextExtractor;
 import com.jobagent.jobagent.cv.service.CvUploadService;
 import com.jobagent.jobagent.cv.service.MinioFileStorageService;
+import com.jobagent.jobagent.jobsearch.dto.MatchCursor;
+import com.jobagent.jobagent.jobsearch.service.JobIngestionService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
@@ -93,6 +95,16 @@ public class GlobalExceptionHandler {
         return problem;
     }
 
+    @ExceptionHandler(JobIngestionService.IngestException.class)
+    public ProblemDetail handleIngest(JobIngestionService.IngestException ex) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+                HttpStatus.BAD_REQUEST, ex.getMessage());
+        problem.setTitle("Job Ingestion Error");
+        problem.setType(URI.create("https://jobagent.com/errors/job-ingestion"));
+        problem.setProperty("timestamp", Instant.now());
+        return problem;
+    }
+
     @ExceptionHandler(CvTextExtractor.CvParsingException.class)
     public ProblemDetail handleCvParsing(CvTextExtractor.CvParsingException ex) {
         log.error("CV parsing error: {}", ex.getMessage());
@@ -115,6 +127,16 @@ public class GlobalExceptionHandler {
         return problem;
     }
 
+    @ExceptionHandler(MatchCursor.InvalidCursorException.class)
+    public ProblemDetail handleInvalidCursor(MatchCursor.InvalidCursorException ex) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+                HttpStatus.BAD_REQUEST, ex.getMessage());
+        problem.setTitle("Invalid Cursor");
+        problem.setType(URI.create("https://jobagent.com/errors/invalid-cursor"));
+        problem.setProperty("timestamp", Instant.now());
+        return problem;
+    }
+
     @ExceptionHandler(Exception.class)
     public ProblemDetail handleGeneral(Exception ex) {
         log.error("Unhandled exception", ex);
@@ -13,6 +13,7 @@ public final class RagConstants {
     public static final String META_CV_ID = "cv_id";
     public static final String META_SECTION = "section";
     public static final String META_DOC_TYPE = "doc_type";
+    public static final String META_CHUNK_INDEX = "chunk_index";
 
     // ─── Document types ──────────────────────────────────────────────
     public static final String DOC_TYPE_CV_CHUNK = "cv_chunk";
@@ -24,6 +25,7 @@ public final class RagConstants {
     public static final String SECTION_EDUCATION = "EDUCATION";
     public static final String SECTION_SUMMARY = "SUMMARY";
     public static final String SECTION_PROJECTS = "PROJECTS";
+    public static final String SECTION_OTHER = "OTHER";
 
     // ─── Default RAG parameters ──────────────────────────────────────
     public static final int DEFAULT_TOP_K = 5;
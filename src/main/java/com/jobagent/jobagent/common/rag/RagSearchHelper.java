@@ -29,9 +29,16 @@ public final class RagSearchHelper {
      * Build a tenant-scoped search for CV chunks of a specific CV.
      */
     public static SearchRequest cvChunkSearchByCv(String query, UUID tenantId, UUID cvId) {
+        return cvChunkSearchByCv(query, tenantId, cvId, RagConstants.DEFAULT_TOP_K);
+    }
+
+    /**
+     * Build a tenant-scoped search for the {@code topK} CV chunks of a specific CV.
+     */
+    public static SearchRequest cvChunkSearchByCv(String query, UUID tenantId, UUID cvId, int topK) {
         return SearchRequest.builder()
                 .query(query)
-                .topK(RagConstants.DEFAULT_TOP_K)
+                .topK(topK)
                 .similarityThreshold(RagConstants.DEFAULT_SIMILARITY_THRESHOLD)
                 .filterExpression(
                         RagConstants.META_TENANT_ID + " == '" + tenantId + "' && "
@@ -0,0 +1,82 @@
+package com.jobagent.jobagent.common.skill;
+
+import java.util.BitSet;
+
+/**
+ * Allocation-free operations on skill sets encoded as {@code long[]} bitsets over canonical
+ * skill ids ({@link SkillDictionary}). Bit {@code i} of word {@code i >>> 6} is set when the set
+ * contains skill id {@code i}.
+ */
+public final class SkillBits {
+
+    public static final long[] EMPTY = new long[0];
+
+    private SkillBits() {}
+
+    /**
+     * Encode skill ids as a bitset.
+     */
+    public static long[] of(int[] skillIds) {
+        if (skillIds.length == 0) {
+            return EMPTY;
+        }
+        int max = 0;
+        for (int id : skillIds) {
+            max = Math.max(max, id);
+        }
+        long[] bits = new long[(max >>> 6) + 1];
+        for (int id : skillIds) {
+            bits[id >>> 6] |= 1L << id;
+        }
+        return bits;
+    }
+
+    /**
+     * Encode a {@link BitSet} of skill ids.
+     */
+    public static long[] of(BitSet skillIds) {
+        return skillIds.toLongArray();
+    }
+
+    /**
+     * {@code popcount(a & b)} — number of skills present in both sets.
+     */
+    public static int intersectionCount(long[] a, long[] b) {
+        int words = Math.min(a.length, b.length);
+        int count = 0;
+        for (int i = 0; i < words; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Number of skills in the set.
+     */
+    public static int cardinality(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Whether the set contains the given skill id.
+     */
+    public static boolean contains(long[] bits, int skillId) {
+        int word = skillId >>> 6;
+        return word < bits.length && (bits[word] & (1L << skillId)) != 0;
+    }
+
+    /**
+     * Percentage of {@code required} skills that were {@code matched}, rounded half-up.
+     * A job with no required skills is a 100% match.
+     */
+    public static int matchPercentage(int matched, int required) {
+        if (required == 0) {
+            return 100;
+        }
+        return (matched * 200 + required) / (2 * required);
+    }
+}
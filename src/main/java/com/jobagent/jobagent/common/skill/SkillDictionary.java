@@ -0,0 +1,204 @@
+package com.jobagent.jobagent.common.skill;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Canonicalizes free-text skills ("K8s", "spring-boot", "Java 11") to a canonical name and a
+ * dense integer id.
+ *
+ * <p>Aliases and implications are loaded from {@code app.skills.dictionary} at startup and can be
+ * swapped at runtime via {@link #reload()}. Canonical names are interned to ids that stay stable
+ * for the lifetime of the process (also across reloads), so they can be used for set
+ * intersection and bitsets. Ids are process-local: persist canonical names, never ids.
+ *
+ * <p>Ids are never released, so only dictionary skills and the skills of indexed jobs are
+ * interned ({@link #id}, {@link #ids}). Query-side skills from CVs go through {@link #expanded}
+ * and {@link #expandedIds}, which never intern: a name without an id is not
+ * required by any indexed job, so it cannot affect a ranking, and user input cannot grow the id
+ * space.
+ */
+@Component
+@Slf4j
+public class SkillDictionary {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s_\\-]+");
+    private static final Pattern VERSION_SUFFIX = Pattern.compile("\\s+v?\\d+(\\.\\d+)*\\+?$");
+
+    private final Resource resource;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of());
+
+    public SkillDictionary(
+            @Value("${app.skills.dictionary:classpath:skills/skill-dictionary.json}") Resource resource,
+            ObjectMapper objectMapper) {
+        this.resource = resource;
+        this.objectMapper = objectMapper;
+        reload();
+    }
+
+    /**
+     * Re-read the dictionary resource and atomically swap the alias table.
+     *
+     * @return number of canonical skills loaded
+     */
+    public synchronized int reload() {
+        DictionaryFile file;
+        try (InputStream in = resource.getInputStream()) {
+            file = objectMapper.readValue(in, DictionaryFile.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load skill dictionary from " + resource, e);
+        }
+
+        Map<String, String> canonicalByAlias = new HashMap<>();
+        Map<String, Set<String>> implies = new HashMap<>();
+        for (SkillEntry entry : file.skills()) {
+            String canonical = normalize(entry.name());
+            canonicalByAlias.put(canonical, canonical);
+            if (entry.aliases() != null) {
+                entry.aliases().forEach(alias -> canonicalByAlias.put(normalize(alias), canonical));
+            }
+            if (entry.implies() != null && !entry.implies().isEmpty()) {
+                implies.put(canonical, Set.copyOf(entry.implies().stream().map(SkillDictionary::normalize).toList()));
+            }
+            intern(canonical);
+        }
+
+        snapshot = new Snapshot(Map.copyOf(canonicalByAlias), Map.copyOf(implies));
+        log.info("Loaded skill dictionary from {}: {} skills, {} aliases",
+                resource.getDescription(), file.skills().size(), canonicalByAlias.size());
+        return file.skills().size();
+    }
+
+    /**
+     * Canonical name of a raw skill, or {@code null} for a blank value.
+     * Skills not in the dictionary canonicalize to their normalized form.
+     */
+    public String canonicalName(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return null;
+        }
+        String normalized = normalize(raw);
+        Map<String, String> aliases = snapshot.canonicalByAlias();
+
+        String canonical = aliases.get(normalized);
+        if (canonical != null) {
+            return canonical;
+        }
+
+        // "java 17", "python 3.11", "java 8+" → base skill
+        String unversioned = VERSION_SUFFIX.matcher(normalized).replaceFirst("");
+        if (!unversioned.isEmpty() && !unversioned.equals(normalized)) {
+            return aliases.getOrDefault(unversioned, unversioned);
+        }
+        return normalized;
+    }
+
+    /**
+     * Canonicalize a list of raw skills, dropping blanks and duplicates (order preserved).
+     */
+    public List<String> canonicalize(Collection<String> rawSkills) {
+        if (rawSkills == null) {
+            return List.of();
+        }
+        LinkedHashSet<String> result = new LinkedHashSet<>();
+        for (String raw : rawSkills) {
+            String canonical = canonicalName(raw);
+            if (canonical != null) {
+                result.add(canonical);
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * Canonical id of a raw job skill, interning it if new, or {@code -1} for a blank value.
+     */
+    public int id(String raw) {
+        String canonical = canonicalName(raw);
+        return canonical == null ? -1 : intern(canonical);
+    }
+
+    /**
+     * Distinct canonical ids of the given raw job skills, interning new ones.
+     */
+    public int[] ids(Collection<String> rawSkills) {
+        return canonicalize(rawSkills).stream().mapToInt(this::intern).toArray();
+    }
+
+    /**
+     * Canonical names of the given raw skills plus every skill they imply
+     * (e.g. "spring boot" implies "spring"). Used for the candidate side of matching.
+     */
+    public Set<String> expanded(Collection<String> rawSkills) {
+        Map<String, Set<String>> implies = snapshot.implies();
+        Set<String> result = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>(canonicalize(rawSkills));
+        while (!pending.isEmpty()) {
+            String skill = pending.pop();
+            if (result.add(skill)) {
+                pending.addAll(implies.getOrDefault(skill, Set.of()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ids of {@link #expanded} skills, for scoring against the skill index; skills without an
+     * id are skipped rather than interned.
+     */
+    public BitSet expandedIds(Collection<String> rawSkills) {
+        BitSet result = new BitSet();
+        for (String skill : expanded(rawSkills)) {
+            Integer id = idsByName.get(skill);
+            if (id != null) {
+                result.set(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Canonical name for an id.
+     */
+    public String name(int id) {
+        return namesById.get(id);
+    }
+
+    private int intern(String canonical) {
+        Integer id = idsByName.get(canonical);
+        if (id != null) {
+            return id;
+        }
+        synchronized (idsByName) {
+            return idsByName.computeIfAbsent(canonical, name -> {
+                int next = namesById.size();
+                namesById.put(next, name);
+                return next;
+            });
+        }
+    }
+
+    static String normalize(String raw) {
+        return SEPARATORS.matcher(raw.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    private record Snapshot(Map<String, String> canonicalByAlias, Map<String, Set<String>> implies) {}
+
+    record DictionaryFile(List<SkillEntry> skills) {}
+
+    record SkillEntry(String name, List<String> aliases, List<String> implies) {}
+}
@@ -0,0 +1,39 @@
+package com.jobagent.jobagent.common.skill;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Admin endpoint for the skill dictionary ({@code skills}).
+ *
+ * <p>Only exposed over JMX — actuator web endpoints are unauthenticated in this application.
+ */
+@Component
+@Endpoint(id = "skills")
+@RequiredArgsConstructor
+@Slf4j
+public class SkillDictionaryEndpoint {
+
+    private final SkillDictionary skillDictionary;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @ReadOperation
+    public Map<String, String> canonicalize(String skill) {
+        return Map.of("skill", skill, "canonical", String.valueOf(skillDictionary.canonicalName(skill)));
+    }
+
+    @WriteOperation
+    public Map<String, Integer> reload() {
+        int count = skillDictionary.reload();
+        eventPublisher.publishEvent(new SkillDictionaryReloadedEvent(count));
+        log.info("Skill dictionary reloaded via admin endpoint ({} skills)", count);
+        return Map.of("skills", count);
+    }
+}
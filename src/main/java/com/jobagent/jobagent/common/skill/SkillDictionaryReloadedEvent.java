@@ -0,0 +1,8 @@
+package com.jobagent.jobagent.common.skill;
+
+/**
+ * Published after the skill dictionary has been reloaded, so that structures built from
+ * canonical skill ids (e.g. skill indexes) can be rebuilt.
+ */
+public record SkillDictionaryReloadedEvent(int skillCount) {
+}
@@ -1,32 +1,16 @@
 package com.jobagent.jobagent.cv.config;
 
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
-
-import java.util.concurrent.Executor;
 
 /**
  * Sprint 4.5 — Async configuration for CV processing.
+ *
+ * <p>CV processing itself runs on the stage pools of
+ * {@link com.jobagent.jobagent.cv.service.CvProcessingPipeline}; {@code @EnableAsync} stays for
+ * the other {@code @Async} services.
  */
 @Configuration
 @EnableAsync
 public class CvProcessingConfig {
-
-    /**
-     * Thread pool for async CV processing.
-     */
-    @Bean(name = "cvProcessingExecutor")
-    public Executor cvProcessingExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("cv-process-");
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(60);
-        executor.initialize();
-        return executor;
-    }
 }
@@ -10,6 +10,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +19,7 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -50,6 +52,29 @@ public class CvController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @Operation(summary = "Stream a CV file", description = "Streams the raw request body (PDF or DOCX, max 10MB) straight to storage without multipart buffering; the type is detected from the content",
+            responses = {
+                @ApiResponse(responseCode = "201", description = "CV uploaded successfully"),
+                @ApiResponse(responseCode = "400", description = "Invalid file type or size"),
+                @ApiResponse(responseCode = "401", description = "Not authenticated")
+            })
+    @PostMapping(path = "/stream", consumes = {
+            MediaType.APPLICATION_PDF_VALUE,
+            "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+            MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<CvUploadResponse> uploadCvStream(
+            @Parameter(description = "Original file name", required = true) @RequestParam String fileName,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            InputStream body,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        UUID userId = extractUserId(jwt);
+        CvUploadResponse response = cvUploadService.uploadCvStream(
+                userId, fileName, body, contentLength != null ? contentLength : -1);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @Operation(summary = "Get active CV", description = "Returns the currently active CV for the authenticated user",
             responses = {
                 @ApiResponse(responseCode = "200", description = "Active CV retrieved"),
@@ -85,6 +85,16 @@ public record CvParsedData(
         String endDate
     ) {}
 
+    /**
+     * Copy with a replaced skills list (e.g. canonicalized skills).
+     */
+    public CvParsedData withSkills(List<String> newSkills) {
+        return new CvParsedData(
+            fullName, email, phone, currentTitle, summary,
+            newSkills, experience, education, languages, certifications
+        );
+    }
+
     /**
      * Create an empty parsed data object.
      */
@@ -0,0 +1,10 @@
+package com.jobagent.jobagent.cv.event;
+
+import java.util.UUID;
+
+/**
+ * Published (in-process) when a CV reaches PARSED, so modules holding results derived from
+ * the user's previous CV (e.g. job match caches) can drop them.
+ */
+public record CvParsedEvent(UUID tenantId, UUID userId, UUID cvId) {
+}
@@ -0,0 +1,11 @@
+package com.jobagent.jobagent.cv.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published (in-process) when CVs stop being active — replaced by a new upload or deleted — so
+ * data derived from them (e.g. RAG chunks) can be dropped.
+ */
+public record CvSupersededEvent(UUID tenantId, UUID userId, List<UUID> cvIds) {
+}
@@ -40,6 +40,10 @@ public class CvDetails extends BaseEntity {
     @Column(name = "s3_key", nullable = false)
     private String s3Key;
 
+    /** SHA-256 (hex) of the file bytes; keys the extracted-text artifact */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "parsed_json", columnDefinition = "jsonb")
     private String parsedJson;
 
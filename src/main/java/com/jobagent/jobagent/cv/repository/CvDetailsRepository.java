@@ -28,6 +28,17 @@ public interface CvDetailsRepository extends JpaRepository<CvDetails, UUID> {
      */
     List<CvDetails> findByUserIdOrderByCreatedAtDesc(UUID userId);
 
+    /**
+     * Whether the CV exists and is still the user's active one.
+     */
+    boolean existsByIdAndActiveTrue(UUID id);
+
+    /**
+     * IDs of a user's active CVs (about to be deactivated).
+     */
+    @Query("SELECT c.id FROM CvDetails c WHERE c.user.id = :userId AND c.active = true")
+    List<UUID> findActiveIdsByUserId(@Param("userId") UUID userId);
+
     /**
      * Deactivate all CVs for a user (before uploading new one).
      */
@@ -51,4 +62,12 @@ public interface CvDetailsRepository extends JpaRepository<CvDetails, UUID> {
      */
     Optional<CvDetails> findTopByUserIdAndTenantIdAndStatusOrderByCreatedAtDesc(
             UUID userId, UUID tenantId, CvStatus status);
+
+    /**
+     * Id of the latest parsed CV for a user, without loading the parsed JSON (match cache key).
+     */
+    @Query("SELECT c.id FROM CvDetails c WHERE c.user.id = :userId AND c.tenantId = :tenantId "
+            + "AND c.status = :status ORDER BY c.createdAt DESC LIMIT 1")
+    Optional<UUID> findLatestIdByUserIdAndTenantIdAndStatus(
+            @Param("userId") UUID userId, @Param("tenantId") UUID tenantId, @Param("status") CvStatus status);
 }
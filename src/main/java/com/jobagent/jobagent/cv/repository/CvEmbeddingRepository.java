@@ -0,0 +1,67 @@
+package com.jobagent.jobagent.cv.repository;
+
+import com.jobagent.jobagent.common.embedding.EmbeddingStore;
+import com.jobagent.jobagent.common.embedding.TextEmbedder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * JDBC access to {@code cv_embeddings} (pgvector, HNSW cosine index).
+ */
+@Repository
+@RequiredArgsConstructor
+public class CvEmbeddingRepository implements EmbeddingStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public String name() {
+        return "cv";
+    }
+
+    /**
+     * Vectors already computed for identical CV texts (e.g. a re-uploaded CV), keyed by content hash.
+     */
+    @Override
+    public Map<String, float[]> findByContentHashes(Collection<String> contentHashes) {
+        if (contentHashes.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, float[]> result = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT DISTINCT ON (content_hash) content_hash, embedding::text
+                FROM cv_embeddings
+                WHERE content_hash = ANY(?) AND embedding IS NOT NULL
+                """,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", contentHashes.toArray())),
+                rs -> {
+                    result.put(rs.getString(1).trim(), TextEmbedder.parseVectorLiteral(rs.getString(2)));
+                });
+        return result;
+    }
+
+    /**
+     * Insert or replace the embeddings of several CVs in one statement.
+     */
+    @Override
+    public void upsertAll(List<EmbeddingRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(EmbeddingStore.multiRowUpsertSql("cv_embeddings", "cv_id", rows.size()),
+                EmbeddingStore.multiRowUpsertArgs(rows));
+    }
+
+    /**
+     * Embedding of a CV as a pgvector literal, ready to be bound as a query vector.
+     */
+    public Optional<String> findVectorLiteral(UUID cvId, UUID tenantId) {
+        List<String> rows = jdbcTemplate.queryForList(
+                "SELECT embedding::text FROM cv_embeddings WHERE cv_id = ? AND tenant_id = ? AND embedding IS NOT NULL",
+                String.class, cvId, tenantId);
+        return rows.stream().findFirst();
+    }
+}
@@ -0,0 +1,66 @@
+package com.jobagent.jobagent.cv.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * LLM parse results by cache key ({@code cv_parse_cache}).
+ *
+ * <p>Entries are shared across tenants (see V26), so no RLS tenant is set.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CvParseCacheRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Parsed JSON stored under the key, if present and not expired.
+     */
+    public Optional<String> find(String cacheKey) {
+        List<String> rows = jdbcTemplate.query(
+                "SELECT parsed_json FROM cv_parse_cache WHERE cache_key = ? AND expires_at > now()",
+                (rs, rowNum) -> rs.getString(1),
+                cacheKey);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Store a result; an existing (e.g. expired) entry under the key is replaced.
+     */
+    public void save(String cacheKey, String model, String promptVersion, String parsedJson, Duration ttl) {
+        jdbcTemplate.update("""
+                INSERT INTO cv_parse_cache (cache_key, model, prompt_version, parsed_json, expires_at)
+                VALUES (?, ?, ?, CAST(? AS jsonb), now() + make_interval(secs => ?))
+                ON CONFLICT (cache_key) DO UPDATE
+                    SET parsed_json = EXCLUDED.parsed_json,
+                        created_at = now(),
+                        expires_at = EXCLUDED.expires_at""",
+                cacheKey, model, promptVersion, parsedJson, ttl.toSeconds());
+    }
+
+    /**
+     * Delete the entries produced by a model and/or prompt version; null matches any.
+     *
+     * @return the number of entries deleted
+     */
+    public int delete(String model, String promptVersion) {
+        return jdbcTemplate.update("""
+                DELETE FROM cv_parse_cache
+                WHERE (CAST(? AS varchar) IS NULL OR model = ?)
+                  AND (CAST(? AS varchar) IS NULL OR prompt_version = ?)""",
+                model, model, promptVersion, promptVersion);
+    }
+
+    /**
+     * @return the number of expired entries deleted
+     */
+    public int deleteExpired() {
+        return jdbcTemplate.update("DELETE FROM cv_parse_cache WHERE expires_at <= now()");
+    }
+}
@@ -0,0 +1,153 @@
+package com.jobagent.jobagent.cv.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Durable CV processing queue ({@code cv_processing_jobs}), shared by the workers of every
+ * instance and tenant.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CvProcessingQueueRepository {
+
+    /**
+     * Re-enqueueing a CV that is still queued keeps the more urgent priority and makes it
+     * available again at once with fresh attempts; a worker still holding the old claim can no
+     * longer complete it.
+     */
+    private static final String ENQUEUE = """
+            INSERT INTO cv_processing_jobs (cv_id, tenant_id, priority, spool_path)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (cv_id) DO UPDATE SET
+                priority = LEAST(cv_processing_jobs.priority, EXCLUDED.priority),
+                attempts = 0,
+                available_at = now(),
+                spool_path = EXCLUDED.spool_path,
+                claim_token = NULL""";
+
+    /**
+     * Picks available jobs by priority first (first uploads before reprocessing), then
+     * round-robin across tenants (each tenant's oldest job ranks 1, its next one 2, ...), then
+     * age, so one tenant's bulk upload cannot starve the others. {@code SKIP LOCKED} lets
+     * workers on several instances claim disjoint jobs; the claim pushes {@code available_at}
+     * forward by the lease instead of holding a lock while the CV is processed, and stamps a
+     * fresh claim token that identifies this claim.
+     */
+    private static final String CLAIM = """
+            WITH ranked AS (
+                SELECT cv_id, priority, available_at,
+                       row_number() OVER (PARTITION BY tenant_id ORDER BY priority, available_at) AS tenant_rank
+                FROM cv_processing_jobs
+                WHERE available_at <= now()
+            ),
+            picked AS (
+                SELECT j.cv_id
+                FROM cv_processing_jobs j
+                JOIN (SELECT cv_id FROM ranked ORDER BY priority, tenant_rank, available_at LIMIT ?) r
+                  ON r.cv_id = j.cv_id
+                WHERE j.available_at <= now()
+                FOR UPDATE OF j SKIP LOCKED
+            )
+            UPDATE cv_processing_jobs j
+            SET available_at = now() + ? * interval '1 millisecond', attempts = j.attempts + 1,
+                claim_token = gen_random_uuid()
+            FROM picked
+            WHERE j.cv_id = picked.cv_id
+            RETURNING j.cv_id, j.tenant_id, j.priority, j.attempts, j.spool_path, j.claim_token""";
+
+    /**
+     * Active CVs left UPLOADED or PARSING without a queue row: uploads from before the queue
+     * existed, or rows lost some other way. Queued CVs keep their row and lease.
+     */
+    private static final String RECOVER = """
+            INSERT INTO cv_processing_jobs (cv_id, tenant_id, priority)
+            SELECT id, tenant_id, 0 FROM cv_details
+            WHERE status IN ('UPLOADED', 'PARSING') AND active
+            ON CONFLICT (cv_id) DO NOTHING""";
+
+    /**
+     * Extends the lease of jobs whose claim is still current; a job claimed again or re-enqueued
+     * since has a different (or no) token and is left alone.
+     */
+    private static final String RENEW = """
+            UPDATE cv_processing_jobs j
+            SET available_at = now() + ? * interval '1 millisecond'
+            FROM unnest(?::uuid[], ?::uuid[]) AS c(cv_id, claim_token)
+            WHERE j.cv_id = c.cv_id AND j.claim_token = c.claim_token
+            RETURNING j.cv_id""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Queue a CV; runs in the caller's transaction, so the job exists exactly if the CV row does.
+     *
+     * @param spoolPath local copy of the upload on this instance, or null
+     */
+    public void enqueue(UUID cvId, UUID tenantId, int priority, String spoolPath) {
+        jdbcTemplate.update(ENQUEUE, cvId, tenantId, priority, spoolPath);
+    }
+
+    /**
+     * Claim up to {@code limit} available jobs for the given lease.
+     */
+    public List<ClaimedJob> claim(int limit, Duration lease) {
+        return jdbcTemplate.query(CLAIM,
+                (rs, rowNum) -> new ClaimedJob(rs.getObject("cv_id", UUID.class), rs.getObject("tenant_id", UUID.class),
+                        rs.getInt("priority"), rs.getInt("attempts"), rs.getString("spool_path"),
+                        rs.getObject("claim_token", UUID.class)),
+                limit, lease.toMillis());
+    }
+
+    /**
+     * Push the lease of claimed jobs that are still being processed forward by {@code lease}.
+     *
+     * @return the CVs whose claim was still current and got renewed
+     */
+    public List<UUID> renew(List<ClaimedJob> jobs, Duration lease) {
+        if (jobs.isEmpty()) {
+            return List.of();
+        }
+        Object[] cvIds = jobs.stream().map(ClaimedJob::cvId).toArray();
+        Object[] tokens = jobs.stream().map(ClaimedJob::claimToken).toArray();
+        return jdbcTemplate.query(RENEW,
+                ps -> {
+                    ps.setLong(1, lease.toMillis());
+                    ps.setArray(2, ps.getConnection().createArrayOf("uuid", cvIds));
+                    ps.setArray(3, ps.getConnection().createArrayOf("uuid", tokens));
+                },
+                (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    /**
+     * Remove a finished (or abandoned) job, unless it was claimed again or re-enqueued since
+     * {@code claimToken} was issued.
+     *
+     * @return whether the job was still held by this claim
+     */
+    public boolean complete(UUID cvId, UUID claimToken) {
+        return jdbcTemplate.update("DELETE FROM cv_processing_jobs WHERE cv_id = ? AND claim_token = ?",
+                cvId, claimToken) > 0;
+    }
+
+    /**
+     * Queue every active CV stuck in UPLOADED or PARSING that has no job.
+     *
+     * @return the number of CVs queued
+     */
+    public int recoverStuck() {
+        return jdbcTemplate.update(RECOVER);
+    }
+
+    /**
+     * @param attempts   claims so far, including this one
+     * @param claimToken identifies this claim when completing the job
+     */
+    public record ClaimedJob(UUID cvId, UUID tenantId, int priority, int attempts, String spoolPath,
+                             UUID claimToken) {}
+}
@@ -0,0 +1,42 @@
+package com.jobagent.jobagent.cv.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Gzip-compressed extracted CV text by file content hash ({@code cv_text_artifacts}).
+ *
+ * <p>Artifacts are shared across tenants (see V24), so no RLS tenant is set.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CvTextArtifactRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Compressed text stored for the given SHA-256 (hex) of a file, if it was extracted before.
+     */
+    public Optional<byte[]> findCompressedText(String contentHash) {
+        List<byte[]> rows = jdbcTemplate.query(
+                "SELECT text_gzip FROM cv_text_artifacts WHERE content_hash = ?",
+                (rs, rowNum) -> rs.getBytes(1),
+                contentHash);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Store an artifact; a concurrent extraction of the same file keeps the first row.
+     */
+    public void save(String contentHash, byte[] compressedText, int charCount) {
+        jdbcTemplate.update("""
+                INSERT INTO cv_text_artifacts (content_hash, text_gzip, char_count)
+                VALUES (?, ?, ?)
+                ON CONFLICT (content_hash) DO NOTHING""",
+                contentHash, compressedText, charCount);
+    }
+}
@@ -0,0 +1,128 @@
+package com.jobagent.jobagent.cv.service;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.common.rag.RagConstants;
+import com.jobagent.jobagent.cv.event.CvSupersededEvent;
+import com.jobagent.jobagent.cv.repository.CvDetailsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Writes section chunks of a CV's extracted text to the RAG {@code vector_store}, tagged with
+ * {@code tenant_id}, {@code cv_id}, {@code section} and {@code doc_type} for
+ * {@link com.jobagent.jobagent.common.rag.RagSearchHelper}.
+ *
+ * <p>Chunks are embedded and written {@code app.rag.batch-size} at a time. Their ids derive from
+ * (CV, chunk index), and a CV's previous chunks are deleted before it is indexed again. Chunks of
+ * CVs that are replaced or deleted are removed on {@link CvSupersededEvent}. Without a configured
+ * vector store nothing is indexed.
+ */
+@Service
+@Slf4j
+public class CvChunkIndexer {
+
+    private final ObjectProvider<VectorStore> vectorStore;
+    private final CvDetailsRepository cvDetailsRepository;
+    private final CvChunker chunker;
+    private final AppProperties.Rag properties;
+    private final Counter indexed;
+
+    public CvChunkIndexer(ObjectProvider<VectorStore> vectorStore,
+                          CvDetailsRepository cvDetailsRepository,
+                          TokenCountEstimator tokenCountEstimator,
+                          AppProperties appProperties,
+                          MeterRegistry meterRegistry) {
+        this.vectorStore = vectorStore;
+        this.cvDetailsRepository = cvDetailsRepository;
+        this.properties = appProperties.getRag();
+        this.chunker = new CvChunker(tokenCountEstimator, properties.getChunkTokens(), properties.getChunkOverlapTokens());
+        this.indexed = Counter.builder("jobagent.cv.chunks.indexed")
+                .description("CV chunks written to the RAG vector store")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replace the chunks of an active CV with chunks of its extracted text.
+     *
+     * @return the number of chunks written
+     */
+    public int index(CvFile file, String text) {
+        VectorStore store = vectorStore.getIfAvailable();
+        if (!properties.isIndexCvChunks() || store == null || text == null || text.isBlank()) {
+            return 0;
+        }
+        if (!cvDetailsRepository.existsByIdAndActiveTrue(file.cvId())) {
+            log.debug("CV {} is no longer active, not indexing its chunks", file.cvId());
+            return 0;
+        }
+
+        List<Document> documents = chunker.chunk(text).stream()
+                .map(chunk -> document(file, chunk))
+                .toList();
+        store.delete(cvFilter(file.tenantId(), List.of(file.cvId())));
+        int batchSize = Math.max(1, properties.getBatchSize());
+        for (int from = 0; from < documents.size(); from += batchSize) {
+            store.add(documents.subList(from, Math.min(from + batchSize, documents.size())));
+        }
+        indexed.increment(documents.size());
+        log.debug("Indexed {} chunks of CV {}", documents.size(), file.cvId());
+        return documents.size();
+    }
+
+    /**
+     * Delete the chunks of the given CVs.
+     */
+    public void deleteChunks(UUID tenantId, Collection<UUID> cvIds) {
+        VectorStore store = vectorStore.getIfAvailable();
+        if (store == null || cvIds.isEmpty()) {
+            return;
+        }
+        store.delete(cvFilter(tenantId, cvIds));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCvSuperseded(CvSupersededEvent event) {
+        try {
+            deleteChunks(event.tenantId(), event.cvIds());
+            log.debug("Deleted RAG chunks of superseded CVs {}", event.cvIds());
+        } catch (Exception e) {
+            log.warn("Failed to delete RAG chunks of CVs {}: {}", event.cvIds(), e.getMessage());
+        }
+    }
+
+    private static Document document(CvFile file, CvChunker.Chunk chunk) {
+        String id = UUID.nameUUIDFromBytes((file.cvId() + ":" + chunk.index()).getBytes(StandardCharsets.UTF_8))
+                .toString();
+        return Document.builder()
+                .id(id)
+                .text(chunk.text())
+                .metadata(Map.of(
+                        RagConstants.META_TENANT_ID, file.tenantId().toString(),
+                        RagConstants.META_CV_ID, file.cvId().toString(),
+                        RagConstants.META_SECTION, chunk.section(),
+                        RagConstants.META_DOC_TYPE, RagConstants.DOC_TYPE_CV_CHUNK,
+                        RagConstants.META_CHUNK_INDEX, chunk.index()))
+                .build();
+    }
+
+    static String cvFilter(UUID tenantId, Collection<UUID> cvIds) {
+        return RagConstants.META_TENANT_ID + " == '" + tenantId + "' && "
+                + RagConstants.META_CV_ID + " IN [" + cvIds.stream()
+                        .map(id -> "'" + id + "'")
+                        .collect(Collectors.joining(", ")) + "]";
+    }
+}
@@ -0,0 +1,160 @@
+package com.jobagent.jobagent.cv.service;
+
+import com.jobagent.jobagent.common.rag.RagConstants;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Splits extracted CV text into section-tagged chunks for retrieval.
+ *
+ * <p>Section headings are recognized as short lines such as "Work Experience" or "SKILLS:";
+ * text before the first heading (name, contact details, profile) counts as the summary. Within a
+ * section the text is cut into windows of at most {@code maxTokens} tokens, each starting with
+ * the last {@code overlapTokens} tokens of the previous one so that a sentence on a boundary is
+ * retrievable from both sides. Windows never span two sections.
+ */
+final class CvChunker {
+
+    /** A chunk of one section; {@code index} is its position in the whole CV. */
+    record Chunk(String section, int index, String text) {
+    }
+
+    private record Word(String text, boolean lineStart, int tokens) {
+    }
+
+    private static final int MAX_HEADING_LENGTH = 40;
+    private static final Pattern HEADING_NOISE = Pattern.compile("[^\\p{L}]+");
+
+    private static final Map<String, String> HEADINGS = Map.ofEntries(
+            Map.entry("summary", RagConstants.SECTION_SUMMARY),
+            Map.entry("professional summary", RagConstants.SECTION_SUMMARY),
+            Map.entry("profile", RagConstants.SECTION_SUMMARY),
+            Map.entry("professional profile", RagConstants.SECTION_SUMMARY),
+            Map.entry("about me", RagConstants.SECTION_SUMMARY),
+            Map.entry("objective", RagConstants.SECTION_SUMMARY),
+            Map.entry("career objective", RagConstants.SECTION_SUMMARY),
+            Map.entry("personal statement", RagConstants.SECTION_SUMMARY),
+            Map.entry("skills", RagConstants.SECTION_SKILLS),
+            Map.entry("key skills", RagConstants.SECTION_SKILLS),
+            Map.entry("technical skills", RagConstants.SECTION_SKILLS),
+            Map.entry("core competencies", RagConstants.SECTION_SKILLS),
+            Map.entry("competencies", RagConstants.SECTION_SKILLS),
+            Map.entry("technologies", RagConstants.SECTION_SKILLS),
+            Map.entry("tech stack", RagConstants.SECTION_SKILLS),
+            Map.entry("skills technologies", RagConstants.SECTION_SKILLS),
+            Map.entry("experience", RagConstants.SECTION_EXPERIENCE),
+            Map.entry("work experience", RagConstants.SECTION_EXPERIENCE),
+            Map.entry("professional experience", RagConstants.SECTION_EXPERIENCE),
+            Map.entry("employment", RagConstants.SECTION_EXPERIENCE),
+            Map.entry("employment history", RagConstants.SECTION_EXPERIENCE),
+            Map.entry("work history", RagConstants.SECTION_EXPERIENCE),
+            Map.entry("career history", RagConstants.SECTION_EXPERIENCE),
+            Map.entry("education", RagConstants.SECTION_EDUCATION),
+            Map.entry("education training", RagConstants.SECTION_EDUCATION),
+            Map.entry("academic background", RagConstants.SECTION_EDUCATION),
+            Map.entry("qualifications", RagConstants.SECTION_EDUCATION),
+            Map.entry("certifications", RagConstants.SECTION_EDUCATION),
+            Map.entry("certificates", RagConstants.SECTION_EDUCATION),
+            Map.entry("projects", RagConstants.SECTION_PROJECTS),
+            Map.entry("key projects", RagConstants.SECTION_PROJECTS),
+            Map.entry("selected projects", RagConstants.SECTION_PROJECTS),
+            Map.entry("personal projects", RagConstants.SECTION_PROJECTS),
+            Map.entry("open source", RagConstants.SECTION_PROJECTS),
+            Map.entry("languages", RagConstants.SECTION_OTHER),
+            Map.entry("interests", RagConstants.SECTION_OTHER),
+            Map.entry("hobbies", RagConstants.SECTION_OTHER),
+            Map.entry("awards", RagConstants.SECTION_OTHER),
+            Map.entry("publications", RagConstants.SECTION_OTHER),
+            Map.entry("references", RagConstants.SECTION_OTHER));
+
+    private final TokenCountEstimator tokenCounter;
+    private final int maxTokens;
+    private final int overlapTokens;
+
+    CvChunker(TokenCountEstimator tokenCounter, int maxTokens, int overlapTokens) {
+        this.tokenCounter = tokenCounter;
+        this.maxTokens = Math.max(16, maxTokens);
+        this.overlapTokens = Math.clamp(overlapTokens, 0, this.maxTokens / 2);
+    }
+
+    List<Chunk> chunk(String text) {
+        List<Chunk> chunks = new ArrayList<>();
+        String section = RagConstants.SECTION_SUMMARY;
+        List<Word> words = new ArrayList<>();
+        for (String raw : text.split("\\R")) {
+            String line = raw.strip();
+            if (line.isEmpty()) {
+                continue;
+            }
+            String heading = sectionOf(line);
+            if (heading != null) {
+                window(section, words, chunks);
+                section = heading;
+                words = new ArrayList<>();
+                continue;
+            }
+            boolean lineStart = true;
+            for (String word : line.split("\\s+")) {
+                // Counted one by one: the sum slightly overestimates, so windows stay within the bound
+                words.add(new Word(word, lineStart, tokenCounter.estimate(word) + (lineStart ? 1 : 0)));
+                lineStart = false;
+            }
+        }
+        window(section, words, chunks);
+        return chunks;
+    }
+
+    /**
+     * Section a heading line introduces, or null if the line is not a heading.
+     */
+    static String sectionOf(String line) {
+        if (line.length() > MAX_HEADING_LENGTH) {
+            return null;
+        }
+        // "Education & Training", "EDUCATION AND TRAINING:" -> "education training"
+        String key = HEADING_NOISE.matcher(line.toLowerCase(Locale.ROOT)).replaceAll(" ").strip()
+                .replace(" and ", " ");
+        return HEADINGS.get(key);
+    }
+
+    private void window(String section, List<Word> words, List<Chunk> chunks) {
+        int start = 0;
+        while (start < words.size()) {
+            int end = start;
+            int tokens = 0;
+            while (end < words.size() && (end == start || tokens + words.get(end).tokens() <= maxTokens)) {
+                tokens += words.get(end).tokens();
+                end++;
+            }
+            chunks.add(new Chunk(section, chunks.size(), join(words, start, end)));
+            if (end == words.size()) {
+                return;
+            }
+
+            // The next window starts with the trailing words that fit into the overlap
+            int next = end;
+            int overlap = 0;
+            while (next - 1 > start && overlap + words.get(next - 1).tokens() <= overlapTokens) {
+                overlap += words.get(--next).tokens();
+            }
+            start = next;
+        }
+    }
+
+    private static String join(List<Word> words, int start, int end) {
+        StringBuilder text = new StringBuilder();
+        for (int i = start; i < end; i++) {
+            Word word = words.get(i);
+            if (i > start) {
+                text.append(word.lineStart() ? '\n' : ' ');
+            }
+            text.append(word.text());
+        }
+        return text.toString();
+    }
+}
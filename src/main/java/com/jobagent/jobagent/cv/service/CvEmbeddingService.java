@@ -0,0 +1,76 @@
+package com.jobagent.jobagent.cv.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobagent.jobagent.common.embedding.EmbeddingBatchQueue;
+import com.jobagent.jobagent.cv.dto.CvParsedData;
+import com.jobagent.jobagent.cv.event.CvParsedEvent;
+import com.jobagent.jobagent.cv.model.CvDetails;
+import com.jobagent.jobagent.cv.repository.CvDetailsRepository;
+import com.jobagent.jobagent.cv.repository.CvEmbeddingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * Queues a CV for embedding into {@code cv_embeddings} once it has been parsed; the
+ * {@link EmbeddingBatchQueue} batches the model calls and writes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CvEmbeddingService {
+
+    private final CvDetailsRepository cvDetailsRepository;
+    private final CvEmbeddingRepository cvEmbeddingRepository;
+    private final EmbeddingBatchQueue embeddingBatchQueue;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCvParsed(CvParsedEvent event) {
+        try {
+            Optional<CvDetails> cv = cvDetailsRepository.findById(event.cvId());
+            if (cv.isPresent()) {
+                embed(cv.get());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to embed CV {}: {}", event.cvId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Queue a parsed CV for embedding.
+     *
+     * @return false if embeddings are disabled or the queue is full
+     */
+    public boolean embed(CvDetails cv) throws JsonProcessingException {
+        CvParsedData parsed = objectMapper.readValue(cv.getParsedJson(), CvParsedData.class);
+        return embeddingBatchQueue.submit(cvEmbeddingRepository, cv.getId(), cv.getTenantId(), embeddingText(parsed));
+    }
+
+    /**
+     * Text representing a CV for semantic matching: title, summary, skills, then experience.
+     */
+    static String embeddingText(CvParsedData parsed) {
+        StringJoiner text = new StringJoiner("\n");
+        if (parsed.currentTitle() != null) {
+            text.add(parsed.currentTitle());
+        }
+        if (parsed.summary() != null) {
+            text.add(parsed.summary());
+        }
+        if (parsed.skills() != null && !parsed.skills().isEmpty()) {
+            text.add("Skills: " + String.join(", ", parsed.skills()));
+        }
+        if (parsed.experience() != null) {
+            for (CvParsedData.ExperienceEntry entry : parsed.experience()) {
+                text.add(entry.title() + (entry.description() != null ? ": " + entry.description() : ""));
+            }
+        }
+        return text.toString();
+    }
+}
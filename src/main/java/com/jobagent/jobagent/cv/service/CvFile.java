@@ -0,0 +1,19 @@
+package com.jobagent.jobagent.cv.service;
+
+import com.jobagent.jobagent.cv.model.CvDetails;
+
+import java.util.UUID;
+
+/**
+ * Detached view of the CV row that the processing stages need, so they can run without holding
+ * an entity (or a database connection) between stages.
+ *
+ * @param contentHash SHA-256 (hex) of the file bytes, null for CVs uploaded before it was recorded
+ */
+public record CvFile(UUID cvId, UUID tenantId, UUID userId, String fileName, String s3Key, String contentHash) {
+
+    public static CvFile of(CvDetails cv) {
+        return new CvFile(cv.getId(), cv.getTenantId(), cv.getUser().getId(), cv.getFileName(), cv.getS3Key(),
+                cv.getContentHash());
+    }
+}
@@ -0,0 +1,124 @@
+package com.jobagent.jobagent.cv.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.cv.dto.CvParsedData;
+import com.jobagent.jobagent.cv.repository.CvParseCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * LLM parse results by (normalized CV text, {@link CvParserAgent#PROMPT_VERSION}, chat model),
+ * so reprocessing and repeated uploads of the same CV skip the model call.
+ *
+ * <p>Text is normalized (NFC, whitespace runs collapsed, trimmed) before hashing, so extractions
+ * that differ only in layout whitespace share an entry. Empty results (the parser's fallback when
+ * the model is unavailable) are never stored. Database failures degrade to a miss.
+ */
+@Component
+@Slf4j
+public class CvParseCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final CvParseCacheRepository repository;
+    private final ObjectMapper objectMapper;
+    private final AppProperties.CvParseCache properties;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CvParseCache(CvParseCacheRepository repository, ObjectMapper objectMapper,
+                        AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.properties = appProperties.getCvParseCache();
+        this.hits = Counter.builder("jobagent.cv.parse.cache")
+                .tag("result", "hit")
+                .description("CV parse results served from the cache without a model call")
+                .register(meterRegistry);
+        this.misses = Counter.builder("jobagent.cv.parse.cache")
+                .tag("result", "miss")
+                .description("CV parses that had to call the model")
+                .register(meterRegistry);
+    }
+
+    public Optional<CvParsedData> get(String cvText) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        try {
+            Optional<String> json = repository.find(key(cvText));
+            if (json.isPresent()) {
+                CvParsedData parsed = objectMapper.readValue(json.get(), CvParsedData.class);
+                hits.increment();
+                return Optional.of(parsed);
+            }
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.debug("CV parse cache read failed: {}", e.getMessage());
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String cvText, CvParsedData parsed) {
+        if (!properties.isEnabled() || CvParsedData.empty().equals(parsed)) {
+            return;
+        }
+        try {
+            repository.save(key(cvText), properties.getModel(), CvParserAgent.PROMPT_VERSION,
+                    objectMapper.writeValueAsString(parsed), properties.getTtl());
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.debug("CV parse cache write failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drop the results of a model and/or prompt version; null matches any.
+     *
+     * @return the number of entries removed
+     */
+    public int invalidate(String model, String promptVersion) {
+        int deleted = repository.delete(model, promptVersion);
+        log.info("Invalidated {} CV parse cache entries (model={}, promptVersion={})", deleted, model, promptVersion);
+        return deleted;
+    }
+
+    public String model() {
+        return properties.getModel();
+    }
+
+    @Scheduled(fixedDelayString = "PT6H", initialDelayString = "PT10M")
+    public void purgeExpired() {
+        try {
+            int deleted = repository.deleteExpired();
+            if (deleted > 0) {
+                log.info("Purged {} expired CV parse cache entries", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge expired CV parse cache entries: {}", e.getMessage());
+        }
+    }
+
+    String key(String cvText) {
+        String normalized = WHITESPACE.matcher(Normalizer.normalize(cvText, Normalizer.Form.NFC))
+                .replaceAll(" ").strip();
+        MessageDigest digest = CvUploadStream.sha256();
+        digest.update(CvParserAgent.PROMPT_VERSION.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(properties.getModel().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(normalized.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
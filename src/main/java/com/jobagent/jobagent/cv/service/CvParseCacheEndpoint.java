@@ -0,0 +1,39 @@
+package com.jobagent.jobagent.cv.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Admin endpoint for the CV parse cache ({@code cvparsecache}).
+ *
+ * <p>Only exposed over JMX — actuator web endpoints are unauthenticated in this application.
+ */
+@Component
+@Endpoint(id = "cvparsecache")
+@RequiredArgsConstructor
+public class CvParseCacheEndpoint {
+
+    private final CvParseCache parseCache;
+
+    @ReadOperation
+    public Map<String, String> current() {
+        return Map.of("model", parseCache.model(), "promptVersion", CvParserAgent.PROMPT_VERSION);
+    }
+
+    /**
+     * Drop the cached results of a model and/or prompt version; at least one is required.
+     */
+    @WriteOperation
+    public Map<String, Integer> invalidate(@OptionalParameter String model, @OptionalParameter String promptVersion) {
+        if (model == null && promptVersion == null) {
+            throw new IllegalArgumentException("Specify a model and/or a prompt version");
+        }
+        return Map.of("deleted", parseCache.invalidate(model, promptVersion));
+    }
+}
@@ -27,6 +27,12 @@ import java.util.Map;
 @Slf4j
 public class CvParserAgent {
 
+    /**
+     * Version of {@code prompts/cv-parse.st}, part of the parse cache key: bump it with every
+     * change to the prompt so results of the old one are no longer served.
+     */
+    public static final String PROMPT_VERSION = "1";
+
     private final ChatClient.Builder chatClientBuilder;
     private final ObjectMapper objectMapper;
 
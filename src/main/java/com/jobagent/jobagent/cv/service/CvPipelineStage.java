@@ -0,0 +1,136 @@
+package com.jobagent.jobagent.cv.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * One stage of {@link CvProcessingPipeline}: a concurrency limit plus a bounded backlog.
+ *
+ * <p>A pooled stage is a fixed thread pool whose queue holds at most {@code queueCapacity}
+ * tasks; when it is full, the thread handing over work blocks until the stage catches up, so a
+ * slow stage pushes back on the one before it instead of piling up work in memory. A virtual
+ * stage runs each task on its own virtual thread behind a semaphore, which suits blocking I/O.
+ *
+ * <p>Publishes {@code jobagent.cv.pipeline.queue} (tasks waiting for the stage) and
+ * {@code jobagent.cv.pipeline.stage} (time spent in the stage), both tagged with the stage name.
+ */
+final class CvPipelineStage implements AutoCloseable {
+
+    private final String name;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer latency;
+
+    private CvPipelineStage(String name, ExecutorService executor, Semaphore permits, MeterRegistry registry) {
+        this.name = name;
+        this.executor = executor;
+        this.permits = permits;
+        this.latency = Timer.builder("jobagent.cv.pipeline.stage")
+                .tag("stage", name)
+                .description("Time CV processing spends in a pipeline stage")
+                .register(registry);
+        Gauge.builder("jobagent.cv.pipeline.queue", waiting, AtomicInteger::get)
+                .tag("stage", name)
+                .description("CV processing tasks waiting for a pipeline stage")
+                .register(registry);
+    }
+
+    /**
+     * Stage backed by {@code threads} platform threads and a queue of {@code queueCapacity} tasks.
+     */
+    static CvPipelineStage pooled(String name, int threads, int queueCapacity, MeterRegistry registry) {
+        int size = Math.max(1, threads);
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> new Thread(runnable, "cv-" + name + "-" + sequence.incrementAndGet()),
+                CvPipelineStage::blockUntilQueued);
+        return new CvPipelineStage(name, executor, null, registry);
+    }
+
+    /**
+     * Stage that runs each task on a virtual thread, at most {@code concurrency} at a time.
+     */
+    static CvPipelineStage virtual(String name, int concurrency, MeterRegistry registry) {
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("cv-" + name + "-", 0).factory());
+        return new CvPipelineStage(name, executor, new Semaphore(Math.max(1, concurrency), true), registry);
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * Run {@code work} on this stage; the returned future completes with its result or exception.
+     */
+    <T> CompletableFuture<T> supply(Supplier<T> work) {
+        waiting.incrementAndGet();
+        try {
+            return CompletableFuture.supplyAsync(() -> run(work), executor);
+        } catch (RejectedExecutionException e) {
+            waiting.decrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> T run(Supplier<T> work) {
+        if (permits != null) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                waiting.decrementAndGet();
+                Thread.currentThread().interrupt();
+                throw new CompletionException(new IllegalStateException("Interrupted waiting for the " + name + " stage", e));
+            }
+        }
+        waiting.decrementAndGet();
+        try {
+            return latency.record(work);
+        } finally {
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Back-pressure: the submitting thread waits for room in the stage's queue. */
+    private static void blockUntilQueued(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("CV pipeline stage is shut down");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted waiting for room in the CV pipeline stage", e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.jobagent.jobagent.cv.service;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.common.multitenancy.TenantContext;
+import com.jobagent.jobagent.cv.dto.CvParsedData;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs CV processing as a pipeline of stages, each with its own concurrency limit:
+ *
+ * <ol>
+ *   <li>{@code io} (virtual threads, {@code download-concurrency}): mark the CV PARSING, look up
+ *       its stored text, else fetch the file; later also saves the parsed result</li>
+ *   <li>{@code extract} (platform threads, {@code extract-concurrency}, defaults to the cores):
+ *       Tika, skipped when the text was stored</li>
+ *   <li>{@code parse} (platform threads, {@code parse-concurrency}): the LLM call</li>
+ *   <li>{@code index} (virtual threads, {@code index-concurrency}): chunk the text and embed the
+ *       chunks into the RAG vector store, once the CV is saved</li>
+ * </ol>
+ *
+ * <p>Stages hand over through bounded queues ({@code stage-queue-capacity}), so throughput
+ * follows the slowest stage while the others wait for it rather than buffer. The stages only
+ * pass a {@link CvFile} around; database work happens in short transactions of
+ * {@link CvProcessingService}, never across the AI call.
+ */
+@Component
+public class CvProcessingPipeline implements DisposableBean {
+
+    private final CvProcessingService processingService;
+    private final CvTextService textService;
+    private final CvPipelineStage io;
+    private final CvPipelineStage extract;
+    private final CvPipelineStage parse;
+    private final CvPipelineStage index;
+
+    public CvProcessingPipeline(CvProcessingService processingService,
+                                CvTextService textService,
+                                AppProperties appProperties,
+                                MeterRegistry meterRegistry) {
+        this.processingService = processingService;
+        this.textService = textService;
+        AppProperties.CvProcessing properties = appProperties.getCvProcessing();
+        this.io = CvPipelineStage.virtual("io", properties.getDownloadConcurrency(), meterRegistry);
+        this.extract = CvPipelineStage.pooled("extract", properties.getExtractConcurrency(),
+                properties.getStageQueueCapacity(), meterRegistry);
+        this.parse = CvPipelineStage.pooled("parse", properties.getParseConcurrency(),
+                properties.getStageQueueCapacity(), meterRegistry);
+        this.index = CvPipelineStage.virtual("index", properties.getIndexConcurrency(), meterRegistry);
+    }
+
+    /** Text of the CV when it was stored, otherwise the local copy to extract it from. */
+    private record Loaded(String text, Path local) {
+    }
+
+    /**
+     * Process a CV through the stages.
+     *
+     * <p>Extraction and parse failures are recorded on the CV and complete the future normally;
+     * it completes exceptionally only when the CV could not be started or marked FAILED (e.g. the
+     * database is down), in which case the job should be retried.
+     *
+     * @param spool local copy of the stored file on this instance, or null to download it
+     */
+    public CompletableFuture<Void> submit(UUID cvId, UUID tenantId, Path spool) {
+        return io.supply(inTenant(tenantId, () -> processingService.start(cvId)))
+                .thenCompose(file -> file
+                        .map(f -> process(f, spool))
+                        .orElseGet(() -> CompletableFuture.completedFuture(null)));
+    }
+
+    private CompletableFuture<Void> process(CvFile file, Path spool) {
+        UUID tenantId = file.tenantId();
+        return io.supply(inTenant(tenantId, () -> load(file, spool)))
+                .thenCompose(loaded -> loaded.text() != null
+                        ? CompletableFuture.completedFuture(loaded.text())
+                        : extract.supply(inTenant(tenantId, () -> textService.extractAndStore(file, loaded.local())))
+                                .whenComplete((text, e) -> textService.releaseLocalCopy(loaded.local(), spool)))
+                .thenCompose(text -> parse.supply(inTenant(tenantId, () -> processingService.parse(text)))
+                        .thenCompose(parsed -> io.supply(inTenant(tenantId, () -> complete(file, parsed))))
+                        .thenCompose(saved -> index.supply(inTenant(tenantId, () -> indexChunks(file, text)))))
+                .exceptionallyCompose(e -> unwrap(e) instanceof RejectedExecutionException
+                        // A stage shutting down is no fault of the CV: leave the job to its lease
+                        ? CompletableFuture.failedFuture(e)
+                        : io.supply(inTenant(tenantId, () -> {
+                            processingService.fail(file.cvId(), unwrap(e));
+                            return null;
+                        })));
+    }
+
+    private Loaded load(CvFile file, Path spool) {
+        Optional<String> stored = textService.storedText(file);
+        return stored.map(text -> new Loaded(text, null))
+                .orElseGet(() -> new Loaded(null, textService.fetch(file, spool)));
+    }
+
+    private Void complete(CvFile file, CvParsedData parsed) {
+        processingService.complete(file, parsed);
+        return null;
+    }
+
+    private Void indexChunks(CvFile file, String text) {
+        processingService.indexChunks(file, text);
+        return null;
+    }
+
+    private static <T> Supplier<T> inTenant(UUID tenantId, Supplier<T> work) {
+        return () -> {
+            TenantContext.setTenantId(tenantId);
+            try {
+                return work.get();
+            } finally {
+                TenantContext.clear();
+            }
+        };
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    @Override
+    public void destroy() {
+        // In-flight CVs finish their current stage; io and index go last so results still get saved
+        extract.close();
+        parse.close();
+        io.close();
+        index.close();
+    }
+}
@@ -0,0 +1,261 @@
+package com.jobagent.jobagent.cv.service;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.common.multitenancy.TenantContext;
+import com.jobagent.jobagent.cv.model.CvDetails;
+import com.jobagent.jobagent.cv.repository.CvProcessingQueueRepository;
+import com.jobagent.jobagent.cv.repository.CvProcessingQueueRepository.ClaimedJob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Durable, prioritized CV processing queue backed by {@code cv_processing_jobs}.
+ *
+ * <p>Uploads enqueue in their own transaction, so a queued CV survives restarts and overflow is
+ * impossible: the table is the backlog. Every instance polls and claims only as many jobs as it
+ * has free workers ({@code app.cv-processing.concurrency}); first-time uploads go before
+ * reprocessing, and tenants are served round-robin (see {@link CvProcessingQueueRepository}).
+ * A claim is a lease, renewed every {@code lease-renewal} for as long as the CV is in this
+ * instance's pipeline (however long it waits for the parse stage): if the worker dies, the job
+ * becomes claimable again once the lease runs out, and after {@code max-attempts} claims a CV that
+ * is still unfinished is marked FAILED. Each claim carries a token, and a worker only renews or
+ * completes the job while the token is still its own. On startup, active CVs
+ * stuck in UPLOADED or PARSING without a job are queued again.
+ */
+@Service
+@Slf4j
+public class CvProcessingQueue {
+
+    private static final String SPOOL_GLOB = "cv-upload-*.spool";
+
+    /**
+     * Lower values are claimed first.
+     */
+    public enum Priority {
+        NEW(0), REPROCESS(1);
+
+        private final int value;
+
+        Priority(int value) {
+            this.value = value;
+        }
+
+        public int value() {
+            return value;
+        }
+    }
+
+    private final CvProcessingQueueRepository queueRepository;
+    private final CvProcessingService cvProcessingService;
+    private final CvProcessingPipeline pipeline;
+    private final AppProperties.CvProcessing properties;
+    private final Semaphore workers;
+    /** Jobs claimed by this instance and not finished yet, by claim token. */
+    private final Map<UUID, ClaimedJob> inFlight = new ConcurrentHashMap<>();
+    private final Counter processed;
+    private final Counter abandoned;
+
+    public CvProcessingQueue(CvProcessingQueueRepository queueRepository,
+                             CvProcessingService cvProcessingService,
+                             CvProcessingPipeline pipeline,
+                             AppProperties appProperties,
+                             MeterRegistry meterRegistry) {
+        this.queueRepository = queueRepository;
+        this.cvProcessingService = cvProcessingService;
+        this.pipeline = pipeline;
+        this.properties = appProperties.getCvProcessing();
+        this.workers = new Semaphore(Math.max(1, properties.getConcurrency()));
+        this.processed = Counter.builder("jobagent.cv.queue.processed")
+                .description("CV processing jobs completed").register(meterRegistry);
+        this.abandoned = Counter.builder("jobagent.cv.queue.abandoned")
+                .description("CVs marked FAILED after exhausting their processing attempts").register(meterRegistry);
+    }
+
+    /**
+     * Queue a CV in the caller's transaction; the CV row must already be flushed.
+     *
+     * @param spool local copy of the upload on this instance, or null
+     */
+    public void enqueue(CvDetails cv, Priority priority, Path spool) {
+        queueRepository.enqueue(cv.getId(), cv.getTenantId(), priority.value(),
+                spool != null ? spool.toString() : null);
+    }
+
+    @Scheduled(fixedDelayString = "${app.cv-processing.poll-interval}")
+    public void scheduledPoll() {
+        if (properties.isEnabled()) {
+            poll();
+        }
+    }
+
+    /**
+     * Claim as many jobs as there are free pipeline slots and submit them to the pipeline.
+     *
+     * @return the number of jobs claimed
+     */
+    public int poll() {
+        int free = workers.availablePermits();
+        if (free == 0 || !workers.tryAcquire(free)) {
+            return 0;
+        }
+
+        List<ClaimedJob> jobs;
+        try {
+            jobs = queueRepository.claim(free, properties.getLease());
+        } catch (RuntimeException e) {
+            workers.release(free);
+            throw e;
+        }
+        workers.release(free - jobs.size());
+
+        for (ClaimedJob job : jobs) {
+            inFlight.put(job.claimToken(), job);
+            start(job).whenComplete((ignored, e) -> {
+                inFlight.remove(job.claimToken());
+                workers.release();
+            });
+        }
+        return jobs.size();
+    }
+
+    /**
+     * Extend the leases of the jobs still in this instance's pipeline, so a CV waiting behind the
+     * parse stage is not claimed a second time.
+     *
+     * @return the number of leases renewed
+     */
+    @Scheduled(fixedDelayString = "${app.cv-processing.lease-renewal}",
+            initialDelayString = "${app.cv-processing.lease-renewal}")
+    public int renewLeases() {
+        List<ClaimedJob> jobs = List.copyOf(inFlight.values());
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+        try {
+            int renewed = queueRepository.renew(jobs, properties.getLease()).size();
+            if (renewed < jobs.size()) {
+                log.warn("{} of {} CV processing jobs in flight were claimed again or re-enqueued",
+                        jobs.size() - renewed, jobs.size());
+            }
+            return renewed;
+        } catch (RuntimeException e) {
+            log.warn("Failed to renew the leases of {} CV processing jobs: {}", jobs.size(), e.getMessage());
+            return 0;
+        }
+    }
+
+    CompletableFuture<Void> start(ClaimedJob job) {
+        Path spool = job.spoolPath() != null ? Path.of(job.spoolPath()) : null;
+        if (job.attempts() > properties.getMaxAttempts()) {
+            TenantContext.setTenantId(job.tenantId());
+            try {
+                log.warn("Giving up on CV {} after {} processing attempts", job.cvId(), job.attempts() - 1);
+                if (cvProcessingService.abandon(job.cvId(),
+                        "Processing did not complete after " + (job.attempts() - 1) + " attempts")) {
+                    abandoned.increment();
+                }
+                finish(job, spool);
+            } catch (RuntimeException e) {
+                log.error("Could not give up on CV {}, retrying after the lease: {}", job.cvId(), e.getMessage(), e);
+            } finally {
+                TenantContext.clear();
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> result;
+        try {
+            result = pipeline.submit(job.cvId(), job.tenantId(), spool);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        // Extraction and parse failures are recorded on the CV by the pipeline itself; a failed
+        // future (e.g. the database) leaves the job to be retried after its lease
+        return result.handle((ignored, e) -> {
+            if (e != null) {
+                log.error("Processing CV {} failed (attempt {}), retrying after the lease: {}",
+                        job.cvId(), job.attempts(), e.getMessage(), e);
+                return null;
+            }
+            try {
+                finish(job, spool);
+                processed.increment();
+            } catch (RuntimeException ex) {
+                log.error("Could not complete the processing job of CV {}: {}", job.cvId(), ex.getMessage(), ex);
+            }
+            return null;
+        });
+    }
+
+    private void finish(ClaimedJob job, Path spool) {
+        if (queueRepository.complete(job.cvId(), job.claimToken())) {
+            deleteSpool(spool);
+        } else {
+            // The lease ran out and the job was claimed again (or re-enqueued): it is not ours
+            log.warn("Processing job of CV {} was claimed again before attempt {} finished, leaving it",
+                    job.cvId(), job.attempts());
+        }
+    }
+
+    /**
+     * Queue CVs left UPLOADED or PARSING by a previous run (or by the pre-queue async executor).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverStuck() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int recovered = queueRepository.recoverStuck();
+        if (recovered > 0) {
+            log.info("Queued {} CVs stuck in UPLOADED or PARSING", recovered);
+        }
+        purgeStaleSpools();
+    }
+
+    /**
+     * Delete upload spools older than the lease: their job finished on another instance, or
+     * will download the file from storage anyway.
+     */
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT1H")
+    public void purgeStaleSpools() {
+        Instant cutoff = Instant.now().minus(properties.getLease());
+        Path dir = Path.of(System.getProperty("java.io.tmpdir"));
+        try (DirectoryStream<Path> spools = Files.newDirectoryStream(dir, SPOOL_GLOB)) {
+            for (Path spool : spools) {
+                if (Files.getLastModifiedTime(spool).toInstant().isBefore(cutoff)) {
+                    deleteSpool(spool);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to purge stale upload spools in {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private void deleteSpool(Path spool) {
+        if (spool == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            log.warn("Failed to delete upload spool {}: {}", spool, e.getMessage());
+        }
+    }
+}
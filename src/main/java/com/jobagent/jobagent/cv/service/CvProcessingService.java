@@ -2,28 +2,38 @@ package com.jobagent.jobagent.cv.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobagent.jobagent.common.skill.SkillDictionary;
 import com.jobagent.jobagent.cv.dto.CvParsedData;
+import com.jobagent.jobagent.cv.event.CvParsedEvent;
 import com.jobagent.jobagent.cv.model.CvDetails;
 import com.jobagent.jobagent.cv.model.CvStatus;
 import com.jobagent.jobagent.cv.repository.CvDetailsRepository;
+import com.jobagent.jobagent.cv.repository.CvProcessingQueueRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.InputStream;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Sprint 4.4 — CV Processing Service.
  *
  * <p>Orchestrates the CV parsing pipeline:
- * 1. Download file from storage
- * 2. Extract text (Tika)
- * 3. Parse with AI
- * 4. Update CV details with parsed data
+ * 1. Mark the CV PARSING ({@link #start})
+ * 2. Load extracted text (stored artifact, else download / upload spool + Tika)
+ * 3. Parse with AI ({@link #parse}), or reuse a cached result ({@link CvParseCache})
+ * 4. Update CV details with parsed data ({@link #complete})
+ * 5. Write section chunks for retrieval ({@link #indexChunks})
+ *
+ * <p>Steps 1 and 4 are short transactions of their own, so no database connection is held while
+ * the model parses. CVs reach it through the durable {@link CvProcessingQueue}, which runs the
+ * steps as stages of {@link CvProcessingPipeline}; {@link #process(UUID)} runs them inline.
  */
 @Service
 @RequiredArgsConstructor
@@ -31,73 +41,126 @@ import java.util.UUID;
 public class CvProcessingService {
 
     private final CvDetailsRepository cvDetailsRepository;
-    private final FileStorageService fileStorageService;
-    private final CvTextExtractor textExtractor;
+    private final CvTextService cvTextService;
+    private final CvProcessingQueueRepository queueRepository;
     private final CvParserAgent parserAgent;
+    private final CvParseCache parseCache;
+    private final CvChunkIndexer chunkIndexer;
     private final ObjectMapper objectMapper;
+    private final SkillDictionary skillDictionary;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     /**
-     * Process a CV asynchronously.
+     * Process a CV synchronously.
      *
      * @param cvId the CV details ID
      */
-    @Async("cvProcessingExecutor")
-    public void processAsync(UUID cvId) {
-        log.info("Starting async CV processing for: {}", cvId);
-        process(cvId);
+    public void process(UUID cvId) {
+        process(cvId, null);
     }
 
     /**
-     * Process a CV synchronously.
+     * Process a CV synchronously, reading the file from a local copy when one is available.
      *
-     * @param cvId the CV details ID
+     * @param cvId  the CV details ID
+     * @param spool local copy of the stored file, or null to download it
      */
-    @Transactional
-    public void process(UUID cvId) {
-        CvDetails cv = cvDetailsRepository.findById(cvId)
-                .orElseThrow(() -> new IllegalArgumentException("CV not found: " + cvId));
-
-        if (cv.getStatus() == CvStatus.PARSED) {
-            log.info("CV {} already parsed, skipping", cvId);
+    public void process(UUID cvId, Path spool) {
+        Optional<CvFile> file = start(cvId);
+        if (file.isEmpty()) {
             return;
         }
-
         try {
-            // Update status to PARSING
+            String cvText = cvTextService.textOf(file.get(), spool);
+            complete(file.get(), parse(cvText));
+            indexChunks(file.get(), cvText);
+        } catch (Exception e) {
+            fail(cvId, e);
+        }
+    }
+
+    /**
+     * Mark a CV PARSING.
+     *
+     * @param cvId the CV details ID
+     * @return what the later stages need of the CV, or empty if it is already parsed
+     */
+    public Optional<CvFile> start(UUID cvId) {
+        return transactionTemplate.execute(status -> {
+            CvDetails cv = cvDetailsRepository.findById(cvId)
+                    .orElseThrow(() -> new IllegalArgumentException("CV not found: " + cvId));
+
+            if (cv.getStatus() == CvStatus.PARSED) {
+                log.info("CV {} already parsed, skipping", cvId);
+                return Optional.empty();
+            }
             cv.setStatus(CvStatus.PARSING);
             cvDetailsRepository.save(cv);
+            return Optional.of(CvFile.of(cv));
+        });
+    }
 
-            // Step 1: Download file
-            log.debug("Downloading CV file: {}", cv.getS3Key());
-            InputStream fileStream = fileStorageService.download(cv.getS3Key());
-
-            // Step 2: Extract text
-            log.debug("Extracting text from CV: {}", cv.getFileName());
-            String cvText = textExtractor.extractText(fileStream, cv.getFileName());
+    /**
+     * Parse extracted text with AI, unless the same text was parsed by the same prompt and model
+     * before. Runs outside any transaction.
+     */
+    public CvParsedData parse(String cvText) {
+        Optional<CvParsedData> cached = parseCache.get(cvText);
+        if (cached.isPresent()) {
+            log.debug("CV parse served from cache");
+            return cached.get();
+        }
+        log.debug("Parsing CV with AI");
+        CvParsedData parsed = parserAgent.parse(cvText);
+        parseCache.put(cvText, parsed);
+        return parsed;
+    }
 
-            // Step 3: Parse with AI
-            log.debug("Parsing CV with AI");
-            CvParsedData parsedData = parserAgent.parse(cvText);
+    /**
+     * Save parsed data (skills stored under their canonical names) and mark the CV PARSED.
+     */
+    public void complete(CvFile file, CvParsedData parsedData) {
+        CvParsedData canonical = parsedData.withSkills(skillDictionary.canonicalize(parsedData.skills()));
+        String parsedJson;
+        try {
+            parsedJson = objectMapper.writeValueAsString(canonical);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize parsed CV data", e);
+        }
 
-            // Step 4: Save parsed data
-            String parsedJson = objectMapper.writeValueAsString(parsedData);
+        transactionTemplate.executeWithoutResult(status -> {
+            CvDetails cv = cvDetailsRepository.findById(file.cvId())
+                    .orElseThrow(() -> new IllegalArgumentException("CV not found: " + file.cvId()));
             cv.setParsedJson(parsedJson);
             cv.setStatus(CvStatus.PARSED);
             cv.setParsedAt(Instant.now());
             cv.setErrorMessage(null);
             cvDetailsRepository.save(cv);
+            eventPublisher.publishEvent(new CvParsedEvent(file.tenantId(), file.userId(), file.cvId()));
+        });
+        log.info("CV {} processed successfully", file.cvId());
+    }
 
-            log.info("CV {} processed successfully", cvId);
-
+    /**
+     * Write the RAG chunks of a parsed CV. Failures are logged only: the CV itself is usable.
+     */
+    public void indexChunks(CvFile file, String cvText) {
+        try {
+            chunkIndexer.index(file, cvText);
         } catch (Exception e) {
-            log.error("CV processing failed for {}: {}", cvId, e.getMessage(), e);
-
-            cv.setStatus(CvStatus.FAILED);
-            cv.setErrorMessage(e.getMessage());
-            cvDetailsRepository.save(cv);
+            log.warn("Failed to index RAG chunks of CV {}: {}", file.cvId(), e.getMessage());
         }
     }
 
+    /**
+     * Record a failed extraction or parse on the CV.
+     */
+    public void fail(UUID cvId, Throwable cause) {
+        log.error("CV processing failed for {}: {}", cvId, cause.getMessage(), cause);
+        markFailed(cvId, cause.getMessage());
+    }
+
     /**
      * Get parsed data for a CV.
      *
@@ -122,7 +185,44 @@ public class CvProcessingService {
     }
 
     /**
-     * Reprocess a CV (e.g., after AI model update).
+     * Give up on a CV whose processing kept failing without reaching a result.
+     *
+     * @param cvId   the CV details ID
+     * @param reason stored as the error message
+     */
+    public void markFailed(UUID cvId, String reason) {
+        transactionTemplate.executeWithoutResult(status ->
+                cvDetailsRepository.findById(cvId).ifPresent(cv -> {
+                    cv.setStatus(CvStatus.FAILED);
+                    cv.setErrorMessage(reason);
+                    cvDetailsRepository.save(cv);
+                }));
+    }
+
+    /**
+     * Give up on a CV whose processing jobs ran out of attempts, if it is still UPLOADED or
+     * PARSING. A CV an earlier claim already parsed (or failed) is left as it is.
+     *
+     * @param cvId   the CV details ID
+     * @param reason stored as the error message
+     * @return whether the CV was marked FAILED
+     */
+    public boolean abandon(UUID cvId, String reason) {
+        Boolean failed = transactionTemplate.execute(status -> cvDetailsRepository.findById(cvId)
+                .filter(cv -> cv.getStatus() == CvStatus.UPLOADED || cv.getStatus() == CvStatus.PARSING)
+                .map(cv -> {
+                    cv.setStatus(CvStatus.FAILED);
+                    cv.setErrorMessage(reason);
+                    cvDetailsRepository.save(cv);
+                    return true;
+                })
+                .orElse(false));
+        return Boolean.TRUE.equals(failed);
+    }
+
+    /**
+     * Reprocess a CV (e.g., after AI model update). The CV is reset and queued behind first-time
+     * uploads.
      *
      * @param cvId the CV details ID
      */
@@ -137,6 +237,6 @@ public class CvProcessingService {
         cv.setErrorMessage(null);
         cvDetailsRepository.save(cv);
 
-        process(cvId);
+        queueRepository.enqueue(cvId, cv.getTenantId(), CvProcessingQueue.Priority.REPROCESS.value(), null);
     }
 }
@@ -0,0 +1,193 @@
+package com.jobagent.jobagent.cv.service;
+
+import com.jobagent.jobagent.cv.model.CvDetails;
+import com.jobagent.jobagent.cv.repository.CvDetailsRepository;
+import com.jobagent.jobagent.cv.repository.CvTextArtifactRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tika.io.TikaInputStream;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Extracted text of a CV, served from the {@code cv_text_artifacts} store when the same file
+ * bytes were extracted before (by any user), otherwise extracted once with Tika and stored.
+ * Extraction reads the upload spool when this instance has it, else downloads the file to a
+ * temp file first; the lookup, fetch and extraction steps are separate so that
+ * {@link CvProcessingPipeline} can run them on different pools.
+ *
+ * <p>CVs uploaded before content hashes were recorded have no artifact key; they are extracted
+ * on every call.
+ */
+@Service
+@Slf4j
+public class CvTextService {
+
+    private final CvDetailsRepository cvDetailsRepository;
+    private final CvTextArtifactRepository artifactRepository;
+    private final FileStorageService fileStorageService;
+    private final CvTextExtractor textExtractor;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CvTextService(CvDetailsRepository cvDetailsRepository,
+                         CvTextArtifactRepository artifactRepository,
+                         FileStorageService fileStorageService,
+                         CvTextExtractor textExtractor,
+                         MeterRegistry meterRegistry) {
+        this.cvDetailsRepository = cvDetailsRepository;
+        this.artifactRepository = artifactRepository;
+        this.fileStorageService = fileStorageService;
+        this.textExtractor = textExtractor;
+        this.hits = Counter.builder("jobagent.cv.text.artifacts")
+                .tag("result", "hit")
+                .description("CV texts served from a stored artifact without download or Tika")
+                .register(meterRegistry);
+        this.misses = Counter.builder("jobagent.cv.text.artifacts")
+                .tag("result", "miss")
+                .description("CV texts that had to be extracted with Tika")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Extracted text of a CV (for reprocessing, chunking, re-embedding).
+     */
+    public String textOf(UUID cvId) {
+        CvDetails cv = cvDetailsRepository.findById(cvId)
+                .orElseThrow(() -> new IllegalArgumentException("CV not found: " + cvId));
+        return textOf(CvFile.of(cv), null);
+    }
+
+    /**
+     * Extracted text of a CV, reading the file from a local copy when it has to be extracted.
+     * Runs every step on the calling thread; {@link CvProcessingPipeline} runs them as stages.
+     *
+     * @param spool local copy of the stored file (streamed uploads), or null to download it
+     */
+    public String textOf(CvFile file, Path spool) {
+        Optional<String> stored = storedText(file);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+        Path local = fetch(file, spool);
+        try {
+            return extractAndStore(file, local);
+        } finally {
+            releaseLocalCopy(local, spool);
+        }
+    }
+
+    /**
+     * Text stored for the file's content hash, if the same bytes were extracted before.
+     */
+    public Optional<String> storedText(CvFile file) {
+        if (file.contentHash() != null) {
+            Optional<byte[]> artifact = artifactRepository.findCompressedText(file.contentHash());
+            if (artifact.isPresent()) {
+                hits.increment();
+                log.debug("CV {} text served from artifact {}", file.cvId(), file.contentHash());
+                return Optional.of(decompress(artifact.get()));
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Local copy of the file to extract from: the upload spool if this instance has it,
+     * otherwise a temp file downloaded from storage (release it with {@link #releaseLocalCopy}).
+     */
+    public Path fetch(CvFile file, Path spool) {
+        if (spool != null && Files.isReadable(spool)) {
+            log.debug("Reading CV file from upload spool: {}", spool);
+            return spool;
+        }
+        return download(file);
+    }
+
+    /**
+     * Run Tika over a local copy and store the result as the artifact of the content hash.
+     */
+    public String extractAndStore(CvFile file, Path local) {
+        String text = extract(file, local);
+        if (file.contentHash() != null) {
+            artifactRepository.save(file.contentHash(), compress(text), text.length());
+        }
+        return text;
+    }
+
+    /**
+     * Delete a local copy made by {@link #fetch}; the upload spool itself is left to its queue job.
+     */
+    public void releaseLocalCopy(Path local, Path spool) {
+        if (local != null && !local.equals(spool)) {
+            deleteQuietly(local);
+        }
+    }
+
+    private Path download(CvFile file) {
+        log.debug("Downloading CV file: {}", file.s3Key());
+        Path local = null;
+        try (InputStream in = fileStorageService.download(file.s3Key())) {
+            local = Files.createTempFile("cv-download-", ".tmp");
+            Files.copy(in, local, StandardCopyOption.REPLACE_EXISTING);
+            return local;
+        } catch (IOException e) {
+            if (local != null) {
+                deleteQuietly(local);
+            }
+            throw new CvTextExtractor.CvParsingException("Failed to download file: " + file.fileName(), e);
+        }
+    }
+
+    private String extract(CvFile file, Path local) {
+        // A file-backed TikaInputStream lets the parser read the file in place
+        try (InputStream in = TikaInputStream.get(local)) {
+            log.debug("Extracting text from CV: {}", file.fileName());
+            return textExtractor.extractText(in, file.fileName());
+        } catch (IOException e) {
+            throw new CvTextExtractor.CvParsingException("Failed to read file: " + file.fileName(), e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary CV file {}: {}", file, e.getMessage());
+        }
+    }
+
+    static byte[] compress(String text) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static String decompress(byte[] compressed) {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
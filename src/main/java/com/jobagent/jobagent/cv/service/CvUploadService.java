@@ -6,16 +6,27 @@ import com.jobagent.jobagent.common.exception.ResourceNotFoundException;
 import com.jobagent.jobagent.cv.dto.CvDownloadResponse;
 import com.jobagent.jobagent.cv.dto.CvSummaryResponse;
 import com.jobagent.jobagent.cv.dto.CvUploadResponse;
+import com.jobagent.jobagent.cv.event.CvSupersededEvent;
 import com.jobagent.jobagent.cv.model.CvDetails;
 import com.jobagent.jobagent.cv.model.CvStatus;
 import com.jobagent.jobagent.cv.repository.CvDetailsRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.annotation.Lazy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -29,26 +40,33 @@ import java.util.UUID;
 public class CvUploadService {
 
     private static final Set<String> ALLOWED_CONTENT_TYPES = Set.of(
-            "application/pdf",
-            "application/vnd.openxmlformats-officedocument.wordprocessingml.document"
+            CvUploadStream.PDF,
+            CvUploadStream.DOCX
     );
 
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10 MB
+    private static final int SPOOL_BUFFER_SIZE = 64 * 1024;
 
     private final CvDetailsRepository cvDetailsRepository;
     private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
-    private final CvProcessingService cvProcessingService;
+    private final CvProcessingQueue cvProcessingQueue;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     public CvUploadService(
             CvDetailsRepository cvDetailsRepository,
             UserRepository userRepository,
             FileStorageService fileStorageService,
-            @Lazy CvProcessingService cvProcessingService) {
+            CvProcessingQueue cvProcessingQueue,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher) {
         this.cvDetailsRepository = cvDetailsRepository;
         this.userRepository = userRepository;
         this.fileStorageService = fileStorageService;
-        this.cvProcessingService = cvProcessingService;
+        this.cvProcessingQueue = cvProcessingQueue;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -60,46 +78,78 @@ public class CvUploadService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
 
-        // Deactivate previous CVs
-        cvDetailsRepository.deactivateAllByUserId(userId);
-
         // Generate S3 key
         String extension = getFileExtension(file.getOriginalFilename());
         String s3Key = generateS3Key(user.getTenantId(), userId, extension);
 
-        // Upload to storage
-        try {
-            fileStorageService.upload(s3Key, file.getInputStream(), file.getContentType(), file.getSize());
+        // Upload to storage, hashing the bytes on the way for the extracted-text artifact key
+        MessageDigest digest = CvUploadStream.sha256();
+        try (InputStream content = new DigestInputStream(file.getInputStream(), digest)) {
+            fileStorageService.upload(s3Key, content, file.getContentType(), file.getSize());
         } catch (IOException e) {
             throw new CvUploadException("Failed to read file content", e);
         }
+        String contentHash = HexFormat.of().formatHex(digest.digest());
 
-        // Save CV details
-        CvDetails cvDetails = CvDetails.builder()
-                .user(user)
-                .fileName(file.getOriginalFilename())
-                .contentType(file.getContentType())
-                .fileSize(file.getSize())
-                .s3Key(s3Key)
-                .status(CvStatus.UPLOADED)
-                .active(true)
-                .build();
+        CvDetails cvDetails = saveActiveCv(user, file.getOriginalFilename(), file.getContentType(), file.getSize(),
+                s3Key, contentHash);
 
-        cvDetailsRepository.save(cvDetails);
+        // Queue processing in the same transaction
+        cvProcessingQueue.enqueue(cvDetails, CvProcessingQueue.Priority.NEW, null);
 
         log.info("CV uploaded for user {}: {} ({} bytes)", userId, file.getOriginalFilename(), file.getSize());
 
-        // Trigger async processing
-        cvProcessingService.processAsync(cvDetails.getId());
+        return toUploadResponse(cvDetails);
+    }
 
-        return new CvUploadResponse(
-                cvDetails.getId(),
-                cvDetails.getFileName(),
-                cvDetails.getContentType(),
-                cvDetails.getFileSize(),
-                cvDetails.getStatus().name(),
-                cvDetails.getCreatedAt()
-        );
+    /**
+     * Upload a CV from a raw request body without buffering it.
+     *
+     * <p>The type is sniffed from the first bytes and the size enforced while the body is piped
+     * into a multipart upload to storage; the same bytes are spooled to a local temp file that
+     * processing parses instead of downloading the object again (if this instance claims the
+     * job). No transaction is held while the client sends the body — the CV row and its
+     * processing job are written once the object is stored.
+     *
+     * @param declaredLength the request's Content-Length, or -1 if sent chunked
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CvUploadResponse uploadCvStream(UUID userId, String fileName, InputStream body, long declaredLength) {
+        if (declaredLength > MAX_FILE_SIZE) {
+            throw new CvUploadException("File size exceeds maximum allowed (10 MB)");
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
+        String s3Key = generateS3Key(user.getTenantId(), userId, getFileExtension(fileName));
+
+        Path spool = createSpoolFile();
+        StoredUpload stored;
+        try {
+            stored = storeStream(s3Key, body, spool);
+        } catch (RuntimeException e) {
+            deleteSpool(spool);
+            throw e;
+        }
+
+        CvDetails cvDetails;
+        try {
+            cvDetails = transactionTemplate.execute(status -> {
+                CvDetails saved = saveActiveCv(user, fileName, stored.contentType(), stored.size(), s3Key,
+                        stored.contentHash());
+                cvProcessingQueue.enqueue(saved, CvProcessingQueue.Priority.NEW, spool);
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            // No row references the object or the spool, so nothing else would ever remove them
+            deleteStoredObject(s3Key);
+            deleteSpool(spool);
+            throw e;
+        }
+
+        log.info("CV streamed for user {}: {} ({} bytes)", userId, fileName, stored.size());
+
+        return toUploadResponse(cvDetails);
     }
 
     /**
@@ -156,10 +206,85 @@ public class CvUploadService {
 
         cv.setActive(false);
         cvDetailsRepository.save(cv);
+        eventPublisher.publishEvent(new CvSupersededEvent(cv.getTenantId(), userId, List.of(cvId)));
 
         log.info("CV {} soft-deleted for user {}", cvId, userId);
     }
 
+    private StoredUpload storeStream(String s3Key, InputStream body, Path spool) {
+        try (OutputStream tee = new BufferedOutputStream(Files.newOutputStream(spool), SPOOL_BUFFER_SIZE);
+             CvUploadStream stream = CvUploadStream.open(body, MAX_FILE_SIZE, tee)) {
+            if (stream.isEmpty()) {
+                throw new CvUploadException("File is required");
+            }
+            if (!ALLOWED_CONTENT_TYPES.contains(stream.contentType())) {
+                throw new CvUploadException("Invalid file type. Allowed: PDF, DOCX");
+            }
+
+            try {
+                fileStorageService.uploadStream(s3Key, stream, stream.contentType());
+            } catch (RuntimeException e) {
+                if (stream.limitExceeded()) {
+                    throw new CvUploadException("File size exceeds maximum allowed (10 MB)");
+                }
+                throw e;
+            }
+            return new StoredUpload(stream.contentType(), stream.count(), stream.contentHash());
+        } catch (CvUploadStream.LimitExceededException e) {
+            throw new CvUploadException("File size exceeds maximum allowed (10 MB)", e);
+        } catch (IOException e) {
+            throw new CvUploadException("Failed to read file content", e);
+        }
+    }
+
+    private CvDetails saveActiveCv(User user, String fileName, String contentType, long size, String s3Key,
+                                   String contentHash) {
+        // Deactivate previous CVs; their RAG chunks are dropped once this commits
+        List<UUID> superseded = cvDetailsRepository.findActiveIdsByUserId(user.getId());
+        cvDetailsRepository.deactivateAllByUserId(user.getId());
+        if (!superseded.isEmpty()) {
+            eventPublisher.publishEvent(new CvSupersededEvent(user.getTenantId(), user.getId(), superseded));
+        }
+
+        CvDetails cvDetails = CvDetails.builder()
+                .user(user)
+                .fileName(fileName)
+                .contentType(contentType)
+                .fileSize(size)
+                .s3Key(s3Key)
+                .contentHash(contentHash)
+                .status(CvStatus.UPLOADED)
+                .active(true)
+                .build();
+
+        // Flushed so the processing job inserted next can reference the row
+        return cvDetailsRepository.saveAndFlush(cvDetails);
+    }
+
+    private Path createSpoolFile() {
+        try {
+            return Files.createTempFile("cv-upload-", ".spool");
+        } catch (IOException e) {
+            throw new CvUploadException("Failed to allocate upload buffer", e);
+        }
+    }
+
+    private void deleteStoredObject(String s3Key) {
+        try {
+            fileStorageService.delete(s3Key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete orphaned CV object {}: {}", s3Key, e.getMessage());
+        }
+    }
+
+    private void deleteSpool(Path spool) {
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            log.warn("Failed to delete upload spool {}: {}", spool, e.getMessage());
+        }
+    }
+
     private void validateFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new CvUploadException("File is required");
@@ -185,6 +310,17 @@ public class CvUploadService {
         return filename.substring(filename.lastIndexOf(".") + 1).toLowerCase();
     }
 
+    private CvUploadResponse toUploadResponse(CvDetails cv) {
+        return new CvUploadResponse(
+                cv.getId(),
+                cv.getFileName(),
+                cv.getContentType(),
+                cv.getFileSize(),
+                cv.getStatus().name(),
+                cv.getCreatedAt()
+        );
+    }
+
     private CvSummaryResponse toSummaryResponse(CvDetails cv) {
         return new CvSummaryResponse(
                 cv.getId(),
@@ -198,6 +334,8 @@ public class CvUploadService {
         );
     }
 
+    private record StoredUpload(String contentType, long size, String contentHash) {}
+
     /**
      * Custom exception for CV upload errors.
      */
@@ -0,0 +1,204 @@
+package com.jobagent.jobagent.cv.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Request body of a streamed CV upload.
+ *
+ * <p>Detects the document type from the leading bytes, enforces the size limit while the bytes
+ * flow to storage, hashes them for the extracted-text artifact key and copies every byte it hands
+ * out to a tee (the local spool that processing parses instead of downloading the object
+ * again). Holds no more than the sniffed prefix.
+ */
+final class CvUploadStream extends FilterInputStream {
+
+    static final String PDF = "application/pdf";
+    static final String DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+    private static final byte[] PDF_MAGIC = {'%', 'P', 'D', 'F', '-'};
+    /** DOCX is an OOXML zip package: local file header signature */
+    private static final byte[] ZIP_MAGIC = {'P', 'K', 3, 4};
+    /** Main part of a word-processing package; xlsx, jars and plain archives do not have it */
+    private static final byte[] DOCX_MAIN_PART = "word/document.xml".getBytes(StandardCharsets.US_ASCII);
+    /** Fixed part of a local file header, up to the entry name */
+    private static final int ZIP_HEADER_LENGTH = 30;
+    /** Leading bytes searched for the main part's local file header */
+    private static final int SNIFF_LENGTH = 256 * 1024;
+
+    private final long maxBytes;
+    private final OutputStream tee;
+    private final MessageDigest digest;
+    private final String contentType;
+    private final boolean empty;
+    private long count;
+    private boolean limitExceeded;
+
+    private CvUploadStream(InputStream in, long maxBytes, OutputStream tee, byte[] head) {
+        super(in);
+        this.maxBytes = maxBytes;
+        this.tee = tee;
+        this.digest = sha256();
+        this.contentType = sniff(head);
+        this.empty = head.length == 0;
+    }
+
+    /**
+     * Wrap a request body, reading (and pushing back) its first bytes to detect the type.
+     */
+    static CvUploadStream open(InputStream body, long maxBytes, OutputStream tee) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(body, SNIFF_LENGTH);
+        byte[] head = in.readNBytes(SNIFF_LENGTH);
+        in.unread(head);
+        return new CvUploadStream(in, maxBytes, tee, head);
+    }
+
+    /**
+     * Content type detected from the leading bytes, or null if neither PDF nor DOCX.
+     *
+     * <p>A zip is only taken for DOCX if one of its local file headers within the prefix names
+     * {@code word/document.xml}; Word writes that part right after the package relationships.
+     */
+    static String sniff(byte[] head) {
+        if (startsWith(head, PDF_MAGIC)) {
+            return PDF;
+        }
+        if (startsWith(head, ZIP_MAGIC) && hasZipEntry(head, DOCX_MAIN_PART)) {
+            return DOCX;
+        }
+        return null;
+    }
+
+    String contentType() {
+        return contentType;
+    }
+
+    boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * Bytes read so far.
+     */
+    long count() {
+        return count;
+    }
+
+    /**
+     * SHA-256 (hex) of the bytes read; the content hash once the body has been read to the end.
+     */
+    String contentHash() {
+        try {
+            return HexFormat.of().formatHex(((MessageDigest) digest.clone()).digest());
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 digest not cloneable", e);
+        }
+    }
+
+    /**
+     * Whether reading was aborted because the body exceeded the size limit.
+     */
+    boolean limitExceeded() {
+        return limitExceeded;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b >= 0) {
+            advance(1);
+            digest.update((byte) b);
+            tee.write(b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n > 0) {
+            advance(n);
+            digest.update(b, off, n);
+            tee.write(b, off, n);
+        }
+        return n;
+    }
+
+    /** Skipped bytes still have to reach the tee, so they are read rather than skipped. */
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(Math.max(n, 0), 8192)];
+        long remaining = n;
+        while (remaining > 0) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                break;
+            }
+            remaining -= read;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void advance(int n) throws IOException {
+        count += n;
+        if (count > maxBytes) {
+            limitExceeded = true;
+            throw new LimitExceededException(maxBytes);
+        }
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static boolean startsWith(byte[] head, byte[] magic) {
+        return head.length >= magic.length && Arrays.equals(head, 0, magic.length, magic, 0, magic.length);
+    }
+
+    /**
+     * Whether a local file header for {@code name} starts within {@code head}. Headers are found by
+     * their signature rather than by skipping entry data, whose size is not in the header when the
+     * package was written with data descriptors.
+     */
+    private static boolean hasZipEntry(byte[] head, byte[] name) {
+        for (int i = 0; i + ZIP_HEADER_LENGTH + name.length <= head.length; i++) {
+            if (Arrays.equals(head, i, i + ZIP_MAGIC.length, ZIP_MAGIC, 0, ZIP_MAGIC.length)
+                    && littleEndianShort(head, i + 26) == name.length
+                    && Arrays.equals(head, i + ZIP_HEADER_LENGTH, i + ZIP_HEADER_LENGTH + name.length,
+                    name, 0, name.length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int littleEndianShort(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xff) | (bytes[offset + 1] & 0xff) << 8;
+    }
+
+    /**
+     * Thrown by a read that takes the body past the size limit.
+     */
+    static final class LimitExceededException extends IOException {
+        LimitExceededException(long maxBytes) {
+            super("Upload exceeds " + maxBytes + " bytes");
+        }
+    }
+}
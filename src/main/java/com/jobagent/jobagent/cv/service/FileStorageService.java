@@ -19,6 +19,16 @@ public interface FileStorageService {
      */
     void upload(String key, InputStream inputStream, String contentType, long size);
 
+    /**
+     * Upload a stream of unknown length as a multipart upload, holding one part in memory at a
+     * time rather than the whole file.
+     *
+     * @param key         the storage key (path)
+     * @param inputStream the file content, read until end of stream
+     * @param contentType the MIME type
+     */
+    void uploadStream(String key, InputStream inputStream, String contentType);
+
     /**
      * Download a file from storage.
      *
@@ -39,6 +39,25 @@ public class MinioFileStorageService implements FileStorageService {
         }
     }
 
+    /**
+     * Parts are the S3 minimum (5 MiB), so peak memory per upload is one part whatever the size.
+     */
+    @Override
+    public void uploadStream(String key, InputStream inputStream, String contentType) {
+        try {
+            minioClient.putObject(PutObjectArgs.builder()
+                    .bucket(cvBucket)
+                    .object(key)
+                    .stream(inputStream, -1, ObjectWriteArgs.MIN_MULTIPART_SIZE)
+                    .contentType(contentType)
+                    .build());
+            log.debug("Stream-uploaded file to {}/{}", cvBucket, key);
+        } catch (Exception e) {
+            log.error("Failed to stream file to {}/{}: {}", cvBucket, key, e.getMessage());
+            throw new StorageException("Failed to upload file: " + key, e);
+        }
+    }
+
     @Override
     public InputStream download(String key) {
         try {
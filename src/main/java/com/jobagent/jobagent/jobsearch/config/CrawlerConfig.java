@@ -0,0 +1,13 @@
+package com.jobagent.jobagent.jobsearch.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled tasks: the job source crawl ({@code app.crawler.enabled} switches the crawl
+ * itself) and the job expiry sweep.
+ */
+@Configuration
+@EnableScheduling
+public class CrawlerConfig {
+}
@@ -0,0 +1,36 @@
+package com.jobagent.jobagent.jobsearch.config;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread pool for parallel job match scoring.
+ *
+ * <p>A dedicated, size-capped {@link ForkJoinPool}: scoring never runs on the common pool or on
+ * the virtual-thread carriers serving web requests, and a burst of large rankings cannot grow
+ * the pool beyond {@code app.matching.parallel.parallelism} threads.
+ */
+@Configuration
+public class MatchingConfig {
+
+    @Bean(name = "matchScoringPool", destroyMethod = "shutdown")
+    public ForkJoinPool matchScoringPool(AppProperties appProperties) {
+        int configured = appProperties.getMatching().getParallel().getParallelism();
+        int parallelism = configured > 0
+                ? configured
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("match-score-" + thread.getPoolIndex());
+            return thread;
+        };
+        return new ForkJoinPool(parallelism, threadFactory, null, false,
+                0, parallelism, 1, null, 60, TimeUnit.SECONDS);
+    }
+}
@@ -2,6 +2,7 @@ package com.jobagent.jobagent.jobsearch.controller;
 
 import com.jobagent.jobagent.jobsearch.dto.*;
 import com.jobagent.jobagent.jobsearch.model.JobStatus;
+import com.jobagent.jobagent.jobsearch.service.JobIngestionService;
 import com.jobagent.jobagent.jobsearch.service.JobMatchingService;
 import com.jobagent.jobagent.jobsearch.service.JobSearchService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,12 +13,14 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -33,10 +36,11 @@ public class JobSearchController {
 
     private final JobSearchService jobSearchService;
     private final JobMatchingService jobMatchingService;
+    private final JobIngestionService jobIngestionService;
 
     @Operation(summary = "List active jobs", description = "Returns a paginated list of active job listings")
     @GetMapping
-    public ResponseEntity<Page<JobListingResponse>> getJobs(
+    public ResponseEntity<Page<JobListingSummary>> getJobs(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
 
@@ -44,15 +48,58 @@ public class JobSearchController {
         return ResponseEntity.ok(jobSearchService.getActiveJobs(page, size));
     }
 
+    @Operation(summary = "List active jobs (keyset)", description = "Returns the next page of active job listings, newest first, after the given cursor. Pass an empty cursor for the first page, then the returned nextCursor",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Jobs returned"),
+                @ApiResponse(responseCode = "400", description = "Invalid cursor")
+            })
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<JobListingSummary>> getJobsAfter(
+            @Parameter(description = "Opaque cursor from the previous page (empty for the first page)") @RequestParam String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+
+        log.debug("Getting jobs after cursor, size={}", size);
+        return ResponseEntity.ok(jobSearchService.getActiveJobsAfter(cursor, Math.clamp(size, 1, 100)));
+    }
+
     @Operation(summary = "Search jobs with filters", description = "Searches job listings using keyword, skills, location, salary, and other filters")
     @PostMapping("/search")
-    public ResponseEntity<Page<JobListingResponse>> searchJobs(
+    public ResponseEntity<Page<JobListingSummary>> searchJobs(
             @Valid @RequestBody JobSearchRequest request) {
 
         log.debug("Searching jobs with criteria: {}", request);
         return ResponseEntity.ok(jobSearchService.searchJobs(request));
     }
 
+    @Operation(summary = "Search jobs with filters (keyset)", description = "Same filters as /search, newest first, paginated by cursor instead of page number. The request's page is ignored and totalElements is -1",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Jobs returned"),
+                @ApiResponse(responseCode = "400", description = "Invalid cursor")
+            })
+    @PostMapping(value = "/search", params = "cursor")
+    public ResponseEntity<CursorPage<JobListingSummary>> searchJobsAfter(
+            @Parameter(description = "Opaque cursor from the previous page (empty for the first page)") @RequestParam String cursor,
+            @Valid @RequestBody JobSearchRequest request) {
+
+        log.debug("Searching jobs after cursor with criteria: {}", request);
+        return ResponseEntity.ok(jobSearchService.searchJobsAfter(request, cursor));
+    }
+
+    @Operation(summary = "Hybrid relevance search", description = "Ranks active jobs by reciprocal rank fusion of full-text relevance and semantic similarity to the query. Pass an empty cursor for the first page, then the returned nextCursor",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Search results returned"),
+                @ApiResponse(responseCode = "400", description = "Invalid cursor")
+            })
+    @GetMapping("/search/hybrid")
+    public ResponseEntity<CursorPage<JobListingSummary>> hybridSearch(
+            @Parameter(description = "Free-text query", required = true) @RequestParam String q,
+            @Parameter(description = "Opaque cursor from the previous page (empty for the first page)") @RequestParam(defaultValue = "") String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+
+        log.debug("Hybrid search for '{}'", q);
+        return ResponseEntity.ok(jobSearchService.hybridSearch(q, cursor, Math.clamp(size, 1, 100)));
+    }
+
     @Operation(summary = "Get job by ID", description = "Returns full details of a specific job listing",
             responses = {
                 @ApiResponse(responseCode = "200", description = "Job found"),
@@ -85,16 +132,37 @@ public class JobSearchController {
         );
     }
 
-    @Operation(summary = "Get top job matches", description = "Returns the top N best-matched jobs for the user's CV profile")
+    @Operation(summary = "Get matched jobs (keyset)", description = "Returns the next page of jobs ranked by match percentage after the given cursor. Pass an empty cursor for the first page, then the returned nextCursor",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Matched jobs returned"),
+                @ApiResponse(responseCode = "400", description = "Invalid cursor")
+            })
+    @GetMapping(value = "/matches", params = "cursor")
+    public ResponseEntity<CursorPage<JobMatchScore>> getMatchedJobsAfter(
+            @AuthenticationPrincipal Jwt jwt,
+            @Parameter(description = "Opaque cursor from the previous page (empty for the first page)") @RequestParam String cursor,
+            @Parameter(description = "Minimum match percentage (0-100)") @RequestParam(defaultValue = "30") int minMatch,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+
+        UUID userId = UUID.fromString(jwt.getSubject());
+        log.debug("Getting matched jobs for user {} after cursor with minMatch={}", userId, minMatch);
+
+        return ResponseEntity.ok(
+                jobMatchingService.getMatchedJobsAfter(userId, minMatch, cursor, Math.clamp(size, 1, 100))
+        );
+    }
+
+    @Operation(summary = "Get top job matches", description = "Returns the top N best-matched jobs for the user's CV profile. SEMANTIC mode blends CV/job embedding similarity with skill overlap")
     @GetMapping("/top-matches")
     public ResponseEntity<List<JobMatchScore>> getTopMatches(
             @AuthenticationPrincipal Jwt jwt,
-            @Parameter(description = "Maximum number of results") @RequestParam(defaultValue = "10") int limit) {
+            @Parameter(description = "Maximum number of results") @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "Ranking mode") @RequestParam(defaultValue = "SKILLS") MatchMode mode) {
 
         UUID userId = UUID.fromString(jwt.getSubject());
-        log.debug("Getting top {} matches for user {}", limit, userId);
+        log.debug("Getting top {} {} matches for user {}", limit, mode, userId);
 
-        return ResponseEntity.ok(jobMatchingService.getTopMatches(userId, limit));
+        return ResponseEntity.ok(jobMatchingService.getTopMatches(userId, limit, mode));
     }
 
     @Operation(summary = "Get match score for a job", description = "Calculates and returns the match score for a specific job against the user's CV")
@@ -123,6 +191,29 @@ public class JobSearchController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @Operation(summary = "Bulk ingest job listings", description = "Streams an NDJSON (application/x-ndjson) or CSV (text/csv, header row) feed of job listings into the tenant's jobs. Records are upserted by (source, externalId) in batches; the response has inserted, updated and skipped counts per batch",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Feed ingested"),
+                @ApiResponse(responseCode = "400", description = "Invalid source"),
+                @ApiResponse(responseCode = "415", description = "Unsupported feed format")
+            })
+    @PostMapping(value = "/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<BulkIngestResult> ingestJobs(
+            @Parameter(description = "Feed name; together with externalId identifies a listing", required = true) @RequestParam String source,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream feed) {
+
+        log.info("Ingesting {} job feed '{}'", contentType, source);
+        return ResponseEntity.ok(jobIngestionService.ingest(feed, IngestFormat.fromContentType(contentType), source));
+    }
+
+    @Operation(summary = "Rebuild near-duplicate links", description = "Recomputes the MinHash signatures and LSH buckets of the tenant's active job listings, oldest first, and re-links near-duplicates to their canonical listing. Returns the number of duplicates")
+    @PostMapping("/duplicates/rebuild")
+    public ResponseEntity<Integer> rebuildDuplicates() {
+        log.info("Rebuilding near-duplicate job links");
+        return ResponseEntity.ok(jobSearchService.rebuildDuplicateIndex());
+    }
+
     @Operation(summary = "Update job status", description = "Updates the status of a job listing (e.g., ACTIVE, EXPIRED, CLOSED)")
     @PutMapping("/{id}/status")
     public ResponseEntity<JobListingResponse> updateJobStatus(
@@ -0,0 +1,40 @@
+package com.jobagent.jobagent.jobsearch.controller;
+
+import com.jobagent.jobagent.jobsearch.crawler.JobSourceCrawler;
+import com.jobagent.jobagent.jobsearch.dto.CrawlReport;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * REST controller for job sources (crawled careers pages and job boards).
+ */
+@RestController
+@RequestMapping("/api/v1/job-sources")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Job Sources", description = "Crawl configured job sources into the tenant's job listings")
+public class JobSourceController {
+
+    private final JobSourceCrawler jobSourceCrawler;
+
+    @Operation(summary = "Crawl a job source now", description = "Fetches the source's listing pages, ingests the listings found and returns the crawl's throughput and ingestion counts",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Crawl finished (see error for partial crawls)"),
+                @ApiResponse(responseCode = "404", description = "Job source not found")
+            })
+    @PostMapping("/{id}/crawl")
+    public ResponseEntity<CrawlReport> crawl(
+            @Parameter(description = "Job source identifier", required = true) @PathVariable UUID id) {
+
+        log.info("Crawling job source {}", id);
+        return ResponseEntity.ok(jobSourceCrawler.crawlSource(id));
+    }
+}
@@ -0,0 +1,22 @@
+package com.jobagent.jobagent.jobsearch.crawler;
+
+import java.net.URI;
+
+/**
+ * A fetched listing page.
+ *
+ * @param uri          final URI after redirects, used to resolve relative links
+ * @param body         page HTML (empty for 304 Not Modified)
+ * @param etag         {@code ETag} response header, if any
+ * @param lastModified {@code Last-Modified} response header, if any
+ */
+public record FetchedPage(URI uri, int status, String body, String etag, String lastModified) {
+
+    public FetchedPage(URI uri, int status, String body) {
+        this(uri, status, body, null, null);
+    }
+
+    public boolean notModified() {
+        return status == 304;
+    }
+}
@@ -0,0 +1,75 @@
+package com.jobagent.jobagent.jobsearch.crawler;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-host request limits: at most {@code maxConcurrent} requests in flight to a host, and
+ * request starts spaced at least {@code minInterval} apart. Waiting callers block, which is cheap
+ * on the virtual threads the crawler runs on.
+ */
+public class HostPoliteness {
+
+    private final int maxConcurrent;
+    private final long minIntervalNanos;
+    private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+
+    public HostPoliteness(int maxConcurrent, Duration minInterval) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.minIntervalNanos = minInterval.toNanos();
+    }
+
+    /**
+     * Run {@code request} against {@code uri}'s host once its limits allow.
+     */
+    public <T> T call(URI uri, Callable<T> request) throws Exception {
+        Host host = hosts.computeIfAbsent(hostKey(uri), key -> new Host(maxConcurrent));
+        host.permits.acquire();
+        try {
+            host.awaitTurn(minIntervalNanos);
+            return request.call();
+        } finally {
+            host.permits.release();
+        }
+    }
+
+    private static String hostKey(URI uri) {
+        String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+        return uri.getPort() == -1 ? host : host + ":" + uri.getPort();
+    }
+
+    private static final class Host {
+
+        private final Semaphore permits;
+        private final ReentrantLock lock = new ReentrantLock();
+        private long nextStart = System.nanoTime();
+
+        Host(int maxConcurrent) {
+            this.permits = new Semaphore(maxConcurrent, true);
+        }
+
+        /**
+         * Wait until this host's next start slot and reserve the one after it. Holding the lock
+         * while sleeping queues the other callers behind the slot in order.
+         */
+        void awaitTurn(long minIntervalNanos) throws InterruptedException {
+            lock.lock();
+            try {
+                long wait = nextStart - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                nextStart = System.nanoTime() + minIntervalNanos;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.jobagent.jobagent.jobsearch.crawler;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Plain HTTP fetcher for server-rendered sources. Conditional request headers passed in by the
+ * caller ({@code If-None-Match}, {@code If-Modified-Since}) yield a 304 page with an empty body.
+ * Redirects are followed here rather than by the client, so the caller's headers (which may carry
+ * the source's credentials) are dropped once a redirect leaves the requested origin.
+ * The client's own work (connection setup, response handling) runs on virtual threads, as do the
+ * crawler threads that block in {@link #fetch}.
+ */
+@Component
+public class HttpPageFetcher implements PageFetcher, DisposableBean {
+
+    private static final int MAX_REDIRECTS = 5;
+    private static final Set<Integer> REDIRECTS = Set.of(301, 302, 303, 307, 308);
+
+    private final AppProperties.Crawler properties;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client;
+
+    public HttpPageFetcher(AppProperties appProperties) {
+        this.properties = appProperties.getCrawler();
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(properties.getRequestTimeout())
+                .build();
+    }
+
+    @Override
+    public FetchedPage fetch(URI uri, Map<String, String> headers) {
+        URI target = uri;
+        HttpResponse<String> response = send(target, headers);
+        for (int redirects = 0; REDIRECTS.contains(response.statusCode()); redirects++) {
+            if (redirects == MAX_REDIRECTS) {
+                throw new CrawlException("Fetching " + uri + " redirected more than " + MAX_REDIRECTS + " times");
+            }
+            String location = response.headers().firstValue("Location")
+                    .orElseThrow(() -> new CrawlException("Fetching " + uri + " redirected without a Location"));
+            target = response.uri().resolve(location);
+            response = send(target, PageFetcher.sameOrigin(uri, target) ? headers : Map.of());
+        }
+        if (response.statusCode() >= 400) {
+            throw new CrawlException("Fetching " + uri + " returned HTTP " + response.statusCode());
+        }
+        return new FetchedPage(response.uri(), response.statusCode(), response.body(),
+                response.headers().firstValue("ETag").orElse(null),
+                response.headers().firstValue("Last-Modified").orElse(null));
+    }
+
+    private HttpResponse<String> send(URI uri, Map<String, String> headers) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(properties.getRequestTimeout())
+                .header("User-Agent", properties.getUserAgent())
+                .header("Accept", "text/html,application/xhtml+xml");
+        headers.forEach(request::setHeader);
+        try {
+            return client.send(request.GET().build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new CrawlException("Failed to fetch " + uri + ": " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CrawlException("Interrupted while fetching " + uri, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        client.close();
+        executor.close();
+    }
+}
@@ -0,0 +1,233 @@
+package com.jobagent.jobagent.jobsearch.crawler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobagent.jobagent.jobsearch.dto.CreateJobRequest;
+import com.jobagent.jobagent.jobsearch.model.EmploymentType;
+import com.jobagent.jobagent.jobsearch.model.JobSourceConfig;
+import com.jobagent.jobagent.jobsearch.model.RemoteType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Extracts job listings and the next-page link from a listing page with jsoup.
+ *
+ * <p>With {@link JobSourceConfig.CrawlSelectors} the listings are read from CSS selectors;
+ * without, from schema.org {@code JobPosting} JSON-LD blocks, which most job boards and ATS
+ * career pages embed for search engines.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobPageParser {
+
+    private static final List<String> DEFAULT_NEXT_PAGE = List.of("link[rel=next]@href", "a[rel=next]@href");
+
+    private final ObjectMapper objectMapper;
+
+    public ParsedPage parse(FetchedPage page, JobSourceConfig source) {
+        Document document = Jsoup.parse(page.body(), page.uri().toString());
+        JobSourceConfig.CrawlSelectors selectors = source.getSelectors();
+
+        List<CreateJobRequest> jobs = selectors != null && selectors.listing() != null
+                ? fromSelectors(document, selectors, source.getName())
+                : fromJsonLd(document, source.getName());
+
+        List<String> nextSelectors = selectors != null && selectors.nextPage() != null
+                ? List.of(selectors.nextPage())
+                : DEFAULT_NEXT_PAGE;
+        URI nextPage = null;
+        for (String candidate : nextSelectors) {
+            String href = value(document, candidate);
+            if (href != null && !href.isBlank()) {
+                nextPage = page.uri().resolve(href.trim());
+                break;
+            }
+        }
+        return new ParsedPage(jobs, nextPage);
+    }
+
+    private List<CreateJobRequest> fromSelectors(Document document, JobSourceConfig.CrawlSelectors selectors,
+                                                 String sourceName) {
+        List<CreateJobRequest> jobs = new ArrayList<>();
+        for (Element listing : document.select(selectors.listing())) {
+            String link = value(listing, selectors.link());
+            String externalId = firstNonBlank(value(listing, selectors.externalId()), link);
+            String company = firstNonBlank(value(listing, selectors.company()), sourceName);
+            jobs.add(new CreateJobRequest(
+                    value(listing, selectors.title()), company, value(listing, selectors.location()),
+                    value(listing, selectors.description()), null, null, null, null, null, null, null,
+                    link, externalId, null));
+        }
+        return jobs;
+    }
+
+    private List<CreateJobRequest> fromJsonLd(Document document, String sourceName) {
+        List<CreateJobRequest> jobs = new ArrayList<>();
+        for (Element script : document.select("script[type=application/ld+json]")) {
+            try {
+                collectPostings(objectMapper.readTree(script.data()), sourceName, jobs);
+            } catch (IOException e) {
+                log.debug("Ignoring malformed JSON-LD block on {}: {}", document.location(), e.getMessage());
+            }
+        }
+        return jobs;
+    }
+
+    private void collectPostings(JsonNode node, String sourceName, List<CreateJobRequest> jobs) {
+        if (node.isArray()) {
+            node.forEach(element -> collectPostings(element, sourceName, jobs));
+        } else if (node.has("@graph")) {
+            collectPostings(node.get("@graph"), sourceName, jobs);
+        } else if ("JobPosting".equals(node.path("@type").asText())) {
+            jobs.add(toRequest(node, sourceName));
+        }
+    }
+
+    private CreateJobRequest toRequest(JsonNode posting, String sourceName) {
+        JsonNode organization = posting.path("hiringOrganization");
+        String company = firstNonBlank(organization.isTextual() ? organization.asText() : text(organization, "name"),
+                sourceName);
+        JsonNode identifier = posting.path("identifier");
+        String externalId = firstNonBlank(identifier.isTextual() ? identifier.asText() : text(identifier, "value"),
+                text(posting, "url"));
+        String description = text(posting, "description");
+        JsonNode salary = posting.path("baseSalary");
+        JsonNode salaryValue = salary.path("value");
+
+        return new CreateJobRequest(
+                text(posting, "title"),
+                company,
+                location(posting.path("jobLocation")),
+                description == null ? null : Jsoup.parse(description).text(),
+                text(posting, "qualifications"),
+                null,
+                decimal(salaryValue.has("minValue") ? salaryValue.path("minValue") : salaryValue.path("value")),
+                decimal(salaryValue.path("maxValue")),
+                text(salary, "currency"),
+                employmentType(posting.path("employmentType")),
+                "TELECOMMUTE".equalsIgnoreCase(text(posting, "jobLocationType")) ? RemoteType.REMOTE : null,
+                text(posting, "url"),
+                externalId,
+                instant(text(posting, "validThrough")));
+    }
+
+    private static String location(JsonNode jobLocation) {
+        JsonNode place = jobLocation.isArray() ? jobLocation.path(0) : jobLocation;
+        JsonNode address = place.path("address");
+        if (address.isTextual()) {
+            return address.asText();
+        }
+        List<String> parts = new ArrayList<>();
+        for (String field : List.of("addressLocality", "addressRegion", "addressCountry")) {
+            JsonNode value = address.path(field);
+            String text = value.isObject() ? text(value, "name") : text(address, field);
+            if (text != null && !parts.contains(text)) {
+                parts.add(text);
+            }
+        }
+        return parts.isEmpty() ? null : String.join(", ", parts);
+    }
+
+    private static EmploymentType employmentType(JsonNode value) {
+        String type = value.isArray() ? value.path(0).asText(null) : value.asText(null);
+        if (type == null) {
+            return null;
+        }
+        try {
+            return EmploymentType.valueOf(type.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static BigDecimal decimal(JsonNode value) {
+        if (value.isNumber()) {
+            return value.decimalValue();
+        }
+        try {
+            return value.isTextual() ? new BigDecimal(value.asText().trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Instant instant(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(value).toInstant();
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDate.parse(value.substring(0, Math.min(10, value.length())))
+                        .plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.path(field);
+        return value.isValueNode() && !value.isNull() && !value.asText().isBlank() ? value.asText().trim() : null;
+    }
+
+    /**
+     * Text of the first element matching {@code selector}, or an attribute with an {@code @attr}
+     * suffix. {@code href} and {@code src} are resolved to absolute URLs.
+     */
+    static String value(Element root, String selector) {
+        if (selector == null || selector.isBlank()) {
+            return null;
+        }
+        String css = selector;
+        String attribute = null;
+        int at = selector.lastIndexOf('@');
+        if (at >= 0) {
+            css = selector.substring(0, at).trim();
+            attribute = selector.substring(at + 1).trim();
+        }
+        Element element = css.isEmpty() ? root : root.selectFirst(css);
+        if (element == null) {
+            return null;
+        }
+        String value;
+        if (attribute == null) {
+            value = element.text();
+        } else if (attribute.equals("href") || attribute.equals("src")) {
+            value = element.absUrl(attribute);
+            if (value.isEmpty()) {
+                value = element.attr(attribute);
+            }
+        } else {
+            value = element.attr(attribute);
+        }
+        return value.isBlank() ? null : value.trim();
+    }
+
+    private static String firstNonBlank(String first, String second) {
+        return first != null && !first.isBlank() ? first : second;
+    }
+
+    /**
+     * Listings found on a page and the page to fetch next, if any.
+     */
+    public record ParsedPage(List<CreateJobRequest> jobs, URI nextPage) {}
+}
@@ -0,0 +1,284 @@
+package com.jobagent.jobagent.jobsearch.crawler;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.common.exception.ResourceNotFoundException;
+import com.jobagent.jobagent.common.multitenancy.TenantContext;
+import com.jobagent.jobagent.jobsearch.dto.BulkIngestResult;
+import com.jobagent.jobagent.jobsearch.dto.CrawlReport;
+import com.jobagent.jobagent.jobsearch.dto.CreateJobRequest;
+import com.jobagent.jobagent.jobsearch.model.JobSourceConfig;
+import com.jobagent.jobagent.jobsearch.repository.JobSourceConfigRepository;
+import com.jobagent.jobagent.jobsearch.repository.JobSourcePageRepository;
+import com.jobagent.jobagent.jobsearch.repository.JobSourcePageRepository.PageState;
+import com.jobagent.jobagent.jobsearch.service.JobFingerprint;
+import com.jobagent.jobagent.jobsearch.service.JobIngestionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Crawls the enabled {@code job_source_configs} of all tenants and feeds the listings into bulk
+ * ingestion ({@link JobIngestionService}), keyed by the source id so renaming a source keeps its
+ * listings.
+ *
+ * <p>Sources are crawled concurrently, one virtual thread each; requests to the same host are
+ * throttled by {@link HostPoliteness}. Within a source, pages are fetched lazily as ingestion
+ * consumes them, following next-page links up to {@code app.crawler.max-pages}. Only links on the
+ * origin (scheme, host and port) of the source's {@code base_url} are followed, as the source's
+ * {@code auth_config} headers go with every page request. Plain HTML is fetched over HTTP;
+ * {@code JAVASCRIPT} sources are rendered in headless Chromium.
+ *
+ * <p>Refreshes skip pages that did not change since the last successful crawl: HTTP sources are
+ * fetched conditionally with the stored {@code ETag} / {@code Last-Modified}, and any page whose
+ * body hashes to the stored value is not parsed again. Either way the stored next-page link is
+ * followed, so a board whose first page is unchanged is still walked to the end.
+ *
+ * <p>Per-source throughput is recorded as {@code jobagent.crawler.pages}, {@code .jobs},
+ * {@code .bytes} and {@code .crawl} (timer) tagged with the source name, and returned as
+ * {@link CrawlReport}s. {@code jobagent.crawler.page.fetches} counts pages by {@code result}
+ * ({@code changed}, {@code not_modified}, {@code unchanged}); {@code .page.skip.rate} records the
+ * skipped share per crawl.
+ */
+@Service
+@Slf4j
+public class JobSourceCrawler {
+
+    private final JobSourceConfigRepository jobSourceConfigRepository;
+    private final JobSourcePageRepository jobSourcePageRepository;
+    private final JobPageParser jobPageParser;
+    private final HttpPageFetcher httpPageFetcher;
+    private final PlaywrightPageFetcher playwrightPageFetcher;
+    private final JobIngestionService jobIngestionService;
+    private final AppProperties.Crawler properties;
+    private final MeterRegistry meterRegistry;
+    private final HostPoliteness hostPoliteness;
+
+    public JobSourceCrawler(JobSourceConfigRepository jobSourceConfigRepository,
+                            JobSourcePageRepository jobSourcePageRepository, JobPageParser jobPageParser,
+                            HttpPageFetcher httpPageFetcher, PlaywrightPageFetcher playwrightPageFetcher,
+                            JobIngestionService jobIngestionService, AppProperties appProperties,
+                            MeterRegistry meterRegistry) {
+        this.jobSourceConfigRepository = jobSourceConfigRepository;
+        this.jobSourcePageRepository = jobSourcePageRepository;
+        this.jobPageParser = jobPageParser;
+        this.httpPageFetcher = httpPageFetcher;
+        this.playwrightPageFetcher = playwrightPageFetcher;
+        this.jobIngestionService = jobIngestionService;
+        this.properties = appProperties.getCrawler();
+        this.meterRegistry = meterRegistry;
+        this.hostPoliteness = new HostPoliteness(properties.getPerHostConcurrency(), properties.getPerHostDelay());
+    }
+
+    @Scheduled(fixedDelayString = "${app.crawler.interval}", initialDelayString = "${app.crawler.interval}")
+    public void scheduledCrawl() {
+        if (properties.isEnabled()) {
+            crawlAll();
+        }
+    }
+
+    /**
+     * Crawl every enabled source of every tenant.
+     */
+    public List<CrawlReport> crawlAll() {
+        List<JobSourceConfig> sources = jobSourceConfigRepository.findByEnabledTrue();
+        List<Future<CrawlReport>> futures;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            futures = sources.stream().map(source -> executor.submit(() -> crawl(source))).toList();
+        }
+        List<CrawlReport> reports = futures.stream().map(Future::resultNow).toList();
+        log.info("Crawled {} job sources: {} pages, {} listings",
+                reports.size(), reports.stream().mapToInt(CrawlReport::pages).sum(),
+                reports.stream().mapToInt(CrawlReport::jobsFound).sum());
+        return reports;
+    }
+
+    /**
+     * Crawl one of the current tenant's sources now.
+     */
+    public CrawlReport crawlSource(UUID sourceId) {
+        JobSourceConfig source = jobSourceConfigRepository.findByIdAndTenantId(sourceId, TenantContext.requireTenantId())
+                .orElseThrow(() -> new ResourceNotFoundException("Job source not found: " + sourceId));
+        return crawl(source);
+    }
+
+    /**
+     * Crawl one source and ingest its listings. Never throws; failures are reported in the result.
+     * Page state is only stored once the listings have been ingested, so a failed crawl is
+     * retried in full.
+     */
+    public CrawlReport crawl(JobSourceConfig source) {
+        long start = System.nanoTime();
+        CrawlProgress progress = new CrawlProgress();
+        BulkIngestResult ingest = null;
+        try {
+            Map<String, PageState> known = jobSourcePageRepository.findBySource(source.getTenantId(), source.getId());
+            try (Stream<CreateJobRequest> jobs = pages(source, known, progress).flatMap(List::stream)) {
+                ingest = jobIngestionService.ingest(source.getTenantId(), source.getId().toString(), jobs);
+            }
+            jobSourcePageRepository.saveAll(source.getTenantId(), source.getId(), progress.fetched);
+        } catch (RuntimeException e) {
+            progress.error = e.getMessage();
+            log.warn("Crawl of job source '{}' ({}) failed: {}", source.getName(), source.getBaseUrl(), e.getMessage());
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        String outcome = progress.error == null ? "success" : "error";
+        Timer.builder("jobagent.crawler.crawl").description("Time to crawl and ingest one job source")
+                .tags("source", source.getName(), "outcome", outcome).register(meterRegistry).record(elapsed);
+        counter("jobagent.crawler.pages", "Listing pages fetched", source).increment(progress.pages);
+        counter("jobagent.crawler.jobs", "Listings found", source).increment(progress.jobs);
+        counter("jobagent.crawler.bytes", "Size of the fetched pages, in characters", source).increment(progress.bytes);
+        pageFetches(source, "changed").increment(progress.pages - progress.notModified - progress.unchanged);
+        pageFetches(source, "not_modified").increment(progress.notModified);
+        pageFetches(source, "unchanged").increment(progress.unchanged);
+
+        CrawlReport report = new CrawlReport(source.getId(), source.getName(), progress.pages,
+                progress.notModified + progress.unchanged, progress.bytes, progress.jobs, ingest, elapsed,
+                progress.error);
+        if (report.pages() > 0) {
+            DistributionSummary.builder("jobagent.crawler.page.skip.rate")
+                    .description("Share of fetched pages that were not modified or unchanged, per crawl")
+                    .tag("source", source.getName()).register(meterRegistry).record(report.skipRate());
+        }
+        log.info("Crawled job source '{}': {} pages ({} skipped), {} listings in {} ms ({} listings/s)",
+                source.getName(), report.pages(), report.pagesSkipped(), report.jobsFound(), elapsed.toMillis(),
+                String.format(Locale.ROOT, "%.1f", report.jobsPerSecond()));
+        return report;
+    }
+
+    /**
+     * The source's listing pages, fetched one at a time as the stream is consumed. A failure on
+     * the first page fails the crawl; a later failure ends it with the pages read so far. Pages
+     * that did not change since {@code known} was stored yield no listings.
+     */
+    private Stream<List<CreateJobRequest>> pages(JobSourceConfig source, Map<String, PageState> known,
+                                                 CrawlProgress progress) {
+        boolean javaScript = source.getScraperType().needsJavaScript();
+        PageFetcher fetcher = javaScript ? playwrightPageFetcher : httpPageFetcher;
+        Map<String, String> headers = source.getAuthConfig() == null ? Map.of() : source.getAuthConfig();
+        int maxPages = Math.max(1, properties.getMaxPages());
+        URI base = URI.create(source.getBaseUrl());
+
+        Iterator<List<CreateJobRequest>> iterator = new Iterator<>() {
+            private URI next = base;
+            private final Set<URI> visited = new HashSet<>();
+
+            @Override
+            public boolean hasNext() {
+                return next != null && progress.pages < maxPages && !visited.contains(next);
+            }
+
+            @Override
+            public List<CreateJobRequest> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                URI uri = next;
+                visited.add(uri);
+                next = null;
+                PageState previous = known.get(uri.toString());
+                // Rendered pages have no usable validators; they are only compared by hash
+                Map<String, String> request = previous == null || javaScript ? headers : conditional(headers, previous);
+                try {
+                    FetchedPage page = hostPoliteness.call(uri, () -> fetcher.fetch(uri, request));
+                    progress.pages++;
+                    if (page.notModified() && previous != null) {
+                        progress.notModified++;
+                        progress.fetched.add(previous);
+                        next = onSource(source, base, nextUrl(previous));
+                        return List.of();
+                    }
+                    progress.bytes += page.body().length();
+                    String hash = JobFingerprint.sha256(page.body());
+                    if (previous != null && hash.equals(previous.contentHash())) {
+                        progress.unchanged++;
+                        progress.fetched.add(new PageState(uri.toString(), page.etag(), page.lastModified(), hash,
+                                previous.nextUrl()));
+                        next = onSource(source, base, nextUrl(previous));
+                        return List.of();
+                    }
+                    JobPageParser.ParsedPage parsed = jobPageParser.parse(page, source);
+                    progress.jobs += parsed.jobs().size();
+                    next = onSource(source, base, parsed.nextPage());
+                    progress.fetched.add(new PageState(uri.toString(), page.etag(), page.lastModified(), hash,
+                            next == null ? null : next.toString()));
+                    return parsed.jobs();
+                } catch (Exception e) {
+                    if (e instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                    }
+                    if (progress.pages == 0) {
+                        throw e instanceof PageFetcher.CrawlException crawl
+                                ? crawl
+                                : new PageFetcher.CrawlException("Failed to crawl " + uri + ": " + e.getMessage(), e);
+                    }
+                    progress.error = e.getMessage();
+                    log.warn("Stopping crawl of job source '{}' at {}: {}", source.getName(), uri, e.getMessage());
+                    return List.of();
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+    }
+
+    private static Map<String, String> conditional(Map<String, String> headers, PageState previous) {
+        Map<String, String> conditional = new HashMap<>(headers);
+        if (previous.etag() != null) {
+            conditional.put("If-None-Match", previous.etag());
+        }
+        if (previous.lastModified() != null) {
+            conditional.put("If-Modified-Since", previous.lastModified());
+        }
+        return conditional;
+    }
+
+    /**
+     * {@code link}, or null if it leads off the source's origin.
+     */
+    private static URI onSource(JobSourceConfig source, URI base, URI link) {
+        if (link == null || PageFetcher.sameOrigin(base, link)) {
+            return link;
+        }
+        log.warn("Not following next-page link of job source '{}' to another origin: {}", source.getName(), link);
+        return null;
+    }
+
+    private static URI nextUrl(PageState previous) {
+        return previous == null || previous.nextUrl() == null ? null : URI.create(previous.nextUrl());
+    }
+
+    private Counter pageFetches(JobSourceConfig source, String result) {
+        return Counter.builder("jobagent.crawler.page.fetches").description("Listing pages fetched, by result")
+                .tags("source", source.getName(), "result", result).register(meterRegistry);
+    }
+
+    private Counter counter(String name, String description, JobSourceConfig source) {
+        return Counter.builder(name).description(description).tag("source", source.getName()).register(meterRegistry);
+    }
+
+    /**
+     * Mutable per-crawl counters; only touched by the crawling thread.
+     */
+    private static final class CrawlProgress {
+        int pages;
+        int notModified;
+        int unchanged;
+        long bytes;
+        int jobs;
+        String error;
+        final List<PageState> fetched = new ArrayList<>();
+    }
+}
@@ -0,0 +1,47 @@
+package com.jobagent.jobagent.jobsearch.crawler;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Fetches a listing page's HTML.
+ */
+public interface PageFetcher {
+
+    /**
+     * @param headers extra request headers for the source (may be empty); they may carry
+     *                credentials, so they are only sent to {@code uri}'s origin, never to a host a
+     *                redirect or the page itself points to
+     * @throws CrawlException if the page cannot be fetched or the server answers with an error
+     */
+    FetchedPage fetch(URI uri, Map<String, String> headers);
+
+    /**
+     * Whether two URIs share scheme, host and port.
+     */
+    static boolean sameOrigin(URI a, URI b) {
+        return a.getScheme() != null && a.getScheme().equalsIgnoreCase(b.getScheme())
+                && a.getHost() != null && a.getHost().equalsIgnoreCase(b.getHost())
+                && port(a) == port(b);
+    }
+
+    private static int port(URI uri) {
+        if (uri.getPort() != -1) {
+            return uri.getPort();
+        }
+        return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+
+    /**
+     * A page could not be fetched or parsed.
+     */
+    class CrawlException extends RuntimeException {
+        public CrawlException(String message) {
+            super(message);
+        }
+
+        public CrawlException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
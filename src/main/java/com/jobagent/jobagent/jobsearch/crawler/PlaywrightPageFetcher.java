@@ -0,0 +1,102 @@
+package com.jobagent.jobagent.jobsearch.crawler;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.Route;
+import com.microsoft.playwright.options.WaitUntilState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Headless Chromium fetcher for sources whose listings are rendered client-side. Only used for
+ * {@link com.jobagent.jobagent.jobsearch.model.ScraperType#JAVASCRIPT} sources.
+ *
+ * <p>The browser is started on first use and shared. Playwright objects are not thread-safe, so
+ * pages are rendered one at a time; plain HTML sources never wait on this lock. The caller's
+ * headers are only added to requests for the listing page's own origin, not to the scripts,
+ * APIs or redirect targets of other hosts the page loads.
+ */
+@Component
+@Slf4j
+public class PlaywrightPageFetcher implements PageFetcher, DisposableBean {
+
+    private final AppProperties.Crawler properties;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Playwright playwright;
+    private Browser browser;
+
+    public PlaywrightPageFetcher(AppProperties appProperties) {
+        this.properties = appProperties.getCrawler();
+    }
+
+    @Override
+    public FetchedPage fetch(URI uri, Map<String, String> headers) {
+        lock.lock();
+        try {
+            Browser.NewContextOptions options = new Browser.NewContextOptions()
+                    .setUserAgent(properties.getUserAgent());
+            try (BrowserContext context = browser().newContext(options)) {
+                Page page = context.newPage();
+                if (!headers.isEmpty()) {
+                    page.route("**/*", route -> {
+                        if (PageFetcher.sameOrigin(uri, URI.create(route.request().url()))) {
+                            Map<String, String> merged = new HashMap<>(route.request().headers());
+                            merged.putAll(headers);
+                            route.resume(new Route.ResumeOptions().setHeaders(merged));
+                        } else {
+                            route.resume();
+                        }
+                    });
+                }
+                Response response = page.navigate(uri.toString(), new Page.NavigateOptions()
+                        .setTimeout(properties.getRequestTimeout().toMillis())
+                        .setWaitUntil(WaitUntilState.NETWORKIDLE));
+                int status = response == null ? 200 : response.status();
+                if (status >= 400) {
+                    throw new CrawlException("Rendering " + uri + " returned HTTP " + status);
+                }
+                return new FetchedPage(URI.create(page.url()), status, page.content());
+            }
+        } catch (PlaywrightException e) {
+            throw new CrawlException("Failed to render " + uri + ": " + e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Browser browser() {
+        if (browser == null) {
+            log.info("Starting headless Chromium for JavaScript job sources");
+            playwright = Playwright.create();
+            browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(true));
+        }
+        return browser;
+    }
+
+    @Override
+    public void destroy() {
+        lock.lock();
+        try {
+            if (playwright != null) {
+                playwright.close();
+                playwright = null;
+                browser = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
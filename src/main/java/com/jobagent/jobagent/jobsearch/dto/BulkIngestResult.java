@@ -0,0 +1,58 @@
+package com.jobagent.jobagent.jobsearch.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk job ingestion, per committed batch and in total.
+ */
+@Schema(description = "Result of a bulk job ingestion")
+public record BulkIngestResult(
+        @Schema(description = "Feed the jobs were ingested for", example = "partner-feed")
+        String source,
+
+        @Schema(description = "Per-batch counts, in feed order")
+        List<BatchResult> batches,
+
+        @Schema(description = "New job listings", example = "4210")
+        long inserted,
+
+        @Schema(description = "Existing job listings whose content changed", example = "312")
+        long updated,
+
+        @Schema(description = "Records that were invalid, repeated within a batch, or unchanged", example = "17")
+        long skipped,
+
+        @Schema(description = "Changed listings linked to a canonical listing as near-duplicates", example = "96")
+        long duplicates
+) {
+    public static BulkIngestResult of(String source, List<BatchResult> batches) {
+        return new BulkIngestResult(source, List.copyOf(batches),
+                batches.stream().mapToLong(BatchResult::inserted).sum(),
+                batches.stream().mapToLong(BatchResult::updated).sum(),
+                batches.stream().mapToLong(BatchResult::skipped).sum(),
+                batches.stream().mapToLong(BatchResult::duplicates).sum());
+    }
+
+    @Schema(description = "Counts for one committed batch")
+    public record BatchResult(
+            @Schema(description = "0-based batch number", example = "0")
+            int batch,
+
+            @Schema(description = "Records read for this batch", example = "1000")
+            int records,
+
+            @Schema(description = "New job listings", example = "950")
+            int inserted,
+
+            @Schema(description = "Existing job listings whose content changed", example = "40")
+            int updated,
+
+            @Schema(description = "Records that were invalid, repeated within the batch, or unchanged", example = "10")
+            int skipped,
+
+            @Schema(description = "Changed listings linked to a canonical listing as near-duplicates", example = "3")
+            int duplicates
+    ) {}
+}
@@ -0,0 +1,53 @@
+package com.jobagent.jobagent.jobsearch.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Outcome and throughput of crawling one job source.
+ */
+@Schema(description = "Result of crawling a job source")
+public record CrawlReport(
+        @Schema(description = "Job source identifier", format = "uuid")
+        UUID sourceId,
+
+        @Schema(description = "Job source name", example = "TechCorp careers")
+        String source,
+
+        @Schema(description = "Listing pages fetched", example = "12")
+        int pages,
+
+        @Schema(description = "Fetched pages that were not modified or unchanged, and so not parsed", example = "9")
+        int pagesSkipped,
+
+        @Schema(description = "Size of the fetched pages, in characters", example = "1843200")
+        long bytes,
+
+        @Schema(description = "Listings found on the fetched pages", example = "240")
+        int jobsFound,
+
+        @Schema(description = "Ingestion result for the listings found", nullable = true)
+        BulkIngestResult ingest,
+
+        @Schema(description = "Wall-clock time of the crawl", example = "PT14.2S")
+        Duration elapsed,
+
+        @Schema(description = "Why the crawl stopped early, if it did", nullable = true)
+        String error
+) {
+    @JsonProperty
+    @Schema(description = "Listings found per second", example = "16.9")
+    public double jobsPerSecond() {
+        double seconds = elapsed.toNanos() / 1e9;
+        return seconds > 0 ? jobsFound / seconds : 0;
+    }
+
+    @JsonProperty
+    @Schema(description = "Share of fetched pages that were skipped", example = "0.75")
+    public double skipRate() {
+        return pages > 0 ? (double) pagesSkipped / pages : 0;
+    }
+}
@@ -0,0 +1,28 @@
+package com.jobagent.jobagent.jobsearch.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated result.
+ */
+@Schema(description = "Keyset-paginated page of results")
+public record CursorPage<T>(
+        @Schema(description = "Page content")
+        List<T> content,
+
+        @Schema(description = "Opaque cursor for the next page, absent on the last page", nullable = true)
+        String nextCursor,
+
+        @Schema(description = "Total number of results across all pages, or -1 when not computed", example = "137")
+        long totalElements
+) {
+    public static <T> CursorPage<T> empty() {
+        return new CursorPage<>(List.of(), null, 0);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.jobagent.jobagent.jobsearch.dto;
+
+import java.util.Locale;
+
+/**
+ * Wire format of a bulk job feed.
+ */
+public enum IngestFormat {
+    /** One {@link CreateJobRequest} JSON object per line. */
+    NDJSON("application/x-ndjson"),
+    /** RFC 4180 CSV with a header row naming {@link CreateJobRequest} fields; skills are separated by {@code ;} or {@code |}. */
+    CSV("text/csv");
+
+    private final String mediaType;
+
+    IngestFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Format for a {@code Content-Type} header value (parameters such as {@code charset} are ignored).
+     *
+     * @throws IllegalArgumentException for any other media type
+     */
+    public static IngestFormat fromContentType(String contentType) {
+        String type = contentType == null ? "" : contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        for (IngestFormat format : values()) {
+            if (format.mediaType.equals(type)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported feed content type: " + contentType);
+    }
+}
@@ -0,0 +1,88 @@
+package com.jobagent.jobagent.jobsearch.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.jobagent.jobagent.jobsearch.model.EmploymentType;
+import com.jobagent.jobagent.jobsearch.model.JobListing;
+import com.jobagent.jobagent.jobsearch.model.JobStatus;
+import com.jobagent.jobagent.jobsearch.model.RemoteType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * List-view projection of a job listing: the card fields only, without the {@code description}
+ * and {@code requirements} TEXT columns or the {@code skills} JSONB. Full details come from
+ * {@code GET /api/v1/jobs/{id}} ({@link JobListingResponse}).
+ *
+ * <p>Components are named after {@link JobListing} attributes so Spring Data can select them
+ * directly as a DTO projection.
+ */
+@Schema(description = "Summary of a job listing for list views")
+public record JobListingSummary(
+        @Schema(description = "Unique job listing identifier", example = "550e8400-e29b-41d4-a716-446655440000", format = "uuid")
+        UUID id,
+
+        @Schema(description = "Job title", example = "Senior Java Developer")
+        String title,
+
+        @Schema(description = "Company name", example = "TechCorp GmbH")
+        String company,
+
+        @Schema(description = "Job location", example = "Berlin, Germany")
+        String location,
+
+        @Schema(description = "Minimum annual salary", example = "65000.00", format = "decimal")
+        BigDecimal salaryMin,
+
+        @Schema(description = "Maximum annual salary", example = "95000.00", format = "decimal")
+        BigDecimal salaryMax,
+
+        @Schema(description = "ISO 4217 salary currency code", example = "EUR")
+        String salaryCurrency,
+
+        @Schema(description = "Type of employment", example = "FULL_TIME")
+        EmploymentType employmentType,
+
+        @Schema(description = "Remote work policy", example = "HYBRID")
+        RemoteType remoteType,
+
+        @Schema(description = "URL of the original job posting", example = "https://careers.techcorp.com/job/12345", format = "uri")
+        String sourceUrl,
+
+        @Schema(description = "Current status of the job listing", example = "ACTIVE")
+        JobStatus status,
+
+        @Schema(description = "Job listing creation timestamp", example = "2026-03-01T08:00:00Z", format = "date-time")
+        Instant createdAt,
+
+        @Schema(description = "Job listing expiration timestamp", example = "2026-04-01T23:59:59Z", format = "date-time")
+        Instant expiresAt
+) {
+    /**
+     * {@link JobListing} attributes in constructor order, for criteria {@code construct(...)} queries.
+     */
+    public static final List<String> ATTRIBUTES = List.of(
+            "id", "title", "company", "location", "salaryMin", "salaryMax", "salaryCurrency",
+            "employmentType", "remoteType", "sourceUrl", "status", "createdAt", "expiresAt");
+
+    public static JobListingSummary from(JobListing job) {
+        return new JobListingSummary(job.getId(), job.getTitle(), job.getCompany(), job.getLocation(),
+                job.getSalaryMin(), job.getSalaryMax(), job.getSalaryCurrency(), job.getEmploymentType(),
+                job.getRemoteType(), job.getSourceUrl(), job.getStatus(), job.getCreatedAt(), job.getExpiresAt());
+    }
+
+    @JsonProperty
+    @Schema(description = "Human-readable salary range string", example = "€65,000 – €95,000")
+    public String salaryRange() {
+        return JobListing.formatSalaryRange(salaryMin, salaryMax, salaryCurrency);
+    }
+
+    @JsonProperty
+    @Schema(description = "Whether the job is currently available for applications", example = "true")
+    public boolean available() {
+        return status == JobStatus.ACTIVE && (expiresAt == null || !Instant.now().isAfter(expiresAt));
+    }
+}
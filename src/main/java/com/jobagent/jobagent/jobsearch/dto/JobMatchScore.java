@@ -12,7 +12,7 @@ import java.util.UUID;
  *
  * Represents how well a job matches a user's CV skills.
  */
-@Builder
+@Builder(toBuilder = true)
 @Schema(description = "Job match result showing how well a job matches the user's CV profile")
 public record JobMatchScore(
         @Schema(description = "Job listing identifier", example = "550e8400-e29b-41d4-a716-446655440000", format = "uuid")
@@ -36,8 +36,11 @@ public record JobMatchScore(
         @ArraySchema(schema = @Schema(description = "Skill required by job but missing from CV", example = "Kubernetes"))
         List<String> missingSkills,
 
-        @Schema(description = "Full job listing details")
-        JobListingResponse job
+        @Schema(description = "Cosine similarity between CV and job embeddings as a percentage (semantic mode only)", example = "78", nullable = true)
+        Integer semanticSimilarity,
+
+        @Schema(description = "Job listing summary; full details via GET /api/v1/jobs/{id}")
+        JobListingSummary job
 ) {
     /**
      * Check if this is a strong match (>= 70%).
@@ -0,0 +1,36 @@
+package com.jobagent.jobagent.jobsearch.dto;
+
+import com.jobagent.jobagent.jobsearch.model.EmploymentType;
+import com.jobagent.jobagent.jobsearch.model.JobStatus;
+import com.jobagent.jobagent.jobsearch.model.RemoteType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Projection used to build match results for a page of ranked jobs: the {@link JobListingSummary}
+ * fields plus the job's skills, without the large TEXT columns.
+ */
+public record JobMatchView(
+        UUID id,
+        String title,
+        String company,
+        String location,
+        BigDecimal salaryMin,
+        BigDecimal salaryMax,
+        String salaryCurrency,
+        EmploymentType employmentType,
+        RemoteType remoteType,
+        String sourceUrl,
+        JobStatus status,
+        Instant createdAt,
+        Instant expiresAt,
+        List<String> skills
+) {
+    public JobListingSummary summary() {
+        return new JobListingSummary(id, title, company, location, salaryMin, salaryMax, salaryCurrency,
+                employmentType, remoteType, sourceUrl, status, createdAt, expiresAt);
+    }
+}
@@ -0,0 +1,11 @@
+package com.jobagent.jobagent.jobsearch.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lightweight projection of a job listing's id and skills, used to build the skill index
+ * without hydrating full {@code JobListing} entities.
+ */
+public record JobSkillsView(UUID id, List<String> skills) {
+}
@@ -0,0 +1,37 @@
+package com.jobagent.jobagent.jobsearch.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in a newest-first job list: the (createdAt, id) of the last job on the
+ * previous page.
+ *
+ * <p>Serialized as an opaque URL-safe token so clients never build cursors themselves.
+ */
+public record ListingCursor(Instant createdAt, UUID jobId) {
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + jobId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}; a blank token means "first page" and yields {@code null}.
+     */
+    public static ListingCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", 3);
+            return new ListingCursor(
+                    Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+                    UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new MatchCursor.InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+}
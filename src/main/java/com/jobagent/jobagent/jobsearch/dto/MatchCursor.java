@@ -0,0 +1,40 @@
+package com.jobagent.jobagent.jobsearch.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in a match ranking: the (score, jobId) of the last job on the previous page.
+ *
+ * <p>Serialized as an opaque URL-safe token so clients never build cursors themselves.
+ */
+public record MatchCursor(int matchPercentage, UUID jobId) {
+
+    public String encode() {
+        String raw = matchPercentage + ":" + jobId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}; a blank token means "first page" and yields {@code null}.
+     */
+    public static MatchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new MatchCursor(Integer.parseInt(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+
+    public static class InvalidCursorException extends RuntimeException {
+        public InvalidCursorException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.jobagent.jobagent.jobsearch.dto;
+
+/**
+ * How jobs are ranked against a CV.
+ */
+public enum MatchMode {
+    /** Canonical skill overlap only. */
+    SKILLS,
+    /** Nearest jobs by CV/job embedding, re-ranked by a blend of vector similarity and skill overlap. */
+    SEMANTIC
+}
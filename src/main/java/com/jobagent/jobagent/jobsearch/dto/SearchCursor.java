@@ -0,0 +1,34 @@
+package com.jobagent.jobagent.jobsearch.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in a relevance-ranked search: the (score, jobId) of the last job on the
+ * previous page. The score is carried exactly (IEEE double) so ties resolve on the job id.
+ */
+public record SearchCursor(double score, UUID jobId) {
+
+    public String encode() {
+        String raw = Double.doubleToLongBits(score) + ":" + jobId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}; a blank token means "first page" and yields {@code null}.
+     */
+    public static SearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new SearchCursor(Double.longBitsToDouble(Long.parseLong(raw.substring(0, separator))),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new MatchCursor.InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.jobagent.jobagent.jobsearch.event;
+
+import java.util.UUID;
+
+/**
+ * Published (in-process) when a job listing is created, for work that should happen after the
+ * listing is committed (e.g. computing its embedding).
+ */
+public record JobListingCreatedEvent(UUID tenantId, UUID jobId) {
+}
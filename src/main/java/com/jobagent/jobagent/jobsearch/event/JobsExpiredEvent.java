@@ -0,0 +1,20 @@
+package com.jobagent.jobagent.jobsearch.event;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Published (in-process) for each tenant when the expiry sweep moves some of its listings from
+ * ACTIVE to EXPIRED, so in-memory indexes and caches can drop them once the batch commits.
+ *
+ * <p>Only the sweeping instance receives it. Handling it bumps the tenant's shared
+ * {@link com.jobagent.jobagent.jobsearch.service.JobSetVersions job set version}, on which every
+ * other instance rebuilds its skill index and retires its cached rankings; until then, match
+ * pages are hydrated from ACTIVE listings only, so expired ids are dropped rather than shown.
+ *
+ * @param promoted near-duplicates that became canonical in place of an expired listing, with
+ *                 their skills
+ */
+public record JobsExpiredEvent(UUID tenantId, List<UUID> jobIds, Map<UUID, List<String>> promoted) {
+}
@@ -85,11 +85,31 @@ public class JobListing {
     @Column(length = 2000)
     private String sourceUrl;
 
+    /**
+     * Feed or system the listing came from; {@code (tenantId, source, externalId)} is unique.
+     */
+    @Column(nullable = false, length = 50)
+    @Builder.Default
+    private String source = "manual";
+
     /**
      * External ID from the source system (e.g., LinkedIn job ID).
      */
     private String externalId;
 
+    /**
+     * SHA-256 of the listing's material fields; re-ingesting identical content is a no-op.
+     */
+    @Column(length = 64)
+    private String contentHash;
+
+    /**
+     * Canonical listing this one re-publishes, or null if it is canonical. Written only by
+     * {@code JobDuplicateDetector}.
+     */
+    @Column(insertable = false, updatable = false)
+    private UUID duplicateOf;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     @Builder.Default
@@ -148,6 +168,13 @@ public class JobListing {
      * Get salary range as formatted string.
      */
     public String getSalaryRange() {
+        return formatSalaryRange(salaryMin, salaryMax, salaryCurrency);
+    }
+
+    /**
+     * Format a salary range ("EUR 50000 - EUR 70000"), or {@code null} if neither bound is set.
+     */
+    public static String formatSalaryRange(BigDecimal salaryMin, BigDecimal salaryMax, String salaryCurrency) {
         if (salaryMin == null && salaryMax == null) {
             return null;
         }
@@ -0,0 +1,74 @@
+package com.jobagent.jobagent.jobsearch.model;
+
+import com.jobagent.jobagent.common.model.BaseEntity;
+import com.jobagent.jobagent.common.multitenancy.TenantEntityListener;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A tenant's job source: a careers page or job board that the crawler fetches and ingests.
+ */
+@Entity
+@Table(name = "job_source_configs")
+@EntityListeners(TenantEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobSourceConfig extends BaseEntity {
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    /** First listing page; further pages are followed via the next-page link. */
+    @Column(name = "base_url", nullable = false)
+    private String baseUrl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scraper_type", nullable = false, length = 30)
+    @Builder.Default
+    private ScraperType scraperType = ScraperType.HTML;
+
+    /** Extra request headers (e.g. {@code Authorization}, {@code Cookie}) sent with every fetch. */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "auth_config", columnDefinition = "jsonb")
+    @Builder.Default
+    private Map<String, String> authConfig = new HashMap<>();
+
+    /** Where listings are on the page; null to read schema.org JobPosting JSON-LD instead. */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private CrawlSelectors selectors;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean enabled = true;
+
+    /**
+     * CSS selectors locating listings on a page. Each field selector is relative to the listing
+     * element and reads the element text, or an attribute with an {@code @attr} suffix
+     * (e.g. {@code "a.title@href"}).
+     *
+     * @param listing     one element per job listing
+     * @param externalId  stable id of the listing; defaults to its link
+     * @param company     defaults to the source name (single-company career pages)
+     * @param nextPage    document-level link to the next page (e.g. {@code "a.next@href"});
+     *                    defaults to {@code rel="next"}
+     */
+    public record CrawlSelectors(
+            String listing,
+            String externalId,
+            String title,
+            String company,
+            String location,
+            String description,
+            String link,
+            String nextPage
+    ) {}
+}
@@ -0,0 +1,15 @@
+package com.jobagent.jobagent.jobsearch.model;
+
+/**
+ * How a job source's pages are fetched before they are parsed.
+ */
+public enum ScraperType {
+    /** Plain HTTP fetch; listings are in the served HTML (or its JSON-LD). */
+    HTML,
+    /** Listings are rendered client-side; pages are loaded in headless Chromium (Playwright). */
+    JAVASCRIPT;
+
+    public boolean needsJavaScript() {
+        return this == JAVASCRIPT;
+    }
+}
@@ -0,0 +1,138 @@
+package com.jobagent.jobagent.jobsearch.repository;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.jobsearch.dto.SearchCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hybrid job search: reciprocal rank fusion (RRF) of the {@code ts_rank_cd} keyword ranking over
+ * {@code job_listings.search_vector} and the HNSW cosine ranking over {@code job_embeddings}.
+ *
+ * <p>Each side contributes its top {@code app.search.hybrid.candidates} ACTIVE canonical jobs of
+ * the tenant; a job scores {@code sum(1 / (k + rank))} over the rankings it appears in. The
+ * semantic side is a bounded HNSW scan whose cost depends on the candidate depth. The lexical side
+ * is not: GIN finds the matching rows but cannot return them in {@code ts_rank_cd} order, so every
+ * matching ACTIVE row of the tenant is ranked before the LIMIT applies, and broad queries over
+ * large tenants cost proportionally more. Pages are cut with a (score, id) keyset over the fused
+ * list.
+ */
+@Repository
+@RequiredArgsConstructor
+public class HybridSearchRepository {
+
+    private static final String LEXICAL = """
+            lexical AS (
+                SELECT id, row_number() OVER (ORDER BY rank DESC, id) AS rnk
+                FROM (
+                    SELECT j.id, ts_rank_cd(j.search_vector, query.q) AS rank
+                    FROM job_listings j, query
+                    WHERE j.tenant_id = ? AND j.status = 'ACTIVE' AND j.duplicate_of IS NULL
+                      AND j.search_vector @@ query.q
+                    ORDER BY rank DESC, j.id
+                    LIMIT ?
+                ) matched
+            )""";
+
+    private static final String SEMANTIC = """
+            semantic AS (
+                SELECT id, row_number() OVER (ORDER BY distance, id) AS rnk
+                FROM (
+                    SELECT je.job_listing_id AS id, je.embedding <=> CAST(? AS vector) AS distance
+                    FROM job_embeddings je
+                    JOIN job_listings j ON j.id = je.job_listing_id AND j.tenant_id = je.tenant_id
+                    WHERE je.tenant_id = ? AND j.status = 'ACTIVE' AND j.duplicate_of IS NULL
+                    ORDER BY je.embedding <=> CAST(? AS vector)
+                    LIMIT ?
+                ) nearest
+            )""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AppProperties appProperties;
+
+    /**
+     * One page of fused results after {@code after} (null for the first page).
+     *
+     * @param queryVector pgvector literal of the query embedding, or null for keyword ranking only
+     */
+    public HybridPage search(UUID tenantId, String keyword, String queryVector, SearchCursor after, int limit) {
+        AppProperties.Search.Hybrid hybrid = appProperties.getSearch().getHybrid();
+        int candidates = hybrid.getCandidates();
+        List<Object> args = new ArrayList<>();
+
+        StringBuilder sql = new StringBuilder("WITH query AS (SELECT plainto_tsquery('english', ?) AS q),\n");
+        args.add(keyword);
+        sql.append(LEXICAL);
+        args.add(tenantId);
+        args.add(candidates);
+
+        String ranked = "SELECT id, rnk FROM lexical";
+        if (queryVector != null) {
+            // Must run inside a transaction for the SET LOCALs to apply
+            jdbcTemplate.execute("SET LOCAL hnsw.ef_search = " + Math.max(hybrid.getEfSearch(), candidates));
+            if (hybrid.isIterativeScan()) {
+                jdbcTemplate.execute("SET LOCAL hnsw.iterative_scan = relaxed_order");
+            }
+            sql.append(",\n").append(SEMANTIC);
+            args.add(queryVector);
+            args.add(tenantId);
+            args.add(queryVector);
+            args.add(candidates);
+            ranked += " UNION ALL SELECT id, rnk FROM semantic";
+        }
+
+        sql.append("""
+                ,
+                fused AS (
+                    SELECT id, sum(1.0::float8 / (? + rnk)) AS score
+                    FROM (%s) ranked
+                    GROUP BY id
+                )
+                SELECT page.id, page.score, totals.total
+                FROM (SELECT count(*) AS total FROM fused) totals
+                LEFT JOIN LATERAL (
+                    SELECT id, score FROM fused
+                """.formatted(ranked));
+        args.add(hybrid.getRrfK());
+        if (after != null) {
+            sql.append("    WHERE score < ? OR (score = ? AND id > ?)\n");
+            args.add(after.score());
+            args.add(after.score());
+            args.add(after.jobId());
+        }
+        sql.append("""
+                    ORDER BY score DESC, id
+                    LIMIT ?
+                ) page ON true
+                ORDER BY page.score DESC, page.id
+                """);
+        args.add(limit);
+
+        // The totals row is always present so the count survives an empty (past-the-end) page
+        long[] total = {0};
+        List<HybridHit> hits = new ArrayList<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            total[0] = rs.getLong(3);
+            UUID jobId = rs.getObject(1, UUID.class);
+            if (jobId != null) {
+                hits.add(new HybridHit(jobId, rs.getDouble(2)));
+            }
+        }, args.toArray());
+        return new HybridPage(hits, total[0]);
+    }
+
+    /**
+     * A job and its fused RRF score.
+     */
+    public record HybridHit(UUID jobId, double score) {}
+
+    /**
+     * Hits of one page plus the size of the fused candidate list.
+     */
+    public record HybridPage(List<HybridHit> hits, long total) {}
+}
@@ -0,0 +1,192 @@
+package com.jobagent.jobagent.jobsearch.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobagent.jobagent.jobsearch.dto.CreateJobRequest;
+import com.jobagent.jobagent.jobsearch.model.JobStatus;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based job ingestion: a batch of feed records is streamed into a temp table with
+ * {@code COPY ... FROM STDIN} and merged into {@code job_listings} with one
+ * {@code INSERT ... ON CONFLICT (tenant_id, source, external_id) DO UPDATE}, so a batch costs a
+ * constant number of round-trips instead of a lookup and a save per job.
+ *
+ * <p>Must be called inside a transaction: the staging table is dropped on commit. Within a batch
+ * the last record for an external id wins; rows whose content fingerprint did not change are left
+ * untouched (no {@code updated_at} bump, no re-embedding) and are not returned. A changed EXPIRED or
+ * FILLED listing whose new {@code expires_at} is absent or in the future is re-posted, so it
+ * becomes ACTIVE again.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobBulkLoader {
+
+    private static final String CREATE_STAGE = """
+            CREATE TEMP TABLE IF NOT EXISTS job_ingest_stage (
+                line            BIGINT NOT NULL,
+                external_id     TEXT NOT NULL,
+                title           TEXT NOT NULL,
+                company         TEXT NOT NULL,
+                location        TEXT,
+                description     TEXT,
+                requirements    TEXT,
+                skills          JSONB,
+                salary_min      NUMERIC(12, 2),
+                salary_max      NUMERIC(12, 2),
+                salary_currency VARCHAR(3),
+                employment_type VARCHAR(50),
+                remote_type     VARCHAR(50),
+                source_url      TEXT,
+                expires_at      TIMESTAMPTZ,
+                content_hash    CHAR(64) NOT NULL
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_STAGE = """
+            COPY job_ingest_stage (line, external_id, title, company, location, description, requirements,
+                skills, salary_min, salary_max, salary_currency, employment_type, remote_type, source_url, expires_at,
+                content_hash)
+            FROM STDIN (FORMAT csv)""";
+
+    /**
+     * Existing rows are compared by content fingerprint rather than column by column. xmax = 0 only
+     * for tuples created by this statement, i.e. inserted rather than updated.
+     */
+    private static final String MERGE = """
+            INSERT INTO job_listings AS j (tenant_id, source, external_id, title, company, location, description,
+                requirements, skills, salary_min, salary_max, salary_currency, employment_type, remote_type,
+                source_url, expires_at, content_hash, status)
+            SELECT ?, ?, s.external_id, s.title, s.company, s.location, coalesce(s.description, ''),
+                s.requirements, coalesce(s.skills, '[]'::jsonb), s.salary_min, s.salary_max,
+                coalesce(s.salary_currency, 'EUR'), s.employment_type, s.remote_type, coalesce(s.source_url, ''),
+                s.expires_at, s.content_hash, 'ACTIVE'
+            FROM (
+                SELECT DISTINCT ON (external_id) *
+                FROM job_ingest_stage
+                ORDER BY external_id, line DESC
+            ) s
+            ON CONFLICT (tenant_id, source, external_id) DO UPDATE SET
+                title = EXCLUDED.title,
+                company = EXCLUDED.company,
+                location = EXCLUDED.location,
+                description = EXCLUDED.description,
+                requirements = EXCLUDED.requirements,
+                skills = EXCLUDED.skills,
+                salary_min = EXCLUDED.salary_min,
+                salary_max = EXCLUDED.salary_max,
+                salary_currency = EXCLUDED.salary_currency,
+                employment_type = EXCLUDED.employment_type,
+                remote_type = EXCLUDED.remote_type,
+                source_url = EXCLUDED.source_url,
+                expires_at = EXCLUDED.expires_at,
+                content_hash = EXCLUDED.content_hash,
+                status = CASE
+                    WHEN j.status IN ('EXPIRED', 'FILLED')
+                        AND (EXCLUDED.expires_at IS NULL OR EXCLUDED.expires_at > now()) THEN 'ACTIVE'
+                    ELSE j.status
+                END,
+                updated_at = now()
+            WHERE j.content_hash IS DISTINCT FROM EXCLUDED.content_hash
+            RETURNING j.id, j.external_id, j.status, (j.xmax = 0) AS inserted""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Stage and merge one batch for a tenant and source.
+     *
+     * @return the rows that were inserted or changed
+     */
+    public List<MergedJob> merge(UUID tenantId, String source, List<StagedJob> jobs) {
+        if (jobs.isEmpty()) {
+            return List.of();
+        }
+        // The request filter sets the RLS tenant on a different connection; set it on this transaction's
+        jdbcTemplate.queryForObject("SELECT set_config('app.current_tenant', ?, true)", String.class,
+                tenantId.toString());
+        jdbcTemplate.execute(CREATE_STAGE);
+        jdbcTemplate.execute("TRUNCATE job_ingest_stage");
+
+        String csv = toCsv(jobs);
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            try {
+                return copyManager.copyIn(COPY_STAGE, new StringReader(csv));
+            } catch (IOException e) {
+                throw new SQLException("COPY into job_ingest_stage failed", e);
+            }
+        });
+
+        return jdbcTemplate.query(MERGE, (rs, rowNum) -> new MergedJob(
+                rs.getObject("id", UUID.class),
+                rs.getString("external_id"),
+                JobStatus.valueOf(rs.getString("status")),
+                rs.getBoolean("inserted")), tenantId, source);
+    }
+
+    /**
+     * COPY csv payload for a batch. Unquoted empty fields are NULL; every present value is quoted.
+     */
+    String toCsv(List<StagedJob> jobs) {
+        StringBuilder csv = new StringBuilder(jobs.size() * 512);
+        for (StagedJob staged : jobs) {
+            CreateJobRequest job = staged.job();
+            csv.append(staged.line());
+            appendField(csv, job.externalId());
+            appendField(csv, job.title());
+            appendField(csv, job.company());
+            appendField(csv, job.location());
+            appendField(csv, job.description());
+            appendField(csv, job.requirements());
+            appendField(csv, toJson(staged.skills()));
+            appendField(csv, job.salaryMin());
+            appendField(csv, job.salaryMax());
+            appendField(csv, job.salaryCurrency());
+            appendField(csv, job.employmentType());
+            appendField(csv, job.remoteType());
+            appendField(csv, job.sourceUrl());
+            appendField(csv, job.expiresAt());
+            appendField(csv, staged.fingerprint());
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static void appendField(StringBuilder csv, Object value) {
+        csv.append(',');
+        if (value != null) {
+            csv.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    private String toJson(List<String> skills) {
+        try {
+            return objectMapper.writeValueAsString(skills);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize skills", e);
+        }
+    }
+
+    /**
+     * A validated feed record; {@code skills} are already canonical.
+     *
+     * @param fingerprint content hash of the record, see {@code JobFingerprint}
+     */
+    public record StagedJob(long line, CreateJobRequest job, List<String> skills, String fingerprint) {}
+
+    /**
+     * A row the merge inserted or changed.
+     */
+    public record MergedJob(UUID id, String externalId, JobStatus status, boolean inserted) {}
+}
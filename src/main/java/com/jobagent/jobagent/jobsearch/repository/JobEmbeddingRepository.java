@@ -0,0 +1,89 @@
+package com.jobagent.jobagent.jobsearch.repository;
+
+import com.jobagent.jobagent.common.embedding.EmbeddingStore;
+import com.jobagent.jobagent.common.embedding.TextEmbedder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * JDBC access to {@code job_embeddings} (pgvector, HNSW cosine index).
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobEmbeddingRepository implements EmbeddingStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public String name() {
+        return "job";
+    }
+
+    /**
+     * Vectors already computed for identical job texts (e.g. the same posting imported by several
+     * tenants or re-imported), keyed by content hash.
+     */
+    @Override
+    public Map<String, float[]> findByContentHashes(Collection<String> contentHashes) {
+        if (contentHashes.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, float[]> result = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT DISTINCT ON (content_hash) content_hash, embedding::text
+                FROM job_embeddings
+                WHERE content_hash = ANY(?) AND embedding IS NOT NULL
+                """,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", contentHashes.toArray())),
+                rs -> {
+                    result.put(rs.getString(1).trim(), TextEmbedder.parseVectorLiteral(rs.getString(2)));
+                });
+        return result;
+    }
+
+    /**
+     * Insert or replace the embeddings of several job listings in one statement.
+     */
+    @Override
+    public void upsertAll(List<EmbeddingRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(EmbeddingStore.multiRowUpsertSql("job_embeddings", "job_listing_id", rows.size()),
+                EmbeddingStore.multiRowUpsertArgs(rows));
+    }
+
+    /**
+     * Approximate nearest ACTIVE canonical jobs of a tenant to a query vector, most similar first.
+     *
+     * <p>Ordering by distance to a constant vector lets the planner use the HNSW index. The
+     * tenant and status filters are applied to the index scan's output, so {@code efSearch}
+     * must be large enough (or pgvector's iterative scan enabled) to still yield {@code limit}
+     * rows for small tenants. Must run inside a transaction for the {@code SET LOCAL}s to apply.
+     */
+    public List<JobSimilarity> findNearestActive(UUID tenantId, String queryVector, int limit,
+                                                 int efSearch, boolean iterativeScan) {
+        jdbcTemplate.execute("SET LOCAL hnsw.ef_search = " + efSearch);
+        if (iterativeScan) {
+            jdbcTemplate.execute("SET LOCAL hnsw.iterative_scan = relaxed_order");
+        }
+        return jdbcTemplate.query("""
+                SELECT je.job_listing_id, 1 - (je.embedding <=> CAST(? AS vector)) AS similarity
+                FROM job_embeddings je
+                JOIN job_listings j ON j.id = je.job_listing_id AND j.tenant_id = je.tenant_id
+                WHERE je.tenant_id = ? AND j.status = 'ACTIVE' AND j.duplicate_of IS NULL
+                ORDER BY je.embedding <=> CAST(? AS vector)
+                LIMIT ?
+                """,
+                (rs, rowNum) -> new JobSimilarity(rs.getObject(1, UUID.class), rs.getDouble(2)),
+                queryVector, tenantId, queryVector, limit);
+    }
+
+    /**
+     * A job and its cosine similarity (1 = identical direction) to the query vector.
+     */
+    public record JobSimilarity(UUID jobId, double similarity) {}
+}
@@ -0,0 +1,54 @@
+package com.jobagent.jobagent.jobsearch.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based expiry of job listings, across all tenants.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobExpiryRepository {
+
+    /**
+     * The due rows are picked through the partial {@code (expires_at) WHERE status = 'ACTIVE'}
+     * index from V22; {@code SKIP LOCKED} lets concurrent sweeps (several instances) take
+     * disjoint batches instead of waiting on each other. Picking the due rows scans every
+     * partition, as the sweep spans all tenants; the update then joins on the full
+     * {@code (id, tenant_id)} key, so each row is a primary key probe in its own partition.
+     */
+    private static final String EXPIRE_BATCH = """
+            WITH due AS (
+                SELECT id, tenant_id FROM job_listings
+                WHERE status = 'ACTIVE' AND expires_at < ?
+                ORDER BY expires_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE job_listings j SET status = 'EXPIRED', updated_at = now()
+            FROM due
+            WHERE j.id = due.id AND j.tenant_id = due.tenant_id
+            RETURNING j.id, j.tenant_id""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Mark up to {@code limit} ACTIVE listings that expired before {@code now} as EXPIRED, in one
+     * statement.
+     *
+     * @return the listings that were expired
+     */
+    public List<ExpiredJob> expireBatch(Instant now, int limit) {
+        return jdbcTemplate.query(EXPIRE_BATCH,
+                (rs, rowNum) -> new ExpiredJob(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class)),
+                Timestamp.from(now), limit);
+    }
+
+    public record ExpiredJob(UUID jobId, UUID tenantId) {}
+}
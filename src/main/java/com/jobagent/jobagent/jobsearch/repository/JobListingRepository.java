@@ -1,15 +1,21 @@
 package com.jobagent.jobagent.jobsearch.repository;
 
+import com.jobagent.jobagent.jobsearch.dto.JobListingSummary;
+import com.jobagent.jobagent.jobsearch.dto.JobMatchView;
+import com.jobagent.jobagent.jobsearch.dto.JobSkillsView;
 import com.jobagent.jobagent.jobsearch.model.JobListing;
 import com.jobagent.jobagent.jobsearch.model.JobStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,10 +23,16 @@ import java.util.UUID;
 /**
  * Sprint 5.2 — Repository for JobListing entity.
  *
- * Provides search, filter, and matching queries for job listings.
+ * Provides search, filter, and matching queries for job listings. Multi-criteria filtering
+ * goes through {@link JobListingSpecifications}.
  */
 @Repository
-public interface JobListingRepository extends JpaRepository<JobListing, UUID> {
+public interface JobListingRepository extends JpaRepository<JobListing, UUID>, JpaSpecificationExecutor<JobListing>,
+        JobListingSummaryQueries {
+
+    String SUMMARY_SELECT = "SELECT new com.jobagent.jobagent.jobsearch.dto.JobListingSummary(" +
+            "j.id, j.title, j.company, j.location, j.salaryMin, j.salaryMax, j.salaryCurrency, " +
+            "j.employmentType, j.remoteType, j.sourceUrl, j.status, j.createdAt, j.expiresAt) FROM JobListing j ";
 
     /**
      * Find all jobs for a tenant.
@@ -32,16 +44,71 @@ public interface JobListingRepository extends JpaRepository<JobListing, UUID> {
      */
     Page<JobListing> findByTenantIdAndStatus(UUID tenantId, JobStatus status, Pageable pageable);
 
+    /**
+     * Summaries of a tenant's canonical jobs in a status (list view, offset pagination).
+     */
+    Page<JobListingSummary> findSummariesByTenantIdAndStatusAndDuplicateOfIsNull(
+            UUID tenantId, JobStatus status, Pageable pageable);
+
+    /**
+     * First keyset page of a tenant's canonical jobs in a status, newest first.
+     */
+    List<JobListingSummary> findSummariesByTenantIdAndStatusAndDuplicateOfIsNullOrderByCreatedAtDescIdAsc(
+            UUID tenantId, JobStatus status, Limit limit);
+
+    /**
+     * Keyset page of a tenant's canonical jobs in a status after the (createdAt, id) of the previous
+     * page's last job.
+     */
+    @Query(SUMMARY_SELECT + "WHERE j.tenantId = :tenantId AND j.status = :status AND j.duplicateOf IS NULL " +
+           "AND (j.createdAt < :createdAt OR (j.createdAt = :createdAt AND j.id > :id)) " +
+           "ORDER BY j.createdAt DESC, j.id ASC")
+    List<JobListingSummary> findSummariesAfter(
+            @Param("tenantId") UUID tenantId,
+            @Param("status") JobStatus status,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Limit limit);
+
     /**
      * Find job by ID and tenant (for security).
      */
     Optional<JobListing> findByIdAndTenantId(UUID id, UUID tenantId);
 
     /**
-     * Search jobs by title (case-insensitive).
+     * Summaries of a set of jobs within a tenant (used to hydrate a single result page).
+     */
+    List<JobListingSummary> findSummariesByTenantIdAndIdIn(UUID tenantId, Collection<UUID> ids);
+
+    /**
+     * Summaries plus skills of those of a set of jobs within a tenant that are still ACTIVE and
+     * canonical (used to hydrate a page of match results, whose ids may come from a ranking
+     * computed before the jobs expired, closed or turned out to be duplicates).
+     */
+    @Query("SELECT new com.jobagent.jobagent.jobsearch.dto.JobMatchView(" +
+           "j.id, j.title, j.company, j.location, j.salaryMin, j.salaryMax, j.salaryCurrency, " +
+           "j.employmentType, j.remoteType, j.sourceUrl, j.status, j.createdAt, j.expiresAt, j.skills) " +
+           "FROM JobListing j WHERE j.tenantId = :tenantId AND j.id IN :ids " +
+           "AND j.status = com.jobagent.jobagent.jobsearch.model.JobStatus.ACTIVE AND j.duplicateOf IS NULL")
+    List<JobMatchView> findActiveMatchViewsByTenantIdAndIdIn(
+            @Param("tenantId") UUID tenantId,
+            @Param("ids") Collection<UUID> ids);
+
+    /**
+     * Load only id + skills for a tenant's canonical jobs in a given status (skill index build);
+     * near-duplicates are left out of matching.
+     */
+    @Query("SELECT new com.jobagent.jobagent.jobsearch.dto.JobSkillsView(j.id, j.skills) " +
+           "FROM JobListing j WHERE j.tenantId = :tenantId AND j.status = :status AND j.duplicateOf IS NULL")
+    List<JobSkillsView> findSkillsByTenantIdAndStatus(
+            @Param("tenantId") UUID tenantId,
+            @Param("status") JobStatus status);
+
+    /**
+     * Search jobs by title (case-insensitive, served by the {@code lower(title)} trigram index).
      */
     @Query("SELECT j FROM JobListing j WHERE j.tenantId = :tenantId " +
-           "AND j.status = :status " +
+           "AND j.status = :status AND j.duplicateOf IS NULL " +
            "AND LOWER(j.title) LIKE LOWER(CONCAT('%', :title, '%'))")
     Page<JobListing> searchByTitle(
             @Param("tenantId") UUID tenantId,
@@ -69,6 +136,7 @@ public interface JobListingRepository extends JpaRepository<JobListing, UUID> {
             SELECT * FROM job_listings j 
             WHERE j.tenant_id = :tenantId 
             AND j.status = :status
+            AND j.duplicate_of IS NULL
             AND j.skills ?| ARRAY[:skills]
             ORDER BY j.created_at DESC
             """, nativeQuery = true)
@@ -79,54 +147,59 @@ public interface JobListingRepository extends JpaRepository<JobListing, UUID> {
             Pageable pageable);
 
     /**
-     * Full-text search on title and description.
+     * Full-text search on title and description (stored {@code search_vector} column) over
+     * canonical listings, newest first. Returns ids only; hydrate with {@link #findSummariesByTenantIdAndIdIn}.
      */
     @Query(value = """
-            SELECT * FROM job_listings j 
-            WHERE j.tenant_id = :tenantId 
+            SELECT j.id FROM job_listings j
+            WHERE j.tenant_id = :tenantId
             AND j.status = 'ACTIVE'
-            AND to_tsvector('english', coalesce(j.title, '') || ' ' || coalesce(j.description, '')) 
-                @@ plainto_tsquery('english', :searchTerm)
-            ORDER BY j.created_at DESC
-            """, nativeQuery = true)
-    Page<JobListing> fullTextSearch(
+            AND j.duplicate_of IS NULL
+            AND j.search_vector @@ plainto_tsquery('english', :searchTerm)
+            ORDER BY j.created_at DESC, j.id
+            """,
+            countQuery = """
+            SELECT count(*) FROM job_listings j
+            WHERE j.tenant_id = :tenantId
+            AND j.status = 'ACTIVE'
+            AND j.duplicate_of IS NULL
+            AND j.search_vector @@ plainto_tsquery('english', :searchTerm)
+            """,
+            nativeQuery = true)
+    Page<UUID> fullTextSearch(
             @Param("tenantId") UUID tenantId,
             @Param("searchTerm") String searchTerm,
             Pageable pageable);
 
     /**
-     * Count active jobs for a tenant.
+     * Keyset page of a full-text search, newest first. Pass a null {@code createdAt} for the first page.
+     * Returns ids only; hydrate with {@link #findSummariesByTenantIdAndIdIn}.
      */
-    long countByTenantIdAndStatus(UUID tenantId, JobStatus status);
+    @Query(value = """
+            SELECT j.id FROM job_listings j
+            WHERE j.tenant_id = :tenantId
+            AND j.status = 'ACTIVE'
+            AND j.duplicate_of IS NULL
+            AND j.search_vector @@ plainto_tsquery('english', :searchTerm)
+            AND (CAST(:createdAt AS timestamptz) IS NULL
+                 OR j.created_at < :createdAt OR (j.created_at = :createdAt AND j.id > :id))
+            ORDER BY j.created_at DESC, j.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> fullTextSearchPage(
+            @Param("tenantId") UUID tenantId,
+            @Param("searchTerm") String searchTerm,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            @Param("limit") int limit);
 
     /**
-     * Find expired jobs that need status update.
+     * Count a tenant's canonical jobs in a status.
      */
-    @Query("SELECT j FROM JobListing j WHERE j.status = 'ACTIVE' " +
-           "AND j.expiresAt IS NOT NULL AND j.expiresAt < :now")
-    List<JobListing> findExpiredJobs(@Param("now") Instant now);
+    long countByTenantIdAndStatusAndDuplicateOfIsNull(UUID tenantId, JobStatus status);
 
     /**
      * Find by external ID for deduplication during import.
      */
     Optional<JobListing> findByTenantIdAndExternalId(UUID tenantId, String externalId);
-
-    /**
-     * Advanced search with multiple criteria.
-     */
-    @Query("""
-            SELECT j FROM JobListing j WHERE j.tenantId = :tenantId 
-            AND j.status = :status
-            AND (:title IS NULL OR LOWER(j.title) LIKE LOWER(CONCAT('%', :title, '%')))
-            AND (:company IS NULL OR LOWER(j.company) LIKE LOWER(CONCAT('%', :company, '%')))
-            AND (:location IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%')))
-            ORDER BY j.createdAt DESC
-            """)
-    Page<JobListing> advancedSearch(
-            @Param("tenantId") UUID tenantId,
-            @Param("status") JobStatus status,
-            @Param("title") String title,
-            @Param("company") String company,
-            @Param("location") String location,
-            Pageable pageable);
 }
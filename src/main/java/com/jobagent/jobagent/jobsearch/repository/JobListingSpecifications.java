@@ -0,0 +1,90 @@
+package com.jobagent.jobagent.jobsearch.repository;
+
+import com.jobagent.jobagent.jobsearch.dto.JobSearchRequest;
+import com.jobagent.jobagent.jobsearch.dto.ListingCursor;
+import com.jobagent.jobagent.jobsearch.model.JobListing;
+import com.jobagent.jobagent.jobsearch.model.JobStatus;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Builds the filtered job search query from only the criteria that are present, instead of a
+ * fixed query with {@code :x IS NULL OR ...} guards, so Postgres plans each filter combination
+ * on its own.
+ *
+ * <p>Substring filters render as {@code lower(col) LIKE '%term%'}, which the tenant-leading
+ * {@code pg_trgm} GIN indexes from V17 serve; keep the expressions in sync with that migration.
+ */
+public final class JobListingSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    private JobListingSpecifications() {}
+
+    /**
+     * Canonical jobs of a tenant in the given status matching the request's filters.
+     */
+    public static Specification<JobListing> search(UUID tenantId, JobStatus status, JobSearchRequest request) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("tenantId"), tenantId));
+            predicates.add(cb.equal(root.get("status"), status));
+            predicates.add(cb.isNull(root.get("duplicateOf")));
+
+            addContains(predicates, cb, root.get("title"), request.title());
+            addContains(predicates, cb, root.get("company"), request.company());
+            addContains(predicates, cb, root.get("location"), request.location());
+            if (request.employmentType() != null) {
+                predicates.add(cb.equal(root.get("employmentType"), request.employmentType()));
+            }
+            if (request.remoteType() != null) {
+                predicates.add(cb.equal(root.get("remoteType"), request.remoteType()));
+            }
+            // Salary ranges overlap the requested range
+            if (request.salaryMin() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("salaryMax"), request.salaryMin()));
+            }
+            if (request.salaryMax() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("salaryMin"), request.salaryMax()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Keyset predicate for {@code ORDER BY createdAt DESC, id ASC}: rows after the cursor.
+     */
+    public static Specification<JobListing> after(ListingCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                cb.and(cb.equal(root.get("createdAt"), cursor.createdAt()),
+                        cb.greaterThan(root.get("id"), cursor.jobId())));
+    }
+
+    private static void addContains(List<Predicate> predicates, CriteriaBuilder cb, Path<String> column, String term) {
+        if (term != null && !term.isBlank()) {
+            predicates.add(cb.like(cb.lower(column), containsPattern(term), ESCAPE));
+        }
+    }
+
+    /**
+     * {@code %term%} for a case-insensitive LIKE, with the term's own wildcards escaped.
+     */
+    static String containsPattern(String term) {
+        StringBuilder pattern = new StringBuilder(term.length() + 2).append('%');
+        for (char c : term.trim().toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                pattern.append(ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
@@ -0,0 +1,27 @@
+package com.jobagent.jobagent.jobsearch.repository;
+
+import com.jobagent.jobagent.jobsearch.dto.JobListingSummary;
+import com.jobagent.jobagent.jobsearch.model.JobListing;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * {@link Specification} queries that select {@link JobListingSummary} columns only, for
+ * filtered list views.
+ */
+public interface JobListingSummaryQueries {
+
+    /**
+     * Offset page of summaries matching the specification, with a count query.
+     */
+    Page<JobListingSummary> findSummaries(Specification<JobListing> spec, Pageable pageable);
+
+    /**
+     * Up to {@code limit} summaries matching the specification in the given order (keyset pages).
+     */
+    List<JobListingSummary> findSummaries(Specification<JobListing> spec, Sort sort, int limit);
+}
@@ -0,0 +1,77 @@
+package com.jobagent.jobagent.jobsearch.repository;
+
+import com.jobagent.jobagent.jobsearch.dto.JobListingSummary;
+import com.jobagent.jobagent.jobsearch.model.JobListing;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+/**
+ * Criteria implementation of {@link JobListingSummaryQueries}: {@code SELECT new JobListingSummary(...)}
+ * with the specification's predicate.
+ */
+class JobListingSummaryQueriesImpl implements JobListingSummaryQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<JobListingSummary> findSummaries(Specification<JobListing> spec, Pageable pageable) {
+        TypedQuery<JobListingSummary> query = summaryQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<JobListingSummary> content = query.getResultList();
+        if (pageable.isUnpaged() || (pageable.getOffset() == 0 && content.size() < pageable.getPageSize())) {
+            return new PageImpl<>(content, pageable, content.size());
+        }
+        return new PageImpl<>(content, pageable, count(spec));
+    }
+
+    @Override
+    public List<JobListingSummary> findSummaries(Specification<JobListing> spec, Sort sort, int limit) {
+        return summaryQuery(spec, sort).setMaxResults(limit).getResultList();
+    }
+
+    private TypedQuery<JobListingSummary> summaryQuery(Specification<JobListing> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<JobListingSummary> query = cb.createQuery(JobListingSummary.class);
+        Root<JobListing> root = query.from(JobListing.class);
+        query.select(cb.construct(JobListingSummary.class,
+                JobListingSummary.ATTRIBUTES.stream().map(root::get).toArray(Selection[]::new)));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<JobListing> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<JobListing> root = query.from(JobListing.class);
+        query.select(cb.count(root));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,209 @@
+package com.jobagent.jobagent.jobsearch.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JDBC access to the near-duplicate index: {@code job_minhash_signatures}, {@code job_lsh_buckets}
+ * and {@code job_listings.duplicate_of}. Callers run inside a transaction with the RLS tenant set.
+ * Every statement on {@code job_listings} is bound to the tenant (V23 hash-partitions it by
+ * {@code tenant_id}), so it only touches that tenant's partition.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobLshRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * ACTIVE listings of a tenant sharing at least one of the given band buckets, with their
+     * signature and canonical listing. One index probe per band key, however large the tenant.
+     *
+     * @param bands   band number of each key, parallel to {@code buckets}
+     * @param exclude listings to leave out (the ones being indexed)
+     */
+    public List<BucketMatch> findByBuckets(UUID tenantId, short[] bands, long[] buckets, Collection<UUID> exclude) {
+        if (bands.length == 0) {
+            return List.of();
+        }
+        Short[] bandArray = new Short[bands.length];
+        Long[] bucketArray = new Long[buckets.length];
+        for (int i = 0; i < bands.length; i++) {
+            bandArray[i] = bands[i];
+            bucketArray[i] = buckets[i];
+        }
+        return jdbcTemplate.query("""
+                SELECT DISTINCT ON (b.job_id) b.job_id, j.duplicate_of, s.signature
+                FROM unnest(?::smallint[], ?::bigint[]) AS k(band, bucket)
+                JOIN job_lsh_buckets b ON b.tenant_id = ? AND b.band = k.band AND b.bucket = k.bucket
+                JOIN job_minhash_signatures s ON s.job_id = b.job_id
+                JOIN job_listings j ON j.id = b.job_id AND j.tenant_id = b.tenant_id
+                WHERE j.status = 'ACTIVE' AND NOT (b.job_id = ANY(?))
+                """,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("smallint", bandArray));
+                    ps.setArray(2, ps.getConnection().createArrayOf("bigint", bucketArray));
+                    ps.setObject(3, tenantId);
+                    ps.setArray(4, ps.getConnection().createArrayOf("uuid", exclude.toArray()));
+                },
+                (rs, rowNum) -> new BucketMatch(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class),
+                        rs.getBytes(3)));
+    }
+
+    /**
+     * Replace the signatures and band buckets of the given listings.
+     */
+    public void saveAll(UUID tenantId, List<IndexedJob> jobs) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        Object[] ids = jobs.stream().map(IndexedJob::jobId).toArray();
+        jdbcTemplate.update("DELETE FROM job_lsh_buckets WHERE tenant_id = ? AND job_id = ANY(?)",
+                ps -> {
+                    ps.setObject(1, tenantId);
+                    ps.setArray(2, ps.getConnection().createArrayOf("uuid", ids));
+                });
+
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO job_minhash_signatures (job_id, tenant_id, signature) VALUES (?, ?, ?)
+                ON CONFLICT (job_id) DO UPDATE SET signature = EXCLUDED.signature""",
+                jobs.stream().map(job -> new Object[]{job.jobId(), tenantId, job.signature()}).toList());
+
+        List<Object[]> buckets = new ArrayList<>();
+        for (IndexedJob job : jobs) {
+            for (int band = 0; band < job.bandKeys().length; band++) {
+                buckets.add(new Object[]{tenantId, (short) band, job.bandKeys()[band], job.jobId()});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO job_lsh_buckets (tenant_id, band, bucket, job_id) VALUES (?, ?, ?, ?) ON CONFLICT DO NOTHING",
+                buckets);
+    }
+
+    /**
+     * Set (or clear, with a null canonical id) the canonical listing of each given listing of the
+     * tenant. Listings that were linked to a listing now found to be a duplicate follow it to its
+     * canonical listing, so links never chain.
+     */
+    public void link(UUID tenantId, List<DuplicateLink> links) {
+        if (links.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE job_listings SET duplicate_of = ? WHERE id = ? AND tenant_id = ?",
+                links.stream().map(link -> new Object[]{link.canonicalId(), link.jobId(), tenantId}).toList());
+        // A canonical listing that turned out to duplicate another hands its duplicates over
+        List<Object[]> handovers = links.stream()
+                .filter(link -> link.canonicalId() != null)
+                .map(link -> new Object[]{link.canonicalId(), tenantId, link.jobId()})
+                .toList();
+        if (!handovers.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE job_listings SET duplicate_of = ? WHERE tenant_id = ? AND duplicate_of = ?",
+                    handovers);
+        }
+    }
+
+    /**
+     * Hand the duplicates of canonical listings that left ACTIVE over to a successor: the oldest
+     * ACTIVE duplicate of each becomes canonical and the others are re-pointed to it. Duplicates
+     * of a listing without an ACTIVE duplicate keep their link.
+     *
+     * @param departedIds canonical listings that are no longer ACTIVE
+     * @return the skills of each promoted listing, by listing id
+     */
+    public Map<UUID, List<String>> promoteDuplicates(UUID tenantId, Collection<UUID> departedIds) {
+        if (departedIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, List<String>> promoted = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                WITH heir AS (
+                    SELECT DISTINCT ON (d.duplicate_of) d.duplicate_of AS departed, d.id
+                    FROM job_listings d
+                    WHERE d.tenant_id = ? AND d.duplicate_of = ANY(?) AND d.status = 'ACTIVE'
+                    ORDER BY d.duplicate_of, d.created_at, d.id
+                ), moved AS (
+                    UPDATE job_listings j
+                    SET duplicate_of = CASE WHEN j.id = heir.id THEN NULL ELSE heir.id END
+                    FROM heir
+                    WHERE j.tenant_id = ? AND j.duplicate_of = heir.departed
+                    RETURNING j.id, j.duplicate_of, j.skills
+                )
+                SELECT id, ARRAY(SELECT jsonb_array_elements_text(coalesce(skills, '[]'::jsonb)))
+                FROM moved
+                WHERE duplicate_of IS NULL
+                """,
+                ps -> {
+                    ps.setObject(1, tenantId);
+                    ps.setArray(2, ps.getConnection().createArrayOf("uuid", departedIds.toArray()));
+                    ps.setObject(3, tenantId);
+                },
+                rs -> {
+                    promoted.put(rs.getObject(1, UUID.class), List.of((String[]) rs.getArray(2).getArray()));
+                });
+        return promoted;
+    }
+
+    /**
+     * Keyset page of a tenant's ACTIVE listings, oldest first, so earlier postings become canonical
+     * on a rebuild. Pass a null {@code after} for the first page.
+     */
+    public List<JobText> findActiveTexts(UUID tenantId, JobText after, int limit) {
+        Timestamp createdAt = after == null ? null : Timestamp.from(after.createdAt());
+        return jdbcTemplate.query("""
+                SELECT id, created_at, title, company, description
+                FROM job_listings
+                WHERE tenant_id = ? AND status = 'ACTIVE'
+                  AND (CAST(? AS timestamptz) IS NULL OR (created_at, id) > (?, ?))
+                ORDER BY created_at, id
+                LIMIT ?
+                """,
+                (rs, rowNum) -> new JobText(rs.getObject(1, UUID.class), rs.getTimestamp(2).toInstant(),
+                        rs.getString(3), rs.getString(4), rs.getString(5)),
+                tenantId, createdAt, createdAt, after == null ? null : after.id(), limit);
+    }
+
+    /**
+     * Drop a tenant's signatures, buckets and duplicate links before a rebuild. Sets the RLS tenant
+     * on the current transaction, as rebuilds may run outside a request.
+     */
+    public void clear(UUID tenantId) {
+        jdbcTemplate.queryForObject("SELECT set_config('app.current_tenant', ?, true)", String.class,
+                tenantId.toString());
+        jdbcTemplate.update("DELETE FROM job_lsh_buckets WHERE tenant_id = ?", tenantId);
+        jdbcTemplate.update("DELETE FROM job_minhash_signatures WHERE tenant_id = ?", tenantId);
+        jdbcTemplate.update("UPDATE job_listings SET duplicate_of = NULL WHERE tenant_id = ? AND duplicate_of IS NOT NULL",
+                tenantId);
+    }
+
+    /**
+     * A stored listing found in a shared bucket.
+     *
+     * @param duplicateOf its canonical listing, or null if it is canonical itself
+     */
+    public record BucketMatch(UUID jobId, UUID duplicateOf, byte[] signature) {}
+
+    /**
+     * The fields of a listing its signature is computed from.
+     */
+    public record JobText(UUID id, Instant createdAt, String title, String company, String description) {}
+
+    /**
+     * A listing's serialized signature and its bucket key per band.
+     */
+    public record IndexedJob(UUID jobId, byte[] signature, long[] bandKeys) {}
+
+    /**
+     * @param canonicalId null to mark the listing canonical
+     */
+    public record DuplicateLink(UUID jobId, UUID canonicalId) {}
+}
@@ -0,0 +1,23 @@
+package com.jobagent.jobagent.jobsearch.repository;
+
+import com.jobagent.jobagent.jobsearch.model.JobSourceConfig;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for {@link JobSourceConfig}.
+ */
+@Repository
+public interface JobSourceConfigRepository extends JpaRepository<JobSourceConfig, UUID> {
+
+    /**
+     * Enabled sources of all tenants, for the scheduled crawl.
+     */
+    List<JobSourceConfig> findByEnabledTrue();
+
+    Optional<JobSourceConfig> findByIdAndTenantId(UUID id, UUID tenantId);
+}
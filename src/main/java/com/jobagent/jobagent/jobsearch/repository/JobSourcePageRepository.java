@@ -0,0 +1,77 @@
+package com.jobagent.jobagent.jobsearch.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Conditional-fetch state per listing page of a job source ({@code job_source_pages}).
+ *
+ * <p>Crawls run outside any request, so each method sets the RLS tenant on its own transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobSourcePageRepository {
+
+    private static final String UPSERT = """
+            INSERT INTO job_source_pages (source_id, tenant_id, url, etag, last_modified, content_hash, next_url, fetched_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, now())
+            ON CONFLICT (source_id, url) DO UPDATE SET
+                etag = EXCLUDED.etag,
+                last_modified = EXCLUDED.last_modified,
+                content_hash = EXCLUDED.content_hash,
+                next_url = EXCLUDED.next_url,
+                fetched_at = EXCLUDED.fetched_at""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stored state of every known page of a source, by URL.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, PageState> findBySource(UUID tenantId, UUID sourceId) {
+        setTenant(tenantId);
+        Map<String, PageState> pages = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT url, etag, last_modified, content_hash, next_url FROM job_source_pages WHERE source_id = ?",
+                rs -> {
+                    PageState page = new PageState(rs.getString("url"), rs.getString("etag"),
+                            rs.getString("last_modified"), rs.getString("content_hash"), rs.getString("next_url"));
+                    pages.put(page.url(), page);
+                },
+                sourceId);
+        return pages;
+    }
+
+    /**
+     * Insert or replace the state of the given pages in one batch.
+     */
+    @Transactional
+    public void saveAll(UUID tenantId, UUID sourceId, List<PageState> pages) {
+        if (pages.isEmpty()) {
+            return;
+        }
+        setTenant(tenantId);
+        jdbcTemplate.batchUpdate(UPSERT, pages.stream()
+                .map(page -> new Object[]{sourceId, tenantId, page.url(), page.etag(), page.lastModified(),
+                        page.contentHash(), page.nextUrl()})
+                .toList());
+    }
+
+    private void setTenant(UUID tenantId) {
+        jdbcTemplate.queryForObject("SELECT set_config('app.current_tenant', ?, true)", String.class,
+                tenantId.toString());
+    }
+
+    /**
+     * @param contentHash SHA-256 (hex) of the page body
+     * @param nextUrl     next-page link found on the page, if any
+     */
+    public record PageState(String url, String etag, String lastModified, String contentHash, String nextUrl) {}
+}
@@ -0,0 +1,49 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.jobsearch.model.JobStatus;
+import com.jobagent.jobagent.jobsearch.repository.JobListingRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Per-tenant count of canonical ACTIVE jobs, cached so list pages do not run {@code count(*)} on every
+ * request.
+ *
+ * <p>Entries are tagged with the tenant's {@link JobSetVersions job set version} and recounted
+ * as soon as it changes; {@code app.search.count-cache-ttl} bounds staleness for changes that
+ * do not bump the version.
+ */
+@Component
+public class ActiveJobCounts {
+
+    private final JobListingRepository jobListingRepository;
+    private final JobSetVersions jobSetVersions;
+    private final Cache<UUID, VersionedCount> counts;
+
+    public ActiveJobCounts(JobListingRepository jobListingRepository, JobSetVersions jobSetVersions,
+                           AppProperties appProperties) {
+        this.jobListingRepository = jobListingRepository;
+        this.jobSetVersions = jobSetVersions;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(appProperties.getSearch().getCountCacheTtl())
+                .build();
+    }
+
+    public long get(UUID tenantId) {
+        long version = jobSetVersions.current(tenantId);
+        VersionedCount cached = counts.getIfPresent(tenantId);
+        if (cached != null && cached.version() == version) {
+            return cached.count();
+        }
+        long count = jobListingRepository.countByTenantIdAndStatusAndDuplicateOfIsNull(tenantId, JobStatus.ACTIVE);
+        counts.put(tenantId, new VersionedCount(version, count));
+        return count;
+    }
+
+    private record VersionedCount(long version, long count) {}
+}
@@ -0,0 +1,190 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.jobsearch.repository.JobLshRepository;
+import com.jobagent.jobagent.jobsearch.repository.JobLshRepository.BucketMatch;
+import com.jobagent.jobagent.jobsearch.repository.JobLshRepository.DuplicateLink;
+import com.jobagent.jobagent.jobsearch.repository.JobLshRepository.IndexedJob;
+import com.jobagent.jobagent.jobsearch.repository.JobLshRepository.JobText;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Near-duplicate detection for job listings: the same posting re-published under another
+ * external id or on another source is linked to the first-seen (canonical) listing through
+ * {@code job_listings.duplicate_of}, and matching and search only see canonical listings. When a
+ * canonical listing leaves ACTIVE, its oldest ACTIVE duplicate takes its place
+ * ({@link #promoteSuccessors}).
+ *
+ * <p>Listings are compared by MinHash signatures ({@link MinHasher}) of their title, company and
+ * description. The signatures are banded into per-tenant LSH buckets persisted in
+ * {@code job_lsh_buckets}, so finding the candidates for a listing is one index probe per band
+ * regardless of how many listings the tenant has; only candidates whose estimated Jaccard
+ * similarity reaches {@code app.dedup.threshold} are linked. Buckets are derived data and can be
+ * rebuilt from the listings with {@link #rebuild}.
+ */
+@Service
+@Slf4j
+public class JobDuplicateDetector {
+
+    private final JobLshRepository jobLshRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AppProperties.Dedup properties;
+    private final int rebuildBatchSize;
+    private final MinHasher minHasher;
+
+    public JobDuplicateDetector(JobLshRepository jobLshRepository, TransactionTemplate transactionTemplate,
+                                AppProperties appProperties) {
+        this.jobLshRepository = jobLshRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = appProperties.getDedup();
+        this.rebuildBatchSize = appProperties.getIngest().getBatchSize();
+        this.minHasher = new MinHasher(properties.getBands(), properties.getRows(), properties.getShingleSize());
+    }
+
+    /**
+     * Index freshly written listings and link each to its canonical listing, if it duplicates one.
+     * Listings earlier in the list (and already indexed ones) win. Must run in the transaction that
+     * wrote the listings, with the RLS tenant set.
+     *
+     * @return canonical listing id by listing id, for the listings found to be duplicates
+     */
+    public Map<UUID, UUID> index(UUID tenantId, List<JobText> jobs) {
+        if (!properties.isEnabled() || jobs.isEmpty()) {
+            return Map.of();
+        }
+        int bands = minHasher.bands();
+        List<IndexedJob> signed = new ArrayList<>(jobs.size());
+        Map<UUID, int[]> signatures = new HashMap<>();
+        short[] probeBands = new short[jobs.size() * bands];
+        long[] probeBuckets = new long[jobs.size() * bands];
+        Set<UUID> ids = new HashSet<>();
+        for (JobText job : jobs) {
+            int[] signature = minHasher.signature(text(job));
+            long[] keys = minHasher.bandKeys(signature);
+            for (int band = 0; band < bands; band++) {
+                probeBands[signed.size() * bands + band] = (short) band;
+                probeBuckets[signed.size() * bands + band] = keys[band];
+            }
+            signed.add(new IndexedJob(job.id(), MinHasher.toBytes(signature), keys));
+            signatures.put(job.id(), signature);
+            ids.add(job.id());
+        }
+
+        // Stored listings sharing any bucket with the batch, bucketed in memory together with the
+        // batch itself so duplicates within one feed batch are found too
+        Map<BandBucket, List<Candidate>> buckets = new HashMap<>();
+        for (BucketMatch match : jobLshRepository.findByBuckets(tenantId, probeBands, probeBuckets, ids)) {
+            int[] signature = MinHasher.fromBytes(match.signature());
+            UUID canonical = match.duplicateOf() != null ? match.duplicateOf() : match.jobId();
+            register(buckets, minHasher.bandKeys(signature), new Candidate(canonical, signature));
+        }
+
+        Map<UUID, UUID> duplicates = new LinkedHashMap<>();
+        List<DuplicateLink> links = new ArrayList<>(signed.size());
+        for (IndexedJob job : signed) {
+            int[] signature = signatures.get(job.jobId());
+            UUID canonical = bestMatch(buckets, job.bandKeys(), signature);
+            links.add(new DuplicateLink(job.jobId(), canonical));
+            if (canonical != null) {
+                duplicates.put(job.jobId(), canonical);
+            }
+            register(buckets, job.bandKeys(), new Candidate(canonical != null ? canonical : job.jobId(), signature));
+        }
+
+        jobLshRepository.saveAll(tenantId, signed);
+        jobLshRepository.link(tenantId, links);
+        if (!duplicates.isEmpty()) {
+            log.debug("Linked {} of {} job listings to canonical listings for tenant {}",
+                    duplicates.size(), jobs.size(), tenantId);
+        }
+        return duplicates;
+    }
+
+    /**
+     * Promote a successor for each of the given canonical listings that left ACTIVE: its oldest
+     * ACTIVE duplicate becomes canonical and takes over the other duplicates. Must run in the
+     * transaction that changed the listings' status; the caller adds the promoted listings to the
+     * skill index.
+     *
+     * @return the skills of each promoted listing, by listing id
+     */
+    public Map<UUID, List<String>> promoteSuccessors(UUID tenantId, Collection<UUID> departedIds) {
+        Map<UUID, List<String>> promoted = jobLshRepository.promoteDuplicates(tenantId, departedIds);
+        if (!promoted.isEmpty()) {
+            log.debug("Promoted {} near-duplicates to canonical listings for tenant {}", promoted.size(), tenantId);
+        }
+        return promoted;
+    }
+
+    /**
+     * Recompute a tenant's signatures, buckets and duplicate links from its ACTIVE listings,
+     * oldest first, in one transaction.
+     *
+     * @return the number of listings linked as duplicates
+     */
+    public int rebuild(UUID tenantId) {
+        Integer linked = transactionTemplate.execute(status -> {
+            jobLshRepository.clear(tenantId);
+            int count = 0;
+            int indexed = 0;
+            JobText last = null;
+            List<JobText> page;
+            do {
+                page = jobLshRepository.findActiveTexts(tenantId, last, rebuildBatchSize);
+                if (!page.isEmpty()) {
+                    count += index(tenantId, page).size();
+                    indexed += page.size();
+                    last = page.getLast();
+                }
+            } while (page.size() == rebuildBatchSize);
+            log.info("Rebuilt near-duplicate index for tenant {}: {} listings, {} duplicates", tenantId, indexed, count);
+            return count;
+        });
+        return linked == null ? 0 : linked;
+    }
+
+    private UUID bestMatch(Map<BandBucket, List<Candidate>> buckets, long[] keys, int[] signature) {
+        UUID best = null;
+        double bestSimilarity = properties.getThreshold();
+        for (int band = 0; band < keys.length; band++) {
+            for (Candidate candidate : buckets.getOrDefault(new BandBucket(band, keys[band]), List.of())) {
+                double similarity = MinHasher.similarity(signature, candidate.signature());
+                if (similarity > bestSimilarity || (best == null && similarity == bestSimilarity)) {
+                    best = candidate.canonicalId();
+                    bestSimilarity = similarity;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static void register(Map<BandBucket, List<Candidate>> buckets, long[] keys, Candidate candidate) {
+        for (int band = 0; band < keys.length; band++) {
+            buckets.computeIfAbsent(new BandBucket(band, keys[band]), key -> new ArrayList<>()).add(candidate);
+        }
+    }
+
+    private static String text(JobText job) {
+        return String.join(" ", nullToEmpty(job.title()), nullToEmpty(job.company()), nullToEmpty(job.description()));
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private record BandBucket(int band, long bucket) {}
+
+    private record Candidate(UUID canonicalId, int[] signature) {}
+}
@@ -0,0 +1,61 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import com.jobagent.jobagent.common.embedding.EmbeddingBatchQueue;
+import com.jobagent.jobagent.jobsearch.event.JobListingCreatedEvent;
+import com.jobagent.jobagent.jobsearch.model.JobListing;
+import com.jobagent.jobagent.jobsearch.repository.JobEmbeddingRepository;
+import com.jobagent.jobagent.jobsearch.repository.JobListingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.StringJoiner;
+
+/**
+ * Queues newly created job listings for embedding into {@code job_embeddings}; the
+ * {@link EmbeddingBatchQueue} batches the model calls and writes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobEmbeddingService {
+
+    private final JobListingRepository jobListingRepository;
+    private final JobEmbeddingRepository jobEmbeddingRepository;
+    private final EmbeddingBatchQueue embeddingBatchQueue;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobCreated(JobListingCreatedEvent event) {
+        try {
+            jobListingRepository.findByIdAndTenantId(event.jobId(), event.tenantId())
+                    .ifPresent(this::embed);
+        } catch (Exception e) {
+            log.warn("Failed to embed job {}: {}", event.jobId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Queue a job listing for embedding.
+     *
+     * @return false if embeddings are disabled or the queue is full
+     */
+    public boolean embed(JobListing job) {
+        return embeddingBatchQueue.submit(jobEmbeddingRepository, job.getId(), job.getTenantId(), embeddingText(job));
+    }
+
+    /**
+     * Text representing a job for semantic matching: title, skills, then description.
+     */
+    static String embeddingText(JobListing job) {
+        StringJoiner text = new StringJoiner("\n");
+        text.add(job.getTitle());
+        if (job.getSkills() != null && !job.getSkills().isEmpty()) {
+            text.add("Skills: " + String.join(", ", job.getSkills()));
+        }
+        if (job.getDescription() != null) {
+            text.add(job.getDescription());
+        }
+        return text.toString();
+    }
+}
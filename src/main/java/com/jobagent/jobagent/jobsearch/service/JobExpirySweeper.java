@@ -0,0 +1,96 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.jobsearch.event.JobsExpiredEvent;
+import com.jobagent.jobagent.jobsearch.repository.JobExpiryRepository;
+import com.jobagent.jobagent.jobsearch.repository.JobExpiryRepository.ExpiredJob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Moves ACTIVE job listings past their {@code expires_at} to EXPIRED.
+ *
+ * <p>The sweep runs in bounded batches of {@code app.expiry.batch-size}: each batch is one
+ * {@code UPDATE ... RETURNING} in its own transaction ({@link JobExpiryRepository}), so memory use
+ * and lock time stay constant however many listings are due. In the same transaction the oldest
+ * ACTIVE near-duplicate of each expired canonical listing is promoted in its place
+ * ({@link JobDuplicateDetector#promoteSuccessors}). Each batch publishes a {@link JobsExpiredEvent}
+ * per tenant, delivered after commit, on which {@link JobSkillIndex} drops the expired ids, adds
+ * the promoted ones and bumps the tenant's job set version (invalidating cached match results and
+ * active counts). The event stays on this instance; the others learn about the sweep from the
+ * version, which is shared through Redis, and rebuild their skill index when it moves past theirs.
+ */
+@Service
+@Slf4j
+public class JobExpirySweeper {
+
+    private final JobExpiryRepository jobExpiryRepository;
+    private final JobDuplicateDetector jobDuplicateDetector;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AppProperties.Expiry properties;
+    private final Counter expired;
+
+    public JobExpirySweeper(JobExpiryRepository jobExpiryRepository, JobDuplicateDetector jobDuplicateDetector,
+                            TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+                            AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.jobExpiryRepository = jobExpiryRepository;
+        this.jobDuplicateDetector = jobDuplicateDetector;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.properties = appProperties.getExpiry();
+        this.expired = Counter.builder("jobagent.jobs.expired")
+                .description("Job listings moved to EXPIRED by the sweep").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.expiry.interval}", initialDelayString = "${app.expiry.interval}")
+    public void scheduledSweep() {
+        sweep();
+    }
+
+    /**
+     * Expire every listing that is due now.
+     *
+     * @return the number of listings expired
+     */
+    public int sweep() {
+        Instant now = Instant.now();
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int total = 0;
+        int batch;
+        do {
+            Integer count = transactionTemplate.execute(status -> expireBatch(now, batchSize));
+            batch = count == null ? 0 : count;
+            total += batch;
+        } while (batch == batchSize);
+
+        if (total > 0) {
+            expired.increment(total);
+            log.info("Marked {} jobs as expired", total);
+        }
+        return total;
+    }
+
+    private int expireBatch(Instant now, int batchSize) {
+        List<ExpiredJob> rows = jobExpiryRepository.expireBatch(now, batchSize);
+        Map<UUID, List<UUID>> byTenant = new LinkedHashMap<>();
+        for (ExpiredJob row : rows) {
+            byTenant.computeIfAbsent(row.tenantId(), id -> new ArrayList<>()).add(row.jobId());
+        }
+        byTenant.forEach((tenantId, jobIds) -> eventPublisher.publishEvent(
+                new JobsExpiredEvent(tenantId, jobIds, jobDuplicateDetector.promoteSuccessors(tenantId, jobIds))));
+        return rows.size();
+    }
+}
@@ -0,0 +1,225 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jobagent.jobagent.jobsearch.dto.CreateJobRequest;
+import com.jobagent.jobagent.jobsearch.dto.IngestFormat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily parses a bulk job feed into {@link CreateJobRequest}s, one record at a time, so feeds of
+ * any size are read with constant memory. A record that cannot be parsed is returned with an
+ * error instead of failing the whole feed.
+ */
+final class JobFeedReader {
+
+    private static final Pattern SKILL_SEPARATORS = Pattern.compile("[;|]");
+
+    /** Normalized CSV header name → {@link CreateJobRequest} component name. */
+    private static final Map<String, String> FIELDS_BY_HEADER = new HashMap<>();
+
+    static {
+        for (var component : CreateJobRequest.class.getRecordComponents()) {
+            FIELDS_BY_HEADER.put(normalizeHeader(component.getName()), component.getName());
+        }
+    }
+
+    private JobFeedReader() {}
+
+    /**
+     * Records of the feed, in order. Closing the stream closes {@code in}.
+     */
+    static Stream<FeedRecord> records(InputStream in, IngestFormat format, ObjectMapper objectMapper) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Stream<FeedRecord> records = switch (format) {
+            case NDJSON -> ndjson(reader, objectMapper);
+            case CSV -> csv(reader, objectMapper);
+        };
+        return records.onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static Stream<FeedRecord> ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+        AtomicLong lineNumber = new AtomicLong();
+        return reader.lines()
+                .map(line -> new NumberedLine(lineNumber.incrementAndGet(), line))
+                .filter(line -> !line.text().isBlank())
+                .map(line -> {
+                    try {
+                        return FeedRecord.parsed(line.number(), objectMapper.readValue(line.text(), CreateJobRequest.class));
+                    } catch (JsonProcessingException e) {
+                        return FeedRecord.failed(line.number(), e.getOriginalMessage());
+                    }
+                });
+    }
+
+    private static Stream<FeedRecord> csv(BufferedReader reader, ObjectMapper objectMapper) {
+        CsvRecords csv = new CsvRecords(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return Stream.empty();
+        }
+        List<String> fields = header.stream().map(name -> FIELDS_BY_HEADER.get(normalizeHeader(name))).toList();
+
+        Iterator<FeedRecord> iterator = new Iterator<>() {
+            private List<String> values = csv.next();
+
+            @Override
+            public boolean hasNext() {
+                return values != null;
+            }
+
+            @Override
+            public FeedRecord next() {
+                if (values == null) {
+                    throw new NoSuchElementException();
+                }
+                long line = csv.recordLine();
+                FeedRecord record = toRecord(line, fields, values, objectMapper);
+                values = csv.next();
+                return record;
+            }
+        };
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private static FeedRecord toRecord(long line, List<String> fields, List<String> values, ObjectMapper objectMapper) {
+        ObjectNode node = objectMapper.createObjectNode();
+        for (int i = 0; i < Math.min(fields.size(), values.size()); i++) {
+            String field = fields.get(i);
+            String value = values.get(i).trim();
+            if (field == null || value.isEmpty()) {
+                continue;
+            }
+            if (field.equals("skills")) {
+                ArrayNode skills = node.putArray(field);
+                SKILL_SEPARATORS.splitAsStream(value).map(String::trim).filter(s -> !s.isEmpty()).forEach(skills::add);
+            } else {
+                node.put(field, value);
+            }
+        }
+        try {
+            return FeedRecord.parsed(line, objectMapper.treeToValue(node, CreateJobRequest.class));
+        } catch (JsonProcessingException e) {
+            return FeedRecord.failed(line, e.getOriginalMessage());
+        }
+    }
+
+    private static String normalizeHeader(String name) {
+        return name.replaceAll("[\\s_\\-]", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A feed record: either a parsed request or the reason it could not be parsed.
+     *
+     * @param line 1-based line on which the record starts
+     */
+    record FeedRecord(long line, CreateJobRequest request, String error) {
+
+        static FeedRecord parsed(long line, CreateJobRequest request) {
+            return new FeedRecord(line, request, null);
+        }
+
+        static FeedRecord failed(long line, String error) {
+            return new FeedRecord(line, null, error);
+        }
+    }
+
+    private record NumberedLine(long number, String text) {}
+
+    /**
+     * Minimal RFC 4180 record reader: quoted fields may contain commas, doubled quotes and line
+     * breaks. Blank lines are skipped.
+     */
+    private static final class CsvRecords {
+
+        private final BufferedReader reader;
+        private long line = 1;
+        private long recordLine;
+
+        CsvRecords(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        long recordLine() {
+            return recordLine;
+        }
+
+        List<String> next() {
+            try {
+                List<String> record;
+                do {
+                    record = read();
+                } while (record != null && record.size() == 1 && record.getFirst().isBlank());
+                return record;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private List<String> read() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        fields.add(field.toString());
+                        return fields;
+                    }
+                    if (c == '"') {
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    line++;
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+    }
+}
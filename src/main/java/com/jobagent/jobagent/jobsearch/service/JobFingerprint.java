@@ -0,0 +1,74 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import com.jobagent.jobagent.jobsearch.dto.CreateJobRequest;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+/**
+ * Content fingerprints: SHA-256 (hex) over normalized text, so that formatting-only differences
+ * (whitespace, Unicode composition, skill order, {@code 50000} vs {@code 50000.00}) do not count
+ * as a change.
+ */
+public final class JobFingerprint {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final char SEPARATOR = '\u001f';
+
+    private JobFingerprint() {}
+
+    /**
+     * Fingerprint of a listing's material fields.
+     *
+     * @param skills canonical skills (order is ignored)
+     */
+    public static String of(CreateJobRequest job, List<String> skills) {
+        StringJoiner fields = new StringJoiner(String.valueOf(SEPARATOR));
+        fields.add(text(job.title()))
+                .add(text(job.company()))
+                .add(text(job.location()))
+                .add(text(job.description()))
+                .add(text(job.requirements()))
+                .add(String.join(",", skills.stream().sorted().toList()))
+                .add(amount(job.salaryMin()))
+                .add(amount(job.salaryMax()))
+                .add(text(job.salaryCurrency()).toUpperCase(Locale.ROOT))
+                .add(Objects.toString(job.employmentType(), ""))
+                .add(Objects.toString(job.remoteType(), ""))
+                .add(text(job.sourceUrl()))
+                .add(Objects.toString(job.expiresAt(), ""));
+        return sha256(fields.toString());
+    }
+
+    /**
+     * SHA-256 (hex) of the text as-is.
+     */
+    public static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String text(String value) {
+        if (value == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(Normalizer.normalize(value, Normalizer.Form.NFC)).replaceAll(" ").trim();
+    }
+
+    private static String amount(BigDecimal value) {
+        return value == null ? "" : value.stripTrailingZeros().toPlainString();
+    }
+}
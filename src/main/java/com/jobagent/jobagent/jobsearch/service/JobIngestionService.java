@@ -0,0 +1,219 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.common.multitenancy.TenantContext;
+import com.jobagent.jobagent.common.skill.SkillDictionary;
+import com.jobagent.jobagent.jobsearch.dto.BulkIngestResult;
+import com.jobagent.jobagent.jobsearch.dto.CreateJobRequest;
+import com.jobagent.jobagent.jobsearch.dto.IngestFormat;
+import com.jobagent.jobagent.jobsearch.model.JobListing;
+import com.jobagent.jobagent.jobsearch.model.JobStatus;
+import com.jobagent.jobagent.jobsearch.repository.JobBulkLoader;
+import com.jobagent.jobagent.jobsearch.repository.JobLshRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Gatherers;
+import java.util.stream.Stream;
+
+/**
+ * Bulk job ingestion from NDJSON or CSV feeds.
+ *
+ * <p>The feed is processed as a lazy stream: parse → validate and canonicalize skills → cut into
+ * batches of {@code app.ingest.batch-size} → COPY + merge ({@link JobBulkLoader}), one transaction
+ * per batch. Only one batch is held in memory at a time, and a batch that fails leaves the
+ * batches before it committed. Listings are keyed by {@code (tenant, source, externalId)}, so
+ * re-sending a feed updates changed jobs and skips unchanged ones. Inserted and changed listings
+ * that near-duplicate another listing ({@link JobDuplicateDetector}) are linked to it in the same
+ * transaction and kept out of matching and embedding.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobIngestionService {
+
+    private static final Pattern SOURCE = Pattern.compile("[A-Za-z0-9._\\-]{1,50}");
+
+    private final JobBulkLoader jobBulkLoader;
+    private final JobDuplicateDetector jobDuplicateDetector;
+    private final SkillDictionary skillDictionary;
+    private final JobSkillIndex jobSkillIndex;
+    private final JobEmbeddingService jobEmbeddingService;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final AppProperties appProperties;
+
+    /**
+     * Ingest a feed for the current tenant.
+     *
+     * @param source feed name, part of the listings' unique key
+     */
+    public BulkIngestResult ingest(InputStream feed, IngestFormat format, String source) {
+        UUID tenantId = TenantContext.requireTenantId();
+        validateSource(source);
+        try (Stream<JobFeedReader.FeedRecord> records = JobFeedReader.records(feed, format, objectMapper)) {
+            return ingest(tenantId, source, format.name(), records);
+        }
+    }
+
+    /**
+     * Ingest already-parsed jobs for a tenant (e.g. crawl results). The stream is consumed lazily,
+     * one batch at a time.
+     */
+    public BulkIngestResult ingest(UUID tenantId, String source, Stream<CreateJobRequest> jobs) {
+        validateSource(source);
+        AtomicLong position = new AtomicLong();
+        return ingest(tenantId, source, "crawled",
+                jobs.map(job -> JobFeedReader.FeedRecord.parsed(position.incrementAndGet(), job)));
+    }
+
+    private BulkIngestResult ingest(UUID tenantId, String source, String kind, Stream<JobFeedReader.FeedRecord> records) {
+        int batchSize = Math.max(1, appProperties.getIngest().getBatchSize());
+
+        List<BulkIngestResult.BatchResult> batches = new ArrayList<>();
+        try {
+            records.map(this::stage)
+                    .gather(Gatherers.windowFixed(batchSize))
+                    .forEachOrdered(batch -> batches.add(loadBatch(tenantId, source, batches.size(), batch)));
+        } catch (RuntimeException e) {
+            log.error("Ingestion of {} feed '{}' failed after {} committed batches: {}",
+                    kind, source, batches.size(), e.getMessage());
+            throw e;
+        }
+
+        BulkIngestResult result = BulkIngestResult.of(source, batches);
+        log.info("Ingested {} feed '{}' for tenant {}: {} inserted, {} updated, {} skipped in {} batches",
+                kind, source, tenantId, result.inserted(), result.updated(), result.skipped(), batches.size());
+        return result;
+    }
+
+    private static void validateSource(String source) {
+        if (source == null || !SOURCE.matcher(source).matches()) {
+            throw new IngestException("Source must be 1-50 characters of letters, digits, '.', '_' or '-'");
+        }
+    }
+
+    /**
+     * Validation and skill normalization stage: runs per record as the feed streams through.
+     */
+    private Staged stage(JobFeedReader.FeedRecord record) {
+        if (record.error() != null) {
+            return Staged.rejected(record.line(), record.error());
+        }
+        CreateJobRequest request = record.request();
+        if (request.externalId() == null || request.externalId().isBlank()) {
+            return Staged.rejected(record.line(), "externalId is required");
+        }
+        Set<ConstraintViolation<CreateJobRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return Staged.rejected(record.line(), violations.stream()
+                    .map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; ")));
+        }
+        List<String> skills = skillDictionary.canonicalize(request.skills());
+        return Staged.accepted(new JobBulkLoader.StagedJob(
+                record.line(), request, skills, JobFingerprint.of(request, skills)));
+    }
+
+    private BulkIngestResult.BatchResult loadBatch(UUID tenantId, String source, int batchNumber, List<Staged> batch) {
+        Map<String, JobBulkLoader.StagedJob> accepted = new LinkedHashMap<>();
+        for (Staged staged : batch) {
+            if (staged.job() != null) {
+                accepted.put(staged.job().job().externalId(), staged.job());
+            } else {
+                log.debug("Skipping {} feed record at line {}: {}", source, staged.line(), staged.rejection());
+            }
+        }
+
+        Map<UUID, UUID> duplicates = new HashMap<>();
+        List<JobBulkLoader.MergedJob> merged = accepted.isEmpty() ? List.of() : transactionTemplate.execute(status -> {
+            List<JobBulkLoader.MergedJob> rows = jobBulkLoader.merge(tenantId, source, List.copyOf(accepted.values()));
+            // Only live listings take part, so an EXPIRED or FILLED row never becomes the
+            // canonical listing of an ACTIVE one
+            duplicates.putAll(jobDuplicateDetector.index(tenantId, rows.stream()
+                    .filter(row -> row.status() == JobStatus.ACTIVE)
+                    .map(row -> toText(row.id(), accepted.get(row.externalId())))
+                    .toList()));
+            Map<UUID, List<String>> activeSkills = new HashMap<>();
+            List<UUID> linked = new ArrayList<>();
+            for (JobBulkLoader.MergedJob row : rows) {
+                if (duplicates.containsKey(row.id())) {
+                    if (!row.inserted()) {
+                        linked.add(row.id());
+                    }
+                } else if (row.status() == JobStatus.ACTIVE) {
+                    activeSkills.put(row.id(), accepted.get(row.externalId()).skills());
+                }
+            }
+            jobSkillIndex.addJobs(tenantId, activeSkills);
+            jobSkillIndex.removeJobs(tenantId, linked);
+            return rows;
+        });
+
+        // After commit, so the flusher never writes an embedding for a row that is not visible yet;
+        // a full embedding queue blocks here, which throttles the feed
+        int inserted = 0;
+        for (JobBulkLoader.MergedJob row : merged) {
+            if (row.inserted()) {
+                inserted++;
+            }
+            if (!duplicates.containsKey(row.id())) {
+                jobEmbeddingService.embed(toListing(tenantId, row.id(), accepted.get(row.externalId())));
+            }
+        }
+        int updated = merged.size() - inserted;
+        return new BulkIngestResult.BatchResult(batchNumber, batch.size(), inserted, updated,
+                batch.size() - merged.size(), duplicates.size());
+    }
+
+    private static JobLshRepository.JobText toText(UUID jobId, JobBulkLoader.StagedJob staged) {
+        return new JobLshRepository.JobText(jobId, null, staged.job().title(), staged.job().company(),
+                staged.job().description());
+    }
+
+    private static JobListing toListing(UUID tenantId, UUID jobId, JobBulkLoader.StagedJob staged) {
+        return JobListing.builder()
+                .id(jobId)
+                .tenantId(tenantId)
+                .title(staged.job().title())
+                .description(staged.job().description())
+                .skills(staged.skills())
+                .build();
+    }
+
+    /**
+     * A feed record after the staging stage: accepted, or rejected with a reason.
+     */
+    private record Staged(long line, JobBulkLoader.StagedJob job, String rejection) {
+
+        static Staged accepted(JobBulkLoader.StagedJob job) {
+            return new Staged(job.line(), job, null);
+        }
+
+        static Staged rejected(long line, String reason) {
+            return new Staged(line, null, reason);
+        }
+    }
+
+    public static class IngestException extends RuntimeException {
+        public IngestException(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package com.jobagent.jobagent.jobsearch.service;
 
+import com.jobagent.jobagent.common.config.AppProperties;
 import com.jobagent.jobagent.common.exception.ResourceNotFoundException;
 import com.jobagent.jobagent.common.multitenancy.TenantContext;
+import com.jobagent.jobagent.common.skill.SkillBits;
+import com.jobagent.jobagent.common.skill.SkillDictionary;
 import com.jobagent.jobagent.cv.dto.CvParsedData;
 import com.jobagent.jobagent.cv.model.CvDetails;
 import com.jobagent.jobagent.cv.model.CvStatus;
 import com.jobagent.jobagent.cv.repository.CvDetailsRepository;
-import com.jobagent.jobagent.jobsearch.dto.JobListingResponse;
+import com.jobagent.jobagent.cv.repository.CvEmbeddingRepository;
+import com.jobagent.jobagent.jobsearch.dto.CursorPage;
+import com.jobagent.jobagent.jobsearch.dto.JobListingSummary;
 import com.jobagent.jobagent.jobsearch.dto.JobMatchScore;
+import com.jobagent.jobagent.jobsearch.dto.JobMatchView;
+import com.jobagent.jobagent.jobsearch.dto.MatchCursor;
+import com.jobagent.jobagent.jobsearch.dto.MatchMode;
 import com.jobagent.jobagent.jobsearch.model.JobListing;
-import com.jobagent.jobagent.jobsearch.model.JobStatus;
+import com.jobagent.jobagent.jobsearch.repository.JobEmbeddingRepository;
 import com.jobagent.jobagent.jobsearch.repository.JobListingRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -17,7 +25,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,44 +43,82 @@ public class JobMatchingService {
     private final JobListingRepository jobListingRepository;
     private final CvDetailsRepository cvDetailsRepository;
     private final ObjectMapper objectMapper;
+    private final JobSkillIndex jobSkillIndex;
+    private final SkillDictionary skillDictionary;
+    private final MatchResultCache matchResultCache;
+    private final JobSetVersions jobSetVersions;
+    private final JobEmbeddingRepository jobEmbeddingRepository;
+    private final CvEmbeddingRepository cvEmbeddingRepository;
+    private final AppProperties appProperties;
 
     /**
      * Get jobs matched to user's latest CV, sorted by match score.
+     *
+     * <p>The ranking is served from the {@link MatchResultCache} while neither the CV nor the
+     * tenant's job set changed; otherwise only jobs sharing at least one skill with the CV (or
+     * requiring no skills) are scored, using the tenant's {@link JobSkillIndex}. Entities are
+     * loaded only for the returned page.
      */
     public Page<JobMatchScore> getMatchedJobs(UUID userId, int minMatchPercentage, int page, int size) {
         UUID tenantId = TenantContext.requireTenantId();
 
-        // Get user's latest parsed CV
-        Set<String> userSkills = getUserSkills(userId, tenantId);
-        if (userSkills.isEmpty()) {
+        MatchRanking cached = getMatchRanking(userId, tenantId);
+        if (cached == null || cached.skills().isEmpty()) {
             log.info("No skills found for user {}, returning empty results", userId);
             return Page.empty();
         }
+        Set<String> userSkills = skillDictionary.expanded(cached.skills());
+
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        JobSkillIndex.Ranking ranking = cached.slice(minMatchPercentage, offset, size);
+        if (ranking == null) {
+            // Deeper than the cached prefix
+            JobSkillIndex.TenantIndex index = jobSkillIndex.forTenant(tenantId);
+            ranking = index.rank(skillDictionary.expandedIds(cached.skills()), minMatchPercentage, offset, size);
+            logRanking(tenantId, index, ranking);
+        }
 
-        log.debug("User {} has skills: {}", userId, userSkills);
-
-        // Get all active jobs
-        Pageable pageable = PageRequest.of(0, 1000); // Get all for matching
-        Page<JobListing> activeJobs = jobListingRepository
-                .findByTenantIdAndStatus(tenantId, JobStatus.ACTIVE, pageable);
-
-        // Calculate match scores
-        List<JobMatchScore> matchedJobs = activeJobs.getContent().stream()
-                .map(job -> calculateMatchScore(job, userSkills))
-                .filter(match -> match.matchPercentage() >= minMatchPercentage)
-                .sorted(Comparator.comparingInt(JobMatchScore::matchPercentage).reversed())
-                .toList();
+        List<JobMatchScore> pageContent = loadPage(tenantId, ranking.page(), userSkills);
+        return new PageImpl<>(pageContent, PageRequest.of(page, size), ranking.total());
+    }
 
-        // Apply pagination
-        int start = page * size;
-        int end = Math.min(start + size, matchedJobs.size());
+    /**
+     * Keyset variant of {@link #getMatchedJobs}: returns the {@code size} jobs ranked after
+     * {@code cursor} (the (score, jobId) of the previous page's last job), so deep pages only
+     * keep {@code size} entries while scoring instead of everything before them.
+     */
+    public CursorPage<JobMatchScore> getMatchedJobsAfter(UUID userId, int minMatchPercentage, String cursor, int size) {
+        UUID tenantId = TenantContext.requireTenantId();
+        MatchCursor after = MatchCursor.decode(cursor);
 
-        if (start >= matchedJobs.size()) {
-            return new PageImpl<>(List.of(), PageRequest.of(page, size), matchedJobs.size());
+        MatchRanking cached = getMatchRanking(userId, tenantId);
+        if (cached == null || cached.skills().isEmpty()) {
+            log.info("No skills found for user {}, returning empty results", userId);
+            return CursorPage.empty();
+        }
+        Set<String> userSkills = skillDictionary.expanded(cached.skills());
+
+        ScoredJob afterJob = after == null ? null : new ScoredJob(after.jobId(), after.matchPercentage());
+        JobSkillIndex.Ranking ranking = afterJob == null
+                ? cached.slice(minMatchPercentage, 0, size)
+                : cached.sliceAfter(minMatchPercentage, afterJob, size);
+        if (ranking == null) {
+            // Deeper than the cached prefix
+            JobSkillIndex.TenantIndex index = jobSkillIndex.forTenant(tenantId);
+            BitSet userSkillIds = skillDictionary.expandedIds(cached.skills());
+            ranking = afterJob == null
+                    ? index.rank(userSkillIds, minMatchPercentage, 0, size)
+                    : index.rankAfter(userSkillIds, minMatchPercentage, afterJob, size);
+            logRanking(tenantId, index, ranking);
         }
 
-        List<JobMatchScore> pageContent = matchedJobs.subList(start, end);
-        return new PageImpl<>(pageContent, PageRequest.of(page, size), matchedJobs.size());
+        String nextCursor = null;
+        if (ranking.hasMore() && !ranking.page().isEmpty()) {
+            ScoredJob last = ranking.page().getLast();
+            nextCursor = new MatchCursor(last.matchPercentage(), last.jobId()).encode();
+        }
+        List<JobMatchScore> content = loadPage(tenantId, ranking.page(), userSkills);
+        return new CursorPage<>(content, nextCursor, ranking.total());
     }
 
     /**
@@ -86,7 +131,7 @@ public class JobMatchingService {
                 .orElseThrow(() -> new ResourceNotFoundException("Job not found: " + jobId));
 
         Set<String> userSkills = getUserSkills(userId, tenantId);
-        return calculateMatchScore(job, userSkills);
+        return calculateMatchScore(JobListingSummary.from(job), job.getSkills(), userSkills);
     }
 
     /**
@@ -94,135 +139,195 @@ public class JobMatchingService {
      */
     public List<JobMatchScore> getTopMatches(UUID userId, int topN) {
         UUID tenantId = TenantContext.requireTenantId();
-        Set<String> userSkills = getUserSkills(userId, tenantId);
 
-        if (userSkills.isEmpty()) {
+        MatchRanking cached = getMatchRanking(userId, tenantId);
+        if (cached == null || cached.skills().isEmpty()) {
             return List.of();
         }
+        Set<String> userSkills = skillDictionary.expanded(cached.skills());
 
-        Pageable pageable = PageRequest.of(0, 500);
-        return jobListingRepository.findByTenantIdAndStatus(tenantId, JobStatus.ACTIVE, pageable)
-                .getContent().stream()
-                .map(job -> calculateMatchScore(job, userSkills))
-                .filter(match -> match.matchPercentage() > 0)
-                .sorted(Comparator.comparingInt(JobMatchScore::matchPercentage).reversed())
-                .limit(topN)
-                .toList();
+        JobSkillIndex.Ranking ranking = cached.slice(1, 0, topN);
+        if (ranking == null) {
+            JobSkillIndex.TenantIndex index = jobSkillIndex.forTenant(tenantId);
+            ranking = index.rank(skillDictionary.expandedIds(cached.skills()), 1, 0, topN);
+            logRanking(tenantId, index, ranking);
+        }
+        return loadPage(tenantId, ranking.page(), userSkills);
     }
 
     /**
-     * Calculate match score between a job and user skills.
+     * Get top N job matches for a user in the given mode.
+     *
+     * <p>{@link MatchMode#SEMANTIC} runs one tenant-filtered ANN query over {@code job_embeddings}
+     * (HNSW) with the CV's embedding, then re-ranks those candidates by a blend of vector
+     * similarity and skill overlap. Falls back to skill matching while the CV has no embedding.
      */
-    private JobMatchScore calculateMatchScore(JobListing job, Set<String> userSkills) {
-        List<String> jobSkills = job.getSkills();
-
-        if (jobSkills == null || jobSkills.isEmpty()) {
-            // No skills required = 100% match (or could return 0)
-            return JobMatchScore.builder()
-                    .jobId(job.getId())
-                    .title(job.getTitle())
-                    .company(job.getCompany())
-                    .location(job.getLocation())
-                    .matchPercentage(100)
-                    .matchedSkills(List.of())
-                    .missingSkills(List.of())
-                    .job(JobListingResponse.from(job))
-                    .build();
+    public List<JobMatchScore> getTopMatches(UUID userId, int topN, MatchMode mode) {
+        if (mode != MatchMode.SEMANTIC) {
+            return getTopMatches(userId, topN);
         }
+        UUID tenantId = TenantContext.requireTenantId();
 
-        // Normalize job skills for comparison
-        Set<String> normalizedJobSkills = jobSkills.stream()
-                .map(String::toLowerCase)
-                .map(String::trim)
-                .collect(Collectors.toSet());
+        Optional<UUID> cvId = cvDetailsRepository.findLatestIdByUserIdAndTenantIdAndStatus(
+                userId, tenantId, CvStatus.PARSED);
+        if (cvId.isEmpty()) {
+            return List.of();
+        }
+        Optional<String> cvVector = cvEmbeddingRepository.findVectorLiteral(cvId.get(), tenantId);
+        if (cvVector.isEmpty()) {
+            log.debug("No embedding for CV {} yet, using skill matching", cvId.get());
+            return getTopMatches(userId, topN);
+        }
 
-        // Find matches
-        List<String> matched = normalizedJobSkills.stream()
-                .filter(skill -> containsSkill(userSkills, skill))
-                .toList();
+        AppProperties.Matching.Semantic semantic = appProperties.getMatching().getSemantic();
+        int candidates = Math.max(topN, semantic.getCandidates());
+        List<JobEmbeddingRepository.JobSimilarity> nearest = jobEmbeddingRepository.findNearestActive(
+                tenantId, cvVector.get(), candidates, Math.max(semantic.getEfSearch(), candidates),
+                semantic.isIterativeScan());
+        if (nearest.isEmpty()) {
+            return List.of();
+        }
 
-        List<String> missing = normalizedJobSkills.stream()
-                .filter(skill -> !containsSkill(userSkills, skill))
-                .toList();
+        Set<String> userSkills = cvDetailsRepository.findById(cvId.get())
+                .map(cv -> skillDictionary.expanded(parseSkills(cv, userId)))
+                .orElseGet(Set::of);
+        Map<UUID, Double> similarities = nearest.stream().collect(Collectors.toMap(
+                JobEmbeddingRepository.JobSimilarity::jobId, JobEmbeddingRepository.JobSimilarity::similarity));
 
-        // Calculate percentage
-        int percentage = (int) Math.round(
-                (double) matched.size() / normalizedJobSkills.size() * 100
-        );
+        return jobListingRepository.findActiveMatchViewsByTenantIdAndIdIn(tenantId, similarities.keySet()).stream()
+                .map(job -> blend(calculateMatchScore(job, userSkills), similarities.get(job.id()), semantic.getWeight()))
+                .sorted(Comparator.comparingInt(JobMatchScore::matchPercentage).reversed()
+                        .thenComparing(JobMatchScore::jobId))
+                .limit(topN)
+                .toList();
+    }
 
-        return JobMatchScore.builder()
-                .jobId(job.getId())
-                .title(job.getTitle())
-                .company(job.getCompany())
-                .location(job.getLocation())
-                .matchPercentage(percentage)
-                .matchedSkills(matched)
-                .missingSkills(missing)
-                .job(JobListingResponse.from(job))
+    /**
+     * Replace the skill percentage with {@code weight * similarity + (1 - weight) * skills}.
+     */
+    private static JobMatchScore blend(JobMatchScore skillScore, double similarity, double weight) {
+        int semanticPercentage = (int) Math.round(Math.max(0, similarity) * 100);
+        int blended = (int) Math.round(weight * semanticPercentage + (1 - weight) * skillScore.matchPercentage());
+        return skillScore.toBuilder()
+                .matchPercentage(blended)
+                .semanticSimilarity(semanticPercentage)
                 .build();
     }
 
     /**
-     * Check if user has a skill (with fuzzy matching).
+     * Ranking of the user's latest parsed CV against the tenant's current job set, from the
+     * cache or freshly computed (top {@link MatchResultCache#maxRankedJobs()} jobs plus a score
+     * histogram). Returns {@code null} if the user has no parsed CV.
      */
-    private boolean containsSkill(Set<String> userSkills, String requiredSkill) {
-        String normalized = requiredSkill.toLowerCase().trim();
+    private MatchRanking getMatchRanking(UUID userId, UUID tenantId) {
+        Optional<UUID> cvId = cvDetailsRepository.findLatestIdByUserIdAndTenantIdAndStatus(
+                userId, tenantId, CvStatus.PARSED);
+        if (cvId.isEmpty()) {
+            log.debug("No parsed CV found for user {}", userId);
+            return null;
+        }
 
-        // Exact match
-        if (userSkills.contains(normalized)) {
-            return true;
+        // Read the version before ranking and rank on an index covering it (computeRanking), so a
+        // ranking is never stored under a version newer than the data it was computed from
+        long jobSetVersion = jobSetVersions.current(tenantId);
+        MatchResultCache.MatchKey key = new MatchResultCache.MatchKey(tenantId, userId, cvId.get(), jobSetVersion);
+
+        Optional<MatchRanking> cached = matchResultCache.get(key);
+        if (cached.isPresent()) {
+            log.debug("Match cache hit for user {}", userId);
+            return cached.get();
         }
 
-        // Partial match (e.g., "java" matches "java 11", "spring" matches "spring boot")
-        for (String userSkill : userSkills) {
-            if (userSkill.contains(normalized) || normalized.contains(userSkill)) {
-                return true;
-            }
+        List<String> skills = cvDetailsRepository.findById(cvId.get())
+                .map(cv -> parseSkills(cv, userId))
+                .orElse(List.of());
+        MatchRanking ranking = computeRanking(tenantId, cvId.get(), jobSetVersion, skills);
+        matchResultCache.put(key, ranking);
+        return ranking;
+    }
+
+    private MatchRanking computeRanking(UUID tenantId, UUID cvId, long jobSetVersion, List<String> skills) {
+        int[] histogram = new int[MatchRanking.SCORE_BUCKETS];
+        if (skills.isEmpty()) {
+            return new MatchRanking(cvId, jobSetVersion, skills, new UUID[0], new byte[0], histogram);
+        }
+
+        // Stored under jobSetVersion, so rank on an index that has caught up to it
+        JobSkillIndex.TenantIndex index = jobSkillIndex.forTenant(tenantId, jobSetVersion);
+        JobSkillIndex.Ranking ranking = index.rankWithHistogram(
+                skillDictionary.expandedIds(skills), matchResultCache.maxRankedJobs(), histogram);
+        logRanking(tenantId, index, ranking);
+
+        UUID[] jobIds = new UUID[ranking.page().size()];
+        byte[] scores = new byte[jobIds.length];
+        for (int i = 0; i < jobIds.length; i++) {
+            jobIds[i] = ranking.page().get(i).jobId();
+            scores[i] = (byte) ranking.page().get(i).matchPercentage();
         }
+        return new MatchRanking(cvId, jobSetVersion, skills, jobIds, scores, histogram);
+    }
 
-        // Common aliases
-        return matchesAlias(userSkills, normalized);
+    private void logRanking(UUID tenantId, JobSkillIndex.TenantIndex index, JobSkillIndex.Ranking ranking) {
+        log.debug("Scored {} candidate jobs out of {} indexed for tenant {}, {} above threshold",
+                ranking.scored(), index.size(), tenantId, ranking.total());
     }
 
     /**
-     * Check for common skill aliases.
+     * Load summaries and skills for one page of ranked jobs and build match results, preserving
+     * rank order. Jobs that are no longer ACTIVE or canonical are dropped.
      */
-    private boolean matchesAlias(Set<String> userSkills, String skill) {
-        Map<String, List<String>> aliases = Map.of(
-                "javascript", List.of("js", "ecmascript"),
-                "typescript", List.of("ts"),
-                "kubernetes", List.of("k8s"),
-                "postgresql", List.of("postgres", "psql"),
-                "mongodb", List.of("mongo"),
-                "springboot", List.of("spring boot", "spring-boot"),
-                "reactjs", List.of("react", "react.js"),
-                "nodejs", List.of("node", "node.js"),
-                "aws", List.of("amazon web services"),
-                "gcp", List.of("google cloud", "google cloud platform")
-        );
-
-        // Check if skill is an alias
-        for (Map.Entry<String, List<String>> entry : aliases.entrySet()) {
-            String canonical = entry.getKey();
-            List<String> aliasList = entry.getValue();
-
-            boolean skillIsCanonical = skill.equals(canonical);
-            boolean skillIsAlias = aliasList.stream().anyMatch(a -> a.equalsIgnoreCase(skill));
-
-            if (skillIsCanonical || skillIsAlias) {
-                // Check if user has canonical or any alias
-                if (userSkills.contains(canonical)) return true;
-                for (String alias : aliasList) {
-                    if (userSkills.contains(alias.toLowerCase())) return true;
-                }
+    private List<JobMatchScore> loadPage(UUID tenantId, List<ScoredJob> ranked, Set<String> userSkills) {
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> ids = ranked.stream().map(ScoredJob::jobId).toList();
+        Map<UUID, JobMatchView> jobsById = jobListingRepository.findActiveMatchViewsByTenantIdAndIdIn(tenantId, ids).stream()
+                .collect(Collectors.toMap(JobMatchView::id, job -> job));
+
+        return ids.stream()
+                .map(jobsById::get)
+                .filter(Objects::nonNull)
+                .map(job -> calculateMatchScore(job, userSkills))
+                .toList();
+    }
+
+    /**
+     * Calculate match score between a job and the user's expanded canonical skills.
+     */
+    private JobMatchScore calculateMatchScore(JobMatchView job, Set<String> userSkills) {
+        return calculateMatchScore(job.summary(), job.skills(), userSkills);
+    }
+
+    private JobMatchScore calculateMatchScore(JobListingSummary job, List<String> skills, Set<String> userSkills) {
+        List<String> jobSkills = skillDictionary.canonicalize(skills);
+
+        List<String> matched = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (String skill : jobSkills) {
+            if (userSkills.contains(skill)) {
+                matched.add(skill);
+            } else {
+                missing.add(skill);
             }
         }
 
-        return false;
+        int percentage = SkillBits.matchPercentage(matched.size(), jobSkills.size());
+
+        return JobMatchScore.builder()
+                .jobId(job.id())
+                .title(job.title())
+                .company(job.company())
+                .location(job.location())
+                .matchPercentage(percentage)
+                .matchedSkills(matched)
+                .missingSkills(missing)
+                .job(job)
+                .build();
     }
 
     /**
-     * Extract skills from user's latest parsed CV.
+     * Extract canonical skills (including implied skills) from user's latest parsed CV.
      */
     private Set<String> getUserSkills(UUID userId, UUID tenantId) {
         Optional<CvDetails> latestCv = cvDetailsRepository
@@ -234,28 +339,25 @@ public class JobMatchingService {
             return Set.of();
         }
 
-        CvDetails cv = latestCv.get();
+        return skillDictionary.expanded(parseSkills(latestCv.get(), userId));
+    }
+
+    /**
+     * Canonical skills from a CV's parsed JSON (empty if missing or unreadable).
+     */
+    private List<String> parseSkills(CvDetails cv, UUID userId) {
         String parsedJson = cv.getParsedJson();
 
         if (parsedJson == null || parsedJson.isBlank()) {
-            return Set.of();
+            return List.of();
         }
 
         try {
             CvParsedData parsed = objectMapper.readValue(parsedJson, CvParsedData.class);
-            List<String> skills = parsed.skills();
-
-            if (skills == null || skills.isEmpty()) {
-                return Set.of();
-            }
-
-            return skills.stream()
-                    .map(String::toLowerCase)
-                    .map(String::trim)
-                    .collect(Collectors.toSet());
+            return skillDictionary.canonicalize(parsed.skills());
         } catch (Exception e) {
             log.error("Failed to parse CV JSON for user {}: {}", userId, e.getMessage());
-            return Set.of();
+            return List.of();
         }
     }
 }
@@ -1,26 +1,44 @@
 package com.jobagent.jobagent.jobsearch.service;
 
+import com.jobagent.jobagent.common.embedding.TextEmbedder;
 import com.jobagent.jobagent.common.exception.ResourceNotFoundException;
 import com.jobagent.jobagent.common.multitenancy.TenantContext;
+import com.jobagent.jobagent.common.skill.SkillDictionary;
 import com.jobagent.jobagent.jobsearch.dto.CreateJobRequest;
+import com.jobagent.jobagent.jobsearch.dto.CursorPage;
 import com.jobagent.jobagent.jobsearch.dto.JobListingResponse;
+import com.jobagent.jobagent.jobsearch.dto.JobListingSummary;
 import com.jobagent.jobagent.jobsearch.dto.JobSearchRequest;
+import com.jobagent.jobagent.jobsearch.dto.ListingCursor;
+import com.jobagent.jobagent.jobsearch.dto.SearchCursor;
+import com.jobagent.jobagent.jobsearch.event.JobListingCreatedEvent;
 import com.jobagent.jobagent.jobsearch.model.JobListing;
 import com.jobagent.jobagent.jobsearch.model.JobStatus;
+import com.jobagent.jobagent.jobsearch.repository.HybridSearchRepository;
 import com.jobagent.jobagent.jobsearch.repository.JobListingRepository;
+import com.jobagent.jobagent.jobsearch.repository.JobListingSpecifications;
+import com.jobagent.jobagent.jobsearch.repository.JobLshRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Sprint 5.5 — Service for job search operations.
@@ -31,45 +49,124 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class JobSearchService {
 
+    /** Keyset order; matches idx_job_tenant_status_created_id. */
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.asc("id"));
+
     private final JobListingRepository jobListingRepository;
+    private final JobSkillIndex jobSkillIndex;
+    private final SkillDictionary skillDictionary;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HybridSearchRepository hybridSearchRepository;
+    private final TextEmbedder textEmbedder;
+    private final ActiveJobCounts activeJobCounts;
+    private final JobDuplicateDetector jobDuplicateDetector;
 
     /**
      * Get all active jobs for current tenant with pagination.
      */
-    public Page<JobListingResponse> getActiveJobs(int page, int size) {
+    public Page<JobListingSummary> getActiveJobs(int page, int size) {
         UUID tenantId = TenantContext.requireTenantId();
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
 
-        return jobListingRepository.findByTenantIdAndStatus(tenantId, JobStatus.ACTIVE, pageable)
-                .map(JobListingResponse::from);
+        return jobListingRepository.findSummariesByTenantIdAndStatusAndDuplicateOfIsNull(
+                tenantId, JobStatus.ACTIVE, pageable);
+    }
+
+    /**
+     * Keyset page of active jobs after the given cursor (blank for the first page). The total is
+     * the tenant's cached active job count.
+     */
+    public CursorPage<JobListingSummary> getActiveJobsAfter(String cursor, int size) {
+        UUID tenantId = TenantContext.requireTenantId();
+        ListingCursor after = ListingCursor.decode(cursor);
+
+        List<JobListingSummary> jobs = after == null
+                ? jobListingRepository.findSummariesByTenantIdAndStatusAndDuplicateOfIsNullOrderByCreatedAtDescIdAsc(
+                        tenantId, JobStatus.ACTIVE, Limit.of(size + 1))
+                : jobListingRepository.findSummariesAfter(
+                        tenantId, JobStatus.ACTIVE, after.createdAt(), after.jobId(), Limit.of(size + 1));
+        return toCursorPage(jobs, size, activeJobCounts.get(tenantId));
     }
 
     /**
      * Search jobs with filters.
      */
-    public Page<JobListingResponse> searchJobs(JobSearchRequest request) {
+    public Page<JobListingSummary> searchJobs(JobSearchRequest request) {
         UUID tenantId = TenantContext.requireTenantId();
+
+        // Full-text search if keyword is provided (ordering is part of the native query)
+        if (request.keyword() != null && !request.keyword().isBlank()) {
+            Page<UUID> ids = jobListingRepository.fullTextSearch(
+                    tenantId, request.keyword(), PageRequest.of(request.page(), request.size()));
+            return new PageImpl<>(loadSummaries(tenantId, ids.getContent()), ids.getPageable(), ids.getTotalElements());
+        }
+
+        // Filtered search: only the criteria present become predicates
         Pageable pageable = PageRequest.of(
                 request.page(),
                 request.size(),
                 Sort.by(Sort.Direction.DESC, "createdAt")
         );
+        return jobListingRepository.findSummaries(
+                JobListingSpecifications.search(tenantId, JobStatus.ACTIVE, request), pageable);
+    }
+
+    /**
+     * Keyset variant of {@link #searchJobs}: newest first, paginated by an opaque (createdAt, id)
+     * cursor instead of {@code page}. No count query is run; {@code totalElements} is -1.
+     */
+    public CursorPage<JobListingSummary> searchJobsAfter(JobSearchRequest request, String cursor) {
+        UUID tenantId = TenantContext.requireTenantId();
+        ListingCursor after = ListingCursor.decode(cursor);
+        int limit = request.size() + 1;
 
-        // Full-text search if keyword is provided
+        List<JobListingSummary> jobs;
         if (request.keyword() != null && !request.keyword().isBlank()) {
-            return jobListingRepository.fullTextSearch(tenantId, request.keyword(), pageable)
-                    .map(JobListingResponse::from);
+            List<UUID> ids = jobListingRepository.fullTextSearchPage(tenantId, request.keyword(),
+                    after != null ? after.createdAt() : null, after != null ? after.jobId() : null, limit);
+            jobs = loadSummaries(tenantId, ids);
+        } else {
+            Specification<JobListing> spec = JobListingSpecifications.search(tenantId, JobStatus.ACTIVE, request);
+            if (after != null) {
+                spec = spec.and(JobListingSpecifications.after(after));
+            }
+            jobs = jobListingRepository.findSummaries(spec, KEYSET_SORT, limit);
         }
+        return toCursorPage(jobs, request.size(), -1);
+    }
+
+    /**
+     * Relevance-ranked keyword search fusing full-text rank with embedding similarity (RRF),
+     * paginated by an opaque (score, id) cursor. Falls back to keyword ranking alone when no
+     * embedding model is configured.
+     */
+    public CursorPage<JobListingSummary> hybridSearch(String keyword, String cursor, int size) {
+        UUID tenantId = TenantContext.requireTenantId();
+        SearchCursor after = SearchCursor.decode(cursor);
+        if (keyword == null || keyword.isBlank()) {
+            return CursorPage.empty();
+        }
+
+        String queryVector = embedQuery(keyword);
+        HybridSearchRepository.HybridPage result =
+                hybridSearchRepository.search(tenantId, keyword, queryVector, after, size + 1);
+        List<HybridSearchRepository.HybridHit> hits = result.hits();
+        boolean hasMore = hits.size() > size;
+        if (hasMore) {
+            hits = hits.subList(0, size);
+        }
+
+        List<JobListingSummary> content = loadSummaries(tenantId,
+                hits.stream().map(HybridSearchRepository.HybridHit::jobId).toList());
 
-        // Advanced search with multiple criteria
-        return jobListingRepository.advancedSearch(
-                tenantId,
-                JobStatus.ACTIVE,
-                request.title(),
-                request.company(),
-                request.location(),
-                pageable
-        ).map(JobListingResponse::from);
+        String nextCursor = null;
+        if (hasMore) {
+            HybridSearchRepository.HybridHit last = hits.get(hits.size() - 1);
+            nextCursor = new SearchCursor(last.score(), last.jobId()).encode();
+        }
+        log.debug("Hybrid search '{}' ({}): {} of {} fused results",
+                keyword, queryVector != null ? "keyword+vector" : "keyword only", content.size(), result.total());
+        return new CursorPage<>(content, nextCursor, result.total());
     }
 
     /**
@@ -108,6 +205,7 @@ public class JobSearchService {
             }
         }
 
+        List<String> skills = normalizeSkills(request.skills());
         JobListing job = JobListing.builder()
                 .tenantId(tenantId)
                 .title(request.title())
@@ -115,7 +213,7 @@ public class JobSearchService {
                 .location(request.location())
                 .description(request.description())
                 .requirements(request.requirements())
-                .skills(normalizeSkills(request.skills()))
+                .skills(skills)
                 .salaryMin(request.salaryMin())
                 .salaryMax(request.salaryMax())
                 .salaryCurrency(request.salaryCurrency())
@@ -124,11 +222,24 @@ public class JobSearchService {
                 .sourceUrl(request.sourceUrl())
                 .externalId(request.externalId())
                 .expiresAt(request.expiresAt())
+                .contentHash(JobFingerprint.of(request, skills))
                 .status(JobStatus.ACTIVE)
                 .build();
 
-        JobListing saved = jobListingRepository.save(job);
-        log.info("Created job listing: {} at {}", saved.getTitle(), saved.getCompany());
+        // Flushed so the near-duplicate index can reference the row
+        JobListing saved = jobListingRepository.saveAndFlush(job);
+        UUID canonicalId = jobDuplicateDetector.index(tenantId, List.of(new JobLshRepository.JobText(
+                saved.getId(), saved.getCreatedAt(), saved.getTitle(), saved.getCompany(), saved.getDescription())))
+                .get(saved.getId());
+        if (canonicalId == null) {
+            jobSkillIndex.addJob(tenantId, saved.getId(), saved.getSkills());
+            eventPublisher.publishEvent(new JobListingCreatedEvent(tenantId, saved.getId()));
+            log.info("Created job listing: {} at {}", saved.getTitle(), saved.getCompany());
+        } else {
+            saved.setDuplicateOf(canonicalId);
+            log.info("Created job listing: {} at {} (near-duplicate of {})",
+                    saved.getTitle(), saved.getCompany(), canonicalId);
+        }
 
         return JobListingResponse.from(saved);
     }
@@ -146,27 +257,33 @@ public class JobSearchService {
         job.setStatus(newStatus);
         JobListing saved = jobListingRepository.save(job);
 
+        if (newStatus == JobStatus.ACTIVE && saved.getDuplicateOf() == null) {
+            jobSkillIndex.addJob(tenantId, saved.getId(), saved.getSkills());
+        } else {
+            jobSkillIndex.removeJob(tenantId, saved.getId());
+            if (saved.getDuplicateOf() == null) {
+                // A canonical listing left ACTIVE: its oldest ACTIVE duplicate takes its place
+                jobSkillIndex.addJobs(tenantId,
+                        jobDuplicateDetector.promoteSuccessors(tenantId, List.of(saved.getId())));
+            }
+        }
+
         log.info("Updated job {} status to {}", jobId, newStatus);
         return JobListingResponse.from(saved);
     }
 
     /**
-     * Mark expired jobs as expired (scheduled task).
+     * Recompute the current tenant's near-duplicate links from scratch, then drop its skill index
+     * so matching picks up the new canonical set.
+     *
+     * @return the number of listings linked as duplicates
      */
-    @Transactional
-    public int markExpiredJobs() {
-        List<JobListing> expiredJobs = jobListingRepository.findExpiredJobs(Instant.now());
-
-        for (JobListing job : expiredJobs) {
-            job.setStatus(JobStatus.EXPIRED);
-        }
-
-        if (!expiredJobs.isEmpty()) {
-            jobListingRepository.saveAll(expiredJobs);
-            log.info("Marked {} jobs as expired", expiredJobs.size());
-        }
-
-        return expiredJobs.size();
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuildDuplicateIndex() {
+        UUID tenantId = TenantContext.requireTenantId();
+        int duplicates = jobDuplicateDetector.rebuild(tenantId);
+        jobSkillIndex.evict(tenantId);
+        return duplicates;
     }
 
     /**
@@ -174,18 +291,46 @@ public class JobSearchService {
      */
     public long countActiveJobs() {
         UUID tenantId = TenantContext.requireTenantId();
-        return jobListingRepository.countByTenantIdAndStatus(tenantId, JobStatus.ACTIVE);
+        return activeJobCounts.get(tenantId);
+    }
+
+    /**
+     * Trim a {@code size + 1} keyset fetch to a page, with a cursor when the extra row exists.
+     */
+    private CursorPage<JobListingSummary> toCursorPage(List<JobListingSummary> jobs, int size, long total) {
+        if (jobs.size() <= size) {
+            return new CursorPage<>(jobs, null, total);
+        }
+        List<JobListingSummary> page = jobs.subList(0, size);
+        JobListingSummary last = page.get(size - 1);
+        return new CursorPage<>(List.copyOf(page), new ListingCursor(last.createdAt(), last.id()).encode(), total);
+    }
+
+    /**
+     * Load summaries for a page of job ids, preserving the ids' order.
+     */
+    private List<JobListingSummary> loadSummaries(UUID tenantId, List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, JobListingSummary> byId = jobListingRepository.findSummariesByTenantIdAndIdIn(tenantId, ids).stream()
+                .collect(Collectors.toMap(JobListingSummary::id, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private String embedQuery(String keyword) {
+        try {
+            return textEmbedder.embed(keyword).map(TextEmbedder::toVectorLiteral).orElse(null);
+        } catch (Exception e) {
+            log.warn("Failed to embed search query, using keyword ranking only: {}", e.getMessage());
+            return null;
+        }
     }
 
     /**
-     * Normalize skills to lowercase for consistent matching.
+     * Normalize skills to their canonical names (aliases, versions, case) for consistent matching.
      */
     private List<String> normalizeSkills(List<String> skills) {
-        if (skills == null) return List.of();
-        return skills.stream()
-                .filter(s -> s != null && !s.isBlank())
-                .map(s -> s.trim().toLowerCase())
-                .distinct()
-                .toList();
+        return skillDictionary.canonicalize(skills);
     }
 }
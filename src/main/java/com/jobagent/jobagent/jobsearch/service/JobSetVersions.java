@@ -0,0 +1,69 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-tenant job set version, bumped whenever the set of ACTIVE jobs (or their skills) changes.
+ *
+ * <p>Versions live in Redis ({@code INCR}), so a change made on any instance retires the match
+ * results every instance cached under an older version. The data behind a version is not
+ * shared: each instance's {@link JobSkillIndex} records the version it reflects and is rebuilt
+ * when Redis is ahead, so a ranking is only cached under a version its index has caught up to.
+ * When Redis is unreachable a process-local counter is used instead, which keeps a single
+ * instance consistent.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobSetVersions {
+
+    private static final String KEY_PREFIX = "jobagent:jobset-version:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final Map<UUID, AtomicLong> localVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Current version for a tenant.
+     */
+    public long current(UUID tenantId) {
+        try {
+            String value = redisTemplate.opsForValue().get(KEY_PREFIX + tenantId);
+            return value == null ? 0 : Long.parseLong(value);
+        } catch (RuntimeException e) {
+            log.debug("Redis unavailable, using local job set version for tenant {}: {}", tenantId, e.getMessage());
+            // Negative, so fallback versions never collide with the ones issued by Redis
+            return -localVersion(tenantId).get() - 1;
+        }
+    }
+
+    /**
+     * Invalidate all match results computed for the tenant's current job set.
+     *
+     * @return the new version, as {@link #current} would return it
+     */
+    public long bump(UUID tenantId) {
+        long local = localVersion(tenantId).incrementAndGet();
+        try {
+            Long version = redisTemplate.opsForValue().increment(KEY_PREFIX + tenantId);
+            if (version != null) {
+                return version;
+            }
+        } catch (RuntimeException e) {
+            log.debug("Redis unavailable, bumped local job set version for tenant {}: {}", tenantId, e.getMessage());
+        }
+        return -local - 1;
+    }
+
+    private AtomicLong localVersion(UUID tenantId) {
+        return localVersions.computeIfAbsent(tenantId, id -> new AtomicLong());
+    }
+}
@@ -0,0 +1,463 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import com.jobagent.jobagent.common.skill.SkillBits;
+import com.jobagent.jobagent.common.skill.SkillDictionary;
+import com.jobagent.jobagent.common.skill.SkillDictionaryReloadedEvent;
+import com.jobagent.jobagent.jobsearch.dto.JobSkillsView;
+import com.jobagent.jobagent.jobsearch.event.JobsExpiredEvent;
+import com.jobagent.jobagent.jobsearch.model.JobStatus;
+import com.jobagent.jobagent.jobsearch.repository.JobListingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory, per-tenant inverted index of ACTIVE job listings by skill.
+ *
+ * <p>Each tenant index maps a canonical skill id ({@link SkillDictionary}) to the posting list
+ * of jobs requiring it, plus a per-job skill bitset used for popcount scoring. A tenant
+ * index is built lazily from the database on first use and then kept current by
+ * {@link JobSearchService} (create, status change), bulk ingestion and the expiry sweep
+ * ({@link JobsExpiredEvent}). Mutations are applied after the surrounding
+ * transaction commits so rolled-back writes never become visible to matching, and each one bumps
+ * the tenant's {@link JobSetVersions job set version} so cached match results are not reused.
+ *
+ * <p>Every tenant index records the job set version it reflects: the version read just before
+ * its snapshot was loaded, advanced by the mutations applied to it while no other change was
+ * counted in between. An index behind the current version (a change it missed, for instance
+ * one committed while it was loading) is rebuilt on next use. Loads run outside the tenant map
+ * under a per-tenant lock, so concurrent readers of one tenant share a single query and other
+ * tenants are never blocked.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobSkillIndex {
+
+    private final JobListingRepository jobListingRepository;
+    private final SkillDictionary skillDictionary;
+    private final JobSetVersions jobSetVersions;
+    private final ParallelMatchScoring parallelScoring;
+
+    private final Map<UUID, TenantIndex> tenants = new ConcurrentHashMap<>();
+    private final Map<UUID, Object> loadLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Get the index for a tenant, (re)building it from the database if it is not loaded or is
+     * behind the tenant's current job set version.
+     */
+    public TenantIndex forTenant(UUID tenantId) {
+        return forTenant(tenantId, jobSetVersions.current(tenantId));
+    }
+
+    /**
+     * Get an index for a tenant that reflects at least job set {@code version}.
+     */
+    public TenantIndex forTenant(UUID tenantId, long version) {
+        TenantIndex index = tenants.get(tenantId);
+        if (index != null && index.covers(version)) {
+            return index;
+        }
+        synchronized (loadLocks.computeIfAbsent(tenantId, id -> new Object())) {
+            index = tenants.get(tenantId);
+            if (index == null || !index.covers(version)) {
+                index = load(tenantId);
+                tenants.put(tenantId, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Register an ACTIVE job (or replace its skills) once the current transaction commits.
+     */
+    public void addJob(UUID tenantId, UUID jobId, List<String> skills) {
+        afterCommit(() -> applyNow(tenantId, index -> index.put(jobId, skillDictionary.ids(skills))));
+    }
+
+    /**
+     * Register (or replace) many ACTIVE jobs once the current transaction commits, with a single
+     * version bump for the whole batch.
+     */
+    public void addJobs(UUID tenantId, Map<UUID, List<String>> skillsByJob) {
+        if (skillsByJob.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> applyNow(tenantId,
+                index -> skillsByJob.forEach((jobId, skills) -> index.put(jobId, skillDictionary.ids(skills)))));
+    }
+
+    /**
+     * Remove a job (no longer ACTIVE) once the current transaction commits.
+     */
+    public void removeJob(UUID tenantId, UUID jobId) {
+        afterCommit(() -> applyNow(tenantId, index -> index.remove(jobId)));
+    }
+
+    /**
+     * Remove many jobs (no longer ACTIVE, or now near-duplicates) once the current transaction
+     * commits, with a single version bump.
+     */
+    public void removeJobs(UUID tenantId, Collection<UUID> jobIds) {
+        if (jobIds.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> removeNow(tenantId, jobIds));
+    }
+
+    /**
+     * Drop listings the expiry sweep moved to EXPIRED and register the duplicates promoted in their
+     * place; delivered after the sweep batch commits.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobsExpired(JobsExpiredEvent event) {
+        applyNow(event.tenantId(), index -> {
+            event.jobIds().forEach(index::remove);
+            event.promoted().forEach((jobId, skills) -> index.put(jobId, skillDictionary.ids(skills)));
+        });
+    }
+
+    private void removeNow(UUID tenantId, Collection<UUID> jobIds) {
+        applyNow(tenantId, index -> jobIds.forEach(index::remove));
+    }
+
+    /**
+     * Apply a committed change to the tenant's index (if loaded) and bump the job set version.
+     * The index only advances to the new version if it was at the one right before; otherwise it
+     * missed a change and is rebuilt on next use.
+     */
+    private void applyNow(UUID tenantId, Consumer<TenantIndex> mutation) {
+        TenantIndex index = tenants.get(tenantId);
+        if (index != null) {
+            mutation.accept(index);
+        }
+        long version = jobSetVersions.bump(tenantId);
+        if (index != null) {
+            index.advance(version);
+        }
+    }
+
+    /**
+     * Drop a tenant's index; it is rebuilt on next use, and cached match results are invalidated.
+     */
+    public void evict(UUID tenantId) {
+        tenants.remove(tenantId);
+        jobSetVersions.bump(tenantId);
+    }
+
+    /**
+     * Alias mappings changed, so stored skills may now resolve to different ids.
+     */
+    @EventListener(SkillDictionaryReloadedEvent.class)
+    public void evictAll() {
+        tenants.keySet().forEach(jobSetVersions::bump);
+        tenants.clear();
+        log.info("Skill dictionary reloaded, dropped all tenant skill indexes");
+    }
+
+    private TenantIndex load(UUID tenantId) {
+        // Read before the snapshot: every change counted up to this version has already committed
+        long version = jobSetVersions.current(tenantId);
+        List<JobSkillsView> rows = jobListingRepository.findSkillsByTenantIdAndStatus(tenantId, JobStatus.ACTIVE);
+        TenantIndex index = new TenantIndex(parallelScoring, version);
+        for (JobSkillsView row : rows) {
+            index.put(row.id(), skillDictionary.ids(row.skills()));
+        }
+        log.info("Built skill index for tenant {} at job set version {}: {} jobs, {} distinct skills",
+                tenantId, version, index.size(), index.vocabularySize());
+        return index;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Skill postings and per-job skill bitsets for a single tenant.
+     *
+     * <p>Jobs are assigned dense ordinals (reused after removal). Each job's skills are kept as a
+     * {@code long[]} bitset over canonical skill ids, and each skill's posting list is a
+     * {@link BitSet} over job ordinals, so candidate selection is a bitset union and scoring is
+     * {@code popcount(job & cv)} without per-candidate allocation. Large candidate sets are
+     * scored in ordinal-range chunks on the {@link ParallelMatchScoring} pool and the per-chunk
+     * top-K results merged.
+     */
+    public static final class TenantIndex {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final ParallelMatchScoring parallelScoring;
+        private final AtomicLong version;
+
+        private final Map<UUID, Integer> ordinals = new HashMap<>();
+        private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+        private final Map<Integer, BitSet> postings = new HashMap<>();
+        private final BitSet skillless = new BitSet();
+        private UUID[] jobIds = new UUID[64];
+        private long[][] jobBits = new long[64][];
+        private int[] skillCounts = new int[64];
+        private int nextOrdinal;
+
+        TenantIndex(ParallelMatchScoring parallelScoring, long version) {
+            this.parallelScoring = parallelScoring;
+            this.version = new AtomicLong(version);
+        }
+
+        /**
+         * Whether this index reflects every change up to job set {@code version}. Versions issued
+         * while Redis is unreachable are negative and always covered: the local index already has
+         * this instance's changes.
+         */
+        boolean covers(long version) {
+            return this.version.get() >= version;
+        }
+
+        void advance(long newVersion) {
+            version.compareAndSet(newVersion - 1, newVersion);
+        }
+
+        void put(UUID jobId, int[] skillIds) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(jobId);
+                int ordinal = allocateOrdinal();
+                jobIds[ordinal] = jobId;
+                jobBits[ordinal] = SkillBits.of(skillIds);
+                skillCounts[ordinal] = skillIds.length;
+                ordinals.put(jobId, ordinal);
+                if (skillIds.length == 0) {
+                    skillless.set(ordinal);
+                }
+                for (int skillId : skillIds) {
+                    postings.computeIfAbsent(skillId, k -> new BitSet()).set(ordinal);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(UUID jobId) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(jobId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Score all jobs sharing at least one skill with {@code userSkills} (plus jobs without
+         * required skills) and return the requested slice of the ranking, best match first.
+         *
+         * <p>Only the best {@code offset + limit} entries are kept while scoring, so memory is
+         * bounded by the page depth rather than by the number of candidates.
+         */
+        public Ranking rank(BitSet userSkills, int minMatchPercentage, int offset, int limit) {
+            int depth = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+            Ranking top = select(userSkills, minMatchPercentage, null, depth, null);
+            List<ScoredJob> page = top.page().subList(Math.min(offset, top.page().size()), top.page().size());
+            return new Ranking(page, top.total(), top.scored(), top.hasMore());
+        }
+
+        /**
+         * Like {@link #rank}, but returns the {@code limit} jobs ranked directly after
+         * {@code after} (keyset pagination), keeping only {@code limit} entries while scoring.
+         */
+        public Ranking rankAfter(BitSet userSkills, int minMatchPercentage, ScoredJob after, int limit) {
+            return select(userSkills, minMatchPercentage, after, limit, null);
+        }
+
+        /**
+         * Keep the best {@code limit} jobs without a minimum match and count every candidate's
+         * score into {@code histogram} (indexed by percentage, length 101), so totals for any
+         * threshold can be derived later without re-scoring.
+         */
+        public Ranking rankWithHistogram(BitSet userSkills, int limit, int[] histogram) {
+            return select(userSkills, 0, null, limit, histogram);
+        }
+
+        private Ranking select(BitSet userSkills, int minMatchPercentage, ScoredJob after, int k, int[] histogram) {
+            long[] cvBits = SkillBits.of(userSkills);
+
+            lock.readLock().lock();
+            try {
+                BitSet candidates = (BitSet) skillless.clone();
+                for (int skillId = userSkills.nextSetBit(0); skillId >= 0; skillId = userSkills.nextSetBit(skillId + 1)) {
+                    BitSet posting = postings.get(skillId);
+                    if (posting != null) {
+                        candidates.or(posting);
+                    }
+                }
+
+                int candidateCount = candidates.cardinality();
+                int selectorSize = Math.min(k, candidateCount);
+                int chunks = parallelScoring == null ? 1 : parallelScoring.chunksFor(candidateCount);
+                if (chunks <= 1) {
+                    ChunkResult result = scoreRange(candidates, 0, nextOrdinal, cvBits,
+                            minMatchPercentage, after, selectorSize, histogram);
+                    return new Ranking(List.of(result.top()), result.total(), candidateCount, result.remaining() > k);
+                }
+
+                // Equal-width ordinal ranges. Workers only read the job arrays; the read lock held
+                // by this thread until all chunks are joined keeps writers out meanwhile.
+                int width = (nextOrdinal + chunks - 1) / chunks;
+                List<Callable<ChunkResult>> tasks = new ArrayList<>(chunks);
+                for (int from = 0; from < nextOrdinal; from += width) {
+                    int start = from;
+                    int end = Math.min(from + width, nextOrdinal);
+                    int[] chunkHistogram = histogram == null ? null : new int[histogram.length];
+                    tasks.add(() -> scoreRange(candidates, start, end, cvBits,
+                            minMatchPercentage, after, selectorSize, chunkHistogram));
+                }
+                List<ChunkResult> results = parallelScoring.invokeAll(tasks);
+
+                long mergeStart = System.nanoTime();
+                TopKSelector merged = new TopKSelector(selectorSize);
+                int total = 0;
+                int remaining = 0;
+                for (ChunkResult result : results) {
+                    for (ScoredJob job : result.top()) {
+                        merged.offer(job.matchPercentage(), job.jobId());
+                    }
+                    total += result.total();
+                    remaining += result.remaining();
+                    if (histogram != null) {
+                        for (int score = 0; score < histogram.length; score++) {
+                            histogram[score] += result.histogram()[score];
+                        }
+                    }
+                }
+                Ranking ranking = new Ranking(List.of(merged.drainSorted()), total, candidateCount, remaining > k);
+                parallelScoring.recordMerge(System.nanoTime() - mergeStart);
+                return ranking;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Score the candidates with ordinals in {@code [from, to)}, keeping the best {@code k}.
+         */
+        private ChunkResult scoreRange(BitSet candidates, int from, int to, long[] cvBits,
+                                       int minMatchPercentage, ScoredJob after, int k, int[] histogram) {
+            TopKSelector selector = new TopKSelector(k);
+            int total = 0;
+            int remaining = 0;
+            for (int ord = candidates.nextSetBit(from); ord >= 0 && ord < to; ord = candidates.nextSetBit(ord + 1)) {
+                int matched = SkillBits.intersectionCount(jobBits[ord], cvBits);
+                int percentage = SkillBits.matchPercentage(matched, skillCounts[ord]);
+                if (histogram != null) {
+                    histogram[percentage]++;
+                }
+                if (percentage < minMatchPercentage) {
+                    continue;
+                }
+                total++;
+                if (after == null || TopKSelector.ranksBefore(
+                        after.matchPercentage(), after.jobId(), percentage, jobIds[ord])) {
+                    remaining++;
+                    selector.offer(percentage, jobIds[ord]);
+                }
+            }
+            return new ChunkResult(selector.drainSorted(), total, remaining, histogram);
+        }
+
+        /**
+         * Number of distinct skills currently required by at least one job.
+         */
+        public int vocabularySize() {
+            lock.readLock().lock();
+            try {
+                return postings.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        public int size() {
+            lock.readLock().lock();
+            try {
+                return ordinals.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void removeLocked(UUID jobId) {
+            Integer ordinal = ordinals.remove(jobId);
+            if (ordinal == null) {
+                return;
+            }
+            long[] bits = jobBits[ordinal];
+            for (int word = 0; word < bits.length; word++) {
+                long remaining = bits[word];
+                while (remaining != 0) {
+                    int skillId = (word << 6) + Long.numberOfTrailingZeros(remaining);
+                    remaining &= remaining - 1;
+                    BitSet posting = postings.get(skillId);
+                    if (posting != null) {
+                        posting.clear(ordinal);
+                        if (posting.isEmpty()) {
+                            postings.remove(skillId);
+                        }
+                    }
+                }
+            }
+            skillless.clear(ordinal);
+            jobIds[ordinal] = null;
+            jobBits[ordinal] = SkillBits.EMPTY;
+            skillCounts[ordinal] = 0;
+            freeOrdinals.push(ordinal);
+        }
+
+        private int allocateOrdinal() {
+            if (!freeOrdinals.isEmpty()) {
+                return freeOrdinals.pop();
+            }
+            if (nextOrdinal == jobIds.length) {
+                int capacity = jobIds.length * 2;
+                jobIds = Arrays.copyOf(jobIds, capacity);
+                jobBits = Arrays.copyOf(jobBits, capacity);
+                skillCounts = Arrays.copyOf(skillCounts, capacity);
+            }
+            return nextOrdinal++;
+        }
+    }
+
+    /**
+     * A slice of a ranking plus the number of jobs that passed the minimum match filter,
+     * the number of candidates that were scored, and whether more jobs rank after the slice.
+     */
+    public record Ranking(List<ScoredJob> page, int total, int scored, boolean hasMore) {}
+
+    private record ChunkResult(ScoredJob[] top, int total, int remaining, int[] histogram) {}
+}
@@ -0,0 +1,76 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cached match ranking for one user: the best jobs (score descending, job id ascending) for a
+ * given CV and job set version, plus the CV's canonical skills and a histogram of all scores.
+ *
+ * <p>Only the top {@code jobIds.length} entries are kept; the histogram still covers every
+ * candidate so totals for any minimum match percentage are exact. Slices that reach past the
+ * stored prefix cannot be answered and return {@code null}.
+ */
+record MatchRanking(
+        UUID cvId,
+        long jobSetVersion,
+        List<String> skills,
+        UUID[] jobIds,
+        byte[] scores,
+        int[] histogram) {
+
+    static final int SCORE_BUCKETS = 101;
+
+    /**
+     * Number of jobs scoring at least {@code minMatchPercentage}.
+     */
+    int total(int minMatchPercentage) {
+        int total = 0;
+        for (int score = Math.max(minMatchPercentage, 0); score < SCORE_BUCKETS; score++) {
+            total += histogram[score];
+        }
+        return total;
+    }
+
+    /**
+     * Offset-based slice, or {@code null} if it reaches past the stored prefix.
+     */
+    JobSkillIndex.Ranking slice(int minMatchPercentage, int offset, int limit) {
+        return sliceFrom(minMatchPercentage, offset, limit);
+    }
+
+    /**
+     * Keyset slice of the jobs ranked after {@code after}, or {@code null} if it reaches past
+     * the stored prefix.
+     */
+    JobSkillIndex.Ranking sliceAfter(int minMatchPercentage, ScoredJob after, int limit) {
+        // Binary search for the first entry ranked after the cursor
+        int low = 0;
+        int high = jobIds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (TopKSelector.ranksBefore(after.matchPercentage(), after.jobId(), scores[mid], jobIds[mid])) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return sliceFrom(minMatchPercentage, low, limit);
+    }
+
+    private JobSkillIndex.Ranking sliceFrom(int minMatchPercentage, int from, int limit) {
+        int total = total(minMatchPercentage);
+        int available = Math.min(total, jobIds.length);
+        long end = (long) from + limit;
+        if (end > available && available < total) {
+            return null;
+        }
+        int to = (int) Math.min(end, available);
+        List<ScoredJob> page = new ArrayList<>(Math.max(to - from, 0));
+        for (int i = from; i < to; i++) {
+            page.add(new ScoredJob(jobIds[i], scores[i]));
+        }
+        return new JobSkillIndex.Ranking(page, total, 0, end < total);
+    }
+}
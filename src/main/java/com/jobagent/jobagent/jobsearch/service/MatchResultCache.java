@@ -0,0 +1,181 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.cv.event.CvParsedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Two-level cache of per-user match rankings: a bounded in-process near-cache in front of Redis.
+ *
+ * <p>Entries are keyed by (tenantId, userId, cvId, jobSetVersion). Redis holds one entry per
+ * user which is overwritten when the CV or the job set version changes and deleted when a new
+ * CV is parsed; stale near-cache entries are never hit again because their key no longer
+ * matches and they expire on their own. Redis failures degrade to near-cache only.
+ */
+@Component
+@Slf4j
+public class MatchResultCache {
+
+    private static final String KEY_PREFIX = "jobagent:matches:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final AppProperties.Matching.Cache properties;
+    private final Cache<MatchKey, MatchRanking> nearCache;
+
+    public MatchResultCache(StringRedisTemplate redisTemplate, AppProperties appProperties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = appProperties.getMatching().getCache();
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(properties.getNearCacheSize())
+                .expireAfterWrite(properties.getNearCacheTtl())
+                .build();
+    }
+
+    /**
+     * Maximum number of ranked jobs stored per entry.
+     */
+    public int maxRankedJobs() {
+        return properties.getMaxRankedJobs();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Optional<MatchRanking> get(MatchKey key) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        MatchRanking ranking = nearCache.getIfPresent(key);
+        if (ranking != null) {
+            return Optional.of(ranking);
+        }
+
+        try {
+            String value = redisTemplate.opsForValue().get(redisKey(key.tenantId(), key.userId()));
+            if (value == null) {
+                return Optional.empty();
+            }
+            ranking = decode(value);
+        } catch (RuntimeException e) {
+            log.debug("Match cache read failed for user {}: {}", key.userId(), e.getMessage());
+            return Optional.empty();
+        }
+
+        if (!ranking.cvId().equals(key.cvId()) || ranking.jobSetVersion() != key.jobSetVersion()) {
+            return Optional.empty();
+        }
+        nearCache.put(key, ranking);
+        return Optional.of(ranking);
+    }
+
+    public void put(MatchKey key, MatchRanking ranking) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        nearCache.put(key, ranking);
+        try {
+            redisTemplate.opsForValue().set(redisKey(key.tenantId(), key.userId()), encode(ranking), properties.getTtl());
+        } catch (RuntimeException e) {
+            log.debug("Match cache write failed for user {}: {}", key.userId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Drop all cached rankings of a user (e.g. their CV changed).
+     */
+    public void evictUser(UUID tenantId, UUID userId) {
+        nearCache.asMap().keySet().removeIf(key -> key.tenantId().equals(tenantId) && key.userId().equals(userId));
+        try {
+            redisTemplate.delete(redisKey(tenantId, userId));
+        } catch (RuntimeException e) {
+            log.debug("Match cache eviction failed for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCvParsed(CvParsedEvent event) {
+        log.debug("CV {} parsed, evicting match cache for user {}", event.cvId(), event.userId());
+        evictUser(event.tenantId(), event.userId());
+    }
+
+    private static String redisKey(UUID tenantId, UUID userId) {
+        return KEY_PREFIX + tenantId + ":" + userId;
+    }
+
+    static String encode(MatchRanking ranking) {
+        List<byte[]> skills = ranking.skills().stream().map(s -> s.getBytes(StandardCharsets.UTF_8)).toList();
+        int size = 16 + 8 + 4 + 4 + ranking.jobIds().length * 17 + MatchRanking.SCORE_BUCKETS * 4;
+        for (byte[] skill : skills) {
+            size += 4 + skill.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        putUuid(buffer, ranking.cvId());
+        buffer.putLong(ranking.jobSetVersion());
+        buffer.putInt(skills.size());
+        for (byte[] skill : skills) {
+            buffer.putInt(skill.length).put(skill);
+        }
+        buffer.putInt(ranking.jobIds().length);
+        for (int i = 0; i < ranking.jobIds().length; i++) {
+            putUuid(buffer, ranking.jobIds()[i]);
+            buffer.put(ranking.scores()[i]);
+        }
+        for (int count : ranking.histogram()) {
+            buffer.putInt(count);
+        }
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    static MatchRanking decode(String value) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(value));
+        UUID cvId = getUuid(buffer);
+        long jobSetVersion = buffer.getLong();
+        int skillCount = buffer.getInt();
+        List<String> skills = new ArrayList<>(skillCount);
+        for (int i = 0; i < skillCount; i++) {
+            byte[] skill = new byte[buffer.getInt()];
+            buffer.get(skill);
+            skills.add(new String(skill, StandardCharsets.UTF_8));
+        }
+        int jobCount = buffer.getInt();
+        UUID[] jobIds = new UUID[jobCount];
+        byte[] scores = new byte[jobCount];
+        for (int i = 0; i < jobCount; i++) {
+            jobIds[i] = getUuid(buffer);
+            scores[i] = buffer.get();
+        }
+        int[] histogram = new int[MatchRanking.SCORE_BUCKETS];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = buffer.getInt();
+        }
+        return new MatchRanking(cvId, jobSetVersion, List.copyOf(skills), jobIds, scores, histogram);
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Cache key: a ranking is only valid for this exact CV and job set version.
+     */
+    public record MatchKey(UUID tenantId, UUID userId, UUID cvId, long jobSetVersion) {}
+}
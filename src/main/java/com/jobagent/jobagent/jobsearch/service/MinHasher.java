@@ -0,0 +1,133 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import java.nio.ByteBuffer;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * MinHash signatures over word shingles, cut into LSH bands.
+ *
+ * <p>Each shingle is hashed once (64-bit FNV-1a); the {@code bands × rows} permutations are
+ * simulated by mixing that hash with a fixed per-position seed, so signing costs
+ * {@code O(shingles × positions)} and needs no random state. Two texts agree at a position with
+ * probability equal to their Jaccard similarity, and share at least one band bucket with
+ * probability {@code 1 - (1 - s^rows)^bands}.
+ */
+final class MinHasher {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final int bands;
+    private final int rows;
+    private final int shingleSize;
+    private final long[] seeds;
+
+    MinHasher(int bands, int rows, int shingleSize) {
+        if (bands < 1 || rows < 1 || shingleSize < 1) {
+            throw new IllegalArgumentException("bands, rows and shingleSize must be positive");
+        }
+        this.bands = bands;
+        this.rows = rows;
+        this.shingleSize = shingleSize;
+        this.seeds = new long[bands * rows];
+        long state = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < seeds.length; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            seeds[i] = mix(state);
+        }
+    }
+
+    int bands() {
+        return bands;
+    }
+
+    /**
+     * Signature of a text; an empty text signs as all {@code Integer.MAX_VALUE}.
+     */
+    int[] signature(String text) {
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        String[] words = words(text);
+        if (words.length == 0) {
+            return signature;
+        }
+        int shingles = Math.max(1, words.length - shingleSize + 1);
+        for (int start = 0; start < shingles; start++) {
+            long hash = 0xcbf29ce484222325L;
+            for (int w = start; w < Math.min(words.length, start + shingleSize); w++) {
+                String word = words[w];
+                for (int c = 0; c < word.length(); c++) {
+                    hash = (hash ^ word.charAt(c)) * 0x100000001b3L;
+                }
+                hash = (hash ^ ' ') * 0x100000001b3L;
+            }
+            for (int i = 0; i < seeds.length; i++) {
+                int value = (int) (mix(hash ^ seeds[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * LSH bucket key of each band: a hash of the band's {@code rows} signature values.
+     */
+    long[] bandKeys(int[] signature) {
+        long[] keys = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            long hash = band;
+            for (int row = 0; row < rows; row++) {
+                hash = mix(hash * 31 + signature[band * rows + row]);
+            }
+            keys[band] = hash;
+        }
+        return keys;
+    }
+
+    /**
+     * Estimated Jaccard similarity: the share of positions where the signatures agree.
+     */
+    static double similarity(int[] a, int[] b) {
+        if (a.length != b.length) {
+            return 0;
+        }
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    static int[] fromBytes(byte[] bytes) {
+        int[] signature = new int[bytes.length / Integer.BYTES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    private static String[] words(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return Arrays.stream(NON_WORD.split(normalized)).filter(word -> !word.isEmpty()).toArray(String[]::new);
+    }
+
+    /** splitmix64 finalizer. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,76 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides when a ranking is large enough to score in parallel and runs the chunks on the
+ * dedicated {@code matchScoringPool}, recording chunk counts and merge time.
+ */
+@Component
+public class ParallelMatchScoring {
+
+    private final ForkJoinPool pool;
+    private final AppProperties.Matching.Parallel properties;
+    private final DistributionSummary chunkCount;
+    private final Timer mergeTime;
+
+    public ParallelMatchScoring(@Qualifier("matchScoringPool") ForkJoinPool pool,
+                                AppProperties appProperties,
+                                MeterRegistry meterRegistry) {
+        this.pool = pool;
+        this.properties = appProperties.getMatching().getParallel();
+        this.chunkCount = DistributionSummary.builder("jobagent.matching.parallel.chunks")
+                .description("Number of chunks a parallel match ranking was split into")
+                .register(meterRegistry);
+        this.mergeTime = Timer.builder("jobagent.matching.parallel.merge")
+                .description("Time to merge per-chunk top-K results")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Number of chunks to score {@code candidates} jobs in, or 1 to score on the calling thread.
+     */
+    int chunksFor(int candidates) {
+        if (!properties.isEnabled() || candidates < properties.getThreshold()) {
+            return 1;
+        }
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        return Math.max(1, (candidates + chunkSize - 1) / chunkSize);
+    }
+
+    /**
+     * Run all chunk tasks on the scoring pool and wait for their results (in task order).
+     */
+    <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        chunkCount.record(tasks.size());
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scoring job matches", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Parallel job match scoring failed", e.getCause());
+        }
+        return results;
+    }
+
+    void recordMerge(long nanos) {
+        mergeTime.record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,9 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import java.util.UUID;
+
+/**
+ * A ranked job id and its match percentage, before the entity is loaded.
+ */
+public record ScoredJob(UUID jobId, int matchPercentage) {
+}
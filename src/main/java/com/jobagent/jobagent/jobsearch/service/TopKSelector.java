@@ -0,0 +1,108 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import java.util.UUID;
+
+/**
+ * Bounded min-heap that keeps the best {@code k} (score, jobId) pairs offered to it.
+ *
+ * <p>Ranking order is score descending, then job id ascending; the root of the heap is the
+ * worst entry currently kept, so a new candidate costs one comparison when it does not make
+ * the cut and {@code O(log k)} when it does. Memory is bounded by {@code k} regardless of
+ * how many candidates are scored. Not thread-safe.
+ */
+final class TopKSelector {
+
+    private final int capacity;
+    private final int[] scores;
+    private final UUID[] jobIds;
+    private int size;
+
+    TopKSelector(int capacity) {
+        this.capacity = capacity;
+        this.scores = new int[capacity];
+        this.jobIds = new UUID[capacity];
+    }
+
+    /**
+     * Offer a scored job; it is kept if it ranks within the best {@code k} seen so far.
+     */
+    void offer(int score, UUID jobId) {
+        if (capacity == 0) {
+            return;
+        }
+        if (size < capacity) {
+            scores[size] = score;
+            jobIds[size] = jobId;
+            siftUp(size++);
+        } else if (ranksBefore(score, jobId, scores[0], jobIds[0])) {
+            scores[0] = score;
+            jobIds[0] = jobId;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Drain the heap into an array in ranking order (best first). The selector is empty afterwards.
+     */
+    ScoredJob[] drainSorted() {
+        ScoredJob[] result = new ScoredJob[size];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = new ScoredJob(jobIds[0], scores[0]);
+            size--;
+            if (size > 0) {
+                scores[0] = scores[size];
+                jobIds[0] = jobIds[size];
+                siftDown(0);
+            }
+            jobIds[size] = null;
+        }
+        return result;
+    }
+
+    /**
+     * Whether {@code (score, jobId)} ranks strictly before {@code (otherScore, otherJobId)}.
+     */
+    static boolean ranksBefore(int score, UUID jobId, int otherScore, UUID otherJobId) {
+        if (score != otherScore) {
+            return score > otherScore;
+        }
+        return jobId.compareTo(otherJobId) < 0;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!ranksBefore(scores[parent], jobIds[parent], scores[i], jobIds[i])) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int right = left + 1;
+            int worst = right < size && ranksBefore(scores[left], jobIds[left], scores[right], jobIds[right])
+                    ? right : left;
+            if (!ranksBefore(scores[i], jobIds[i], scores[worst], jobIds[worst])) {
+                return;
+            }
+            swap(i, worst);
+            i = worst;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+        UUID jobId = jobIds[i];
+        jobIds[i] = jobIds[j];
+        jobIds[j] = jobId;
+    }
+}
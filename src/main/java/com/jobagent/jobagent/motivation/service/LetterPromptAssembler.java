@@ -0,0 +1,301 @@
+package com.jobagent.jobagent.motivation.service;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.common.rag.RagConstants;
+import com.jobagent.jobagent.common.rag.RagSearchHelper;
+import com.jobagent.jobagent.cv.dto.CvParsedData;
+import com.jobagent.jobagent.jobsearch.model.JobListing;
+import com.jobagent.jobagent.motivation.model.LetterTone;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Builds motivation letter prompts that fit {@code app.rag.letter-prompt-tokens}.
+ *
+ * <p>Instead of the whole CV and posting, a prompt carries the candidate's profile, the
+ * {@code app.rag.letter-top-k} CV chunks most similar to the job (retrieved from the
+ * {@code vector_store} filled by {@link com.jobagent.jobagent.cv.service.CvChunkIndexer}) and an
+ * extractive summary of the job description and requirements. Sentences of the posting are
+ * ranked by the keywords of the job title, job skills and CV skills they mention and kept in
+ * their original order. When the CV has no chunks (no vector store, not indexed yet) the parsed
+ * experience entries are used instead. Sizes are measured with the {@link TokenCountEstimator}
+ * used for chunking.
+ */
+@Service
+@Slf4j
+public class LetterPromptAssembler {
+
+    /** A rendered prompt with its size and the CV chunks it quotes. */
+    public record LetterPrompt(String text, int tokens, int budget, List<String> chunkIds) {
+    }
+
+    /** Characters of the job posting used as the retrieval query. */
+    private static final int MAX_QUERY_LENGTH = 2000;
+    private static final Pattern SENTENCE_BREAK = Pattern.compile("(?<=[.!?;])\\s+|\\R+");
+    private static final Pattern BULLET = Pattern.compile("^[-*•·]+\\s*");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}+#]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "and", "the", "for", "with", "you", "our", "your", "are", "will", "have", "has", "this",
+            "that", "from", "who", "not", "all", "can", "years", "year", "experience", "work",
+            "team", "what", "about", "into", "new", "more", "their", "they", "able", "based");
+
+    private final ObjectProvider<VectorStore> vectorStore;
+    private final TokenCountEstimator tokenCounter;
+    private final Resource promptTemplate;
+    private final AppProperties.Rag properties;
+    private final DistributionSummary promptTokens;
+
+    public LetterPromptAssembler(ObjectProvider<VectorStore> vectorStore,
+                                 TokenCountEstimator tokenCounter,
+                                 @Value("classpath:prompts/motivation-letter.st") Resource promptTemplate,
+                                 AppProperties appProperties,
+                                 MeterRegistry meterRegistry) {
+        this.vectorStore = vectorStore;
+        this.tokenCounter = tokenCounter;
+        this.promptTemplate = promptTemplate;
+        this.properties = appProperties.getRag();
+        this.promptTokens = DistributionSummary.builder("jobagent.letter.prompt.tokens")
+                .description("Estimated tokens of rendered motivation letter prompts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Render the letter prompt for a CV and job within the configured token budget.
+     *
+     * @param cvId CV whose chunks are retrieved, or null to use the parsed experience only
+     */
+    public LetterPrompt assemble(CvParsedData cvData, UUID cvId, JobListing job, LetterTone tone,
+                                 String language, String additionalInstructions) {
+        int budget = properties.getLetterPromptTokens();
+        Map<String, Object> params = new HashMap<>(Map.ofEntries(
+                Map.entry("candidateName", nvl(cvData.fullName(), "the candidate")),
+                Map.entry("candidateTitle", nvl(cvData.currentTitle(), "")),
+                Map.entry("candidateSummary", nvl(cvData.summary(), "")),
+                Map.entry("candidateSkills", String.join(", ", cvData.skills() != null ? cvData.skills() : List.of())),
+                Map.entry("candidateExperience", ""),
+                Map.entry("jobTitle", nvl(job.getTitle(), "the position")),
+                Map.entry("company", nvl(job.getCompany(), "the company")),
+                Map.entry("jobDescription", ""),
+                Map.entry("jobRequirements", ""),
+                Map.entry("tone", tone.name().toLowerCase()),
+                Map.entry("language", getLanguageName(language)),
+                Map.entry("additionalInstructions", nvl(additionalInstructions, ""))));
+
+        // Fixed parts first, then requirements, description and CV evidence share what is left
+        int remaining = budget - count(render(params));
+        Set<String> keywords = keywords(cvData, job);
+
+        String requirements = summarize(job.getRequirements(), keywords,
+                Math.min(properties.getLetterRequirementsTokens(), remaining));
+        remaining -= count(requirements);
+        String description = summarize(job.getDescription(), keywords,
+                Math.min(properties.getLetterJobSummaryTokens(), remaining));
+        remaining -= count(description);
+
+        List<String> chunkIds = new ArrayList<>();
+        String experience = packChunks(retrieve(cvId, job), remaining, chunkIds);
+        if (experience.isEmpty()) {
+            experience = packExperience(cvData, remaining);
+        }
+
+        params.put("jobRequirements", requirements);
+        params.put("jobDescription", description);
+        params.put("candidateExperience", experience.isEmpty() ? "No specific experience listed" : experience);
+        String text = render(params);
+        int tokens = count(text);
+        promptTokens.record(tokens);
+        if (tokens > budget) {
+            log.warn("Letter prompt for job {} uses {} tokens, over its budget of {}", job.getId(), tokens, budget);
+        }
+        log.info("Letter prompt for job {}: {}/{} tokens, CV chunks {}", job.getId(), tokens, budget, chunkIds);
+        return new LetterPrompt(text, tokens, budget, List.copyOf(chunkIds));
+    }
+
+    /**
+     * The CV's chunks most similar to the job, most similar first; empty when none are available.
+     */
+    private List<Document> retrieve(UUID cvId, JobListing job) {
+        VectorStore store = vectorStore.getIfAvailable();
+        if (store == null || cvId == null || job.getTenantId() == null) {
+            return List.of();
+        }
+        String query = String.join("\n", nvl(job.getTitle(), ""), nvl(job.getRequirements(), ""),
+                String.join(", ", job.getSkills() != null ? job.getSkills() : List.of()));
+        if (query.length() > MAX_QUERY_LENGTH) {
+            query = query.substring(0, MAX_QUERY_LENGTH);
+        }
+        try {
+            List<Document> documents = store.similaritySearch(RagSearchHelper.cvChunkSearchByCv(
+                    query, job.getTenantId(), cvId, properties.getLetterTopK()));
+            return documents != null ? documents : List.of();
+        } catch (Exception e) {
+            log.warn("CV chunk retrieval failed for CV {}, using parsed experience: {}", cvId, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * The most similar chunks that fit, in CV order.
+     */
+    private String packChunks(List<Document> documents, int tokens, List<String> chunkIds) {
+        List<Document> kept = new ArrayList<>();
+        for (Document document : documents) {
+            int size = count(document.getText()) + 1;
+            if (size <= tokens) {
+                kept.add(document);
+                chunkIds.add(document.getId());
+                tokens -= size;
+            }
+        }
+        kept.sort(Comparator.comparingInt(LetterPromptAssembler::chunkIndex));
+        return String.join("\n", kept.stream().map(Document::getText).toList());
+    }
+
+    /**
+     * Parsed experience entries in CV order, as many as fit.
+     */
+    private String packExperience(CvParsedData cvData, int tokens) {
+        if (cvData.experience() == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (var exp : cvData.experience()) {
+            String line = "- " + exp.title() + " at " + exp.company()
+                    + (exp.description() != null && !exp.description().isBlank() ? ": " + exp.description() : "");
+            int size = count(line) + 1;
+            if (size > tokens) {
+                break;
+            }
+            sb.append(line).append("\n");
+            tokens -= size;
+        }
+        return sb.toString().trim();
+    }
+
+    /**
+     * Extractive summary of a posting section: the whole text if it fits, otherwise the sentences
+     * mentioning the most keywords (per word, with a slight preference for earlier ones) that fit
+     * into {@code tokens}, in their original order.
+     */
+    String summarize(String text, Set<String> keywords, int tokens) {
+        if (text == null || text.isBlank() || tokens <= 0) {
+            return "";
+        }
+        String stripped = text.strip();
+        if (count(stripped) <= tokens) {
+            return stripped;
+        }
+
+        List<String> sentences = SENTENCE_BREAK.splitAsStream(stripped)
+                .map(sentence -> BULLET.matcher(sentence.strip()).replaceFirst(""))
+                .filter(sentence -> !sentence.isEmpty())
+                .toList();
+        double[] scores = new double[sentences.size()];
+        for (int i = 0; i < sentences.size(); i++) {
+            List<String> words = words(sentences.get(i));
+            long hits = words.stream().distinct().filter(keywords::contains).count();
+            scores[i] = hits / Math.sqrt(Math.max(1, words.size())) + 0.25 / (1 + i);
+        }
+
+        List<Integer> ranked = IntStream.range(0, sentences.size()).boxed()
+                .sorted(Comparator.comparingDouble((Integer k) -> scores[k]).reversed())
+                .toList();
+        boolean[] kept = new boolean[sentences.size()];
+        int left = tokens;
+        for (int i : ranked) {
+            int size = count(sentences.get(i)) + 1;
+            if (size <= left) {
+                kept[i] = true;
+                left -= size;
+            }
+        }
+        List<String> summary = new ArrayList<>();
+        for (int i = 0; i < sentences.size(); i++) {
+            if (kept[i]) {
+                summary.add(sentences.get(i));
+            }
+        }
+        return String.join(" ", summary);
+    }
+
+    /**
+     * Terms the letter should be about: the job title and skills and the CV's skills. The posting
+     * text itself is left out, since it is what these keywords rank.
+     */
+    private static Set<String> keywords(CvParsedData cvData, JobListing job) {
+        Set<String> keywords = new HashSet<>();
+        keywords.addAll(words(job.getTitle()));
+        if (job.getSkills() != null) {
+            job.getSkills().forEach(skill -> keywords.addAll(words(skill)));
+        }
+        if (cvData.skills() != null) {
+            cvData.skills().forEach(skill -> keywords.addAll(words(skill)));
+        }
+        return keywords;
+    }
+
+    private static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return NON_WORD.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(word -> word.length() > 1 && !STOP_WORDS.contains(word))
+                .toList();
+    }
+
+    private static int chunkIndex(Document document) {
+        return document.getMetadata().get(RagConstants.META_CHUNK_INDEX) instanceof Number index
+                ? index.intValue()
+                : Integer.MAX_VALUE;
+    }
+
+    private String render(Map<String, Object> params) {
+        return new PromptTemplate(promptTemplate).render(params);
+    }
+
+    private int count(String text) {
+        return text == null || text.isEmpty() ? 0 : tokenCounter.estimate(text);
+    }
+
+    /**
+     * Get language name from code.
+     */
+    private static String getLanguageName(String code) {
+        return switch (code.toLowerCase()) {
+            case "en" -> "English";
+            case "de" -> "German";
+            case "nl" -> "Dutch";
+            case "fr" -> "French";
+            case "es" -> "Spanish";
+            default -> "English";
+        };
+    }
+
+    /**
+     * Null-safe value getter.
+     */
+    private static String nvl(String value, String defaultValue) {
+        return value != null && !value.isBlank() ? value : defaultValue;
+    }
+}
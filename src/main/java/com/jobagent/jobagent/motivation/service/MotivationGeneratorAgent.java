@@ -5,12 +5,9 @@ import com.jobagent.jobagent.jobsearch.model.JobListing;
 import com.jobagent.jobagent.motivation.model.LetterTone;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.prompt.PromptTemplate;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
+import java.util.UUID;
 
 /**
  * Sprint 6.6 — AI agent for generating motivation letters using Spring AI + Ollama.
@@ -20,18 +17,19 @@ import java.util.Map;
 public class MotivationGeneratorAgent {
 
     private final ChatClient chatClient;
-    private final Resource promptTemplate;
+    private final LetterPromptAssembler promptAssembler;
 
     public MotivationGeneratorAgent(
             ChatClient.Builder chatClientBuilder,
-            @Value("classpath:prompts/motivation-letter.st") Resource promptTemplate) {
+            LetterPromptAssembler promptAssembler) {
         this.chatClient = chatClientBuilder.build();
-        this.promptTemplate = promptTemplate;
+        this.promptAssembler = promptAssembler;
     }
 
     /**
      * Generate a motivation letter based on CV and job data.
      *
+     * @param cvId       CV whose indexed chunks back the letter, or null for the parsed data only
      * @param cvData     Parsed CV data
      * @param job        Target job listing
      * @param tone       Desired tone for the letter
@@ -40,6 +38,7 @@ public class MotivationGeneratorAgent {
      * @return Generated letter text
      */
     public String generateLetter(
+            UUID cvId,
             CvParsedData cvData,
             JobListing job,
             LetterTone tone,
@@ -48,7 +47,7 @@ public class MotivationGeneratorAgent {
 
         log.info("Generating motivation letter for job: {} at {}", job.getTitle(), job.getCompany());
 
-        String prompt = buildPrompt(cvData, job, tone, language, additionalInstructions);
+        String prompt = promptAssembler.assemble(cvData, cvId, job, tone, language, additionalInstructions).text();
 
         try {
             String response = chatClient.prompt()
@@ -65,77 +64,6 @@ public class MotivationGeneratorAgent {
         }
     }
 
-    /**
-     * Build the prompt for AI generation.
-     */
-    private String buildPrompt(
-            CvParsedData cvData,
-            JobListing job,
-            LetterTone tone,
-            String language,
-            String additionalInstructions) {
-
-        PromptTemplate template = new PromptTemplate(promptTemplate);
-
-        Map<String, Object> params = Map.ofEntries(
-                Map.entry("candidateName", nvl(cvData.fullName(), "the candidate")),
-                Map.entry("candidateTitle", nvl(cvData.currentTitle(), "")),
-                Map.entry("candidateSummary", nvl(cvData.summary(), "")),
-                Map.entry("candidateSkills", String.join(", ", cvData.skills() != null ? cvData.skills() : java.util.List.of())),
-                Map.entry("candidateExperience", formatExperience(cvData)),
-                Map.entry("jobTitle", nvl(job.getTitle(), "the position")),
-                Map.entry("company", nvl(job.getCompany(), "the company")),
-                Map.entry("jobDescription", nvl(job.getDescription(), "")),
-                Map.entry("jobRequirements", nvl(job.getRequirements(), "")),
-                Map.entry("tone", tone.name().toLowerCase()),
-                Map.entry("language", getLanguageName(language)),
-                Map.entry("additionalInstructions", nvl(additionalInstructions, ""))
-        );
-
-        return template.render(params);
-    }
-
-    /**
-     * Format experience entries for prompt.
-     */
-    private String formatExperience(CvParsedData cvData) {
-        if (cvData.experience() == null || cvData.experience().isEmpty()) {
-            return "No specific experience listed";
-        }
-
-        StringBuilder sb = new StringBuilder();
-        for (var exp : cvData.experience()) {
-            sb.append("- ").append(exp.title())
-              .append(" at ").append(exp.company());
-            if (exp.description() != null && !exp.description().isBlank()) {
-                sb.append(": ").append(exp.description());
-            }
-            sb.append("\n");
-        }
-        return sb.toString().trim();
-    }
-
-    /**
-     * Get language name from code.
-     */
-    private String getLanguageName(String code) {
-        return switch (code.toLowerCase()) {
-            case "en" -> "English";
-            case "de" -> "German";
-            case "nl" -> "Dutch";
-            case "fr" -> "French";
-            case "es" -> "Spanish";
-            default -> "English";
-        };
-    }
-
-    /**
-     * Null-safe value getter.
-     */
-    private String nvl(String value, String defaultValue) {
-        return value != null && !value.isBlank() ? value : defaultValue;
-    }
-
     /**
      * Exception for generation failures.
      */
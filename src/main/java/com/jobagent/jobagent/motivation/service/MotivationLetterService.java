@@ -66,6 +66,7 @@ public class MotivationLetterService {
 
         // Generate letter using AI
         String generatedContent = generatorAgent.generateLetter(
+                cv.getId(),
                 cvData,
                 job,
                 request.tone(),
@@ -0,0 +1,10 @@
+-- ╔═══════════════════════════════════════════════════════════════════════════╗
+-- ║  V15 — Content hash on embeddings (dedup before calling the model)       ║
+-- ╚═══════════════════════════════════════════════════════════════════════════╝
+
+-- SHA-256 (hex) of the exact text that was embedded
+ALTER TABLE job_embeddings ADD COLUMN IF NOT EXISTS content_hash CHAR(64);
+ALTER TABLE cv_embeddings ADD COLUMN IF NOT EXISTS content_hash CHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_job_embeddings_content_hash ON job_embeddings(content_hash);
+CREATE INDEX IF NOT EXISTS idx_cv_embeddings_content_hash ON cv_embeddings(content_hash);
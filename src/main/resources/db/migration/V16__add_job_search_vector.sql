@@ -0,0 +1,19 @@
+-- ╔═══════════════════════════════════════════════════════════════════════════╗
+-- ║  V16 — Stored tsvector for ranked keyword / hybrid job search            ║
+-- ╚═══════════════════════════════════════════════════════════════════════════╝
+
+-- Computed once on write instead of per row on every search; title terms weigh more
+ALTER TABLE job_listings ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+-- Tenant-leading GIN index so a search only visits the tenant's postings
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX IF NOT EXISTS idx_job_search_vector ON job_listings
+    USING GIN (tenant_id, search_vector) WHERE status = 'ACTIVE';
+
+-- Replaced by idx_job_search_vector
+DROP INDEX IF EXISTS idx_job_fulltext;
@@ -0,0 +1,16 @@
+-- ╔═══════════════════════════════════════════════════════════════════════════╗
+-- ║  V17 — Trigram indexes for substring filters (title / company / location)║
+-- ╚═══════════════════════════════════════════════════════════════════════════╝
+
+-- LOWER(col) LIKE '%term%' cannot use a B-tree index; pg_trgm GIN indexes can.
+-- Expressions must match JobListingSpecifications exactly: lower(<column>).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+-- tenant_id leads so a filter only visits the tenant's trigram postings
+CREATE INDEX IF NOT EXISTS idx_job_title_trgm ON job_listings
+    USING GIN (tenant_id, lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_job_company_trgm ON job_listings
+    USING GIN (tenant_id, lower(company) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_job_location_trgm ON job_listings
+    USING GIN (tenant_id, lower(location) gin_trgm_ops);
@@ -0,0 +1,8 @@
+-- ╔═══════════════════════════════════════════════════════════════════════════╗
+-- ║  V18 — Keyset pagination index for job listings                          ║
+-- ╚═══════════════════════════════════════════════════════════════════════════╝
+
+-- Matches ORDER BY created_at DESC, id with the (created_at, id) cursor, so every page is an
+-- index range scan of `size` rows regardless of depth
+CREATE INDEX IF NOT EXISTS idx_job_tenant_status_created_id
+    ON job_listings (tenant_id, status, created_at DESC, id);
@@ -0,0 +1,10 @@
+-- ╔═══════════════════════════════════════════════════════════════════════════╗
+-- ║  V19 — Crawler selectors for job sources                                  ║
+-- ╚═══════════════════════════════════════════════════════════════════════════╝
+
+-- CSS selectors locating listings on a source's pages; NULL means the pages carry
+-- schema.org JobPosting JSON-LD
+ALTER TABLE job_source_configs ADD COLUMN IF NOT EXISTS selectors JSONB;
+
+COMMENT ON COLUMN job_source_configs.scraper_type IS 'HTML (plain fetch) or JAVASCRIPT (headless browser)';
+COMMENT ON COLUMN job_source_configs.auth_config IS 'JSON object of extra request headers';
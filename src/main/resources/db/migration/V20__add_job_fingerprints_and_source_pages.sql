@@ -0,0 +1,25 @@
+-- ╔═══════════════════════════════════════════════════════════════════════════╗
+-- ║  V20 — Listing fingerprints and conditional-fetch state for job sources   ║
+-- ╚═══════════════════════════════════════════════════════════════════════════╝
+
+-- SHA-256 (hex) of a listing's normalized material fields; re-ingesting a listing only
+-- rewrites the row (and re-embeds it) when this changes
+ALTER TABLE job_listings ADD COLUMN IF NOT EXISTS content_hash CHAR(64);
+
+-- Per listing page of a source: validators for conditional GETs, a hash of the last body,
+-- and the next-page link so an unchanged page does not have to be parsed again
+CREATE TABLE IF NOT EXISTS job_source_pages (
+    source_id     UUID NOT NULL REFERENCES job_source_configs(id) ON DELETE CASCADE,
+    tenant_id     UUID NOT NULL,
+    url           TEXT NOT NULL,
+    etag          TEXT,
+    last_modified TEXT,
+    content_hash  CHAR(64),
+    next_url      TEXT,
+    fetched_at    TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (source_id, url)
+);
+
+ALTER TABLE job_source_pages ENABLE ROW LEVEL SECURITY;
+CREATE POLICY tenant_isolation_source_pages ON job_source_pages
+    USING (tenant_id = current_setting('app.current_tenant')::uuid);
@@ -0,0 +1,36 @@
+-- ╔═══════════════════════════════════════════════════════════════════════════╗
+-- ║  V21 — Near-duplicate job listings (MinHash signatures, LSH buckets)     ║
+-- ╚═══════════════════════════════════════════════════════════════════════════╝
+
+-- Canonical listing this one re-publishes; NULL for canonical listings. Matching and search
+-- only see canonical listings
+ALTER TABLE job_listings ADD COLUMN IF NOT EXISTS duplicate_of UUID
+    REFERENCES job_listings(id) ON DELETE SET NULL;
+CREATE INDEX IF NOT EXISTS idx_job_listings_duplicate_of
+    ON job_listings(duplicate_of) WHERE duplicate_of IS NOT NULL;
+
+-- MinHash signature of each listing's title, company and description (bands × rows ints)
+CREATE TABLE IF NOT EXISTS job_minhash_signatures (
+    job_id    UUID PRIMARY KEY REFERENCES job_listings(id) ON DELETE CASCADE,
+    tenant_id UUID NOT NULL,
+    signature BYTEA NOT NULL
+);
+
+-- One row per listing and LSH band: listings sharing a (band, bucket) are duplicate candidates.
+-- Derived from the signatures; rebuilt with POST /api/v1/jobs/duplicates/rebuild
+CREATE TABLE IF NOT EXISTS job_lsh_buckets (
+    tenant_id UUID NOT NULL,
+    band      SMALLINT NOT NULL,
+    bucket    BIGINT NOT NULL,
+    job_id    UUID NOT NULL REFERENCES job_listings(id) ON DELETE CASCADE,
+    PRIMARY KEY (tenant_id, band, bucket, job_id)
+);
+CREATE INDEX IF NOT EXISTS idx_job_lsh_buckets_job ON job_lsh_buckets(job_id);
+
+ALTER TABLE job_minhash_signatures ENABLE ROW LEVEL SECURITY;
+CREATE POLICY tenant_isolation_minhash ON job_minhash_signatures
+    USING (tenant_id = current_setting('app.current_tenant')::uuid);
+
+ALTER TABLE job_lsh_buckets ENABLE ROW LEVEL SECURITY;
+CREATE POLICY tenant_isolation_lsh_buckets ON job_lsh_buckets
+    USING (tenant_id = current_setting('app.current_tenant')::uuid);
@@ -0,0 +1,9 @@
+-- ╔═══════════════════════════════════════════════════════════════════════════╗
+-- ║  V22 — Partial index for the job expiry sweep                            ║
+-- ╚═══════════════════════════════════════════════════════════════════════════╝
+
+-- Serves the sweep's "status = 'ACTIVE' AND expires_at < now() ORDER BY expires_at LIMIT n"
+-- as a short index range scan; only ACTIVE listings are indexed, so the index stays small no
+-- matter how many expired or closed listings accumulate
+CREATE INDEX IF NOT EXISTS idx_job_listings_active_expires_at
+    ON job_listings (expires_at) WHERE status = 'ACTIVE';
@@ -0,0 +1,97 @@
+-- ╔═══════════════════════════════════════════════════════════════════════════╗
+-- ║  V23 — Hash-partition job_listings by tenant                             ║
+-- ╚═══════════════════════════════════════════════════════════════════════════╝
+
+-- Every job query is tenant-scoped, so with 16 hash partitions on tenant_id a query (and the
+-- RLS predicate) only touches one partition's heap and indexes, and vacuum / reindex work on
+-- sixteen smaller tables instead of one large one.
+--
+-- No created_at sub-partitioning: unique constraints on a partitioned table must contain every
+-- partition key, which would turn the ingestion upsert key (tenant_id, source, external_id) into
+-- something ON CONFLICT can no longer use. Expired rows are already moved out of the hot indexes
+-- by the partial WHERE status = 'ACTIVE' indexes and the expiry sweep.
+--
+-- The primary key becomes (id, tenant_id): id still leads, so Hibernate's "WHERE id = ?" is one
+-- index probe per partition, and referencing tables switch to composite foreign keys that carry
+-- their own tenant_id. The copy rewrites the table; on large installations run it in a
+-- maintenance window.
+
+ALTER TABLE job_listings RENAME TO job_listings_unpartitioned;
+
+CREATE TABLE job_listings (
+    LIKE job_listings_unpartitioned INCLUDING DEFAULTS INCLUDING GENERATED INCLUDING COMMENTS
+) PARTITION BY HASH (tenant_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE job_listings_p%s PARTITION OF job_listings FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            lpad(i::text, 2, '0'), i);
+    END LOOP;
+END $$;
+
+-- search_vector is generated, so it is recomputed rather than copied
+INSERT INTO job_listings (id, tenant_id, external_id, title, company, location, remote, salary_range,
+                          description, source, source_url, application_url, posted_at, expires_at,
+                          created_at, requirements, skills, salary_min, salary_max, salary_currency,
+                          employment_type, remote_type, status, updated_at, content_hash, duplicate_of)
+SELECT id, tenant_id, external_id, title, company, location, remote, salary_range,
+       description, source, source_url, application_url, posted_at, expires_at,
+       created_at, requirements, skills, salary_min, salary_max, salary_currency,
+       employment_type, remote_type, status, updated_at, content_hash, duplicate_of
+FROM job_listings_unpartitioned;
+
+-- Drops the old indexes and the foreign keys pointing at the old table; both are recreated below
+DROP TABLE job_listings_unpartitioned CASCADE;
+
+ALTER TABLE job_listings ADD PRIMARY KEY (id, tenant_id);
+ALTER TABLE job_listings ADD CONSTRAINT job_listings_tenant_id_source_external_id_key
+    UNIQUE (tenant_id, source, external_id);
+
+COMMENT ON TABLE job_listings IS 'Multi-tenant job listings with skills matching support, hash-partitioned by tenant';
+
+-- ── Indexes (V5, V11, V16–V18, V21, V22); tenant_id-only indexes are covered by the keys ──
+CREATE INDEX idx_job_listings_source ON job_listings (source);
+CREATE INDEX idx_job_listings_created ON job_listings (created_at DESC);
+CREATE INDEX idx_job_status ON job_listings (status);
+CREATE INDEX idx_job_location ON job_listings (location);
+CREATE INDEX idx_job_company ON job_listings (company);
+CREATE INDEX idx_job_skills ON job_listings USING GIN (skills);
+CREATE INDEX idx_job_tenant_status ON job_listings (tenant_id, status);
+CREATE INDEX idx_job_search_vector ON job_listings
+    USING GIN (tenant_id, search_vector) WHERE status = 'ACTIVE';
+CREATE INDEX idx_job_title_trgm ON job_listings
+    USING GIN (tenant_id, lower(title) gin_trgm_ops);
+CREATE INDEX idx_job_company_trgm ON job_listings
+    USING GIN (tenant_id, lower(company) gin_trgm_ops);
+CREATE INDEX idx_job_location_trgm ON job_listings
+    USING GIN (tenant_id, lower(location) gin_trgm_ops);
+CREATE INDEX idx_job_tenant_status_created_id
+    ON job_listings (tenant_id, status, created_at DESC, id);
+CREATE INDEX idx_job_listings_duplicate_of
+    ON job_listings (duplicate_of) WHERE duplicate_of IS NOT NULL;
+CREATE INDEX idx_job_listings_active_expires_at
+    ON job_listings (expires_at) WHERE status = 'ACTIVE';
+
+-- ── Foreign keys, now (job, tenant) pairs ──
+ALTER TABLE job_listings ADD CONSTRAINT job_listings_duplicate_of_fkey
+    FOREIGN KEY (duplicate_of, tenant_id) REFERENCES job_listings (id, tenant_id)
+    ON DELETE SET NULL (duplicate_of);
+ALTER TABLE job_embeddings ADD CONSTRAINT job_embeddings_job_listing_id_fkey
+    FOREIGN KEY (job_listing_id, tenant_id) REFERENCES job_listings (id, tenant_id) ON DELETE CASCADE;
+ALTER TABLE saved_jobs ADD CONSTRAINT saved_jobs_job_listing_id_fkey
+    FOREIGN KEY (job_listing_id, tenant_id) REFERENCES job_listings (id, tenant_id) ON DELETE CASCADE;
+ALTER TABLE motivation_letters ADD CONSTRAINT motivation_letters_job_listing_id_fkey
+    FOREIGN KEY (job_listing_id, tenant_id) REFERENCES job_listings (id, tenant_id);
+ALTER TABLE applications ADD CONSTRAINT applications_job_listing_id_fkey
+    FOREIGN KEY (job_listing_id, tenant_id) REFERENCES job_listings (id, tenant_id);
+ALTER TABLE job_minhash_signatures ADD CONSTRAINT job_minhash_signatures_job_id_fkey
+    FOREIGN KEY (job_id, tenant_id) REFERENCES job_listings (id, tenant_id) ON DELETE CASCADE;
+ALTER TABLE job_lsh_buckets ADD CONSTRAINT job_lsh_buckets_job_id_fkey
+    FOREIGN KEY (job_id, tenant_id) REFERENCES job_listings (id, tenant_id) ON DELETE CASCADE;
+
+-- ── Row-level security (V8); enabling it on the parent covers every partition ──
+ALTER TABLE job_listings ENABLE ROW LEVEL SECURITY;
+CREATE POLICY tenant_isolation_jobs ON job_listings
+    USING (tenant_id = current_setting('app.current_tenant')::uuid);
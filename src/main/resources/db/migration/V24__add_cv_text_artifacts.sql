@@ -0,0 +1,17 @@
+-- ╔═══════════════════════════════════════════════════════════════════════════╗
+-- ║  V24 — Extracted CV text artifacts keyed by file content hash            ║
+-- ╚═══════════════════════════════════════════════════════════════════════════╝
+
+-- SHA-256 (hex) of the uploaded file bytes, computed while the upload streams to storage
+ALTER TABLE cv_details ADD COLUMN IF NOT EXISTS content_hash CHAR(64);
+
+-- Tika output per distinct file, gzip-compressed. Deliberately not tenant-scoped: identical
+-- bytes yield identical text, and only a caller holding the same file can arrive at its hash,
+-- so a repeated upload by anyone skips extraction. Replaces the never-written
+-- cv_details.extracted_text (V3), which would have stored one uncompressed copy per CV row.
+CREATE TABLE IF NOT EXISTS cv_text_artifacts (
+    content_hash CHAR(64) PRIMARY KEY,
+    text_gzip    BYTEA NOT NULL,
+    char_count   INT NOT NULL,
+    created_at   TIMESTAMPTZ NOT NULL DEFAULT now()
+);
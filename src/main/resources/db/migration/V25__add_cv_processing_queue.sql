@@ -0,0 +1,20 @@
+-- ╔═══════════════════════════════════════════════════════════════════════════╗
+-- ║  V25 — Durable CV processing queue                                       ║
+-- ╚═══════════════════════════════════════════════════════════════════════════╝
+
+-- One row per CV waiting to be (re)processed, written in the upload transaction and deleted
+-- when processing finishes. Workers on any instance claim rows with FOR UPDATE SKIP LOCKED and
+-- push available_at forward by a lease, so a job of a crashed worker becomes claimable again
+-- once its lease runs out. Cross-tenant by design (the workers serve every tenant), so no RLS.
+CREATE TABLE IF NOT EXISTS cv_processing_jobs (
+    cv_id        UUID PRIMARY KEY REFERENCES cv_details(id) ON DELETE CASCADE,
+    tenant_id    UUID NOT NULL,
+    priority     SMALLINT NOT NULL DEFAULT 0,      -- 0 = first upload, 1 = reprocess
+    attempts     INT NOT NULL DEFAULT 0,
+    available_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    spool_path   TEXT,                             -- local upload copy on the receiving instance
+    created_at   TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_cv_processing_jobs_available
+    ON cv_processing_jobs (available_at, priority);
@@ -0,0 +1,20 @@
+-- ╔═══════════════════════════════════════════════════════════════════════════╗
+-- ║  V26 — LLM parse results keyed by CV text, prompt version and model      ║
+-- ╚═══════════════════════════════════════════════════════════════════════════╝
+
+-- cache_key is the SHA-256 (hex) of (prompt version, model, normalized CV text). Like
+-- cv_text_artifacts (V24) not tenant-scoped: the result is a function of the text alone, and
+-- only a caller holding the same text can arrive at its key. model and prompt_version are kept
+-- in the clear so an admin can invalidate everything one model or prompt produced.
+CREATE TABLE IF NOT EXISTS cv_parse_cache (
+    cache_key      CHAR(64) PRIMARY KEY,
+    model          VARCHAR(200) NOT NULL,
+    prompt_version VARCHAR(50) NOT NULL,
+    parsed_json    JSONB NOT NULL,
+    created_at     TIMESTAMPTZ NOT NULL DEFAULT now(),
+    expires_at     TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_cv_parse_cache_model ON cv_parse_cache (model);
+CREATE INDEX IF NOT EXISTS idx_cv_parse_cache_prompt_version ON cv_parse_cache (prompt_version);
+CREATE INDEX IF NOT EXISTS idx_cv_parse_cache_expires_at ON cv_parse_cache (expires_at);
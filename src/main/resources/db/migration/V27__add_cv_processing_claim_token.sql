@@ -0,0 +1,9 @@
+-- ╔═══════════════════════════════════════════════════════════════════════════╗
+-- ║  V27 — Claim token for CV processing jobs                                ║
+-- ╚═══════════════════════════════════════════════════════════════════════════╝
+
+-- Each claim stamps a fresh token on the job. A worker only deletes (completes) or extends the
+-- job while the token is still its own, so a worker whose lease ran out cannot remove a job
+-- another worker claimed since, or one re-enqueued for reprocessing in the meantime (which
+-- clears the token).
+ALTER TABLE cv_processing_jobs ADD COLUMN IF NOT EXISTS claim_token UUID;
@@ -0,0 +1,154 @@
+package com.jobagent.jobagent.common.embedding;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EmbeddingBatchQueue.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmbeddingBatchQueue Tests")
+class EmbeddingBatchQueueTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+
+    @Mock
+    private TextEmbedder textEmbedder;
+
+    @Mock
+    private EmbeddingStore store;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmbeddingBatchQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queue = new EmbeddingBatchQueue(textEmbedder, new AppProperties(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("should embed distinct texts in one model call and write one batch")
+    void shouldBatchModelCallAndWrite() {
+        // Given
+        UUID job1 = UUID.randomUUID();
+        UUID job2 = UUID.randomUUID();
+        when(store.findByContentHashes(anyCollection())).thenReturn(Map.of());
+        when(textEmbedder.embedAll(List.of("text one", "text two")))
+                .thenReturn(List.of(new float[]{1f}, new float[]{2f}));
+
+        // When
+        queue.flush(List.of(pending(job1, "text one"), pending(job2, "text two")));
+
+        // Then
+        List<EmbeddingStore.EmbeddingRow> rows = capturedRows();
+        assertThat(rows).extracting(EmbeddingStore.EmbeddingRow::ownerId).containsExactly(job1, job2);
+        assertThat(rows.get(0).contentHash()).isEqualTo(TextEmbedder.contentHash("text one"));
+        assertThat(rows.get(1).embedding()).containsExactly(2f);
+        verify(textEmbedder, times(1)).embedAll(anyList());
+    }
+
+    @Test
+    @DisplayName("should reuse stored vectors for known content hashes")
+    void shouldReuseVectorsForKnownHashes() {
+        // Given
+        UUID job = UUID.randomUUID();
+        when(store.findByContentHashes(anyCollection()))
+                .thenReturn(Map.of(TextEmbedder.contentHash("known"), new float[]{9f}));
+
+        // When
+        queue.flush(List.of(pending(job, "known")));
+
+        // Then
+        verify(textEmbedder, never()).embedAll(anyList());
+        assertThat(capturedRows()).singleElement().satisfies(row -> assertThat(row.embedding()).containsExactly(9f));
+        assertThat(meterRegistry.counter("jobagent.embedding.dedup", "result", "hit").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should embed identical texts of different owners once")
+    void shouldEmbedIdenticalTextsOnce() {
+        // Given
+        UUID job1 = UUID.randomUUID();
+        UUID job2 = UUID.randomUUID();
+        when(store.findByContentHashes(anyCollection())).thenReturn(Map.of());
+        when(textEmbedder.embedAll(List.of("same"))).thenReturn(List.of(new float[]{3f}));
+
+        // When
+        queue.flush(List.of(pending(job1, "same"), pending(job2, "same")));
+
+        // Then
+        assertThat(capturedRows()).extracting(EmbeddingStore.EmbeddingRow::ownerId).containsExactly(job1, job2);
+    }
+
+    @Test
+    @DisplayName("should keep only the latest text per owner")
+    void shouldCoalescePerOwner() {
+        // Given
+        UUID job = UUID.randomUUID();
+        when(store.findByContentHashes(anyCollection())).thenReturn(Map.of());
+        when(textEmbedder.embedAll(List.of("v2"))).thenReturn(List.of(new float[]{2f}));
+
+        // When
+        queue.flush(List.of(pending(job, "v1"), pending(job, "v2")));
+
+        // Then
+        assertThat(capturedRows()).singleElement()
+                .satisfies(row -> assertThat(row.contentHash()).isEqualTo(TextEmbedder.contentHash("v2")));
+    }
+
+    @Test
+    @DisplayName("should skip rows the model could not embed")
+    void shouldSkipFailedEmbeddings() {
+        // Given
+        UUID job1 = UUID.randomUUID();
+        UUID job2 = UUID.randomUUID();
+        when(store.findByContentHashes(anyCollection())).thenReturn(Map.of());
+        when(textEmbedder.embedAll(anyList())).thenReturn(Arrays.asList(null, new float[]{2f}));
+
+        // When
+        queue.flush(List.of(pending(job1, "bad"), pending(job2, "good")));
+
+        // Then
+        assertThat(capturedRows()).extracting(EmbeddingStore.EmbeddingRow::ownerId).containsExactly(job2);
+    }
+
+    @Test
+    @DisplayName("should not queue texts when no embedding model is configured")
+    void shouldNotQueueWithoutModel() {
+        // Given
+        when(textEmbedder.isAvailable()).thenReturn(false);
+
+        // When / Then
+        assertThat(queue.submit(store, UUID.randomUUID(), TENANT_ID, "text")).isFalse();
+        verifyNoInteractions(store);
+    }
+
+    private EmbeddingBatchQueue.PendingEmbedding pending(UUID ownerId, String text) {
+        return new EmbeddingBatchQueue.PendingEmbedding(store, ownerId, TENANT_ID, text);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<EmbeddingStore.EmbeddingRow> capturedRows() {
+        ArgumentCaptor<List<EmbeddingStore.EmbeddingRow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(store).upsertAll(captor.capture());
+        return captor.getValue();
+    }
+}
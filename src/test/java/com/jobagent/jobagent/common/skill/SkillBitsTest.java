@@ -0,0 +1,40 @@
+package com.jobagent.jobagent.common.skill;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SkillBits.
+ */
+@DisplayName("SkillBits Tests")
+class SkillBitsTest {
+
+    @Test
+    @DisplayName("should count shared skills across word boundaries")
+    void shouldCountIntersection() {
+        long[] job = SkillBits.of(new int[]{1, 63, 64, 130});
+        BitSet cv = new BitSet();
+        cv.set(1);
+        cv.set(64);
+        cv.set(200);
+
+        assertThat(SkillBits.intersectionCount(job, SkillBits.of(cv))).isEqualTo(2);
+        assertThat(SkillBits.cardinality(job)).isEqualTo(4);
+        assertThat(SkillBits.contains(job, 130)).isTrue();
+        assertThat(SkillBits.contains(job, 129)).isFalse();
+        assertThat(SkillBits.contains(job, 1000)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should round match percentage half-up")
+    void shouldRoundMatchPercentage() {
+        assertThat(SkillBits.matchPercentage(1, 3)).isEqualTo(33);
+        assertThat(SkillBits.matchPercentage(2, 3)).isEqualTo(67);
+        assertThat(SkillBits.matchPercentage(1, 8)).isEqualTo(13);
+        assertThat(SkillBits.matchPercentage(0, 0)).isEqualTo(100);
+    }
+}
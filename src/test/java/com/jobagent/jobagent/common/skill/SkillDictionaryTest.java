@@ -0,0 +1,87 @@
+package com.jobagent.jobagent.common.skill;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SkillDictionary.
+ */
+@DisplayName("SkillDictionary Tests")
+class SkillDictionaryTest {
+
+    private SkillDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new SkillDictionary(new ClassPathResource("skills/skill-dictionary.json"), new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("should resolve aliases, separators and versions to a canonical name")
+    void shouldCanonicalizeVariants() {
+        assertThat(dictionary.canonicalName("K8s")).isEqualTo("kubernetes");
+        assertThat(dictionary.canonicalName(" spring-boot ")).isEqualTo("spring boot");
+        assertThat(dictionary.canonicalName("Java 11")).isEqualTo("java");
+        assertThat(dictionary.canonicalName("node 20")).isEqualTo("node.js");
+        assertThat(dictionary.canonicalName("Rust")).isEqualTo("rust");
+        assertThat(dictionary.canonicalName("  ")).isNull();
+    }
+
+    @Test
+    @DisplayName("should canonicalize lists without duplicates")
+    void shouldCanonicalizeListWithoutDuplicates() {
+        assertThat(dictionary.canonicalize(List.of("JS", "javascript", "ECMAScript", "TS", "")))
+                .containsExactly("javascript", "typescript");
+    }
+
+    @Test
+    @DisplayName("should assign the same id to all variants of a skill")
+    void shouldAssignSameIdToVariants() {
+        int id = dictionary.id("postgresql");
+
+        assertThat(dictionary.id("Postgres")).isEqualTo(id);
+        assertThat(dictionary.id("psql")).isEqualTo(id);
+        assertThat(dictionary.name(id)).isEqualTo("postgresql");
+        assertThat(dictionary.id("mysql")).isNotEqualTo(id);
+    }
+
+    @Test
+    @DisplayName("should expand implied skills")
+    void shouldExpandImpliedSkills() {
+        BitSet ids = dictionary.expandedIds(List.of("Spring Boot"));
+
+        assertThat(ids.get(dictionary.id("spring boot"))).isTrue();
+        assertThat(ids.get(dictionary.id("spring"))).isTrue();
+        assertThat(ids.cardinality()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should not intern skills that are only looked up")
+    void shouldNotInternQuerySkills() {
+        BitSet ids = dictionary.expandedIds(List.of("Spring Boot", "Obscure CV Skill"));
+
+        assertThat(ids.cardinality()).isEqualTo(2);
+        assertThat(dictionary.expanded(List.of("Obscure CV Skill"))).containsExactly("obscure cv skill");
+
+        int id = dictionary.id("obscure-cv-skill");
+        assertThat(dictionary.expandedIds(List.of("Obscure CV Skill")).get(id)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should keep ids stable across reloads")
+    void shouldKeepIdsStableAcrossReloads() {
+        int before = dictionary.id("unlisted-skill");
+
+        dictionary.reload();
+
+        assertThat(dictionary.id("unlisted skill")).isEqualTo(before);
+    }
+}
@@ -0,0 +1,121 @@
+package com.jobagent.jobagent.cv.service;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.common.rag.RagConstants;
+import com.jobagent.jobagent.cv.event.CvSupersededEvent;
+import com.jobagent.jobagent.cv.repository.CvDetailsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CvChunkIndexer.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CvChunkIndexer Tests")
+class CvChunkIndexerTest {
+
+    private static final UUID TENANT = UUID.randomUUID();
+    private static final UUID CV_ID = UUID.randomUUID();
+    private static final CvFile FILE = new CvFile(CV_ID, TENANT, UUID.randomUUID(),
+            "resume.pdf", "cv/key.pdf", null);
+
+    @Mock
+    private ObjectProvider<VectorStore> vectorStoreProvider;
+
+    @Mock
+    private VectorStore vectorStore;
+
+    @Mock
+    private CvDetailsRepository cvDetailsRepository;
+
+    @Mock
+    private TokenCountEstimator tokenCountEstimator;
+
+    private CvChunkIndexer indexer;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getRag().setChunkTokens(16);
+        appProperties.getRag().setChunkOverlapTokens(0);
+        appProperties.getRag().setBatchSize(2);
+        indexer = new CvChunkIndexer(vectorStoreProvider, cvDetailsRepository, tokenCountEstimator,
+                appProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Chunks replace the CV's previous ones and are written in batches")
+    @SuppressWarnings("unchecked")
+    void index_writesTaggedChunksInBatches() {
+        // Given
+        when(vectorStoreProvider.getIfAvailable()).thenReturn(vectorStore);
+        when(cvDetailsRepository.existsByIdAndActiveTrue(CV_ID)).thenReturn(true);
+        when(tokenCountEstimator.estimate(anyString())).thenReturn(1);
+        String text = "Jane Doe\nSkills\nJava Spring\nExperience\nAcme Corp\nEducation\nMSc";
+
+        // When
+        int written = indexer.index(FILE, text);
+
+        // Then — four sections in batches of two, after the old chunks are gone
+        assertThat(written).isEqualTo(4);
+        InOrder order = inOrder(vectorStore);
+        order.verify(vectorStore).delete(CvChunkIndexer.cvFilter(TENANT, List.of(CV_ID)));
+        ArgumentCaptor<List<Document>> batches = ArgumentCaptor.forClass(List.class);
+        order.verify(vectorStore, times(2)).add(batches.capture());
+
+        Document skills = batches.getAllValues().getFirst().get(1);
+        assertThat(skills.getText()).isEqualTo("Java Spring");
+        assertThat(skills.getMetadata())
+                .containsEntry(RagConstants.META_TENANT_ID, TENANT.toString())
+                .containsEntry(RagConstants.META_CV_ID, CV_ID.toString())
+                .containsEntry(RagConstants.META_SECTION, RagConstants.SECTION_SKILLS)
+                .containsEntry(RagConstants.META_DOC_TYPE, RagConstants.DOC_TYPE_CV_CHUNK);
+    }
+
+    @Test
+    @DisplayName("CV replaced while processing is not indexed")
+    void index_inactiveCv_skipped() {
+        // Given
+        when(vectorStoreProvider.getIfAvailable()).thenReturn(vectorStore);
+        when(cvDetailsRepository.existsByIdAndActiveTrue(CV_ID)).thenReturn(false);
+
+        // When
+        int written = indexer.index(FILE, "Jane Doe");
+
+        // Then
+        assertThat(written).isZero();
+        verifyNoInteractions(vectorStore);
+    }
+
+    @Test
+    @DisplayName("Superseded CVs lose their chunks")
+    void onCvSuperseded_deletesChunks() {
+        // Given
+        UUID otherCvId = UUID.randomUUID();
+        when(vectorStoreProvider.getIfAvailable()).thenReturn(vectorStore);
+
+        // When
+        indexer.onCvSuperseded(new CvSupersededEvent(TENANT, UUID.randomUUID(), List.of(CV_ID, otherCvId)));
+
+        // Then
+        verify(vectorStore).delete("tenant_id == '" + TENANT + "' && cv_id IN ['" + CV_ID + "', '" + otherCvId + "']");
+    }
+}
@@ -0,0 +1,89 @@
+package com.jobagent.jobagent.cv.service;
+
+import com.jobagent.jobagent.common.rag.RagConstants;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CvChunker.
+ */
+@DisplayName("CvChunker Tests")
+class CvChunkerTest {
+
+    /** One token per word, plus one per line break. */
+    private final TokenCountEstimator oneTokenPerWord = oneTokenPerWord();
+
+    @Test
+    @DisplayName("Headings start sections; text before the first one is the summary")
+    void chunk_splitsBySection() {
+        // Given
+        CvChunker chunker = new CvChunker(oneTokenPerWord, 64, 8);
+        String text = """
+                Jane Doe
+                jane@example.com
+
+                SKILLS:
+                Java, Spring, Kafka
+                Work Experience
+                Acme Corp — Senior Developer
+                Education & Training
+                MSc Computer Science
+                """;
+
+        // When
+        List<CvChunker.Chunk> chunks = chunker.chunk(text);
+
+        // Then
+        assertThat(chunks).extracting(CvChunker.Chunk::section).containsExactly(
+                RagConstants.SECTION_SUMMARY, RagConstants.SECTION_SKILLS,
+                RagConstants.SECTION_EXPERIENCE, RagConstants.SECTION_EDUCATION);
+        assertThat(chunks).extracting(CvChunker.Chunk::index).containsExactly(0, 1, 2, 3);
+        assertThat(chunks.get(0).text()).isEqualTo("Jane Doe\njane@example.com");
+        assertThat(chunks.get(2).text()).isEqualTo("Acme Corp — Senior Developer");
+    }
+
+    @Test
+    @DisplayName("Long sections are cut into bounded windows that overlap")
+    void chunk_windowsLongSection() {
+        // Given
+        CvChunker chunker = new CvChunker(oneTokenPerWord, 16, 4);
+        StringBuilder text = new StringBuilder("Experience\n");
+        for (int i = 0; i < 40; i++) {
+            text.append('w').append(i).append(' ');
+        }
+
+        // When
+        List<CvChunker.Chunk> chunks = chunker.chunk(text.toString());
+
+        // Then
+        assertThat(chunks).hasSizeGreaterThan(2)
+                .allSatisfy(chunk -> assertThat(chunk.text().split(" ")).hasSizeLessThanOrEqualTo(16));
+        assertThat(chunks.get(0).text()).startsWith("w0 ").endsWith(" w14");
+        assertThat(chunks.get(1).text()).startsWith("w11 w12 w13 w14 w15");
+        assertThat(chunks.getLast().text()).endsWith("w39");
+    }
+
+    @Test
+    @DisplayName("Only short lines matching a known heading count as headings")
+    void sectionOf_recognizesHeadings() {
+        assertThat(CvChunker.sectionOf("PROFESSIONAL EXPERIENCE")).isEqualTo(RagConstants.SECTION_EXPERIENCE);
+        assertThat(CvChunker.sectionOf("Technical Skills:")).isEqualTo(RagConstants.SECTION_SKILLS);
+        assertThat(CvChunker.sectionOf("Education and Training")).isEqualTo(RagConstants.SECTION_EDUCATION);
+        assertThat(CvChunker.sectionOf("Skills: Java, Kotlin")).isNull();
+        assertThat(CvChunker.sectionOf("Built the education platform used by 2M students")).isNull();
+    }
+
+    private static TokenCountEstimator oneTokenPerWord() {
+        TokenCountEstimator estimator = mock(TokenCountEstimator.class);
+        when(estimator.estimate(anyString())).thenReturn(1);
+        return estimator;
+    }
+}
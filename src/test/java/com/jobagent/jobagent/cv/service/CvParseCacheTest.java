@@ -0,0 +1,130 @@
+package com.jobagent.jobagent.cv.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.cv.dto.CvParsedData;
+import com.jobagent.jobagent.cv.repository.CvParseCacheRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CvParseCache.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CvParseCache Tests")
+class CvParseCacheTest {
+
+    @Mock
+    private CvParseCacheRepository repository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AppProperties appProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private CvParseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        appProperties = new AppProperties();
+        appProperties.getCvParseCache().setModel("mistral");
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CvParseCache(repository, objectMapper, appProperties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Texts differing only in whitespace share a key")
+    void key_normalizesWhitespace() {
+        assertThat(cache.key("Jane Doe\r\n\tJava  developer \n"))
+                .isEqualTo(cache.key("Jane Doe Java developer"))
+                .hasSize(64);
+    }
+
+    @Test
+    @DisplayName("Another model yields another key")
+    void key_dependsOnModel() {
+        // Given
+        String mistralKey = cache.key("Jane Doe");
+        appProperties.getCvParseCache().setModel("gpt-4o");
+
+        // When
+        String gptKey = cache.key("Jane Doe");
+
+        // Then
+        assertThat(gptKey).isNotEqualTo(mistralKey);
+    }
+
+    @Test
+    @DisplayName("Stored result is returned and counted as a hit")
+    void get_hit_returnsStoredResult() throws Exception {
+        // Given
+        CvParsedData parsed = parsed();
+        when(repository.find(cache.key("Jane Doe"))).thenReturn(Optional.of(objectMapper.writeValueAsString(parsed)));
+
+        // When
+        Optional<CvParsedData> result = cache.get("Jane Doe");
+
+        // Then
+        assertThat(result).contains(parsed);
+        assertThat(meterRegistry.get("jobagent.cv.parse.cache").tag("result", "hit").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Database failure is a miss")
+    void get_repositoryFails_isMiss() {
+        // Given
+        when(repository.find(anyString())).thenThrow(new IllegalStateException("database unavailable"));
+
+        // When
+        Optional<CvParsedData> result = cache.get("Jane Doe");
+
+        // Then
+        assertThat(result).isEmpty();
+        assertThat(meterRegistry.get("jobagent.cv.parse.cache").tag("result", "miss").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Result is stored with the model, prompt version and TTL")
+    void put_storesResult() throws Exception {
+        // Given
+        CvParsedData parsed = parsed();
+
+        // When
+        cache.put("Jane Doe", parsed);
+
+        // Then
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(repository).save(eq(cache.key("Jane Doe")), eq("mistral"), eq(CvParserAgent.PROMPT_VERSION),
+                json.capture(), eq(Duration.ofDays(30)));
+        assertThat(objectMapper.readValue(json.getValue(), CvParsedData.class)).isEqualTo(parsed);
+    }
+
+    @Test
+    @DisplayName("Fallback (empty) result is not stored")
+    void put_emptyResult_isSkipped() {
+        // When
+        cache.put("Jane Doe", CvParsedData.empty());
+
+        // Then
+        verifyNoInteractions(repository);
+    }
+
+    private static CvParsedData parsed() {
+        return new CvParsedData("Jane Doe", "jane@example.com", null, "Java Developer", null,
+                List.of("Java", "Spring"), List.of(), List.of(), List.of("English"), List.of());
+    }
+}
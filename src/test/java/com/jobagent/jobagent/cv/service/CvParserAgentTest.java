@@ -11,6 +11,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.ChatClient.CallResponseSpec;
 import org.springframework.ai.chat.client.ChatClient.ChatClientRequestSpec;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -23,6 +28,8 @@ import static org.mockito.Mockito.when;
 @DisplayName("CvParserAgent Tests")
 class CvParserAgentTest {
 
+    private static final String PROMPT_SHA256 = "607c5daeeccf60303ef7c088fba27023000ac028a684031e3d55cfab17732498";
+
     @Mock
     private ChatClient.Builder chatClientBuilder;
 
@@ -84,4 +91,18 @@ class CvParserAgentTest {
         assertThat(education.institution()).isEqualTo("MIT");
         assertThat(education.degree()).isEqualTo("BS");
     }
+
+    @Test
+    @DisplayName("Prompt version is bumped when cv-parse.st changes")
+    void promptVersion_matchesPromptTemplate() throws Exception {
+        // Cached parse results are keyed by PROMPT_VERSION: after editing the prompt, bump the
+        // version in CvParserAgent and record the new hash and version here
+        String prompt = new ClassPathResource("prompts/cv-parse.st")
+                .getContentAsString(StandardCharsets.UTF_8).replace("\r\n", "\n");
+        String hash = HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(prompt.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(hash).isEqualTo(PROMPT_SHA256);
+        assertThat(CvParserAgent.PROMPT_VERSION).isEqualTo("1");
+    }
 }
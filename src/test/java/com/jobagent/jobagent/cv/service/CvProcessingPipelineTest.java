@@ -0,0 +1,149 @@
+package com.jobagent.jobagent.cv.service;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.cv.dto.CvParsedData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CvProcessingPipeline.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CvProcessingPipeline Tests")
+class CvProcessingPipelineTest {
+
+    private static final UUID TENANT = UUID.randomUUID();
+    private static final UUID CV_ID = UUID.randomUUID();
+    private static final CvFile FILE = new CvFile(CV_ID, TENANT, UUID.randomUUID(),
+            "resume.pdf", "cv/key.pdf", "ab".repeat(32));
+
+    @Mock
+    private CvProcessingService processingService;
+
+    @Mock
+    private CvTextService textService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CvProcessingPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getCvProcessing().setExtractConcurrency(1);
+        appProperties.getCvProcessing().setParseConcurrency(1);
+        meterRegistry = new SimpleMeterRegistry();
+        pipeline = new CvProcessingPipeline(processingService, textService, appProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.destroy();
+    }
+
+    @Test
+    @DisplayName("Stored text goes straight to the parse stage")
+    void submit_storedText_skipsExtraction() throws Exception {
+        // Given
+        CvParsedData parsed = mock(CvParsedData.class);
+        when(processingService.start(CV_ID)).thenReturn(Optional.of(FILE));
+        when(textService.storedText(FILE)).thenReturn(Optional.of("CV text"));
+        when(processingService.parse("CV text")).thenReturn(parsed);
+
+        // When
+        pipeline.submit(CV_ID, TENANT, null).get(5, TimeUnit.SECONDS);
+
+        // Then
+        verify(textService, never()).fetch(any(), any());
+        verify(textService, never()).extractAndStore(any(), any());
+        verify(processingService).complete(FILE, parsed);
+        verify(processingService).indexChunks(FILE, "CV text");
+        verify(processingService, never()).fail(any(), any());
+        assertThat(meterRegistry.get("jobagent.cv.pipeline.stage").tag("stage", "parse").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("jobagent.cv.pipeline.stage").tag("stage", "extract").timer().count())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Missing text is extracted from the fetched copy, which is released afterwards")
+    void submit_noStoredText_extractsAndReleasesCopy() throws Exception {
+        // Given
+        Path spool = Path.of("cv-upload-1.spool");
+        Path local = Path.of("cv-download-1.tmp");
+        CvParsedData parsed = mock(CvParsedData.class);
+        when(processingService.start(CV_ID)).thenReturn(Optional.of(FILE));
+        when(textService.storedText(FILE)).thenReturn(Optional.empty());
+        when(textService.fetch(FILE, spool)).thenReturn(local);
+        when(textService.extractAndStore(FILE, local)).thenReturn("CV text");
+        when(processingService.parse("CV text")).thenReturn(parsed);
+
+        // When
+        pipeline.submit(CV_ID, TENANT, spool).get(5, TimeUnit.SECONDS);
+
+        // Then
+        verify(textService).releaseLocalCopy(local, spool);
+        verify(processingService).complete(FILE, parsed);
+    }
+
+    @Test
+    @DisplayName("Parse failure is recorded on the CV and completes the future normally")
+    void submit_parseFails_marksCvFailed() throws Exception {
+        // Given
+        IllegalStateException failure = new IllegalStateException("model unavailable");
+        when(processingService.start(CV_ID)).thenReturn(Optional.of(FILE));
+        when(textService.storedText(FILE)).thenReturn(Optional.of("CV text"));
+        when(processingService.parse("CV text")).thenThrow(failure);
+
+        // When
+        pipeline.submit(CV_ID, TENANT, null).get(5, TimeUnit.SECONDS);
+
+        // Then
+        verify(processingService).fail(CV_ID, failure);
+        verify(processingService, never()).complete(any(), any());
+        verify(processingService, never()).indexChunks(any(), any());
+    }
+
+    @Test
+    @DisplayName("Already parsed CV leaves the pipeline after the first stage")
+    void submit_alreadyParsed_skipsStages() throws Exception {
+        // Given
+        when(processingService.start(CV_ID)).thenReturn(Optional.empty());
+
+        // When
+        pipeline.submit(CV_ID, TENANT, null).get(5, TimeUnit.SECONDS);
+
+        // Then
+        verifyNoInteractions(textService);
+        verify(processingService, never()).parse(any());
+    }
+
+    @Test
+    @DisplayName("CV that cannot be started fails the future so the job is retried")
+    void submit_startFails_completesExceptionally() {
+        // Given
+        when(processingService.start(CV_ID)).thenThrow(new IllegalStateException("database unavailable"));
+
+        // When
+        CompletableFuture<Void> result = pipeline.submit(CV_ID, TENANT, null);
+
+        // Then
+        assertThat(result).failsWithin(5, TimeUnit.SECONDS);
+        verify(processingService, never()).fail(any(), any());
+    }
+}
@@ -0,0 +1,190 @@
+package com.jobagent.jobagent.cv.service;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.cv.repository.CvProcessingQueueRepository;
+import com.jobagent.jobagent.cv.repository.CvProcessingQueueRepository.ClaimedJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CvProcessingQueue.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CvProcessingQueue Tests")
+class CvProcessingQueueTest {
+
+    private static final UUID TENANT = UUID.randomUUID();
+
+    @Mock
+    private CvProcessingQueueRepository queueRepository;
+
+    @Mock
+    private CvProcessingService cvProcessingService;
+
+    @Mock
+    private CvProcessingPipeline pipeline;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CvProcessingQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getCvProcessing().setConcurrency(2);
+        appProperties.getCvProcessing().setMaxAttempts(3);
+        meterRegistry = new SimpleMeterRegistry();
+        queue = new CvProcessingQueue(queueRepository, cvProcessingService, pipeline, appProperties,
+                meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Claims no more jobs than there are free pipeline slots")
+    void poll_claimsUpToFreeSlots() {
+        // Given
+        ClaimedJob job = new ClaimedJob(UUID.randomUUID(), TENANT, 0, 1, null, UUID.randomUUID());
+        CompletableFuture<Void> processing = new CompletableFuture<>();
+        when(queueRepository.claim(eq(2), any(Duration.class))).thenReturn(List.of(job));
+        when(queueRepository.claim(eq(1), any(Duration.class))).thenReturn(List.of());
+        when(pipeline.submit(job.cvId(), TENANT, null)).thenReturn(processing);
+        when(queueRepository.complete(job.cvId(), job.claimToken())).thenReturn(true);
+
+        // When — one slot stays busy until its CV leaves the pipeline
+        int first = queue.poll();
+        int second = queue.poll();
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+        verify(queueRepository).claim(eq(1), any(Duration.class));
+        verify(queueRepository, never()).complete(any(), any());
+
+        // When
+        processing.complete(null);
+
+        // Then
+        verify(queueRepository).complete(job.cvId(), job.claimToken());
+        assertThat(meterRegistry.get("jobagent.cv.queue.processed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Leases of jobs still in the pipeline are renewed until they finish")
+    void renewLeases_renewsJobsInFlight() {
+        // Given
+        ClaimedJob job = new ClaimedJob(UUID.randomUUID(), TENANT, 0, 1, null, UUID.randomUUID());
+        CompletableFuture<Void> processing = new CompletableFuture<>();
+        when(queueRepository.claim(eq(2), any(Duration.class))).thenReturn(List.of(job));
+        when(pipeline.submit(job.cvId(), TENANT, null)).thenReturn(processing);
+        when(queueRepository.renew(List.of(job), Duration.ofMinutes(5))).thenReturn(List.of(job.cvId()));
+        when(queueRepository.complete(job.cvId(), job.claimToken())).thenReturn(true);
+        queue.poll();
+
+        // When
+        int renewed = queue.renewLeases();
+        processing.complete(null);
+        int renewedAfterFinish = queue.renewLeases();
+
+        // Then
+        assertThat(renewed).isEqualTo(1);
+        assertThat(renewedAfterFinish).isZero();
+        verify(queueRepository).renew(List.of(job), Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Job whose processing fails stays queued until its attempts run out")
+    void start_failedFutureLeavesJobForRetry() {
+        // Given
+        ClaimedJob job = new ClaimedJob(UUID.randomUUID(), TENANT, 0, 2, null, UUID.randomUUID());
+        when(pipeline.submit(job.cvId(), TENANT, null))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("database unavailable")));
+
+        // When
+        CompletableFuture<Void> result = queue.start(job);
+
+        // Then
+        assertThat(result).isCompleted();
+        verify(queueRepository, never()).complete(any(), any());
+    }
+
+    @Test
+    @DisplayName("Job claimed again while it was processed is left to its new claim, spool included")
+    void start_claimLost_keepsJobAndSpool(@TempDir Path dir) throws IOException {
+        // Given
+        Path spool = Files.createFile(dir.resolve("cv-upload-1.spool"));
+        ClaimedJob job = new ClaimedJob(UUID.randomUUID(), TENANT, 0, 1, spool.toString(), UUID.randomUUID());
+        when(pipeline.submit(job.cvId(), TENANT, spool)).thenReturn(CompletableFuture.completedFuture(null));
+        when(queueRepository.complete(job.cvId(), job.claimToken())).thenReturn(false);
+
+        // When
+        queue.start(job);
+
+        // Then
+        verify(queueRepository).complete(job.cvId(), job.claimToken());
+        assertThat(spool).exists();
+    }
+
+    @Test
+    @DisplayName("Job claimed more than max-attempts times marks the CV FAILED")
+    void start_attemptsExhausted_marksFailed() {
+        // Given
+        ClaimedJob job = new ClaimedJob(UUID.randomUUID(), TENANT, 1, 4, null, UUID.randomUUID());
+        when(cvProcessingService.abandon(eq(job.cvId()), contains("3 attempts"))).thenReturn(true);
+        when(queueRepository.complete(job.cvId(), job.claimToken())).thenReturn(true);
+
+        // When
+        queue.start(job);
+
+        // Then
+        verifyNoInteractions(pipeline);
+        verify(cvProcessingService).abandon(eq(job.cvId()), contains("3 attempts"));
+        verify(queueRepository).complete(job.cvId(), job.claimToken());
+        assertThat(meterRegistry.get("jobagent.cv.queue.abandoned").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Job out of attempts whose CV was parsed meanwhile is removed without failing the CV")
+    void start_attemptsExhausted_parsedCvLeftAlone() {
+        // Given
+        ClaimedJob job = new ClaimedJob(UUID.randomUUID(), TENANT, 0, 4, null, UUID.randomUUID());
+        when(cvProcessingService.abandon(eq(job.cvId()), anyString())).thenReturn(false);
+        when(queueRepository.complete(job.cvId(), job.claimToken())).thenReturn(true);
+
+        // When
+        queue.start(job);
+
+        // Then
+        verifyNoInteractions(pipeline);
+        verify(queueRepository).complete(job.cvId(), job.claimToken());
+        assertThat(meterRegistry.get("jobagent.cv.queue.abandoned").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Startup recovery queues stuck CVs")
+    void recoverStuck_queuesStuckCvs() {
+        // Given
+        when(queueRepository.recoverStuck()).thenReturn(3);
+
+        // When
+        queue.recoverStuck();
+
+        // Then
+        verify(queueRepository).recoverStuck();
+    }
+}
@@ -0,0 +1,145 @@
+package com.jobagent.jobagent.cv.service;
+
+import com.jobagent.jobagent.cv.repository.CvDetailsRepository;
+import com.jobagent.jobagent.cv.repository.CvTextArtifactRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CvTextService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CvTextService Tests")
+class CvTextServiceTest {
+
+    private static final String HASH = "ab".repeat(32);
+
+    @Mock
+    private CvDetailsRepository cvDetailsRepository;
+
+    @Mock
+    private CvTextArtifactRepository artifactRepository;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private CvTextExtractor textExtractor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CvTextService cvTextService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cvTextService = new CvTextService(cvDetailsRepository, artifactRepository, fileStorageService,
+                textExtractor, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Stored artifact is served without download or Tika")
+    void textOf_artifactHit_skipsExtraction() {
+        // Given
+        CvFile cv = cv(HASH);
+        when(artifactRepository.findCompressedText(HASH))
+                .thenReturn(Optional.of(CvTextService.compress("Jane Doe — Java developer")));
+
+        // When
+        String text = cvTextService.textOf(cv, null);
+
+        // Then
+        assertThat(text).isEqualTo("Jane Doe — Java developer");
+        verifyNoInteractions(fileStorageService, textExtractor);
+        assertThat(meterRegistry.get("jobagent.cv.text.artifacts").tag("result", "hit").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("First extraction stores the compressed text under the content hash")
+    void textOf_artifactMiss_extractsAndStores() {
+        // Given
+        CvFile cv = cv(HASH);
+        when(artifactRepository.findCompressedText(HASH)).thenReturn(Optional.empty());
+        when(fileStorageService.download("cv/key.pdf")).thenReturn(new ByteArrayInputStream(new byte[8]));
+        when(textExtractor.extractText(any(), eq("resume.pdf"))).thenReturn("Extracted CV text");
+
+        // When
+        String text = cvTextService.textOf(cv, null);
+
+        // Then
+        assertThat(text).isEqualTo("Extracted CV text");
+        ArgumentCaptor<byte[]> stored = ArgumentCaptor.forClass(byte[].class);
+        verify(artifactRepository).save(eq(HASH), stored.capture(), eq(17));
+        assertThat(CvTextService.decompress(stored.getValue())).isEqualTo("Extracted CV text");
+    }
+
+    @Test
+    @DisplayName("CV without a content hash is extracted but not stored")
+    void textOf_noContentHash_extractsOnly() {
+        // Given
+        CvFile cv = cv(null);
+        when(fileStorageService.download("cv/key.pdf")).thenReturn(new ByteArrayInputStream(new byte[8]));
+        when(textExtractor.extractText(any(), eq("resume.pdf"))).thenReturn("Extracted CV text");
+
+        // When
+        String text = cvTextService.textOf(cv, null);
+
+        // Then
+        assertThat(text).isEqualTo("Extracted CV text");
+        verifyNoInteractions(artifactRepository);
+    }
+
+    @Test
+    @DisplayName("Upload spool is extracted in place and kept for its queue job")
+    void fetch_spoolPresent_isNotDownloadedOrDeleted() throws Exception {
+        // Given
+        Path spool = Files.createTempFile("cv-upload-", ".spool");
+        try {
+            // When
+            Path local = cvTextService.fetch(cv(HASH), spool);
+            cvTextService.releaseLocalCopy(local, spool);
+
+            // Then
+            assertThat(local).isEqualTo(spool);
+            assertThat(spool).exists();
+            verifyNoInteractions(fileStorageService);
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    @Test
+    @DisplayName("Downloaded copy is deleted once released")
+    void fetch_noSpool_downloadsTempFile() {
+        // Given
+        when(fileStorageService.download("cv/key.pdf")).thenReturn(new ByteArrayInputStream(new byte[8]));
+
+        // When
+        Path local = cvTextService.fetch(cv(HASH), null);
+        cvTextService.releaseLocalCopy(local, null);
+
+        // Then
+        assertThat(local).doesNotExist();
+    }
+
+    private static CvFile cv(String contentHash) {
+        return new CvFile(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                "resume.pdf", "cv/key.pdf", contentHash);
+    }
+}
@@ -3,6 +3,7 @@ package com.jobagent.jobagent.cv.service;
 import com.jobagent.jobagent.auth.model.User;
 import com.jobagent.jobagent.auth.repository.UserRepository;
 import com.jobagent.jobagent.cv.dto.CvUploadResponse;
+import com.jobagent.jobagent.cv.event.CvSupersededEvent;
 import com.jobagent.jobagent.cv.model.CvDetails;
 import com.jobagent.jobagent.cv.model.CvStatus;
 import com.jobagent.jobagent.cv.repository.CvDetailsRepository;
@@ -14,12 +15,27 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -43,7 +59,13 @@ class CvUploadServiceTest {
     private FileStorageService fileStorageService;
 
     @Mock
-    private CvProcessingService cvProcessingService;
+    private CvProcessingQueue cvProcessingQueue;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @Mock
     private MultipartFile multipartFile;
@@ -57,7 +79,8 @@ class CvUploadServiceTest {
     @BeforeEach
     void setUp() {
         cvUploadService = new CvUploadService(
-                cvDetailsRepository, userRepository, fileStorageService, cvProcessingService);
+                cvDetailsRepository, userRepository, fileStorageService, cvProcessingQueue, transactionTemplate,
+                eventPublisher);
 
         userId = UUID.randomUUID();
         tenantId = UUID.randomUUID();
@@ -83,7 +106,7 @@ class CvUploadServiceTest {
         when(multipartFile.getOriginalFilename()).thenReturn("resume.pdf");
         when(multipartFile.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[1024]));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(cvDetailsRepository.save(any(CvDetails.class))).thenAnswer(invocation -> {
+        when(cvDetailsRepository.saveAndFlush(any(CvDetails.class))).thenAnswer(invocation -> {
             CvDetails cv = invocation.getArgument(0);
             cv.setId(UUID.randomUUID());
             return cv;
@@ -100,7 +123,34 @@ class CvUploadServiceTest {
 
         verify(cvDetailsRepository).deactivateAllByUserId(userId);
         verify(fileStorageService).upload(anyString(), any(), eq("application/pdf"), eq(1024L));
-        verify(cvDetailsRepository).save(any(CvDetails.class));
+        verify(cvDetailsRepository).saveAndFlush(any(CvDetails.class));
+        verify(cvProcessingQueue).enqueue(any(CvDetails.class), eq(CvProcessingQueue.Priority.NEW), isNull());
+    }
+
+    @Test
+    @DisplayName("Upload supersedes the previous active CV")
+    void uploadCv_previousActiveCv_publishesSuperseded() throws IOException {
+        // Given
+        UUID previousCvId = UUID.randomUUID();
+        when(multipartFile.isEmpty()).thenReturn(false);
+        when(multipartFile.getContentType()).thenReturn("application/pdf");
+        when(multipartFile.getSize()).thenReturn(1024L);
+        when(multipartFile.getOriginalFilename()).thenReturn("resume.pdf");
+        when(multipartFile.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[1024]));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(cvDetailsRepository.findActiveIdsByUserId(userId)).thenReturn(List.of(previousCvId));
+        when(cvDetailsRepository.saveAndFlush(any(CvDetails.class))).thenAnswer(invocation -> {
+            CvDetails cv = invocation.getArgument(0);
+            cv.setId(UUID.randomUUID());
+            return cv;
+        });
+
+        // When
+        cvUploadService.uploadCv(userId, multipartFile);
+
+        // Then
+        verify(cvDetailsRepository).deactivateAllByUserId(userId);
+        verify(eventPublisher).publishEvent(new CvSupersededEvent(tenantId, userId, List.of(previousCvId)));
     }
 
     @Test
@@ -113,7 +163,7 @@ class CvUploadServiceTest {
         when(multipartFile.getOriginalFilename()).thenReturn("resume.docx");
         when(multipartFile.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[2048]));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(cvDetailsRepository.save(any(CvDetails.class))).thenAnswer(invocation -> {
+        when(cvDetailsRepository.saveAndFlush(any(CvDetails.class))).thenAnswer(invocation -> {
             CvDetails cv = invocation.getArgument(0);
             cv.setId(UUID.randomUUID());
             return cv;
@@ -176,7 +226,7 @@ class CvUploadServiceTest {
         when(multipartFile.getOriginalFilename()).thenReturn("resume.pdf");
         when(multipartFile.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[1024]));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(cvDetailsRepository.save(any(CvDetails.class))).thenAnswer(invocation -> {
+        when(cvDetailsRepository.saveAndFlush(any(CvDetails.class))).thenAnswer(invocation -> {
             CvDetails cv = invocation.getArgument(0);
             cv.setId(UUID.randomUUID());
             return cv;
@@ -199,7 +249,7 @@ class CvUploadServiceTest {
         when(multipartFile.getOriginalFilename()).thenReturn("resume.pdf");
         when(multipartFile.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[1024]));
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(cvDetailsRepository.save(any(CvDetails.class))).thenAnswer(invocation -> {
+        when(cvDetailsRepository.saveAndFlush(any(CvDetails.class))).thenAnswer(invocation -> {
             CvDetails cv = invocation.getArgument(0);
             cv.setId(UUID.randomUUID());
             return cv;
@@ -210,7 +260,7 @@ class CvUploadServiceTest {
 
         // Then
         ArgumentCaptor<CvDetails> captor = ArgumentCaptor.forClass(CvDetails.class);
-        verify(cvDetailsRepository).save(captor.capture());
+        verify(cvDetailsRepository).saveAndFlush(captor.capture());
 
         String s3Key = captor.getValue().getS3Key();
         assertThat(s3Key).startsWith("cv/");
@@ -218,4 +268,193 @@ class CvUploadServiceTest {
         assertThat(s3Key).contains(userId.toString());
         assertThat(s3Key).endsWith(".pdf");
     }
+
+    @Test
+    @DisplayName("Streamed PDF is sniffed, stored, spooled and queued for processing")
+    void uploadCvStream_pdf_storesAndSpools() throws Exception {
+        // Given
+        byte[] pdf = pdfBytes(4096);
+        byte[][] uploaded = new byte[1][];
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        doAnswer(invocation -> {
+            uploaded[0] = invocation.<InputStream>getArgument(1).readAllBytes();
+            return null;
+        }).when(fileStorageService).uploadStream(anyString(), any(), eq("application/pdf"));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(cvDetailsRepository.saveAndFlush(any(CvDetails.class))).thenAnswer(invocation -> {
+            CvDetails cv = invocation.getArgument(0);
+            cv.setId(UUID.randomUUID());
+            return cv;
+        });
+
+        // When
+        CvUploadResponse response = cvUploadService.uploadCvStream(
+                userId, "resume.pdf", new ByteArrayInputStream(pdf), -1);
+
+        // Then
+        assertThat(response.contentType()).isEqualTo("application/pdf");
+        assertThat(response.fileSize()).isEqualTo(4096L);
+        assertThat(uploaded[0]).isEqualTo(pdf);
+        verify(cvDetailsRepository).deactivateAllByUserId(userId);
+
+        ArgumentCaptor<CvDetails> saved = ArgumentCaptor.forClass(CvDetails.class);
+        verify(cvDetailsRepository).saveAndFlush(saved.capture());
+        assertThat(saved.getValue().getContentHash())
+                .isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(pdf)));
+
+        ArgumentCaptor<Path> spool = ArgumentCaptor.forClass(Path.class);
+        verify(cvProcessingQueue).enqueue(eq(saved.getValue()), eq(CvProcessingQueue.Priority.NEW), spool.capture());
+        try {
+            assertThat(Files.readAllBytes(spool.getValue())).isEqualTo(pdf);
+        } finally {
+            Files.deleteIfExists(spool.getValue());
+        }
+    }
+
+    @Test
+    @DisplayName("Streamed body with unknown magic bytes is rejected before storage")
+    void uploadCvStream_unknownType_throwsException() {
+        // Given
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        byte[] text = "plain text, not a CV".getBytes(StandardCharsets.UTF_8);
+
+        // When/Then
+        assertThatThrownBy(() -> cvUploadService.uploadCvStream(
+                userId, "resume.pdf", new ByteArrayInputStream(text), text.length))
+                .isInstanceOf(CvUploadService.CvUploadException.class)
+                .hasMessageContaining("Invalid file type");
+        verify(fileStorageService, never()).uploadStream(anyString(), any(), anyString());
+        verify(cvDetailsRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Streamed zip without a word/document.xml part is rejected before storage")
+    void uploadCvStream_plainZip_throwsException() throws IOException {
+        // Given
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        byte[] zip = zipBytes("[Content_Types].xml", "xl/workbook.xml");
+
+        // When/Then
+        assertThatThrownBy(() -> cvUploadService.uploadCvStream(
+                userId, "resume.docx", new ByteArrayInputStream(zip), zip.length))
+                .isInstanceOf(CvUploadService.CvUploadException.class)
+                .hasMessageContaining("Invalid file type");
+        verify(fileStorageService, never()).uploadStream(anyString(), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Streamed word-processing package is stored as DOCX")
+    void uploadCvStream_docx_storesAsDocx() throws IOException {
+        // Given
+        byte[] docx = zipBytes("[Content_Types].xml", "_rels/.rels", "word/document.xml");
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(cvDetailsRepository.saveAndFlush(any(CvDetails.class))).thenAnswer(invocation -> {
+            CvDetails cv = invocation.getArgument(0);
+            cv.setId(UUID.randomUUID());
+            return cv;
+        });
+
+        // When
+        CvUploadResponse response = cvUploadService.uploadCvStream(
+                userId, "resume.docx", new ByteArrayInputStream(docx), docx.length);
+
+        // Then
+        assertThat(response.contentType()).isEqualTo(CvUploadStream.DOCX);
+        verify(fileStorageService).uploadStream(anyString(), any(), eq(CvUploadStream.DOCX));
+        ArgumentCaptor<Path> spool = ArgumentCaptor.forClass(Path.class);
+        verify(cvProcessingQueue).enqueue(any(), eq(CvProcessingQueue.Priority.NEW), spool.capture());
+        Files.deleteIfExists(spool.getValue());
+    }
+
+    @Test
+    @DisplayName("Stored object and spool are removed when the CV row cannot be written")
+    void uploadCvStream_transactionFails_removesObject() {
+        // Given
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        doAnswer(invocation -> invocation.<InputStream>getArgument(1).readAllBytes())
+                .when(fileStorageService).uploadStream(anyString(), any(), anyString());
+        when(transactionTemplate.execute(any())).thenThrow(new IllegalStateException("database down"));
+
+        // When/Then
+        assertThatThrownBy(() -> cvUploadService.uploadCvStream(
+                userId, "resume.pdf", new ByteArrayInputStream(pdfBytes(1024)), -1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("database down");
+        ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+        verify(fileStorageService).uploadStream(key.capture(), any(), anyString());
+        verify(fileStorageService).delete(key.getValue());
+        verifyNoInteractions(cvProcessingQueue);
+    }
+
+    @Test
+    @DisplayName("Size limit read failure is reported as the size-limit error")
+    void uploadCvStream_limitReadFailure_reportsSizeLimit() {
+        // Given
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        doAnswer(invocation -> invocation.<InputStream>getArgument(1).transferTo(OutputStream.nullOutputStream()))
+                .when(fileStorageService).uploadStream(anyString(), any(), anyString());
+
+        // When/Then
+        assertThatThrownBy(() -> cvUploadService.uploadCvStream(
+                userId, "resume.pdf", new ByteArrayInputStream(pdfBytes(11 * 1024 * 1024)), -1))
+                .isInstanceOf(CvUploadService.CvUploadException.class)
+                .hasMessageContaining("exceeds maximum");
+        verify(cvDetailsRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Streamed body over the limit is cut off while uploading")
+    void uploadCvStream_oversizedChunkedBody_throwsException() {
+        // Given
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        doAnswer(invocation -> {
+            try {
+                invocation.<InputStream>getArgument(1).transferTo(OutputStream.nullOutputStream());
+            } catch (IOException e) {
+                throw new MinioFileStorageService.StorageException("Failed to upload file", e);
+            }
+            return null;
+        }).when(fileStorageService).uploadStream(anyString(), any(), anyString());
+
+        // When/Then
+        assertThatThrownBy(() -> cvUploadService.uploadCvStream(
+                userId, "resume.pdf", new ByteArrayInputStream(pdfBytes(11 * 1024 * 1024)), -1))
+                .isInstanceOf(CvUploadService.CvUploadException.class)
+                .hasMessageContaining("exceeds maximum");
+        verify(cvDetailsRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(cvProcessingQueue);
+    }
+
+    @Test
+    @DisplayName("Declared Content-Length over the limit is rejected without reading")
+    void uploadCvStream_declaredTooLarge_throwsException() {
+        // When/Then
+        assertThatThrownBy(() -> cvUploadService.uploadCvStream(
+                userId, "resume.pdf", InputStream.nullInputStream(), 11L * 1024 * 1024))
+                .isInstanceOf(CvUploadService.CvUploadException.class)
+                .hasMessageContaining("exceeds maximum");
+        verifyNoInteractions(userRepository, fileStorageService);
+    }
+
+    private static byte[] zipBytes(String... entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (String entry : entries) {
+                zip.putNextEntry(new ZipEntry(entry));
+                zip.write("<xml/>".getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] pdfBytes(int size) {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte) ' ');
+        System.arraycopy("%PDF-1.7".getBytes(StandardCharsets.US_ASCII), 0, bytes, 0, 8);
+        return bytes;
+    }
 }
@@ -0,0 +1,412 @@
+package com.jobagent.jobagent.jobsearch.crawler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.jobsearch.dto.BulkIngestResult;
+import com.jobagent.jobagent.jobsearch.dto.CrawlReport;
+import com.jobagent.jobagent.jobsearch.dto.CreateJobRequest;
+import com.jobagent.jobagent.jobsearch.model.EmploymentType;
+import com.jobagent.jobagent.jobsearch.model.JobSourceConfig;
+import com.jobagent.jobagent.jobsearch.model.RemoteType;
+import com.jobagent.jobagent.jobsearch.repository.JobSourceConfigRepository;
+import com.jobagent.jobagent.jobsearch.repository.JobSourcePageRepository;
+import com.jobagent.jobagent.jobsearch.repository.JobSourcePageRepository.PageState;
+import com.jobagent.jobagent.jobsearch.service.JobFingerprint;
+import com.jobagent.jobagent.jobsearch.service.JobIngestionService;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JobSourceCrawler against a local stub HTTP server.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobSourceCrawler Tests")
+class JobSourceCrawlerTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+
+    private static final String JSON_LD_PAGE_1 = """
+            <html><head>
+            <link rel="next" href="/jobs?page=2">
+            <script type="application/ld+json">
+            {"@context":"https://schema.org","@graph":[
+              {"@type":"JobPosting","title":"Java Developer","identifier":{"value":"J-1"},
+               "hiringOrganization":{"name":"Acme"},"description":"<p>Build <b>APIs</b></p>",
+               "jobLocation":{"address":{"addressLocality":"Berlin","addressCountry":"DE"}},
+               "employmentType":"FULL_TIME","jobLocationType":"TELECOMMUTE",
+               "baseSalary":{"currency":"EUR","value":{"minValue":60000,"maxValue":80000}},
+               "validThrough":"2026-12-31T23:59:59Z","url":"https://acme.example/jobs/1"},
+              {"@type":"Organization","name":"Acme"}
+            ]}
+            </script>
+            </head><body></body></html>""";
+
+    private static final String JSON_LD_PAGE_2 = """
+            <html><head>
+            <script type="application/ld+json">
+            [{"@type":"JobPosting","title":"Go Developer","identifier":"J-2","hiringOrganization":"Acme"}]
+            </script>
+            <script type="application/ld+json">{ not json</script>
+            </head><body></body></html>""";
+
+    private static final String SELECTOR_PAGE = """
+            <html><body>
+            <div class="job" data-id="b-1"><a class="title" href="/board/1">Data Engineer</a><span class="loc">Remote</span></div>
+            <div class="job" data-id="b-2"><a class="title" href="/board/2">ML Engineer</a><span class="loc">Paris</span></div>
+            <a class="next" href="/board">same page again</a>
+            </body></html>""";
+
+    @Mock
+    private JobSourceConfigRepository jobSourceConfigRepository;
+
+    @Mock
+    private JobSourcePageRepository jobSourcePageRepository;
+
+    @Mock
+    private JobIngestionService jobIngestionService;
+
+    @Mock
+    private PlaywrightPageFetcher playwrightPageFetcher;
+
+    private HttpServer server;
+    private final Map<String, Integer> hits = new ConcurrentHashMap<>();
+    private final Map<String, String> authorization = new ConcurrentHashMap<>();
+    private final List<CreateJobRequest> ingested = new CopyOnWriteArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private JobSourceCrawler crawler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        serve("/jobs", exchange -> "page=2".equals(exchange.getRequestURI().getQuery()) ? JSON_LD_PAGE_2 : JSON_LD_PAGE_1);
+        serve("/board", exchange -> SELECTOR_PAGE);
+        server.createContext("/feed", exchange -> {
+            hits.merge("/feed", 1, Integer::sum);
+            exchange.getResponseHeaders().set("ETag", "\"v1\"");
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = JSON_LD_PAGE_1.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        serve("/elsewhere", exchange -> JSON_LD_PAGE_1.replace("/jobs?page=2", otherOrigin() + "/jobs?page=2"));
+        server.createContext("/hop", exchange -> {
+            hits.merge("/hop", 1, Integer::sum);
+            exchange.getResponseHeaders().set("Location", otherOrigin() + "/landing");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        serve("/landing", exchange -> {
+            authorization.put("/landing", String.valueOf(exchange.getRequestHeaders().getFirst("Authorization")));
+            return JSON_LD_PAGE_2;
+        });
+        server.createContext("/broken", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+
+        AppProperties appProperties = new AppProperties();
+        appProperties.getCrawler().setPerHostDelay(Duration.ZERO);
+        appProperties.getCrawler().setRequestTimeout(Duration.ofSeconds(5));
+        meterRegistry = new SimpleMeterRegistry();
+        crawler = new JobSourceCrawler(jobSourceConfigRepository, jobSourcePageRepository,
+                new JobPageParser(new ObjectMapper()),
+                new HttpPageFetcher(appProperties), playwrightPageFetcher, jobIngestionService, appProperties,
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("should follow next links, parse JSON-LD postings and ingest them under the source id")
+    void shouldCrawlJsonLdSource() {
+        // Given
+        JobSourceConfig source = source("Acme careers", "/jobs?page=1", null);
+        ingestByConsuming();
+
+        // When
+        CrawlReport report = crawler.crawl(source);
+
+        // Then
+        assertThat(report.error()).isNull();
+        assertThat(report.pages()).isEqualTo(2);
+        assertThat(report.jobsFound()).isEqualTo(2);
+        assertThat(report.bytes()).isEqualTo(JSON_LD_PAGE_1.length() + JSON_LD_PAGE_2.length());
+        verify(jobIngestionService).ingest(eq(TENANT_ID), eq(source.getId().toString()), any());
+
+        CreateJobRequest first = ingested.get(0);
+        assertThat(first.title()).isEqualTo("Java Developer");
+        assertThat(first.company()).isEqualTo("Acme");
+        assertThat(first.externalId()).isEqualTo("J-1");
+        assertThat(first.location()).isEqualTo("Berlin, DE");
+        assertThat(first.description()).isEqualTo("Build APIs");
+        assertThat(first.employmentType()).isEqualTo(EmploymentType.FULL_TIME);
+        assertThat(first.remoteType()).isEqualTo(RemoteType.REMOTE);
+        assertThat(first.salaryMin()).isEqualByComparingTo(new BigDecimal("60000"));
+        assertThat(first.salaryMax()).isEqualByComparingTo(new BigDecimal("80000"));
+        assertThat(first.expiresAt()).isEqualTo(Instant.parse("2026-12-31T23:59:59Z"));
+        assertThat(ingested.get(1).externalId()).isEqualTo("J-2");
+
+        assertThat(meterRegistry.get("jobagent.crawler.jobs").tag("source", "Acme careers").counter().count())
+                .isEqualTo(2);
+        verifyNoInteractions(playwrightPageFetcher);
+    }
+
+    @Test
+    @DisplayName("should read listings with CSS selectors and not revisit a page")
+    void shouldCrawlWithSelectors() {
+        // Given
+        JobSourceConfig source = source("Board", "/board", new JobSourceConfig.CrawlSelectors(
+                "div.job", "@data-id", "a.title", null, ".loc", null, "a.title@href", "a.next@href"));
+        ingestByConsuming();
+
+        // When
+        CrawlReport report = crawler.crawl(source);
+
+        // Then
+        assertThat(report.pages()).isEqualTo(1);
+        assertThat(hits.get("/board")).isEqualTo(1);
+        assertThat(ingested).extracting(CreateJobRequest::externalId).containsExactly("b-1", "b-2");
+        assertThat(ingested).extracting(CreateJobRequest::company).containsOnly("Board");
+        assertThat(ingested.get(0).sourceUrl()).isEqualTo(baseUrl() + "/board/1");
+        assertThat(ingested.get(1).location()).isEqualTo("Paris");
+    }
+
+    @Test
+    @DisplayName("should not follow next links to another origin")
+    void shouldNotFollowLinksOffSource() {
+        // Given
+        JobSourceConfig source = source("Acme careers", "/elsewhere", null);
+        ingestByConsuming();
+
+        // When
+        CrawlReport report = crawler.crawl(source);
+
+        // Then
+        assertThat(report.error()).isNull();
+        assertThat(report.pages()).isEqualTo(1);
+        assertThat(hits).doesNotContainKey("/jobs");
+    }
+
+    @Test
+    @DisplayName("should not send the source's auth headers to the target of a cross-origin redirect")
+    void shouldDropAuthHeadersOnCrossOriginRedirect() {
+        // Given
+        JobSourceConfig source = source("Acme careers", "/hop", null);
+        source.setAuthConfig(Map.of("Authorization", "Bearer s3cret"));
+        ingestByConsuming();
+
+        // When
+        CrawlReport report = crawler.crawl(source);
+
+        // Then
+        assertThat(report.error()).isNull();
+        assertThat(hits.get("/hop")).isEqualTo(1);
+        assertThat(authorization).containsEntry("/landing", "null");
+        assertThat(ingested).extracting(CreateJobRequest::externalId).containsExactly("J-2");
+    }
+
+    @Test
+    @DisplayName("should skip not-modified and unchanged pages but follow their stored next links")
+    void shouldSkipUnchangedPages() {
+        // Given
+        JobSourceConfig source = source("Acme feed", "/feed", null);
+        String page2 = baseUrl() + "/jobs?page=2";
+        when(jobSourcePageRepository.findBySource(TENANT_ID, source.getId())).thenReturn(Map.of(
+                baseUrl() + "/feed", new PageState(baseUrl() + "/feed", "\"v1\"", null, "old", page2),
+                page2, new PageState(page2, null, null, JobFingerprint.sha256(JSON_LD_PAGE_2), null)));
+        ingestByConsuming();
+
+        // When
+        CrawlReport report = crawler.crawl(source);
+
+        // Then
+        assertThat(report.pages()).isEqualTo(2);
+        assertThat(report.pagesSkipped()).isEqualTo(2);
+        assertThat(report.skipRate()).isEqualTo(1.0);
+        assertThat(report.jobsFound()).isZero();
+        assertThat(ingested).isEmpty();
+        assertThat(hits).containsEntry("/feed", 1).containsEntry("/jobs", 1);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PageState>> saved = ArgumentCaptor.forClass(List.class);
+        verify(jobSourcePageRepository).saveAll(eq(TENANT_ID), eq(source.getId()), saved.capture());
+        assertThat(saved.getValue()).extracting(PageState::url).containsExactly(baseUrl() + "/feed", page2);
+        assertThat(meterRegistry.get("jobagent.crawler.page.fetches")
+                .tags("source", "Acme feed", "result", "not_modified").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jobagent.crawler.page.fetches")
+                .tags("source", "Acme feed", "result", "unchanged").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should store validators and body hashes of parsed pages")
+    void shouldStorePageState() {
+        // Given
+        JobSourceConfig source = source("Acme feed", "/feed", null);
+        ingestByConsuming();
+
+        // When
+        CrawlReport report = crawler.crawl(source);
+
+        // Then
+        assertThat(report.pagesSkipped()).isZero();
+        assertThat(report.jobsFound()).isEqualTo(2);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PageState>> saved = ArgumentCaptor.forClass(List.class);
+        verify(jobSourcePageRepository).saveAll(eq(TENANT_ID), eq(source.getId()), saved.capture());
+        assertThat(saved.getValue()).first().satisfies(page -> {
+            assertThat(page.etag()).isEqualTo("\"v1\"");
+            assertThat(page.contentHash()).isEqualTo(JobFingerprint.sha256(JSON_LD_PAGE_1));
+            assertThat(page.nextUrl()).isEqualTo(baseUrl() + "/jobs?page=2");
+        });
+    }
+
+    @Test
+    @DisplayName("should report a failed first page without throwing")
+    void shouldReportFailedCrawl() {
+        // Given
+        JobSourceConfig source = source("Broken", "/broken", null);
+        ingestByConsuming();
+
+        // When
+        CrawlReport report = crawler.crawl(source);
+
+        // Then
+        assertThat(report.error()).contains("503");
+        assertThat(report.pages()).isZero();
+        assertThat(report.ingest()).isNull();
+        verify(jobSourcePageRepository, never()).saveAll(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("should crawl all enabled sources concurrently")
+    void shouldCrawlAllSources() {
+        // Given
+        when(jobSourceConfigRepository.findByEnabledTrue()).thenReturn(List.of(
+                source("Acme careers", "/jobs?page=1", null),
+                source("Board", "/board", new JobSourceConfig.CrawlSelectors(
+                        "div.job", "@data-id", "a.title", null, null, null, null, null))));
+        ingestByConsuming();
+
+        // When
+        List<CrawlReport> reports = crawler.crawlAll();
+
+        // Then
+        assertThat(reports).extracting(CrawlReport::source).containsExactly("Acme careers", "Board");
+        assertThat(reports).extracting(CrawlReport::jobsFound).containsExactly(2, 2);
+        assertThat(ingested).hasSize(4);
+    }
+
+    @Nested
+    @DisplayName("HostPoliteness")
+    class HostPolitenessTests {
+
+        @Test
+        @DisplayName("should space request starts to the same host")
+        void shouldSpaceRequests() throws Exception {
+            // Given
+            HostPoliteness politeness = new HostPoliteness(4, Duration.ofMillis(40));
+            java.net.URI uri = java.net.URI.create(baseUrl());
+
+            // When
+            long start = System.nanoTime();
+            for (int i = 0; i < 3; i++) {
+                politeness.call(uri, () -> null);
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            // Then
+            assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ofMillis(80));
+        }
+
+        @Test
+        @DisplayName("should not delay requests to different hosts")
+        void shouldNotDelayOtherHosts() throws Exception {
+            // Given
+            HostPoliteness politeness = new HostPoliteness(1, Duration.ofSeconds(5));
+            Set<String> hosts = Set.of("http://a.example", "http://b.example", "http://c.example");
+
+            // When
+            long start = System.nanoTime();
+            for (String host : hosts) {
+                politeness.call(java.net.URI.create(host), () -> null);
+            }
+
+            // Then
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        }
+    }
+
+    private void ingestByConsuming() {
+        when(jobIngestionService.ingest(any(UUID.class), any(String.class), any())).thenAnswer(invocation -> {
+            Stream<CreateJobRequest> jobs = invocation.getArgument(2);
+            jobs.forEach(ingested::add);
+            return BulkIngestResult.of(invocation.getArgument(1), List.of());
+        });
+    }
+
+    private JobSourceConfig source(String name, String path, JobSourceConfig.CrawlSelectors selectors) {
+        JobSourceConfig source = JobSourceConfig.builder()
+                .name(name)
+                .baseUrl(baseUrl() + path)
+                .selectors(selectors)
+                .build();
+        source.setId(UUID.randomUUID());
+        source.setTenantId(TENANT_ID);
+        return source;
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /** The same stub server under another host name. */
+    private String otherOrigin() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void serve(String path, java.util.function.Function<com.sun.net.httpserver.HttpExchange, String> page) {
+        server.createContext(path, exchange -> {
+            hits.merge(exchange.getRequestURI().getPath(), 1, Integer::sum);
+            byte[] body = page.apply(exchange).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package com.jobagent.jobagent.jobsearch.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobagent.jobagent.jobsearch.dto.CreateJobRequest;
+import com.jobagent.jobagent.jobsearch.model.EmploymentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for JobBulkLoader.
+ */
+@DisplayName("JobBulkLoader Tests")
+class JobBulkLoaderTest {
+
+    private final JobBulkLoader jobBulkLoader = new JobBulkLoader(null, new ObjectMapper());
+
+    @Test
+    @DisplayName("should write COPY csv with quoted values and unquoted NULLs")
+    void shouldWriteCopyCsv() {
+        // Given
+        CreateJobRequest job = new CreateJobRequest("Senior \"Java\" Dev", "Acme", null, "Line one,\nline two",
+                null, List.of("java"), new BigDecimal("50000.00"), null, null, EmploymentType.FULL_TIME, null,
+                null, "ext-1", null);
+
+        // When
+        String csv = jobBulkLoader.toCsv(List.of(
+                new JobBulkLoader.StagedJob(7, job, List.of("java", "spring"), "f00d")));
+
+        // Then
+        assertThat(csv).isEqualTo("7,\"ext-1\",\"Senior \"\"Java\"\" Dev\",\"Acme\",,\"Line one,\nline two\",,"
+                + "\"[\"\"java\"\",\"\"spring\"\"]\",\"50000.00\",,\"EUR\",\"FULL_TIME\",,,,\"f00d\"\n");
+    }
+}
@@ -0,0 +1,26 @@
+package com.jobagent.jobagent.jobsearch.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for JobListingSpecifications.
+ */
+@DisplayName("JobListingSpecifications Tests")
+class JobListingSpecificationsTest {
+
+    @Test
+    @DisplayName("should build a lowercase contains pattern")
+    void shouldBuildContainsPattern() {
+        assertThat(JobListingSpecifications.containsPattern("  Berlin ")).isEqualTo("%berlin%");
+    }
+
+    @Test
+    @DisplayName("should escape LIKE wildcards in the search term")
+    void shouldEscapeWildcards() {
+        assertThat(JobListingSpecifications.containsPattern("100%_C\\C++"))
+                .isEqualTo("%100\\%\\_c\\\\c++%");
+    }
+}
@@ -0,0 +1,71 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.jobsearch.model.JobStatus;
+import com.jobagent.jobagent.jobsearch.repository.JobListingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ActiveJobCounts.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActiveJobCounts Tests")
+class ActiveJobCountsTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+
+    @Mock
+    private JobListingRepository jobListingRepository;
+
+    @Mock
+    private JobSetVersions jobSetVersions;
+
+    private ActiveJobCounts activeJobCounts;
+
+    @BeforeEach
+    void setUp() {
+        activeJobCounts = new ActiveJobCounts(jobListingRepository, jobSetVersions, new AppProperties());
+    }
+
+    @Test
+    @DisplayName("should count once while the job set version is unchanged")
+    void shouldReuseCountForSameVersion() {
+        // Given
+        when(jobSetVersions.current(TENANT_ID)).thenReturn(3L);
+        when(jobListingRepository.countByTenantIdAndStatusAndDuplicateOfIsNull(TENANT_ID, JobStatus.ACTIVE)).thenReturn(120L);
+
+        // When
+        long first = activeJobCounts.get(TENANT_ID);
+        long second = activeJobCounts.get(TENANT_ID);
+
+        // Then
+        assertThat(first).isEqualTo(120);
+        assertThat(second).isEqualTo(120);
+        verify(jobListingRepository, times(1)).countByTenantIdAndStatusAndDuplicateOfIsNull(TENANT_ID, JobStatus.ACTIVE);
+    }
+
+    @Test
+    @DisplayName("should recount when the job set version changes")
+    void shouldRecountOnVersionChange() {
+        // Given
+        when(jobSetVersions.current(TENANT_ID)).thenReturn(3L, 4L);
+        when(jobListingRepository.countByTenantIdAndStatusAndDuplicateOfIsNull(TENANT_ID, JobStatus.ACTIVE)).thenReturn(120L, 121L);
+
+        // When
+        activeJobCounts.get(TENANT_ID);
+        long recounted = activeJobCounts.get(TENANT_ID);
+
+        // Then
+        assertThat(recounted).isEqualTo(121);
+    }
+}
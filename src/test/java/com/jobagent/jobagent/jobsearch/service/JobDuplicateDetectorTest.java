@@ -0,0 +1,110 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.jobsearch.repository.JobLshRepository;
+import com.jobagent.jobagent.jobsearch.repository.JobLshRepository.BucketMatch;
+import com.jobagent.jobagent.jobsearch.repository.JobLshRepository.DuplicateLink;
+import com.jobagent.jobagent.jobsearch.repository.JobLshRepository.JobText;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JobDuplicateDetector.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobDuplicateDetector Tests")
+class JobDuplicateDetectorTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+    private static final String DESCRIPTION = "You will design and build REST APIs with Spring Boot, run them on "
+            + "Kubernetes and mentor two junior engineers in a small platform team.";
+
+    @Mock
+    private JobLshRepository jobLshRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private AppProperties appProperties;
+    private JobDuplicateDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        appProperties = new AppProperties();
+        detector = new JobDuplicateDetector(jobLshRepository, transactionTemplate, appProperties);
+    }
+
+    @Test
+    @DisplayName("should link a repost within the same batch to the first listing")
+    void shouldLinkDuplicateWithinBatch() {
+        // Given
+        JobText first = job("Java Developer", DESCRIPTION);
+        JobText repost = job("Java Developer", DESCRIPTION + " Apply now!");
+        JobText other = job("Product Designer", "Own the design system and run user research sessions in Figma.");
+
+        // When
+        Map<UUID, UUID> duplicates = detector.index(TENANT_ID, List.of(first, repost, other));
+
+        // Then
+        assertThat(duplicates).containsExactly(Map.entry(repost.id(), first.id()));
+        verify(jobLshRepository).saveAll(eq(TENANT_ID), argThat(jobs -> jobs.size() == 3));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DuplicateLink>> links = ArgumentCaptor.forClass(List.class);
+        verify(jobLshRepository).link(eq(TENANT_ID), links.capture());
+        assertThat(links.getValue()).containsExactly(
+                new DuplicateLink(first.id(), null),
+                new DuplicateLink(repost.id(), first.id()),
+                new DuplicateLink(other.id(), null));
+    }
+
+    @Test
+    @DisplayName("should link to the canonical listing of a stored duplicate")
+    void shouldLinkToStoredCanonical() {
+        // Given
+        UUID canonical = UUID.randomUUID();
+        UUID storedRepost = UUID.randomUUID();
+        MinHasher minHasher = new MinHasher(16, 8, 3);
+        byte[] signature = MinHasher.toBytes(minHasher.signature("Java Developer Acme " + DESCRIPTION));
+        when(jobLshRepository.findByBuckets(eq(TENANT_ID), any(), any(), any()))
+                .thenReturn(List.of(new BucketMatch(storedRepost, canonical, signature)));
+        JobText incoming = job("Java Developer", DESCRIPTION);
+
+        // When
+        Map<UUID, UUID> duplicates = detector.index(TENANT_ID, List.of(incoming));
+
+        // Then
+        assertThat(duplicates).containsExactly(Map.entry(incoming.id(), canonical));
+    }
+
+    @Test
+    @DisplayName("should do nothing when disabled")
+    void shouldSkipWhenDisabled() {
+        // Given
+        appProperties.getDedup().setEnabled(false);
+
+        // When
+        Map<UUID, UUID> duplicates = detector.index(TENANT_ID, List.of(job("Java Developer", DESCRIPTION)));
+
+        // Then
+        assertThat(duplicates).isEmpty();
+        verifyNoInteractions(jobLshRepository);
+    }
+
+    private static JobText job(String title, String description) {
+        return new JobText(UUID.randomUUID(), null, title, "Acme", description);
+    }
+}
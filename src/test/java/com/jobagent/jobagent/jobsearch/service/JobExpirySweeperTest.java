@@ -0,0 +1,107 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.jobsearch.event.JobsExpiredEvent;
+import com.jobagent.jobagent.jobsearch.repository.JobExpiryRepository;
+import com.jobagent.jobagent.jobsearch.repository.JobExpiryRepository.ExpiredJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JobExpirySweeper.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobExpirySweeper Tests")
+class JobExpirySweeperTest {
+
+    private static final UUID TENANT_A = UUID.randomUUID();
+    private static final UUID TENANT_B = UUID.randomUUID();
+
+    @Mock
+    private JobExpiryRepository jobExpiryRepository;
+
+    @Mock
+    private JobDuplicateDetector jobDuplicateDetector;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private JobExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getExpiry().setBatchSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new JobExpirySweeper(jobExpiryRepository, jobDuplicateDetector, transactionTemplate, eventPublisher,
+                appProperties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("should expire in batches until a short batch, promote successors and publish one event per tenant and batch")
+    void shouldSweepInBatches() {
+        // Given
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        UUID a1 = UUID.randomUUID();
+        UUID a2 = UUID.randomUUID();
+        UUID b1 = UUID.randomUUID();
+        UUID a1Duplicate = UUID.randomUUID();
+        when(jobDuplicateDetector.promoteSuccessors(any(UUID.class), anyList())).thenReturn(Map.of());
+        when(jobDuplicateDetector.promoteSuccessors(TENANT_A, List.of(a1)))
+                .thenReturn(Map.of(a1Duplicate, List.of("java")));
+        when(jobExpiryRepository.expireBatch(any(Instant.class), eq(2)))
+                .thenReturn(List.of(new ExpiredJob(a1, TENANT_A), new ExpiredJob(b1, TENANT_B)))
+                .thenReturn(List.of(new ExpiredJob(a2, TENANT_A)));
+
+        // When
+        int count = sweeper.sweep();
+
+        // Then
+        assertThat(count).isEqualTo(3);
+        verify(jobExpiryRepository, times(2)).expireBatch(any(Instant.class), eq(2));
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(eventPublisher).publishEvent(new JobsExpiredEvent(TENANT_A, List.of(a1), Map.of(a1Duplicate, List.of("java"))));
+        verify(eventPublisher).publishEvent(new JobsExpiredEvent(TENANT_B, List.of(b1), Map.of()));
+        verify(eventPublisher).publishEvent(new JobsExpiredEvent(TENANT_A, List.of(a2), Map.of()));
+        assertThat(meterRegistry.get("jobagent.jobs.expired").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should stop after an empty batch without publishing")
+    void shouldDoNothingWhenNothingIsDue() {
+        // Given
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(jobExpiryRepository.expireBatch(any(Instant.class), eq(2))).thenReturn(List.of());
+
+        // When
+        int count = sweeper.sweep();
+
+        // Then
+        assertThat(count).isZero();
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,51 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import com.jobagent.jobagent.jobsearch.dto.CreateJobRequest;
+import com.jobagent.jobagent.jobsearch.model.EmploymentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for JobFingerprint.
+ */
+@DisplayName("JobFingerprint Tests")
+class JobFingerprintTest {
+
+    @Test
+    @DisplayName("should ignore whitespace, Unicode composition, skill order and salary scale")
+    void shouldIgnoreFormattingDifferences() {
+        // Given
+        CreateJobRequest original = job("Cafe\u0301  Developer", "Build\n APIs ", new BigDecimal("50000"));
+        CreateJobRequest reformatted = job("Café Developer", "Build APIs", new BigDecimal("50000.00"));
+
+        // When
+        String first = JobFingerprint.of(original, List.of("java", "spring"));
+        String second = JobFingerprint.of(reformatted, List.of("spring", "java"));
+
+        // Then
+        assertThat(first).hasSize(64).isEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("should change when a material field changes")
+    void shouldDetectContentChanges() {
+        // Given
+        CreateJobRequest job = job("Java Developer", "Build APIs", new BigDecimal("50000"));
+
+        // When / Then
+        assertThat(JobFingerprint.of(job, List.of("java")))
+                .isNotEqualTo(JobFingerprint.of(job("Java Developer", "Build APIs", new BigDecimal("55000")),
+                        List.of("java")))
+                .isNotEqualTo(JobFingerprint.of(job, List.of("java", "kotlin")));
+    }
+
+    private static CreateJobRequest job(String title, String description, BigDecimal salaryMin) {
+        return new CreateJobRequest(title, "Acme", "Berlin", description, null, null, salaryMin, null, "EUR",
+                EmploymentType.FULL_TIME, null, null, "ext-1", null);
+    }
+}
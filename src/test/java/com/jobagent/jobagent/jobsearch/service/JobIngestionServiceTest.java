@@ -0,0 +1,297 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.common.multitenancy.TenantContext;
+import com.jobagent.jobagent.common.skill.SkillDictionary;
+import com.jobagent.jobagent.jobsearch.dto.BulkIngestResult;
+import com.jobagent.jobagent.jobsearch.dto.IngestFormat;
+import com.jobagent.jobagent.jobsearch.model.JobListing;
+import com.jobagent.jobagent.jobsearch.model.JobStatus;
+import com.jobagent.jobagent.jobsearch.repository.JobBulkLoader;
+import com.jobagent.jobagent.jobsearch.repository.JobLshRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JobIngestionService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobIngestionService Tests")
+class JobIngestionServiceTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+    private static MockedStatic<TenantContext> tenantContextMock;
+
+    @Mock
+    private JobBulkLoader jobBulkLoader;
+
+    @Mock
+    private JobDuplicateDetector jobDuplicateDetector;
+
+    @Mock
+    private JobSkillIndex jobSkillIndex;
+
+    @Mock
+    private JobEmbeddingService jobEmbeddingService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private JobIngestionService jobIngestionService;
+
+    @BeforeAll
+    static void setUpClass() {
+        tenantContextMock = mockStatic(TenantContext.class);
+        tenantContextMock.when(TenantContext::requireTenantId).thenReturn(TENANT_ID);
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        tenantContextMock.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getIngest().setBatchSize(2);
+        SkillDictionary skillDictionary = new SkillDictionary(
+                new ClassPathResource("skills/skill-dictionary.json"), new ObjectMapper());
+        jobIngestionService = new JobIngestionService(jobBulkLoader, jobDuplicateDetector, skillDictionary, jobSkillIndex,
+                jobEmbeddingService, transactionTemplate, Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper().findAndRegisterModules(), appProperties);
+    }
+
+    @Nested
+    @DisplayName("NDJSON feeds")
+    class NdjsonTests {
+
+        @Test
+        @DisplayName("should merge batches and report inserted, updated and skipped counts per batch")
+        void shouldReportCountsPerBatch() {
+            // Given
+            runTransactionsInline();
+            UUID inserted = UUID.randomUUID();
+            UUID updated = UUID.randomUUID();
+            when(jobBulkLoader.merge(eq(TENANT_ID), eq("partner"), any()))
+                    .thenReturn(List.of(
+                            new JobBulkLoader.MergedJob(inserted, "a-1", JobStatus.ACTIVE, true),
+                            new JobBulkLoader.MergedJob(updated, "a-2", JobStatus.ACTIVE, false)))
+                    .thenReturn(List.of());
+            String feed = """
+                    {"externalId":"a-1","title":"Java Developer","company":"Acme","skills":["K8s","Java 17"],"salaryMin":50000}
+                    {"externalId":"a-2","title":"Go Developer","company":"Acme"}
+
+                    {"externalId":"a-3","title":"Unchanged","company":"Acme"}
+                    """;
+
+            // When
+            BulkIngestResult result = jobIngestionService.ingest(stream(feed), IngestFormat.NDJSON, "partner");
+
+            // Then
+            assertThat(result.batches()).containsExactly(
+                    new BulkIngestResult.BatchResult(0, 2, 1, 1, 0, 0),
+                    new BulkIngestResult.BatchResult(1, 1, 0, 0, 1, 0));
+            assertThat(result.inserted()).isEqualTo(1);
+            assertThat(result.updated()).isEqualTo(1);
+            assertThat(result.skipped()).isEqualTo(1);
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<JobBulkLoader.StagedJob>> staged = ArgumentCaptor.forClass(List.class);
+            verify(jobBulkLoader, times(2)).merge(eq(TENANT_ID), eq("partner"), staged.capture());
+            JobBulkLoader.StagedJob first = staged.getAllValues().get(0).get(0);
+            assertThat(first.line()).isEqualTo(1);
+            assertThat(first.skills()).containsExactly("kubernetes", "java");
+            assertThat(first.job().salaryMin()).isEqualByComparingTo(new BigDecimal("50000"));
+            assertThat(first.fingerprint()).isEqualTo(JobFingerprint.of(first.job(), first.skills()));
+            assertThat(staged.getAllValues().get(1)).extracting(JobBulkLoader.StagedJob::line).containsExactly(4L);
+
+            verify(jobSkillIndex).addJobs(TENANT_ID, Map.of(
+                    inserted, List.of("kubernetes", "java"), updated, List.of()));
+            verify(jobEmbeddingService, times(2)).embed(any(JobListing.class));
+        }
+
+        @Test
+        @DisplayName("should skip malformed and invalid records without merging them")
+        void shouldSkipInvalidRecords() {
+            // Given
+            String feed = """
+                    {"externalId":"a-1","title":
+                    {"title":"No external id","company":"Acme"}
+                    {"externalId":"a-3","title":"","company":"Acme"}
+                    """;
+
+            // When
+            BulkIngestResult result = jobIngestionService.ingest(stream(feed), IngestFormat.NDJSON, "partner");
+
+            // Then
+            assertThat(result.batches()).containsExactly(
+                    new BulkIngestResult.BatchResult(0, 2, 0, 0, 2, 0),
+                    new BulkIngestResult.BatchResult(1, 1, 0, 0, 1, 0));
+            verifyNoInteractions(jobBulkLoader, transactionTemplate, jobEmbeddingService);
+        }
+
+        @Test
+        @DisplayName("should keep only the last record for an external id within a batch")
+        void shouldCollapseDuplicatesWithinBatch() {
+            // Given
+            runTransactionsInline();
+            UUID jobId = UUID.randomUUID();
+            when(jobBulkLoader.merge(eq(TENANT_ID), eq("partner"), any()))
+                    .thenReturn(List.of(new JobBulkLoader.MergedJob(jobId, "a-1", JobStatus.ACTIVE, true)));
+            String feed = """
+                    {"externalId":"a-1","title":"Old title","company":"Acme"}
+                    {"externalId":"a-1","title":"New title","company":"Acme"}
+                    """;
+
+            // When
+            BulkIngestResult result = jobIngestionService.ingest(stream(feed), IngestFormat.NDJSON, "partner");
+
+            // Then
+            assertThat(result.batches()).containsExactly(new BulkIngestResult.BatchResult(0, 2, 1, 0, 1, 0));
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<JobBulkLoader.StagedJob>> staged = ArgumentCaptor.forClass(List.class);
+            verify(jobBulkLoader).merge(eq(TENANT_ID), eq("partner"), staged.capture());
+            assertThat(staged.getValue()).extracting(s -> s.job().title()).containsExactly("New title");
+        }
+
+        @Test
+        @DisplayName("should keep near-duplicates out of the skill index and embeddings")
+        void shouldNotIndexNearDuplicates() {
+            // Given
+            runTransactionsInline();
+            UUID canonical = UUID.randomUUID();
+            UUID repost = UUID.randomUUID();
+            UUID relinked = UUID.randomUUID();
+            when(jobBulkLoader.merge(eq(TENANT_ID), eq("partner"), any())).thenReturn(List.of(
+                    new JobBulkLoader.MergedJob(canonical, "a-1", JobStatus.ACTIVE, true),
+                    new JobBulkLoader.MergedJob(repost, "a-2", JobStatus.ACTIVE, true)))
+                    .thenReturn(List.of(new JobBulkLoader.MergedJob(relinked, "a-3", JobStatus.ACTIVE, false)));
+            when(jobDuplicateDetector.index(eq(TENANT_ID), any()))
+                    .thenReturn(Map.of(repost, canonical))
+                    .thenReturn(Map.of(relinked, canonical));
+            String feed = """
+                    {"externalId":"a-1","title":"Java Developer","company":"Acme","description":"Build APIs"}
+                    {"externalId":"a-2","title":"Java Developer","company":"Acme","description":"Build APIs!"}
+                    {"externalId":"a-3","title":"Java Developer","company":"Acme","description":"Build APIs."}
+                    """;
+
+            // When
+            BulkIngestResult result = jobIngestionService.ingest(stream(feed), IngestFormat.NDJSON, "partner");
+
+            // Then
+            assertThat(result.batches()).containsExactly(
+                    new BulkIngestResult.BatchResult(0, 2, 2, 0, 0, 1),
+                    new BulkIngestResult.BatchResult(1, 1, 0, 1, 0, 1));
+            assertThat(result.duplicates()).isEqualTo(2);
+            verify(jobSkillIndex).addJobs(TENANT_ID, Map.of(canonical, List.of()));
+            verify(jobSkillIndex).removeJobs(TENANT_ID, List.of(relinked));
+            ArgumentCaptor<JobListing> embedded = ArgumentCaptor.forClass(JobListing.class);
+            verify(jobEmbeddingService).embed(embedded.capture());
+            assertThat(embedded.getValue().getId()).isEqualTo(canonical);
+        }
+
+        @Test
+        @DisplayName("should leave rows that are not ACTIVE out of near-duplicate detection")
+        void shouldOnlyDeduplicateActiveRows() {
+            // Given
+            runTransactionsInline();
+            UUID expired = UUID.randomUUID();
+            UUID active = UUID.randomUUID();
+            when(jobBulkLoader.merge(eq(TENANT_ID), eq("partner"), any())).thenReturn(List.of(
+                    new JobBulkLoader.MergedJob(expired, "a-1", JobStatus.EXPIRED, false),
+                    new JobBulkLoader.MergedJob(active, "a-2", JobStatus.ACTIVE, true)));
+            String feed = """
+                    {"externalId":"a-1","title":"Java Developer","company":"Acme","description":"Build APIs"}
+                    {"externalId":"a-2","title":"Java Developer","company":"Acme","description":"Build APIs!"}
+                    """;
+
+            // When
+            jobIngestionService.ingest(stream(feed), IngestFormat.NDJSON, "partner");
+
+            // Then
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<JobLshRepository.JobText>> indexed = ArgumentCaptor.forClass(List.class);
+            verify(jobDuplicateDetector).index(eq(TENANT_ID), indexed.capture());
+            assertThat(indexed.getValue()).extracting(JobLshRepository.JobText::id).containsExactly(active);
+            verify(jobSkillIndex).addJobs(TENANT_ID, Map.of(active, List.of()));
+        }
+    }
+
+    @Nested
+    @DisplayName("CSV feeds")
+    class CsvTests {
+
+        @Test
+        @DisplayName("should map header columns and parse quoted multi-line fields")
+        void shouldParseCsv() {
+            // Given
+            runTransactionsInline();
+            when(jobBulkLoader.merge(eq(TENANT_ID), eq("csv-feed"), any())).thenReturn(List.of());
+            String feed = """
+                    external_id,Title,company,description,skills,employment_type,unknown
+                    e-1,"Senior ""Java"" Developer",Acme,"Line one,
+                    line two",Java; Spring-Boot | k8s,FULL_TIME,ignored
+                    e-2,Designer,Studio,,,,
+                    """;
+
+            // When
+            BulkIngestResult result = jobIngestionService.ingest(stream(feed), IngestFormat.CSV, "csv-feed");
+
+            // Then
+            assertThat(result.batches()).containsExactly(new BulkIngestResult.BatchResult(0, 2, 0, 0, 2, 0));
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<JobBulkLoader.StagedJob>> staged = ArgumentCaptor.forClass(List.class);
+            verify(jobBulkLoader).merge(eq(TENANT_ID), eq("csv-feed"), staged.capture());
+
+            JobBulkLoader.StagedJob first = staged.getValue().get(0);
+            assertThat(first.line()).isEqualTo(2);
+            assertThat(first.job().externalId()).isEqualTo("e-1");
+            assertThat(first.job().title()).isEqualTo("Senior \"Java\" Developer");
+            assertThat(first.job().description()).isEqualTo("Line one,\nline two");
+            assertThat(first.skills()).containsExactly("java", "spring boot", "kubernetes");
+
+            JobBulkLoader.StagedJob second = staged.getValue().get(1);
+            assertThat(second.line()).isEqualTo(4);
+            assertThat(second.job().description()).isNull();
+            assertThat(second.skills()).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("should reject an invalid source name")
+    void shouldRejectInvalidSource() {
+        assertThatThrownBy(() -> jobIngestionService.ingest(stream(""), IngestFormat.NDJSON, "bad source!"))
+                .isInstanceOf(JobIngestionService.IngestException.class);
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static InputStream stream(String feed) {
+        return new ByteArrayInputStream(feed.getBytes(StandardCharsets.UTF_8));
+    }
+}
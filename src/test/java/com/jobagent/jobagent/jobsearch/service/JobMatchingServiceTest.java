@@ -1,32 +1,49 @@
 package com.jobagent.jobagent.jobsearch.service;
 
+import com.jobagent.jobagent.common.config.AppProperties;
 import com.jobagent.jobagent.common.multitenancy.TenantContext;
+import com.jobagent.jobagent.common.skill.SkillDictionary;
 import com.jobagent.jobagent.cv.dto.CvParsedData;
 import com.jobagent.jobagent.cv.model.CvDetails;
 import com.jobagent.jobagent.cv.model.CvStatus;
 import com.jobagent.jobagent.cv.repository.CvDetailsRepository;
+import com.jobagent.jobagent.cv.repository.CvEmbeddingRepository;
+import com.jobagent.jobagent.jobsearch.dto.CursorPage;
 import com.jobagent.jobagent.jobsearch.dto.JobMatchScore;
+import com.jobagent.jobagent.jobsearch.dto.JobMatchView;
+import com.jobagent.jobagent.jobsearch.dto.MatchCursor;
+import com.jobagent.jobagent.jobsearch.dto.MatchMode;
+import com.jobagent.jobagent.jobsearch.dto.JobSkillsView;
 import com.jobagent.jobagent.jobsearch.model.JobListing;
 import com.jobagent.jobagent.jobsearch.model.JobStatus;
+import com.jobagent.jobagent.jobsearch.repository.JobEmbeddingRepository;
 import com.jobagent.jobagent.jobsearch.repository.JobListingRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -43,10 +60,23 @@ class JobMatchingServiceTest {
     @Mock
     private CvDetailsRepository cvDetailsRepository;
 
-    @Spy
-    private ObjectMapper objectMapper = new ObjectMapper();
+    @Mock
+    private JobSetVersions jobSetVersions;
+
+    @Mock
+    private JobEmbeddingRepository jobEmbeddingRepository;
+
+    @Mock
+    private CvEmbeddingRepository cvEmbeddingRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> redisValues;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
-    @InjectMocks
     private JobMatchingService jobMatchingService;
 
     private static MockedStatic<TenantContext> tenantContextMock;
@@ -64,6 +94,20 @@ class JobMatchingServiceTest {
         tenantContextMock.close();
     }
 
+    @BeforeEach
+    void setUp() {
+        SkillDictionary skillDictionary = new SkillDictionary(
+                new ClassPathResource("skills/skill-dictionary.json"), objectMapper);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(redisValues);
+        jobMatchingService = new JobMatchingService(
+                jobListingRepository, cvDetailsRepository, objectMapper,
+                new JobSkillIndex(jobListingRepository, skillDictionary, jobSetVersions,
+                        new ParallelMatchScoring(ForkJoinPool.commonPool(), new AppProperties(), new SimpleMeterRegistry())),
+                skillDictionary,
+                new MatchResultCache(redisTemplate, new AppProperties()), jobSetVersions,
+                jobEmbeddingRepository, cvEmbeddingRepository, new AppProperties());
+    }
+
     @Nested
     @DisplayName("getMatchedJobs")
     class GetMatchedJobsTests {
@@ -78,9 +122,7 @@ class JobMatchingServiceTest {
             JobListing job2 = createJob("Full Stack", List.of("java", "react", "node")); // 33% match
             JobListing job3 = createJob("Backend Lead", List.of("java", "spring", "postgresql")); // 75% match
 
-            Page<JobListing> jobs = new PageImpl<>(List.of(job1, job2, job3));
-            when(jobListingRepository.findByTenantIdAndStatus(eq(TENANT_ID), eq(JobStatus.ACTIVE), any(Pageable.class)))
-                    .thenReturn(jobs);
+            setupActiveJobs(job1, job2, job3);
 
             // When
             Page<JobMatchScore> result = jobMatchingService.getMatchedJobs(USER_ID, 30, 0, 20);
@@ -102,9 +144,7 @@ class JobMatchingServiceTest {
             JobListing job1 = createJob("Java Dev", List.of("java", "spring")); // 100%
             JobListing job2 = createJob("Python Dev", List.of("python", "django")); // 0%
 
-            Page<JobListing> jobs = new PageImpl<>(List.of(job1, job2));
-            when(jobListingRepository.findByTenantIdAndStatus(eq(TENANT_ID), eq(JobStatus.ACTIVE), any(Pageable.class)))
-                    .thenReturn(jobs);
+            setupActiveJobs(job1, job2);
 
             // When
             Page<JobMatchScore> result = jobMatchingService.getMatchedJobs(USER_ID, 50, 0, 20);
@@ -114,11 +154,97 @@ class JobMatchingServiceTest {
             assertThat(result.getContent().get(0).title()).isEqualTo("Java Dev");
         }
 
+        @Test
+        @DisplayName("should load entities only for the requested page")
+        void shouldLoadOnlyRequestedPage() throws Exception {
+            // Given
+            setupUserWithSkills(List.of("java"));
+
+            JobListing job1 = createJob("Job1", List.of("java"));
+            JobListing job2 = createJob("Job2", List.of("java", "go"));
+            JobListing job3 = createJob("Job3", List.of("python"));
+            setupActiveJobs(job1, job2, job3);
+
+            // When
+            Page<JobMatchScore> result = jobMatchingService.getMatchedJobs(USER_ID, 30, 0, 1);
+
+            // Then
+            assertThat(result.getTotalElements()).isEqualTo(2);
+            assertThat(result.getContent()).extracting(JobMatchScore::title).containsExactly("Job1");
+            verify(jobListingRepository).findActiveMatchViewsByTenantIdAndIdIn(TENANT_ID, List.of(job1.getId()));
+            verify(jobListingRepository, never())
+                    .findByTenantIdAndStatus(any(), any(), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("should serve repeated requests from the match cache")
+        void shouldServeRepeatedRequestsFromCache() throws Exception {
+            // Given
+            setupUserWithSkills(List.of("java"));
+
+            JobListing job1 = createJob("Job1", List.of("java"));
+            JobListing job2 = createJob("Job2", List.of("java", "go"));
+            setupActiveJobs(job1, job2);
+
+            // When
+            Page<JobMatchScore> first = jobMatchingService.getMatchedJobs(USER_ID, 30, 0, 20);
+            Page<JobMatchScore> second = jobMatchingService.getMatchedJobs(USER_ID, 60, 0, 20);
+
+            // Then
+            assertThat(first.getTotalElements()).isEqualTo(2);
+            assertThat(second.getContent()).extracting(JobMatchScore::title).containsExactly("Job1");
+            verify(cvDetailsRepository, times(1)).findById(any());
+            verify(redisValues, times(1)).set(anyString(), anyString(), any(Duration.class));
+        }
+
+        @Test
+        @DisplayName("should recompute when the job set version changes")
+        void shouldRecomputeWhenJobSetVersionChanges() throws Exception {
+            // Given
+            setupUserWithSkills(List.of("java"));
+            setupActiveJobs(createJob("Job1", List.of("java")));
+            when(jobSetVersions.current(TENANT_ID)).thenReturn(1L, 2L);
+
+            // When
+            jobMatchingService.getMatchedJobs(USER_ID, 30, 0, 20);
+            jobMatchingService.getMatchedJobs(USER_ID, 30, 0, 20);
+
+            // Then
+            verify(cvDetailsRepository, times(2)).findById(any());
+        }
+
+        @Test
+        @DisplayName("should rebuild the skill index when another instance changed the job set")
+        void shouldRebuildIndexBehindJobSetVersion() throws Exception {
+            // Given — the index was loaded at version 1, then another instance added job2
+            setupUserWithSkills(List.of("java"));
+            JobListing job1 = createJob("Job1", List.of("java"));
+            JobListing job2 = createJob("Job2", List.of("java"));
+            when(jobListingRepository.findSkillsByTenantIdAndStatus(TENANT_ID, JobStatus.ACTIVE))
+                    .thenReturn(List.of(new JobSkillsView(job1.getId(), job1.getSkills())))
+                    .thenReturn(List.of(new JobSkillsView(job1.getId(), job1.getSkills()),
+                            new JobSkillsView(job2.getId(), job2.getSkills())));
+            when(jobListingRepository.findActiveMatchViewsByTenantIdAndIdIn(eq(TENANT_ID), anyCollection()))
+                    .thenAnswer(inv -> {
+                        Collection<UUID> ids = inv.getArgument(1);
+                        return Stream.of(job1, job2).filter(j -> ids.contains(j.getId())).map(this::matchView).toList();
+                    });
+            when(jobSetVersions.current(TENANT_ID)).thenReturn(1L, 1L, 2L);
+
+            // When
+            Page<JobMatchScore> before = jobMatchingService.getMatchedJobs(USER_ID, 30, 0, 20);
+            Page<JobMatchScore> after = jobMatchingService.getMatchedJobs(USER_ID, 30, 0, 20);
+
+            // Then
+            assertThat(before.getContent()).extracting(JobMatchScore::title).containsExactly("Job1");
+            assertThat(after.getContent()).extracting(JobMatchScore::title).containsExactlyInAnyOrder("Job1", "Job2");
+        }
+
         @Test
         @DisplayName("should return empty when user has no skills")
         void shouldReturnEmptyWhenUserHasNoSkills() {
             // Given
-            when(cvDetailsRepository.findTopByUserIdAndTenantIdAndStatusOrderByCreatedAtDesc(
+            when(cvDetailsRepository.findLatestIdByUserIdAndTenantIdAndStatus(
                     USER_ID, TENANT_ID, CvStatus.PARSED))
                     .thenReturn(Optional.empty());
 
@@ -130,6 +256,41 @@ class JobMatchingServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("getMatchedJobsAfter")
+    class GetMatchedJobsAfterTests {
+
+        @Test
+        @DisplayName("should walk the ranking page by page with cursors")
+        void shouldWalkRankingWithCursors() throws Exception {
+            // Given
+            setupUserWithSkills(List.of("java", "spring"));
+
+            JobListing job1 = createJob("Job1", List.of("java", "spring")); // 100%
+            JobListing job2 = createJob("Job2", List.of("java"));           // 100%
+            JobListing job3 = createJob("Job3", List.of("java", "go"));     // 50%
+            setupActiveJobs(job1, job2, job3);
+
+            // When
+            CursorPage<JobMatchScore> first = jobMatchingService.getMatchedJobsAfter(USER_ID, 30, "", 2);
+            CursorPage<JobMatchScore> second = jobMatchingService.getMatchedJobsAfter(USER_ID, 30, first.nextCursor(), 2);
+
+            // Then
+            assertThat(first.totalElements()).isEqualTo(3);
+            assertThat(first.content()).extracting(JobMatchScore::matchPercentage).containsExactly(100, 100);
+            assertThat(first.hasNext()).isTrue();
+            assertThat(second.content()).extracting(JobMatchScore::title).containsExactly("Job3");
+            assertThat(second.hasNext()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should reject a malformed cursor")
+        void shouldRejectMalformedCursor() {
+            assertThatThrownBy(() -> jobMatchingService.getMatchedJobsAfter(USER_ID, 30, "not-a-cursor", 20))
+                    .isInstanceOf(MatchCursor.InvalidCursorException.class);
+        }
+    }
+
     @Nested
     @DisplayName("calculateMatchForJob")
     class CalculateMatchForJobTests {
@@ -190,9 +351,7 @@ class JobMatchingServiceTest {
             JobListing job3 = createJob("Job3", List.of("java", "spring", "kubernetes"));
             JobListing job4 = createJob("Job4", List.of("python"));
 
-            Page<JobListing> jobs = new PageImpl<>(List.of(job1, job2, job3, job4));
-            when(jobListingRepository.findByTenantIdAndStatus(eq(TENANT_ID), eq(JobStatus.ACTIVE), any(Pageable.class)))
-                    .thenReturn(jobs);
+            setupActiveJobs(job1, job2, job3, job4);
 
             // When
             List<JobMatchScore> result = jobMatchingService.getTopMatches(USER_ID, 2);
@@ -202,6 +361,50 @@ class JobMatchingServiceTest {
             assertThat(result.get(0).matchPercentage()).isEqualTo(100);
             assertThat(result.get(1).matchPercentage()).isEqualTo(100);
         }
+
+        @Test
+        @DisplayName("should blend vector similarity with skill score in semantic mode")
+        void shouldBlendSimilarityInSemanticMode() throws Exception {
+            // Given
+            UUID cvId = setupUserWithSkills(List.of("java", "spring"));
+
+            JobListing job1 = createJob("Java Dev", List.of("java", "spring")); // skills 100%
+            JobListing job2 = createJob("JVM Dev", List.of("kotlin", "spring")); // skills 50%
+            when(cvEmbeddingRepository.findVectorLiteral(cvId, TENANT_ID)).thenReturn(Optional.of("[0.1,0.2]"));
+            when(jobEmbeddingRepository.findNearestActive(eq(TENANT_ID), eq("[0.1,0.2]"), eq(100), eq(100), eq(true)))
+                    .thenReturn(List.of(
+                            new JobEmbeddingRepository.JobSimilarity(job2.getId(), 0.9),
+                            new JobEmbeddingRepository.JobSimilarity(job1.getId(), 0.6)));
+            when(jobListingRepository.findActiveMatchViewsByTenantIdAndIdIn(eq(TENANT_ID), anyCollection()))
+                    .thenReturn(List.of(matchView(job1), matchView(job2)));
+
+            // When
+            List<JobMatchScore> result = jobMatchingService.getTopMatches(USER_ID, 10, MatchMode.SEMANTIC);
+
+            // Then
+            assertThat(result).extracting(JobMatchScore::title).containsExactly("Java Dev", "JVM Dev");
+            assertThat(result.get(0).matchPercentage()).isEqualTo(80); // (60 + 100) / 2
+            assertThat(result.get(1).matchPercentage()).isEqualTo(70); // (90 + 50) / 2
+            assertThat(result.get(1).semanticSimilarity()).isEqualTo(90);
+            verify(jobListingRepository, never()).findSkillsByTenantIdAndStatus(any(), any());
+        }
+
+        @Test
+        @DisplayName("should fall back to skill matching while the CV has no embedding")
+        void shouldFallBackWithoutCvEmbedding() throws Exception {
+            // Given
+            UUID cvId = setupUserWithSkills(List.of("java"));
+            setupActiveJobs(createJob("Job1", List.of("java")));
+            when(cvEmbeddingRepository.findVectorLiteral(cvId, TENANT_ID)).thenReturn(Optional.empty());
+
+            // When
+            List<JobMatchScore> result = jobMatchingService.getTopMatches(USER_ID, 10, MatchMode.SEMANTIC);
+
+            // Then
+            assertThat(result).extracting(JobMatchScore::title).containsExactly("Job1");
+            assertThat(result.get(0).semanticSimilarity()).isNull();
+            verifyNoInteractions(jobEmbeddingRepository);
+        }
     }
 
     @Nested
@@ -227,6 +430,27 @@ class JobMatchingServiceTest {
             assertThat(result.matchPercentage()).isEqualTo(100); // Partial match works
         }
 
+        @Test
+        @DisplayName("should match versioned and hyphenated skill variants")
+        void shouldMatchSkillVariants() throws Exception {
+            // Given
+            setupUserWithSkills(List.of("Java 11", "spring-boot", "Node.js"));
+
+            UUID jobId = UUID.randomUUID();
+            JobListing job = createJob("Dev", List.of("java", "springboot", "nodejs", "kafka"));
+            job.setId(jobId);
+            when(jobListingRepository.findByIdAndTenantId(jobId, TENANT_ID))
+                    .thenReturn(Optional.of(job));
+
+            // When
+            JobMatchScore result = jobMatchingService.calculateMatchForJob(USER_ID, jobId);
+
+            // Then
+            assertThat(result.matchedSkills()).containsExactly("java", "spring boot", "node.js");
+            assertThat(result.missingSkills()).containsExactly("kafka");
+            assertThat(result.matchPercentage()).isEqualTo(75);
+        }
+
         @Test
         @DisplayName("should match skill aliases")
         void shouldMatchSkillAliases() throws Exception {
@@ -247,7 +471,7 @@ class JobMatchingServiceTest {
         }
     }
 
-    private void setupUserWithSkills(List<String> skills) throws Exception {
+    private UUID setupUserWithSkills(List<String> skills) throws Exception {
         CvParsedData parsedData = new CvParsedData(
                 "John Doe", "john@example.com", "+1234567890",
                 "Senior Developer", "5 years experience", skills,
@@ -260,9 +484,36 @@ class JobMatchingServiceTest {
                 .build();
         cvDetails.setTenantId(TENANT_ID);
 
-        when(cvDetailsRepository.findTopByUserIdAndTenantIdAndStatusOrderByCreatedAtDesc(
+        cvDetails.setId(UUID.randomUUID());
+
+        // Ranked endpoints look up the CV id first; single-job matching loads the latest CV directly
+        lenient().when(cvDetailsRepository.findLatestIdByUserIdAndTenantIdAndStatus(
                 USER_ID, TENANT_ID, CvStatus.PARSED))
+                .thenReturn(Optional.of(cvDetails.getId()));
+        lenient().when(cvDetailsRepository.findById(cvDetails.getId()))
                 .thenReturn(Optional.of(cvDetails));
+        lenient().when(cvDetailsRepository.findTopByUserIdAndTenantIdAndStatusOrderByCreatedAtDesc(
+                USER_ID, TENANT_ID, CvStatus.PARSED))
+                .thenReturn(Optional.of(cvDetails));
+        return cvDetails.getId();
+    }
+
+    private void setupActiveJobs(JobListing... jobs) {
+        List<JobListing> all = List.of(jobs);
+        when(jobListingRepository.findSkillsByTenantIdAndStatus(TENANT_ID, JobStatus.ACTIVE))
+                .thenReturn(all.stream().map(j -> new JobSkillsView(j.getId(), j.getSkills())).toList());
+        lenient().when(jobListingRepository.findActiveMatchViewsByTenantIdAndIdIn(eq(TENANT_ID), anyCollection()))
+                .thenAnswer(inv -> {
+                    Collection<UUID> ids = inv.getArgument(1);
+                    return all.stream().filter(j -> ids.contains(j.getId())).map(this::matchView).toList();
+                });
+    }
+
+    private JobMatchView matchView(JobListing job) {
+        return new JobMatchView(job.getId(), job.getTitle(), job.getCompany(), job.getLocation(),
+                job.getSalaryMin(), job.getSalaryMax(), job.getSalaryCurrency(), job.getEmploymentType(),
+                job.getRemoteType(), job.getSourceUrl(), job.getStatus(), job.getCreatedAt(), job.getExpiresAt(),
+                job.getSkills());
     }
 
     private JobListing createJob(String title, List<String> skills) {
@@ -1,31 +1,48 @@
 package com.jobagent.jobagent.jobsearch.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobagent.jobagent.common.embedding.TextEmbedder;
 import com.jobagent.jobagent.common.multitenancy.TenantContext;
+import com.jobagent.jobagent.common.skill.SkillDictionary;
 import com.jobagent.jobagent.jobsearch.dto.CreateJobRequest;
+import com.jobagent.jobagent.jobsearch.dto.CursorPage;
 import com.jobagent.jobagent.jobsearch.dto.JobListingResponse;
+import com.jobagent.jobagent.jobsearch.dto.JobListingSummary;
 import com.jobagent.jobagent.jobsearch.dto.JobSearchRequest;
+import com.jobagent.jobagent.jobsearch.dto.ListingCursor;
+import com.jobagent.jobagent.jobsearch.dto.MatchCursor;
+import com.jobagent.jobagent.jobsearch.dto.SearchCursor;
+import com.jobagent.jobagent.jobsearch.event.JobListingCreatedEvent;
 import com.jobagent.jobagent.jobsearch.model.EmploymentType;
 import com.jobagent.jobagent.jobsearch.model.JobListing;
 import com.jobagent.jobagent.jobsearch.model.JobStatus;
 import com.jobagent.jobagent.jobsearch.model.RemoteType;
+import com.jobagent.jobagent.jobsearch.repository.HybridSearchRepository;
 import com.jobagent.jobagent.jobsearch.repository.JobListingRepository;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -38,6 +55,28 @@ class JobSearchServiceTest {
     @Mock
     private JobListingRepository jobListingRepository;
 
+    @Mock
+    private JobSkillIndex jobSkillIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private HybridSearchRepository hybridSearchRepository;
+
+    @Mock
+    private TextEmbedder textEmbedder;
+
+    @Mock
+    private ActiveJobCounts activeJobCounts;
+
+    @Mock
+    private JobDuplicateDetector jobDuplicateDetector;
+
+    @Spy
+    private SkillDictionary skillDictionary = new SkillDictionary(
+            new ClassPathResource("skills/skill-dictionary.json"), new ObjectMapper());
+
     @InjectMocks
     private JobSearchService jobSearchService;
 
@@ -64,12 +103,12 @@ class JobSearchServiceTest {
         void shouldReturnActiveJobsWithPagination() {
             // Given
             JobListing job = createTestJob();
-            Page<JobListing> jobPage = new PageImpl<>(List.of(job));
-            when(jobListingRepository.findByTenantIdAndStatus(eq(TENANT_ID), eq(JobStatus.ACTIVE), any(Pageable.class)))
+            Page<JobListingSummary> jobPage = new PageImpl<>(List.of(JobListingSummary.from(job)));
+            when(jobListingRepository.findSummariesByTenantIdAndStatusAndDuplicateOfIsNull(eq(TENANT_ID), eq(JobStatus.ACTIVE), any(Pageable.class)))
                     .thenReturn(jobPage);
 
             // When
-            Page<JobListingResponse> result = jobSearchService.getActiveJobs(0, 20);
+            Page<JobListingSummary> result = jobSearchService.getActiveJobs(0, 20);
 
             // Then
             assertThat(result.getContent()).hasSize(1);
@@ -80,17 +119,114 @@ class JobSearchServiceTest {
         @DisplayName("should return empty page when no jobs")
         void shouldReturnEmptyPageWhenNoJobs() {
             // Given
-            when(jobListingRepository.findByTenantIdAndStatus(eq(TENANT_ID), eq(JobStatus.ACTIVE), any(Pageable.class)))
+            when(jobListingRepository.findSummariesByTenantIdAndStatusAndDuplicateOfIsNull(eq(TENANT_ID), eq(JobStatus.ACTIVE), any(Pageable.class)))
                     .thenReturn(Page.empty());
 
             // When
-            Page<JobListingResponse> result = jobSearchService.getActiveJobs(0, 20);
+            Page<JobListingSummary> result = jobSearchService.getActiveJobs(0, 20);
 
             // Then
             assertThat(result.getContent()).isEmpty();
         }
     }
 
+    @Nested
+    @DisplayName("getActiveJobsAfter")
+    class GetActiveJobsAfterTests {
+
+        @Test
+        @DisplayName("should return the first page with a cursor and the cached total")
+        void shouldReturnFirstPageWithCursor() {
+            // Given
+            JobListingSummary newest = JobListingSummary.from(createTestJob());
+            JobListingSummary older = JobListingSummary.from(createTestJob());
+            JobListingSummary oldest = JobListingSummary.from(createTestJob());
+            when(jobListingRepository.findSummariesByTenantIdAndStatusAndDuplicateOfIsNullOrderByCreatedAtDescIdAsc(
+                    TENANT_ID, JobStatus.ACTIVE, Limit.of(3)))
+                    .thenReturn(List.of(newest, older, oldest));
+            when(activeJobCounts.get(TENANT_ID)).thenReturn(42L);
+
+            // When
+            CursorPage<JobListingSummary> result = jobSearchService.getActiveJobsAfter("", 2);
+
+            // Then
+            assertThat(result.content()).containsExactly(newest, older);
+            assertThat(result.totalElements()).isEqualTo(42);
+            assertThat(ListingCursor.decode(result.nextCursor()))
+                    .isEqualTo(new ListingCursor(older.createdAt(), older.id()));
+        }
+
+        @Test
+        @DisplayName("should seek after the cursor and stop on the last page")
+        void shouldSeekAfterCursor() {
+            // Given
+            ListingCursor after = new ListingCursor(Instant.parse("2026-01-02T03:04:05.123456Z"), UUID.randomUUID());
+            JobListingSummary job = JobListingSummary.from(createTestJob());
+            when(jobListingRepository.findSummariesAfter(
+                    TENANT_ID, JobStatus.ACTIVE, after.createdAt(), after.jobId(), Limit.of(21)))
+                    .thenReturn(List.of(job));
+            when(activeJobCounts.get(TENANT_ID)).thenReturn(21L);
+
+            // When
+            CursorPage<JobListingSummary> result = jobSearchService.getActiveJobsAfter(after.encode(), 20);
+
+            // Then
+            assertThat(result.content()).hasSize(1);
+            assertThat(result.hasNext()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should reject a malformed cursor")
+        void shouldRejectMalformedCursor() {
+            assertThatThrownBy(() -> jobSearchService.getActiveJobsAfter("bm90LWEtY3Vyc29y", 20))
+                    .isInstanceOf(MatchCursor.InvalidCursorException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("searchJobsAfter")
+    class SearchJobsAfterTests {
+
+        @Test
+        @DisplayName("should page a keyword search by cursor without counting")
+        void shouldPageKeywordSearch() {
+            // Given
+            ListingCursor after = new ListingCursor(Instant.parse("2026-01-02T03:04:05Z"), UUID.randomUUID());
+            JobListing job = createTestJob();
+            when(jobListingRepository.fullTextSearchPage(TENANT_ID, "java", after.createdAt(), after.jobId(), 21))
+                    .thenReturn(List.of(job.getId()));
+            when(jobListingRepository.findSummariesByTenantIdAndIdIn(TENANT_ID, List.of(job.getId())))
+                    .thenReturn(List.of(JobListingSummary.from(job)));
+            JobSearchRequest request = new JobSearchRequest(
+                    "java", null, null, null, null, null, null, null, null, 0, 20);
+
+            // When
+            CursorPage<JobListingSummary> result = jobSearchService.searchJobsAfter(request, after.encode());
+
+            // Then
+            assertThat(result.content()).extracting(JobListingSummary::id).containsExactly(job.getId());
+            assertThat(result.totalElements()).isEqualTo(-1);
+            verifyNoInteractions(activeJobCounts);
+        }
+
+        @Test
+        @DisplayName("should page a filtered search through the specification executor")
+        void shouldPageFilteredSearch() {
+            // Given
+            when(jobListingRepository.findSummaries(any(Specification.class), any(Sort.class), eq(2)))
+                    .thenReturn(List.of(JobListingSummary.from(createTestJob()), JobListingSummary.from(createTestJob())));
+            JobSearchRequest request = new JobSearchRequest(
+                    null, null, "Tech", null, null, null, null, null, null, 0, 1);
+
+            // When
+            CursorPage<JobListingSummary> result = jobSearchService.searchJobsAfter(request, "");
+
+            // Then
+            assertThat(result.content()).hasSize(1);
+            assertThat(result.hasNext()).isTrue();
+        }
+    }
+
     @Nested
     @DisplayName("searchJobs")
     class SearchJobsTests {
@@ -100,18 +236,21 @@ class JobSearchServiceTest {
         void shouldSearchWithKeyword() {
             // Given
             JobListing job = createTestJob();
-            Page<JobListing> jobPage = new PageImpl<>(List.of(job));
+            Page<UUID> idPage = new PageImpl<>(List.of(job.getId()));
             when(jobListingRepository.fullTextSearch(eq(TENANT_ID), eq("java developer"), any(Pageable.class)))
-                    .thenReturn(jobPage);
+                    .thenReturn(idPage);
+            when(jobListingRepository.findSummariesByTenantIdAndIdIn(TENANT_ID, List.of(job.getId())))
+                    .thenReturn(List.of(JobListingSummary.from(job)));
 
             JobSearchRequest request = new JobSearchRequest(
                     "java developer", null, null, null, null, null, null, null, null, 0, 20);
 
             // When
-            Page<JobListingResponse> result = jobSearchService.searchJobs(request);
+            Page<JobListingSummary> result = jobSearchService.searchJobs(request);
 
             // Then
             assertThat(result.getContent()).hasSize(1);
+            assertThat(result.getContent().get(0).title()).isEqualTo("Senior Java Developer");
             verify(jobListingRepository).fullTextSearch(eq(TENANT_ID), eq("java developer"), any(Pageable.class));
         }
 
@@ -120,19 +259,78 @@ class JobSearchServiceTest {
         void shouldSearchWithAdvancedCriteria() {
             // Given
             JobListing job = createTestJob();
-            Page<JobListing> jobPage = new PageImpl<>(List.of(job));
-            when(jobListingRepository.advancedSearch(
-                    eq(TENANT_ID), eq(JobStatus.ACTIVE), eq("Developer"), eq("Tech"), eq("Amsterdam"), any(Pageable.class)))
+            Page<JobListingSummary> jobPage = new PageImpl<>(List.of(JobListingSummary.from(job)));
+            when(jobListingRepository.findSummaries(any(Specification.class), any(Pageable.class)))
                     .thenReturn(jobPage);
 
             JobSearchRequest request = new JobSearchRequest(
                     null, "Developer", "Tech", "Amsterdam", null, null, null, null, null, 0, 20);
 
             // When
-            Page<JobListingResponse> result = jobSearchService.searchJobs(request);
+            Page<JobListingSummary> result = jobSearchService.searchJobs(request);
 
             // Then
             assertThat(result.getContent()).hasSize(1);
+            verify(jobListingRepository, never()).fullTextSearch(any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("hybridSearch")
+    class HybridSearchTests {
+
+        @Test
+        @DisplayName("should return jobs in fused order with a cursor for the next page")
+        void shouldReturnJobsInFusedOrder() {
+            // Given
+            JobListing first = createTestJob();
+            first.setId(UUID.randomUUID());
+            JobListing second = createTestJob();
+            second.setId(UUID.randomUUID());
+            JobListing third = createTestJob();
+            third.setId(UUID.randomUUID());
+            when(textEmbedder.embed("java")).thenReturn(Optional.of(new float[]{0.5f, 0.25f}));
+            when(hybridSearchRepository.search(TENANT_ID, "java", "[0.5,0.25]", null, 3))
+                    .thenReturn(new HybridSearchRepository.HybridPage(List.of(
+                            new HybridSearchRepository.HybridHit(second.getId(), 0.03),
+                            new HybridSearchRepository.HybridHit(first.getId(), 0.02),
+                            new HybridSearchRepository.HybridHit(third.getId(), 0.01)), 3));
+            when(jobListingRepository.findSummariesByTenantIdAndIdIn(eq(TENANT_ID), anyCollection()))
+                    .thenReturn(List.of(JobListingSummary.from(first), JobListingSummary.from(second)));
+
+            // When
+            CursorPage<JobListingSummary> result = jobSearchService.hybridSearch("java", "", 2);
+
+            // Then
+            assertThat(result.content()).extracting(JobListingSummary::id)
+                    .containsExactly(second.getId(), first.getId());
+            assertThat(result.totalElements()).isEqualTo(3);
+            assertThat(SearchCursor.decode(result.nextCursor())).isEqualTo(new SearchCursor(0.02, first.getId()));
+        }
+
+        @Test
+        @DisplayName("should rank by keyword only when the query cannot be embedded")
+        void shouldFallBackToKeywordRanking() {
+            // Given
+            SearchCursor after = new SearchCursor(0.016, UUID.randomUUID());
+            when(textEmbedder.embed("java")).thenReturn(Optional.empty());
+            when(hybridSearchRepository.search(eq(TENANT_ID), eq("java"), isNull(), eq(after), eq(21)))
+                    .thenReturn(new HybridSearchRepository.HybridPage(List.of(), 5));
+
+            // When
+            CursorPage<JobListingSummary> result = jobSearchService.hybridSearch("java", after.encode(), 20);
+
+            // Then
+            assertThat(result.content()).isEmpty();
+            assertThat(result.hasNext()).isFalse();
+            assertThat(result.totalElements()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("should reject a malformed cursor")
+        void shouldRejectMalformedCursor() {
+            assertThatThrownBy(() -> jobSearchService.hybridSearch("java", "not-a-cursor", 20))
+                    .isInstanceOf(MatchCursor.InvalidCursorException.class);
         }
     }
 
@@ -186,7 +384,7 @@ class JobSearchServiceTest {
                     "Remote",
                     "Build APIs",
                     "3+ years experience",
-                    List.of("Java", "Spring"),
+                    List.of("Java", "Spring", "K8s", "java 17"),
                     new BigDecimal("60000"),
                     new BigDecimal("80000"),
                     "EUR",
@@ -197,7 +395,7 @@ class JobSearchServiceTest {
                     null
             );
 
-            when(jobListingRepository.save(any(JobListing.class)))
+            when(jobListingRepository.saveAndFlush(any(JobListing.class)))
                     .thenAnswer(inv -> {
                         JobListing job = inv.getArgument(0);
                         job.setId(UUID.randomUUID());
@@ -210,8 +408,11 @@ class JobSearchServiceTest {
             // Then
             assertThat(result.title()).isEqualTo("Backend Developer");
             assertThat(result.company()).isEqualTo("Tech Corp");
-            assertThat(result.skills()).containsExactly("java", "spring");
-            verify(jobListingRepository).save(any(JobListing.class));
+            assertThat(result.skills()).containsExactly("java", "spring", "kubernetes");
+            verify(jobListingRepository).saveAndFlush(any(JobListing.class));
+            verify(jobDuplicateDetector).index(eq(TENANT_ID), any());
+            verify(jobSkillIndex).addJob(eq(TENANT_ID), eq(result.id()), eq(List.of("java", "spring", "kubernetes")));
+            verify(eventPublisher).publishEvent(new JobListingCreatedEvent(TENANT_ID, result.id()));
         }
 
         @Test
@@ -234,6 +435,31 @@ class JobSearchServiceTest {
             assertThat(result.title()).isEqualTo("Senior Java Developer"); // Existing title
             verify(jobListingRepository, never()).save(any());
         }
+
+        @Test
+        @DisplayName("should keep a near-duplicate out of matching and embedding")
+        void shouldNotIndexNearDuplicate() {
+            // Given
+            UUID jobId = UUID.randomUUID();
+            UUID canonicalId = UUID.randomUUID();
+            CreateJobRequest request = new CreateJobRequest(
+                    "Backend Developer", "Tech Corp", null, "Build services", null, List.of("Java"),
+                    null, null, null, null, null, null, null, null);
+            when(jobListingRepository.saveAndFlush(any(JobListing.class))).thenAnswer(inv -> {
+                JobListing job = inv.getArgument(0);
+                job.setId(jobId);
+                return job;
+            });
+            when(jobDuplicateDetector.index(eq(TENANT_ID), any())).thenReturn(Map.of(jobId, canonicalId));
+
+            // When
+            JobListingResponse result = jobSearchService.createJob(request);
+
+            // Then
+            assertThat(result.id()).isEqualTo(jobId);
+            verify(jobSkillIndex, never()).addJob(any(), any(), any());
+            verifyNoInteractions(eventPublisher);
+        }
     }
 
     @Nested
@@ -259,30 +485,51 @@ class JobSearchServiceTest {
 
             // Then
             assertThat(result.status()).isEqualTo(JobStatus.FILLED);
+            verify(jobSkillIndex).removeJob(TENANT_ID, jobId);
         }
-    }
-
-    @Nested
-    @DisplayName("markExpiredJobs")
-    class MarkExpiredJobsTests {
 
         @Test
-        @DisplayName("should mark expired jobs")
-        void shouldMarkExpiredJobs() {
+        @DisplayName("should promote the oldest active duplicate when a canonical listing leaves ACTIVE")
+        void shouldPromoteDuplicateOfClosedCanonical() {
             // Given
-            JobListing expiredJob = createTestJob();
-            expiredJob.setExpiresAt(Instant.now().minusSeconds(3600));
+            UUID jobId = UUID.randomUUID();
+            UUID duplicateId = UUID.randomUUID();
+            JobListing job = createTestJob();
+            job.setId(jobId);
+            when(jobListingRepository.findByIdAndTenantId(jobId, TENANT_ID))
+                    .thenReturn(Optional.of(job));
+            when(jobListingRepository.save(any(JobListing.class)))
+                    .thenAnswer(inv -> inv.getArgument(0));
+            when(jobDuplicateDetector.promoteSuccessors(TENANT_ID, List.of(jobId)))
+                    .thenReturn(Map.of(duplicateId, List.of("java")));
 
-            when(jobListingRepository.findExpiredJobs(any(Instant.class)))
-                    .thenReturn(List.of(expiredJob));
+            // When
+            jobSearchService.updateJobStatus(jobId, JobStatus.EXPIRED);
+
+            // Then
+            verify(jobSkillIndex).removeJob(TENANT_ID, jobId);
+            verify(jobSkillIndex).addJobs(TENANT_ID, Map.of(duplicateId, List.of("java")));
+        }
+
+        @Test
+        @DisplayName("should not promote anything when a duplicate leaves ACTIVE")
+        void shouldNotPromoteForDuplicate() {
+            // Given
+            UUID jobId = UUID.randomUUID();
+            JobListing job = createTestJob();
+            job.setId(jobId);
+            job.setDuplicateOf(UUID.randomUUID());
+            when(jobListingRepository.findByIdAndTenantId(jobId, TENANT_ID))
+                    .thenReturn(Optional.of(job));
+            when(jobListingRepository.save(any(JobListing.class)))
+                    .thenAnswer(inv -> inv.getArgument(0));
 
             // When
-            int count = jobSearchService.markExpiredJobs();
+            jobSearchService.updateJobStatus(jobId, JobStatus.FILLED);
 
             // Then
-            assertThat(count).isEqualTo(1);
-            assertThat(expiredJob.getStatus()).isEqualTo(JobStatus.EXPIRED);
-            verify(jobListingRepository).saveAll(anyList());
+            verify(jobSkillIndex).removeJob(TENANT_ID, jobId);
+            verifyNoInteractions(jobDuplicateDetector);
         }
     }
 
@@ -0,0 +1,226 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.common.skill.SkillDictionary;
+import com.jobagent.jobagent.jobsearch.dto.JobSkillsView;
+import com.jobagent.jobagent.jobsearch.event.JobsExpiredEvent;
+import com.jobagent.jobagent.jobsearch.model.JobStatus;
+import com.jobagent.jobagent.jobsearch.repository.JobListingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JobSkillIndex.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobSkillIndex Tests")
+class JobSkillIndexTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+    private static final List<String> SKILLS = List.of(
+            "java", "spring", "kotlin", "python", "docker", "kubernetes", "postgresql", "react", "go", "aws");
+
+    private static ForkJoinPool pool;
+
+    @Mock
+    private JobListingRepository jobListingRepository;
+
+    @Mock
+    private JobSetVersions jobSetVersions;
+
+    private SkillDictionary skillDictionary;
+
+    @BeforeAll
+    static void setUpClass() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        pool.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        skillDictionary = new SkillDictionary(new ClassPathResource("skills/skill-dictionary.json"), new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("should rank identically with sequential and chunked parallel scoring")
+    void shouldRankIdenticallyInParallel() {
+        // Given
+        when(jobListingRepository.findSkillsByTenantIdAndStatus(TENANT_ID, JobStatus.ACTIVE))
+                .thenReturn(randomJobs(2_000));
+        JobSkillIndex.TenantIndex sequential = index(100_000).forTenant(TENANT_ID);
+        JobSkillIndex.TenantIndex parallel = index(1).forTenant(TENANT_ID);
+        BitSet userSkills = skillDictionary.expandedIds(List.of("java", "docker", "aws"));
+
+        // When
+        int[] sequentialHistogram = new int[MatchRanking.SCORE_BUCKETS];
+        int[] parallelHistogram = new int[MatchRanking.SCORE_BUCKETS];
+        JobSkillIndex.Ranking expected = sequential.rankWithHistogram(userSkills, 50, sequentialHistogram);
+        JobSkillIndex.Ranking actual = parallel.rankWithHistogram(userSkills, 50, parallelHistogram);
+
+        // Then
+        assertThat(actual.page()).containsExactlyElementsOf(expected.page());
+        assertThat(actual.total()).isEqualTo(expected.total());
+        assertThat(actual.hasMore()).isEqualTo(expected.hasMore());
+        assertThat(parallelHistogram).containsExactly(sequentialHistogram);
+    }
+
+    @Test
+    @DisplayName("should page after a cursor in parallel mode")
+    void shouldPageAfterCursorInParallel() {
+        // Given
+        when(jobListingRepository.findSkillsByTenantIdAndStatus(TENANT_ID, JobStatus.ACTIVE))
+                .thenReturn(randomJobs(500));
+        JobSkillIndex.TenantIndex index = index(1).forTenant(TENANT_ID);
+        BitSet userSkills = skillDictionary.expandedIds(List.of("python", "react"));
+
+        // When
+        JobSkillIndex.Ranking firstTwoPages = index.rank(userSkills, 0, 0, 40);
+        JobSkillIndex.Ranking firstPage = index.rank(userSkills, 0, 0, 20);
+        JobSkillIndex.Ranking secondPage = index.rankAfter(userSkills, 0, firstPage.page().getLast(), 20);
+
+        // Then
+        assertThat(secondPage.page()).containsExactlyElementsOf(firstTwoPages.page().subList(20, 40));
+    }
+
+    @Test
+    @DisplayName("should stop returning removed jobs")
+    void shouldRemoveJobs() {
+        // Given
+        UUID jobId = UUID.randomUUID();
+        when(jobListingRepository.findSkillsByTenantIdAndStatus(TENANT_ID, JobStatus.ACTIVE))
+                .thenReturn(List.of(new JobSkillsView(jobId, List.of("java"))));
+        JobSkillIndex jobSkillIndex = index(100_000);
+        JobSkillIndex.TenantIndex index = jobSkillIndex.forTenant(TENANT_ID);
+
+        // When
+        jobSkillIndex.removeJob(TENANT_ID, jobId);
+
+        // Then
+        assertThat(index.size()).isZero();
+        assertThat(index.rank(skillDictionary.expandedIds(List.of("java")), 0, 0, 10).page()).isEmpty();
+        verify(jobSetVersions).bump(TENANT_ID);
+    }
+
+    @Test
+    @DisplayName("should drop jobs reported by the expiry sweep and add the duplicates promoted in their place")
+    void shouldDropExpiredJobs() {
+        // Given
+        UUID expired = UUID.randomUUID();
+        UUID active = UUID.randomUUID();
+        UUID promoted = UUID.randomUUID();
+        when(jobListingRepository.findSkillsByTenantIdAndStatus(TENANT_ID, JobStatus.ACTIVE))
+                .thenReturn(List.of(new JobSkillsView(expired, List.of("java")), new JobSkillsView(active, List.of("go"))));
+        JobSkillIndex jobSkillIndex = index(100_000);
+        JobSkillIndex.TenantIndex index = jobSkillIndex.forTenant(TENANT_ID);
+
+        // When
+        jobSkillIndex.onJobsExpired(new JobsExpiredEvent(TENANT_ID, List.of(expired),
+                Map.of(promoted, List.of("python"))));
+
+        // Then
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.rank(skillDictionary.expandedIds(List.of("java")), 0, 0, 10).page()).isEmpty();
+        assertThat(index.rank(skillDictionary.expandedIds(List.of("python")), 1, 0, 10).page())
+                .extracting(ScoredJob::jobId).containsExactly(promoted);
+        verify(jobSetVersions).bump(TENANT_ID);
+    }
+
+    @Test
+    @DisplayName("should bump the job set version for expired jobs even without a loaded index")
+    void shouldBumpVersionForExpiredJobsWithoutIndex() {
+        // Given — the sweep ran on an instance that never served this tenant
+        JobSkillIndex jobSkillIndex = index(100_000);
+
+        // When
+        jobSkillIndex.onJobsExpired(new JobsExpiredEvent(TENANT_ID, List.of(UUID.randomUUID()), Map.of()));
+
+        // Then — other instances see the new version and rebuild their indexes
+        verify(jobSetVersions).bump(TENANT_ID);
+        verifyNoInteractions(jobListingRepository);
+    }
+
+    @Test
+    @DisplayName("should rebuild an index that is behind the job set version")
+    void shouldRebuildStaleIndex() {
+        // Given — another instance counted a change after this one loaded the index
+        UUID jobId = UUID.randomUUID();
+        when(jobListingRepository.findSkillsByTenantIdAndStatus(TENANT_ID, JobStatus.ACTIVE))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new JobSkillsView(jobId, List.of("java"))));
+        when(jobSetVersions.current(TENANT_ID)).thenReturn(4L);
+        JobSkillIndex jobSkillIndex = index(100_000);
+        jobSkillIndex.forTenant(TENANT_ID);
+        when(jobSetVersions.current(TENANT_ID)).thenReturn(5L);
+
+        // When
+        JobSkillIndex.TenantIndex index = jobSkillIndex.forTenant(TENANT_ID);
+
+        // Then
+        assertThat(index.size()).isEqualTo(1);
+        verify(jobListingRepository, times(2)).findSkillsByTenantIdAndStatus(TENANT_ID, JobStatus.ACTIVE);
+    }
+
+    @Test
+    @DisplayName("should keep an index that applied the latest change itself")
+    void shouldKeepIndexAdvancedByLocalChange() {
+        // Given
+        UUID jobId = UUID.randomUUID();
+        when(jobListingRepository.findSkillsByTenantIdAndStatus(TENANT_ID, JobStatus.ACTIVE))
+                .thenReturn(List.of(new JobSkillsView(jobId, List.of("java"))));
+        when(jobSetVersions.current(TENANT_ID)).thenReturn(4L);
+        when(jobSetVersions.bump(TENANT_ID)).thenReturn(5L);
+        JobSkillIndex jobSkillIndex = index(100_000);
+        jobSkillIndex.forTenant(TENANT_ID);
+
+        // When
+        jobSkillIndex.removeJob(TENANT_ID, jobId);
+        JobSkillIndex.TenantIndex index = jobSkillIndex.forTenant(TENANT_ID, 5L);
+
+        // Then
+        assertThat(index.size()).isZero();
+        verify(jobListingRepository).findSkillsByTenantIdAndStatus(TENANT_ID, JobStatus.ACTIVE);
+    }
+
+    private JobSkillIndex index(int parallelThreshold) {
+        AppProperties properties = new AppProperties();
+        properties.getMatching().getParallel().setThreshold(parallelThreshold);
+        properties.getMatching().getParallel().setChunkSize(64);
+        ParallelMatchScoring parallelScoring = new ParallelMatchScoring(pool, properties, new SimpleMeterRegistry());
+        return new JobSkillIndex(jobListingRepository, skillDictionary, jobSetVersions, parallelScoring);
+    }
+
+    private static List<JobSkillsView> randomJobs(int count) {
+        Random random = new Random(42);
+        List<JobSkillsView> jobs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<String> skills = new ArrayList<>();
+            for (String skill : SKILLS) {
+                if (random.nextInt(3) == 0) {
+                    skills.add(skill);
+                }
+            }
+            jobs.add(new JobSkillsView(new UUID(random.nextLong(), random.nextLong()), skills));
+        }
+        return jobs;
+    }
+}
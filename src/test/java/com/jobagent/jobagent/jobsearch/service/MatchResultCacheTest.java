@@ -0,0 +1,103 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MatchResultCache.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MatchResultCache Tests")
+class MatchResultCacheTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID CV_ID = UUID.randomUUID();
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> redisValues;
+
+    private MatchResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(redisValues);
+        cache = new MatchResultCache(redisTemplate, new AppProperties());
+    }
+
+    @Test
+    @DisplayName("should round-trip a ranking through its Redis encoding")
+    void shouldRoundTripEncoding() {
+        MatchRanking ranking = ranking(7);
+
+        MatchRanking decoded = MatchResultCache.decode(MatchResultCache.encode(ranking));
+
+        assertThat(decoded.cvId()).isEqualTo(CV_ID);
+        assertThat(decoded.jobSetVersion()).isEqualTo(7);
+        assertThat(decoded.skills()).containsExactly("java", "node.js");
+        assertThat(decoded.jobIds()).containsExactly(ranking.jobIds());
+        assertThat(decoded.scores()).containsExactly(ranking.scores());
+        assertThat(decoded.histogram()).containsExactly(ranking.histogram());
+    }
+
+    @Test
+    @DisplayName("should ignore a Redis entry for another job set version")
+    void shouldIgnoreStaleRedisEntry() {
+        when(redisValues.get(anyString())).thenReturn(MatchResultCache.encode(ranking(1)));
+
+        assertThat(cache.get(new MatchResultCache.MatchKey(TENANT_ID, USER_ID, CV_ID, 2))).isEmpty();
+        assertThat(cache.get(new MatchResultCache.MatchKey(TENANT_ID, USER_ID, CV_ID, 1))).isPresent();
+    }
+
+    @Test
+    @DisplayName("should keep serving from the near-cache when Redis is down")
+    void shouldDegradeWhenRedisIsDown() {
+        MatchResultCache.MatchKey key = new MatchResultCache.MatchKey(TENANT_ID, USER_ID, CV_ID, 1);
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(redisValues).set(anyString(), anyString(), any(Duration.class));
+
+        cache.put(key, ranking(1));
+
+        assertThat(cache.get(key)).isPresent();
+        verify(redisValues, never()).get(anyString());
+    }
+
+    @Test
+    @DisplayName("should evict a user's rankings from both levels")
+    void shouldEvictUser() {
+        MatchResultCache.MatchKey key = new MatchResultCache.MatchKey(TENANT_ID, USER_ID, CV_ID, 1);
+        cache.put(key, ranking(1));
+
+        cache.evictUser(TENANT_ID, USER_ID);
+
+        assertThat(cache.get(key)).isEmpty();
+        verify(redisTemplate).delete("jobagent:matches:" + TENANT_ID + ":" + USER_ID);
+    }
+
+    private static MatchRanking ranking(long jobSetVersion) {
+        int[] histogram = new int[MatchRanking.SCORE_BUCKETS];
+        histogram[100] = 1;
+        histogram[50] = 1;
+        return new MatchRanking(CV_ID, jobSetVersion, List.of("java", "node.js"),
+                new UUID[]{UUID.randomUUID(), UUID.randomUUID()}, new byte[]{100, 50}, histogram);
+    }
+}
@@ -0,0 +1,69 @@
+package com.jobagent.jobagent.jobsearch.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for MinHasher.
+ */
+@DisplayName("MinHasher Tests")
+class MinHasherTest {
+
+    private static final String POSTING = "Senior Java Developer at Acme. You will design and build REST APIs with "
+            + "Spring Boot, run them on Kubernetes and mentor two junior engineers in a small platform team.";
+
+    private final MinHasher minHasher = new MinHasher(16, 8, 3);
+
+    @Test
+    @DisplayName("should sign case, punctuation and whitespace variants identically")
+    void shouldIgnoreFormatting() {
+        // Given
+        String reformatted = POSTING.toUpperCase().replace(".", " ! ").replace(" ", "   ");
+
+        // When / Then
+        assertThat(minHasher.signature(reformatted)).isEqualTo(minHasher.signature(POSTING));
+    }
+
+    @Test
+    @DisplayName("should estimate high similarity for a lightly edited repost and share a band bucket")
+    void shouldFindNearDuplicate() {
+        // Given
+        int[] original = minHasher.signature(POSTING);
+        int[] repost = minHasher.signature(POSTING + " Apply now!");
+
+        // When
+        double similarity = MinHasher.similarity(original, repost);
+
+        // Then
+        assertThat(similarity).isGreaterThan(0.8);
+        long[] a = minHasher.bandKeys(original);
+        long[] b = minHasher.bandKeys(repost);
+        boolean shared = false;
+        for (int band = 0; band < a.length; band++) {
+            shared |= a[band] == b[band];
+        }
+        assertThat(shared).isTrue();
+    }
+
+    @Test
+    @DisplayName("should estimate low similarity for unrelated postings")
+    void shouldSeparateDifferentPostings() {
+        // Given
+        int[] java = minHasher.signature(POSTING);
+        int[] design = minHasher.signature("Product Designer at Studio. Own the design system, run user research "
+                + "sessions and prototype new onboarding flows in Figma with the product managers.");
+
+        // When / Then
+        assertThat(MinHasher.similarity(java, design)).isLessThan(0.2);
+    }
+
+    @Test
+    @DisplayName("should round-trip signatures through bytes")
+    void shouldSerializeSignature() {
+        int[] signature = minHasher.signature(POSTING);
+
+        assertThat(MinHasher.fromBytes(MinHasher.toBytes(signature))).isEqualTo(signature);
+    }
+}
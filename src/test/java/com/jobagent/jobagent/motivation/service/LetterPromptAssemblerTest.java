@@ -0,0 +1,198 @@
+package com.jobagent.jobagent.motivation.service;
+
+import com.jobagent.jobagent.common.config.AppProperties;
+import com.jobagent.jobagent.common.rag.RagConstants;
+import com.jobagent.jobagent.cv.dto.CvParsedData;
+import com.jobagent.jobagent.jobsearch.model.JobListing;
+import com.jobagent.jobagent.motivation.model.LetterTone;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LetterPromptAssembler.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LetterPromptAssembler Tests")
+class LetterPromptAssemblerTest {
+
+    private static final UUID TENANT = UUID.randomUUID();
+    private static final UUID CV_ID = UUID.randomUUID();
+
+    @Mock
+    private ObjectProvider<VectorStore> vectorStoreProvider;
+
+    @Mock
+    private VectorStore vectorStore;
+
+    @Mock
+    private TokenCountEstimator tokenCountEstimator;
+
+    private LetterPromptAssembler assembler;
+
+    @BeforeEach
+    void setUp() {
+        // One token per word keeps the budgets in these tests readable
+        when(tokenCountEstimator.estimate(anyString()))
+                .thenAnswer(invocation -> invocation.<String>getArgument(0).strip().split("\\s+").length);
+        AppProperties appProperties = new AppProperties();
+        appProperties.getRag().setLetterPromptTokens(300);
+        appProperties.getRag().setLetterTopK(3);
+        appProperties.getRag().setLetterJobSummaryTokens(15);
+        appProperties.getRag().setLetterRequirementsTokens(20);
+        assembler = new LetterPromptAssembler(vectorStoreProvider, tokenCountEstimator,
+                new ClassPathResource("prompts/motivation-letter.st"), appProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Most similar CV chunks that fit are quoted in CV order")
+    void assemble_packsRetrievedChunks() {
+        // Given
+        Document early = chunk("chunk-early", 1, "Built payment services in Java and Spring Boot at Acme");
+        Document late = chunk("chunk-late", 3, "Migrated PostgreSQL schemas with Flyway for twelve product teams");
+        Document huge = chunk("chunk-huge", 5, "word ".repeat(400));
+        when(vectorStoreProvider.getIfAvailable()).thenReturn(vectorStore);
+        when(vectorStore.similaritySearch(any(SearchRequest.class))).thenReturn(List.of(late, huge, early));
+
+        // When
+        LetterPromptAssembler.LetterPrompt prompt = assembler.assemble(
+                createTestCvData(), CV_ID, createTestJob("We build payment platforms."),
+                LetterTone.PROFESSIONAL, "en", null);
+
+        // Then
+        assertThat(prompt.chunkIds()).containsExactly("chunk-late", "chunk-early");
+        assertThat(prompt.text())
+                .contains("Built payment services", "Migrated PostgreSQL schemas")
+                .doesNotContain("word word")
+                .doesNotContain("Led team of 5 developers");
+        assertThat(prompt.text().indexOf("Built payment services"))
+                .isLessThan(prompt.text().indexOf("Migrated PostgreSQL schemas"));
+        assertThat(prompt.tokens()).isLessThanOrEqualTo(prompt.budget());
+
+        ArgumentCaptor<SearchRequest> search = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(vectorStore).similaritySearch(search.capture());
+        assertThat(search.getValue().getTopK()).isEqualTo(3);
+        assertThat(search.getValue().getQuery()).contains("Senior Java Developer");
+    }
+
+    @Test
+    @DisplayName("Without indexed chunks the parsed experience is used and the posting is summarized")
+    void assemble_noVectorStore_fallsBackToParsedExperience() {
+        // Given
+        String description = "Innovative Solutions is a fast growing company based in Berlin with offices in Munich. "
+                + "You will design Java services on Spring Boot. "
+                + "We offer free lunches, a gym membership, a yearly company trip and flexible hours. "
+                + "Our office dog is called Max and loves everyone.";
+
+        // When
+        LetterPromptAssembler.LetterPrompt prompt = assembler.assemble(
+                createTestCvData(), CV_ID, createTestJob(description), LetterTone.CONFIDENT, "de",
+                "Focus on leadership skills");
+
+        // Then
+        assertThat(prompt.chunkIds()).isEmpty();
+        assertThat(prompt.text())
+                .contains("Lead Developer at Tech Corp: Led team of 5 developers")
+                .contains("You will design Java services on Spring Boot.")
+                .doesNotContain("office dog")
+                .contains("Focus on leadership skills", "confident", "German");
+        assertThat(prompt.tokens()).isLessThanOrEqualTo(prompt.budget());
+    }
+
+    @Test
+    @DisplayName("Requirements are ranked by job and CV skills, not by their own words")
+    void assemble_requirementsRankedBySkills() {
+        // Given
+        JobListing job = createTestJob("We build payment platforms.");
+        job.setRequirements("Excellent stakeholder communication, stakeholder workshops and "
+                + "stakeholder reporting duties daily. "
+                + "Solid Java and Spring Boot. "
+                + "Office in Berlin with nice views over the river and a big terrace.");
+
+        // When
+        LetterPromptAssembler.LetterPrompt prompt = assembler.assemble(
+                createTestCvData(), null, job, LetterTone.PROFESSIONAL, "en", null);
+
+        // Then
+        assertThat(prompt.text())
+                .contains("Solid Java and Spring Boot.")
+                .doesNotContain("nice views over the river");
+    }
+
+    @Test
+    @DisplayName("Summary keeps the keyword sentences that fit, in their original order")
+    void summarize_keepsKeywordSentencesInOrder() {
+        // Given
+        String text = "Welcome to our friendly office. Strong Java skills required. "
+                + "We like board games on Fridays. Spring experience is a plus.";
+
+        // When
+        String summary = assembler.summarize(text, Set.of("java", "spring"), 11);
+
+        // Then
+        assertThat(summary).isEqualTo("Strong Java skills required. Spring experience is a plus.");
+    }
+
+    private static Document chunk(String id, int index, String text) {
+        return Document.builder()
+                .id(id)
+                .text(text)
+                .metadata(Map.of(
+                        RagConstants.META_CV_ID, CV_ID.toString(),
+                        RagConstants.META_CHUNK_INDEX, index))
+                .build();
+    }
+
+    private CvParsedData createTestCvData() {
+        return new CvParsedData(
+                "John Doe",
+                "john@example.com",
+                "+1234567890",
+                "Senior Software Engineer",
+                "10+ years of experience in software development",
+                List.of("Java", "Spring Boot", "PostgreSQL", "Docker"),
+                List.of(new CvParsedData.ExperienceEntry(
+                        "Tech Corp",
+                        "Lead Developer",
+                        "Berlin",
+                        "2020",
+                        "Present",
+                        "Led team of 5 developers"
+                )),
+                List.of(),
+                List.of("English", "German"),
+                List.of("AWS Certified")
+        );
+    }
+
+    private JobListing createTestJob(String description) {
+        JobListing job = new JobListing();
+        job.setId(UUID.randomUUID());
+        job.setTenantId(TENANT);
+        job.setTitle("Senior Java Developer");
+        job.setCompany("Innovative Solutions GmbH");
+        job.setDescription(description);
+        job.setRequirements("5+ years Java experience, Spring Boot expertise");
+        return job;
+    }
+}
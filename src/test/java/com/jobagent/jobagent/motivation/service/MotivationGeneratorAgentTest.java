@@ -10,7 +10,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.core.io.ClassPathResource;
 
 import java.util.List;
 import java.util.UUID;
@@ -27,6 +26,8 @@ import static org.mockito.Mockito.*;
 @DisplayName("MotivationGeneratorAgent Tests")
 class MotivationGeneratorAgentTest {
 
+    private static final UUID CV_ID = UUID.randomUUID();
+
     @Mock
     private ChatClient.Builder chatClientBuilder;
 
@@ -39,15 +40,17 @@ class MotivationGeneratorAgentTest {
     @Mock
     private ChatClient.CallResponseSpec callSpec;
 
+    @Mock
+    private LetterPromptAssembler promptAssembler;
+
     private MotivationGeneratorAgent agent;
 
     @BeforeEach
     void setUp() {
         when(chatClientBuilder.build()).thenReturn(chatClient);
-        agent = new MotivationGeneratorAgent(
-                chatClientBuilder,
-                new ClassPathResource("prompts/motivation-letter.st")
-        );
+        agent = new MotivationGeneratorAgent(chatClientBuilder, promptAssembler);
+        when(promptAssembler.assemble(any(), any(), any(), any(), any(), any()))
+                .thenReturn(new LetterPromptAssembler.LetterPrompt("assembled prompt", 100, 2000, List.of()));
     }
 
     @Test
@@ -65,7 +68,7 @@ class MotivationGeneratorAgentTest {
 
         // When
         String result = agent.generateLetter(
-                cvData, job, LetterTone.PROFESSIONAL, "en", null);
+                CV_ID, cvData, job, LetterTone.PROFESSIONAL, "en", null);
 
         // Then
         assertThat(result).isEqualTo(expectedLetter);
@@ -88,7 +91,7 @@ class MotivationGeneratorAgentTest {
 
         // When
         String result = agent.generateLetter(
-                cvData, job, LetterTone.PROFESSIONAL, "en", null);
+                CV_ID, cvData, job, LetterTone.PROFESSIONAL, "en", null);
 
         // Then
         assertThat(result).isEqualTo("Letter content");
@@ -108,7 +111,7 @@ class MotivationGeneratorAgentTest {
 
         // When
         String result = agent.generateLetter(
-                cvData, job, LetterTone.PROFESSIONAL, "en", null);
+                CV_ID, cvData, job, LetterTone.PROFESSIONAL, "en", null);
 
         // Then
         assertThat(result).isEmpty();
@@ -127,14 +130,14 @@ class MotivationGeneratorAgentTest {
 
         // When/Then
         assertThatThrownBy(() -> agent.generateLetter(
-                cvData, job, LetterTone.PROFESSIONAL, "en", null))
+                CV_ID, cvData, job, LetterTone.PROFESSIONAL, "en", null))
                 .isInstanceOf(MotivationGeneratorAgent.MotivationGenerationException.class)
                 .hasMessageContaining("Failed to generate motivation letter");
     }
 
     @Test
-    @DisplayName("generateLetter() includes additional instructions in prompt")
-    void generateLetter_withInstructions_includesInPrompt() {
+    @DisplayName("generateLetter() sends the assembled prompt for the CV, tone and instructions")
+    void generateLetter_withInstructions_sendsAssembledPrompt() {
         // Given
         CvParsedData cvData = createTestCvData();
         JobListing job = createTestJob();
@@ -146,14 +149,11 @@ class MotivationGeneratorAgentTest {
         when(callSpec.content()).thenReturn("Letter content");
 
         // When
-        agent.generateLetter(cvData, job, LetterTone.CONFIDENT, "de", instructions);
+        agent.generateLetter(CV_ID, cvData, job, LetterTone.CONFIDENT, "de", instructions);
 
         // Then
-        verify(requestSpec).user(argThat((String prompt) ->
-                prompt.contains("Focus on leadership skills") &&
-                prompt.contains("confident") &&
-                prompt.contains("German")
-        ));
+        verify(promptAssembler).assemble(cvData, CV_ID, job, LetterTone.CONFIDENT, "de", instructions);
+        verify(requestSpec).user("assembled prompt");
     }
 
     private CvParsedData createTestCvData() {
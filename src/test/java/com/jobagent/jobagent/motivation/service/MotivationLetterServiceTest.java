@@ -96,7 +96,7 @@ class MotivationLetterServiceTest {
         when(cvRepository.findTopByUserIdAndTenantIdAndStatusOrderByCreatedAtDesc(
                 USER_ID, TENANT_ID, CvStatus.PARSED)).thenReturn(Optional.of(cv));
         when(objectMapper.readValue(anyString(), eq(CvParsedData.class))).thenReturn(cvData);
-        when(generatorAgent.generateLetter(any(), any(), any(), any(), any()))
+        when(generatorAgent.generateLetter(any(), any(), any(), any(), any(), any()))
                 .thenReturn("Generated letter content");
         when(letterRepository.getNextVersion(USER_ID, JOB_ID, TENANT_ID)).thenReturn(1);
         when(letterRepository.save(any(MotivationLetter.class))).thenAnswer(inv -> {
@@ -112,7 +112,7 @@ class MotivationLetterServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.content()).isEqualTo("Generated letter content");
         assertThat(response.status()).isEqualTo(LetterStatus.GENERATED);
-        verify(generatorAgent).generateLetter(eq(cvData), eq(job), eq(LetterTone.PROFESSIONAL), eq("en"), isNull());
+        verify(generatorAgent).generateLetter(eq(CV_ID), eq(cvData), eq(job), eq(LetterTone.PROFESSIONAL), eq("en"), isNull());
     }
 
     @Test